@@ -20,6 +20,9 @@ package org.veo.adapter.presenter.api.dto;
 import java.util.Collections;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -27,10 +30,25 @@ import lombok.Data;
 @AllArgsConstructor
 public class PageDto<T> {
   private List<T> items;
+
+  @Schema(description = "Total number of items, absent if the items have not been counted.")
   private Long totalItemCount;
-  private int pageCount;
+
+  @Schema(description = "Total number of pages, absent if the items have not been counted.")
+  private Integer pageCount;
+
   private int page;
 
+  @Schema(
+      description =
+          "Cursor pointing to the next page when using keyset paging, absent on the last page.")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String nextCursor;
+
+  public PageDto(List<T> items, Long totalItemCount, Integer pageCount, int page) {
+    this(items, totalItemCount, pageCount, page, null);
+  }
+
   public static <T> PageDto<T> emptyPage() {
     return new PageDto<>(Collections.emptyList(), 0l, 1, 0);
   }
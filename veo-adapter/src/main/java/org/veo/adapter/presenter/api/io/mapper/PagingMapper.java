@@ -30,9 +30,10 @@ public class PagingMapper {
       PagedResult<TElement> input, Function<TElement, TDto> mapper) {
     return new PageDto<>(
         input.getResultPage().stream().map(mapper).toList(),
-        input.getTotalResults(),
-        input.getTotalPages(),
-        input.getPagingConfiguration().getPageNumber());
+        input.isCounted() ? input.getTotalResults() : null,
+        input.isCounted() ? input.getTotalPages() : null,
+        input.getPagingConfiguration().getPageNumber(),
+        input.getNextCursor());
   }
 
   public static PagingConfiguration toConfig(
@@ -40,6 +41,26 @@ public class PagingMapper {
     return new PagingConfiguration(pageSize, pageNumber, sortColumn, getSortOrder(sortOrder));
   }
 
+  /**
+   * Creates a paging configuration for offset paging or - if a cursor is given - for keyset paging.
+   * An empty cursor requests the first page in keyset mode.
+   *
+   * @param countTotal whether to count all results in keyset mode (offset paging always counts)
+   */
+  public static PagingConfiguration toConfig(
+      int pageSize,
+      int pageNumber,
+      String sortColumn,
+      String sortOrder,
+      String cursor,
+      Boolean countTotal) {
+    if (cursor == null) {
+      return toConfig(pageSize, pageNumber, sortColumn, sortOrder);
+    }
+    return PagingConfiguration.keyset(
+        pageSize, sortColumn, getSortOrder(sortOrder), cursor, Boolean.TRUE.equals(countTotal));
+  }
+
   private static PagingConfiguration.SortOrder getSortOrder(String sortOrder) {
     if (sortOrder.equalsIgnoreCase("DESC")) {
       return PagingConfiguration.SortOrder.DESCENDING;
@@ -17,9 +17,20 @@
  ******************************************************************************/
 package org.veo.adapter.presenter.api.io.mapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+
 import org.veo.adapter.presenter.api.dto.AbstractRiskDto;
 import org.veo.adapter.presenter.api.dto.UnitDumpDto;
 import org.veo.adapter.presenter.api.dto.full.FullDomainDto;
@@ -28,6 +39,7 @@ import org.veo.core.entity.Element;
 import org.veo.core.entity.Key;
 import org.veo.core.entity.RiskAffected;
 import org.veo.core.usecase.unit.GetUnitDumpUseCase;
+import org.veo.core.usecase.unit.StreamUnitDumpUseCase;
 
 public class UnitDumpMapper {
 
@@ -52,8 +64,95 @@ public class UnitDumpMapper {
         getRisks(useCaseOutput.getElements(), entityToDtoTransformer));
   }
 
+  public static StreamUnitDumpUseCase.InputData mapStreamingInput(String unitId) {
+    return new StreamUnitDumpUseCase.InputData(Key.uuidFrom(unitId), null);
+  }
+
+  /**
+   * Writes a unit dump in the format of {@link UnitDumpDto} to given output stream while the
+   * elements are being loaded. All elements are written before the risks, so the elements are
+   * traversed twice.
+   */
+  public static void writeOutput(
+      StreamUnitDumpUseCase.OutputData useCaseOutput,
+      EntityToDtoTransformer entityToDtoTransformer,
+      ObjectMapper objectMapper,
+      OutputStream outputStream) {
+    try (var generator = objectMapper.createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      var unit = useCaseOutput.getUnit();
+      generator.writeStartObject();
+      generator.writeObjectField("unit", entityToDtoTransformer.transformUnit2Dto(unit));
+      generator.writeObjectField(
+          "domains",
+          unit.getDomains().stream().map(entityToDtoTransformer::transformDomain2Dto).toList());
+      var elementWriter = ItemWriter.forProperty(objectMapper, "elements");
+      generator.writeArrayFieldStart("elements");
+      useCaseOutput
+          .getElements()
+          .forEach(
+              chunk ->
+                  elementWriter.write(
+                      generator,
+                      chunk.stream().map(entityToDtoTransformer::transform2Dto).toList()));
+      generator.writeEndArray();
+      var riskWriter = ItemWriter.forProperty(objectMapper, "risks");
+      generator.writeArrayFieldStart("risks");
+      useCaseOutput
+          .getElements()
+          .forEach(chunk -> riskWriter.write(generator, getRisks(chunk, entityToDtoTransformer)));
+      generator.writeEndArray();
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes items of a collection property of {@link UnitDumpDto} directly to a generator, including
+   * the type information that is configured on that property.
+   *
+   * @param typeSerializer serializer for the type information, {@code null} if the property has
+   *     none
+   */
+  private record ItemWriter(
+      DefaultSerializerProvider provider, JavaType itemType, TypeSerializer typeSerializer) {
+
+    static ItemWriter forProperty(ObjectMapper objectMapper, String property) throws IOException {
+      var config = objectMapper.getSerializationConfig();
+      var beanDescription = config.introspect(objectMapper.constructType(UnitDumpDto.class));
+      var definition =
+          beanDescription.findProperties().stream()
+              .filter(p -> p.getName().equals(property))
+              .findFirst()
+              .orElseThrow();
+      var collectionType = definition.getPrimaryType();
+      return new ItemWriter(
+          (DefaultSerializerProvider) objectMapper.getSerializerProviderInstance(),
+          collectionType.getContentType(),
+          ((BeanSerializerFactory) objectMapper.getSerializerFactory())
+              .findPropertyContentTypeSerializer(
+                  collectionType, config, definition.getAccessor()));
+    }
+
+    void write(JsonGenerator generator, Collection<?> items) {
+      try {
+        for (Object item : items) {
+          if (typeSerializer == null) {
+            provider.serializeValue(generator, item);
+          } else {
+            provider.serializePolymorphic(generator, item, itemType, null, typeSerializer);
+          }
+        }
+        generator.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
   private static Set<AbstractRiskDto> getRisks(
-      Set<Element> elements, EntityToDtoTransformer transformer) {
+      Collection<Element> elements, EntityToDtoTransformer transformer) {
     return elements.stream()
         .filter(RiskAffected.class::isInstance)
         .map(i -> (RiskAffected<?, ?>) i)
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.adapter.presenter.api.io.mapper;
+
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.veo.adapter.IdRefResolvingFactory;
+import org.veo.adapter.presenter.api.dto.AbstractElementDto;
+import org.veo.adapter.presenter.api.dto.AbstractRiskDto;
+import org.veo.adapter.presenter.api.dto.AbstractScopeDto;
+import org.veo.adapter.presenter.api.dto.CompositeEntityDto;
+import org.veo.adapter.presenter.api.dto.UnitDumpDto;
+import org.veo.adapter.presenter.api.dto.full.AssetRiskDto;
+import org.veo.adapter.presenter.api.dto.full.FullUnitDto;
+import org.veo.adapter.presenter.api.dto.full.ProcessRiskDto;
+import org.veo.adapter.presenter.api.dto.full.ScopeRiskDto;
+import org.veo.adapter.presenter.api.response.transformer.DtoToEntityTransformer;
+import org.veo.core.entity.AbstractRisk;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Element;
+import org.veo.core.entity.Identifiable;
+import org.veo.core.entity.Key;
+import org.veo.core.entity.Unit;
+import org.veo.core.entity.exception.UnprocessableDataException;
+import org.veo.core.entity.ref.ITypedId;
+import org.veo.core.entity.state.CustomLinkState;
+import org.veo.core.entity.state.CustomLinkState.CustomLinkStateImpl;
+import org.veo.core.entity.transform.EntityFactory;
+import org.veo.core.entity.transform.IdentifiableFactory;
+import org.veo.core.usecase.service.DbIdRefResolver;
+import org.veo.core.usecase.service.EntityStateMapper;
+import org.veo.core.usecase.service.IdRefResolver;
+import org.veo.core.usecase.service.TypedId;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase.ElementReferences;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase.ImportedElement;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase.RiskChunk;
+
+/**
+ * Reads a unit dump in the format of {@link UnitDumpDto} from a JSON parser, one item at a time.
+ * The dump properties must appear in the order in which the export writes them (unit, domains,
+ * elements, risks). Items are deserialized as part of a partial {@link UnitDumpDto}, so the type
+ * information configured on its properties applies.
+ */
+class UnitDumpReader implements StreamingUnitImportUseCase.DumpReader {
+  private final JsonParser parser;
+  private final ObjectMapper objectMapper;
+  private final DbIdRefResolver dbIdRefResolver;
+  private final IdRefResolvingFactory resolvingFactory;
+  private final DtoToEntityTransformer unitTransformer;
+  private final DtoToEntityTransformer elementTransformer;
+
+  UnitDumpReader(
+      JsonParser parser,
+      ObjectMapper objectMapper,
+      DbIdRefResolver dbIdRefResolver,
+      IdentifiableFactory identifiableFactory,
+      EntityFactory entityFactory,
+      EntityStateMapper entityStateMapper) {
+    this.parser = parser;
+    this.objectMapper = objectMapper;
+    this.dbIdRefResolver = dbIdRefResolver;
+    resolvingFactory = new IdRefResolvingFactory(identifiableFactory);
+    unitTransformer =
+        new DtoToEntityTransformer(entityFactory, resolvingFactory, entityStateMapper);
+    // Elements are not registered in the resolving factory, so they can be released once their
+    // chunk has been persisted.
+    elementTransformer =
+        new DtoToEntityTransformer(
+            entityFactory,
+            new IdentifiableFactory() {
+              @Override
+              public <T extends Identifiable> T create(Class<T> type, Key<UUID> id) {
+                return identifiableFactory.create(type, null);
+              }
+            },
+            entityStateMapper);
+  }
+
+  @Override
+  public Unit readUnit() {
+    try {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      nextProperty("unit");
+      var unitDto = objectMapper.readValue(parser, FullUnitDto.class);
+      nextProperty("domains");
+      expect(parser.currentToken(), JsonToken.START_ARRAY);
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        JsonNode domain = objectMapper.readTree(parser);
+        // Resolve domains using the DB (all other references must be resolved locally).
+        resolvingFactory.register(
+            dbIdRefResolver.resolve(domain.get("id").asText(), Domain.class));
+      }
+      return unitTransformer.transformDto2Unit(unitDto, resolvingFactory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void readElements(int chunkSize, Consumer<List<ImportedElement>> chunkConsumer) {
+    nextProperty("elements");
+    readArray(
+        node -> toImportedElement(readItem("elements", node).getElements().iterator().next()),
+        chunkSize,
+        chunkConsumer);
+  }
+
+  @Override
+  public void readRisks(int chunkSize, Consumer<RiskChunk> chunkConsumer) {
+    nextProperty("risks");
+    readArray(
+        node -> readItem("risks", node).getRisks().iterator().next(),
+        chunkSize,
+        chunk -> chunkConsumer.accept(new DtoRiskChunk(chunk)));
+  }
+
+  private ImportedElement toImportedElement(AbstractElementDto<?> dto) {
+    var references =
+        new ElementReferences(
+            dto.getDomainAssociationStates().stream()
+                .collect(
+                    toMap(
+                        association -> association.getDomain().getId(),
+                        association -> copyLinks(association.getCustomLinkStates()))),
+            dto instanceof CompositeEntityDto<?> compositeDto
+                ? copyRefs(compositeDto.getParts())
+                : Set.of(),
+            dto instanceof AbstractScopeDto scopeDto ? copyRefs(scopeDto.getMembers()) : Set.of());
+    // References to other elements are applied once all elements have been persisted.
+    dto.setLinks(new HashMap<>());
+    if (dto instanceof CompositeEntityDto<?> compositeDto) {
+      compositeDto.setParts(new HashSet<>());
+    }
+    if (dto instanceof AbstractScopeDto scopeDto) {
+      scopeDto.setMembers(new HashSet<>());
+    }
+    return new ImportedElement(
+        dto.getId(), elementTransformer.transformDto2Element(dto, resolvingFactory), references);
+  }
+
+  private static Set<CustomLinkState> copyLinks(Set<CustomLinkState> links) {
+    return links.stream()
+        .map(
+            link ->
+                new CustomLinkStateImpl(
+                    link.getType(), link.getAttributes(), copyRef(link.getTarget())))
+        .collect(toSet());
+  }
+
+  private static Set<ITypedId<Element>> copyRefs(Set<? extends ITypedId<?>> refs) {
+    return refs.stream().map(UnitDumpReader::copyRef).collect(toSet());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ITypedId<Element> copyRef(ITypedId<?> ref) {
+    return TypedId.from(ref.getId(), (Class<Element>) ref.getType());
+  }
+
+  private UnitDumpDto readItem(String property, JsonNode item) {
+    try {
+      var dump = objectMapper.createObjectNode();
+      dump.putArray(property).add(item);
+      return objectMapper.treeToValue(dump, UnitDumpDto.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private <T> void readArray(
+      Function<JsonNode, T> itemMapper, int chunkSize, Consumer<List<T>> chunkConsumer) {
+    try {
+      expect(parser.currentToken(), JsonToken.START_ARRAY);
+      List<T> chunk = new ArrayList<>();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        chunk.add(itemMapper.apply(objectMapper.readTree(parser)));
+        if (chunk.size() == chunkSize) {
+          chunkConsumer.accept(chunk);
+          chunk = new ArrayList<>();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        chunkConsumer.accept(chunk);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Advances to the value of the next property, which must have given name. */
+  private void nextProperty(String name) {
+    try {
+      expect(parser.nextToken(), JsonToken.FIELD_NAME);
+      if (!name.equals(parser.currentName())) {
+        throw new UnprocessableDataException(
+            "Expected property '%s' but found '%s' in unit dump"
+                .formatted(name, parser.currentName()));
+      }
+      parser.nextToken();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected) {
+    if (actual != expected) {
+      throw new UnprocessableDataException(
+          "Expected %s but found %s in unit dump".formatted(expected, actual));
+    }
+  }
+
+  private static ITypedId<?> getRiskAffected(AbstractRiskDto risk) {
+    if (risk instanceof AssetRiskDto assetRisk) {
+      return assetRisk.getAsset();
+    }
+    if (risk instanceof ProcessRiskDto processRisk) {
+      return processRisk.getProcess();
+    }
+    if (risk instanceof ScopeRiskDto scopeRisk) {
+      return scopeRisk.getScope();
+    }
+    return null;
+  }
+
+  private class DtoRiskChunk implements RiskChunk {
+    private final List<AbstractRiskDto> risks;
+
+    DtoRiskChunk(List<AbstractRiskDto> risks) {
+      this.risks = risks;
+    }
+
+    @Override
+    public Set<ITypedId<?>> getReferences() {
+      return risks.stream()
+          .flatMap(
+              risk ->
+                  Stream.<ITypedId<?>>of(
+                      getRiskAffected(risk),
+                      risk.getScenario(),
+                      risk.getMitigation(),
+                      risk.getRiskOwner()))
+          .filter(Objects::nonNull)
+          .collect(toSet());
+    }
+
+    @Override
+    public List<AbstractRisk<?, ?>> map(IdRefResolver idRefResolver) {
+      return risks.stream()
+          .<AbstractRisk<?, ?>>map(
+              risk -> elementTransformer.transformDto2Risk(risk, idRefResolver))
+          .toList();
+    }
+  }
+}
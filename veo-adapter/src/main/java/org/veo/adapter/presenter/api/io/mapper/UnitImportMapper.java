@@ -21,6 +21,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.veo.adapter.IdRefResolvingFactory;
 import org.veo.adapter.presenter.api.dto.UnitDumpDto;
 import org.veo.adapter.presenter.api.response.transformer.DtoToEntityTransformer;
@@ -31,6 +34,7 @@ import org.veo.core.entity.transform.IdentifiableFactory;
 import org.veo.core.repository.RepositoryProvider;
 import org.veo.core.usecase.service.DbIdRefResolver;
 import org.veo.core.usecase.service.EntityStateMapper;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase;
 import org.veo.core.usecase.unit.UnitImportUseCase;
 
 import lombok.RequiredArgsConstructor;
@@ -62,6 +66,23 @@ public class UnitImportMapper {
     return new UnitImportUseCase.InputData(client, unit, elements);
   }
 
+  /**
+   * Creates input for a streaming import that reads the unit dump from given parser. The dump
+   * properties must appear in the order in which the export writes them.
+   */
+  public StreamingUnitImportUseCase.InputData mapStreamingInput(
+      JsonParser parser, ObjectMapper objectMapper, Client client) {
+    return new StreamingUnitImportUseCase.InputData(
+        client,
+        new UnitDumpReader(
+            parser,
+            objectMapper,
+            new DbIdRefResolver(repositoryProvider, client),
+            identifiableFactory,
+            entityFactory,
+            entityStateMapper));
+  }
+
   private IdRefResolvingFactory createResolvingFactory(UnitDumpDto dto, Client client) {
     var resolvingFactory = new IdRefResolvingFactory(identifiableFactory);
     // Resolve domains using the DB (all other references must be resolved locally).
@@ -20,7 +20,9 @@ package org.veo.adapter.service.domaintemplate;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -72,6 +74,15 @@ public class DomainTemplateServiceImpl implements DomainTemplateService {
   private final EntityFactory entityFactory;
   private final EntityStateMapper entityStateMapper;
 
+  private static final int MAX_COMPILED_PROFILES = 32;
+
+  /**
+   * Parsed profiles by domain, domain version and profile key. Changing a domain increments its
+   * version, so outdated entries are never used again and are dropped as least recently used.
+   */
+  private final Map<ProfileCacheKey, CompiledProfile> compiledProfiles =
+      Collections.synchronizedMap(new CompiledProfiles());
+
   public DomainTemplateServiceImpl(
       DomainTemplateRepository domainTemplateRepository,
       EntityFactory factory,
@@ -133,18 +144,38 @@ public class DomainTemplateServiceImpl implements DomainTemplateService {
 
   @Override
   public Collection<Element> getProfileElements(Domain domain, ProfileRef profileKey) {
-    var client = domain.getOwner();
-    return domain
-        .findProfile(profileKey)
-        .map(profile -> createElementsFromProfile(client, domain, profile))
-        .orElseThrow(() -> new NotFoundException("Profile '%s' not found", profileKey.getKeyRef()));
+    var profile = getCompiledProfile(domain, profileKey);
+    return createElements(domain.getOwner(), domain, profile.elements(), profile.risks());
+  }
+
+  /**
+   * Returns the parsed elements & risks of given profile, parsing them only if they have not been
+   * parsed for the current version of the domain yet.
+   */
+  private CompiledProfile getCompiledProfile(Domain domain, ProfileRef profileKey) {
+    var cacheKey =
+        new ProfileCacheKey(domain.getId(), domain.getVersion(), profileKey.getKeyRef());
+    var cached = compiledProfiles.get(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
+    var compiled =
+        domain
+            .findProfile(profileKey)
+            .map(this::compileProfile)
+            .orElseThrow(
+                () -> new NotFoundException("Profile '%s' not found", profileKey.getKeyRef()));
+    if (domain.getId() != null) {
+      compiledProfiles.put(cacheKey, compiled);
+    }
+    return compiled;
   }
 
   private Collection<Element> createElements(
       Client client,
       Domain domain,
-      Set<AbstractElementDto> profileElements,
-      Set<AbstractRiskDto> profileRisks) {
+      Collection<AbstractElementDto> profileElements,
+      Collection<AbstractRiskDto> profileRisks) {
     var resolvingFactory = new IdRefResolvingFactory(identifiableFactory);
     resolvingFactory.setGlobalDomain(domain);
     var transformer = new DtoToEntityTransformer(factory, resolvingFactory, entityStateMapper);
@@ -170,14 +201,15 @@ public class DomainTemplateServiceImpl implements DomainTemplateService {
     return elements;
   }
 
-  private Collection<Element> createElementsFromProfile(
-      Client client, Domain domain, ProfileDefinition profileDefinition) {
+  private CompiledProfile compileProfile(ProfileDefinition profileDefinition) {
     try {
-      return createElements(
-          client,
-          domain,
-          parseJsonObjects(profileDefinition.getElements(), new TypeReference<>() {}),
-          parseJsonObjects(profileDefinition.getRisks(), new TypeReference<>() {}));
+      return new CompiledProfile(
+          List.copyOf(
+              this.<AbstractElementDto>parseJsonObjects(
+                  profileDefinition.getElements(), new TypeReference<>() {})),
+          List.copyOf(
+              this.<AbstractRiskDto>parseJsonObjects(
+                  profileDefinition.getRisks(), new TypeReference<>() {})));
     } catch (IOException e) {
       log.error("Error reading profile from domain template", e);
       throw new InternalDataCorruptionException("Error reading profile from domain template.", e);
@@ -209,6 +241,28 @@ public class DomainTemplateServiceImpl implements DomainTemplateService {
     return objectMapper.readValue(objectMapper.writeValueAsString(objects), typeRef);
   }
 
+  /**
+   * Profile elements & risks parsed from a profile definition. The DTOs are only read when creating
+   * elements and must never be modified, so they can be shared by all applications of the profile.
+   */
+  private record CompiledProfile(List<AbstractElementDto> elements, List<AbstractRiskDto> risks) {}
+
+  private record ProfileCacheKey(Key<UUID> domainId, long domainVersion, String profileKey) {}
+
+  private static final class CompiledProfiles
+      extends LinkedHashMap<ProfileCacheKey, CompiledProfile> {
+    private static final long serialVersionUID = -3120536263813474781L;
+
+    CompiledProfiles() {
+      super(16, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ProfileCacheKey, CompiledProfile> eldest) {
+      return size() > MAX_COMPILED_PROFILES;
+    }
+  }
+
   private String createDomainTemplateId(Domain domain) {
     return domainTemplateIdGenerator.createDomainTemplateId(
         domain.getName(), domain.getTemplateVersion());
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.veo.core.entity.Client;
+import org.veo.core.entity.ClientDomainMigration;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Key;
+
+public interface ClientDomainMigrationRepository {
+
+  Optional<ClientDomainMigration> findByNewDomainId(Key<UUID> newDomainId);
+
+  /**
+   * Finds the migration and locks it until the current transaction ends. Returns an empty optional
+   * if the migration does not exist or if it is locked by a concurrent transaction.
+   */
+  Optional<ClientDomainMigration> findAndLockByNewDomainId(Key<UUID> newDomainId);
+
+  /**
+   * Persists a new migration of given client from the old to the new domain, starting in status
+   * {@link ClientDomainMigration.Status#TRANSFERRING}.
+   */
+  ClientDomainMigration create(Client client, Domain oldDomain, Domain newDomain);
+}
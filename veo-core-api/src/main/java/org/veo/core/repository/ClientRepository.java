@@ -18,6 +18,7 @@
 package org.veo.core.repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Predicate;
@@ -43,6 +44,12 @@ public interface ClientRepository extends IdentifiableVersionedRepository<Client
 
   Optional<Client> findByIdFetchTranslations(Key<UUID> id);
 
+  /**
+   * Returns the current versions of the client with given ID and of its domains using a single
+   * query, or empty if the client does not exist.
+   */
+  Optional<Versions> findVersionsById(Key<UUID> id);
+
   List<Client> findAll();
 
   default Client getById(Key<UUID> clientId) {
@@ -67,4 +74,7 @@ public interface ClientRepository extends IdentifiableVersionedRepository<Client
     }
     return Optional.empty();
   }
+
+  /** The versions of a client and of its domains by domain ID. */
+  record Versions(long clientVersion, Map<Key<UUID>, Long> domainVersions) {}
 }
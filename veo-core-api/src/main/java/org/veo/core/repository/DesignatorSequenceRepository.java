@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.core.repository;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.veo.core.entity.Key;
@@ -27,4 +28,12 @@ import org.veo.core.entity.Key;
  */
 public interface DesignatorSequenceRepository {
   Long getNext(Key<UUID> clientId, String typeDesignator);
+
+  /**
+   * Fetches a block of sequential numbers for given client & type designator in a single round
+   * trip.
+   *
+   * @return the reserved numbers in ascending order
+   */
+  List<Long> getNext(Key<UUID> clientId, String typeDesignator, int count);
 }
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.core.repository;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -43,6 +44,9 @@ public interface DomainRepository extends IdentifiableVersionedRepository<Domain
 
   Set<Domain> findAllByClientWithEntityTypeDefinitionsAndRiskDefinitions(Key<UUID> clientId);
 
+  /** Returns the current versions of all domains in given client without loading the domains. */
+  Map<Key<UUID>, Long> findVersionsByClient(Key<UUID> clientId);
+
   Set<Domain> findAllByTemplateId(Key<UUID> domainTemplateId);
 
   Optional<Domain> findByCatalogItem(CatalogItem catalogItem);
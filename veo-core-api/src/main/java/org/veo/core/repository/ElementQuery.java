@@ -18,8 +18,10 @@
 package org.veo.core.repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.veo.core.entity.CatalogItem;
 import org.veo.core.entity.Domain;
@@ -99,4 +101,21 @@ public interface ElementQuery<T extends Element> {
   void whereScopesContain(SingleValueQueryCondition<Key<UUID>> scopeId);
 
   PagedResult<T> execute(PagingConfiguration pagingConfiguration);
+
+  /**
+   * Passes all matching elements to given consumer chunk by chunk, so only one chunk of elements is
+   * attached to the persistence context at a time. The IDs of the results are read in ascending
+   * order using keyset pagination and each chunk is only loaded right before it is passed to the
+   * consumer. Once the consumer has returned, the revision messages for the changes made so far are
+   * created, pending changes are written to the database and the elements of the chunk are
+   * detached from the persistence context. The consumer may modify or delete the elements, but must
+   * not keep references to them beyond its chunk.
+   *
+   * <p>The stored revision messages stay in the persistence context until the transaction is
+   * committed, so memory usage still grows with the number of elements that are changed.
+   *
+   * @param chunkSize maximum number of elements per chunk
+   * @param consumer called once for each non-empty chunk
+   */
+  void forEachChunk(int chunkSize, Consumer<List<T>> consumer);
 }
@@ -24,4 +24,21 @@ import org.veo.core.entity.Element;
 public interface GenericElementRepository extends ElementQueryProvider<Element> {
 
   void deleteAll(Collection<Element> entities);
+
+  /**
+   * Detaches all entities from the current persistence context, discarding any unflushed changes.
+   * Read operations that process a large number of elements in chunks can use this to release the
+   * elements of a processed chunk.
+   */
+  void clearPersistenceContext();
+
+  /**
+   * Writes pending changes to the database and detaches given elements (including their aspects,
+   * links & risks) from the current persistence context. Unlike {@link #clearPersistenceContext()}
+   * this keeps shared entities such as domains attached, so write operations that process a large
+   * number of elements in chunks can use this to release the elements of a processed chunk. The
+   * revision messages for the changes made so far are created before the elements are detached,
+   * so elements that are changed again later get another revision message.
+   */
+  void flushAndDetach(Collection<? extends Element> elements);
 }
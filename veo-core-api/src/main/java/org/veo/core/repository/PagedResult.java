@@ -19,14 +19,37 @@ package org.veo.core.repository;
 
 import java.util.List;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /** A page of results from a repository query */
 @Data
+@AllArgsConstructor
 public class PagedResult<T> {
 
+  /** Used as {@link #totalResults} & {@link #totalPages} if the results have not been counted. */
+  public static final int UNKNOWN = -1;
+
   private final PagingConfiguration pagingConfiguration;
   private final List<T> resultPage;
   private final long totalResults;
   private final int totalPages;
+
+  /**
+   * Keyset paging only: the cursor pointing to the position after the last item on this page, or
+   * {@code null} if this is the last page.
+   */
+  private final String nextCursor;
+
+  public PagedResult(
+      PagingConfiguration pagingConfiguration,
+      List<T> resultPage,
+      long totalResults,
+      int totalPages) {
+    this(pagingConfiguration, resultPage, totalResults, totalPages, null);
+  }
+
+  public boolean isCounted() {
+    return totalResults != UNKNOWN;
+  }
 }
@@ -17,10 +17,18 @@
  ******************************************************************************/
 package org.veo.core.repository;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
-/** Used to limit the results from a repository to a number of items */
+/**
+ * Used to limit the results from a repository to a number of items.
+ *
+ * <p>By default, results are paged by offset (page number * page size). When a cursor is set
+ * (keyset paging), the query continues after the position encoded in the cursor instead and the
+ * page number is ignored. An empty cursor requests the first page in keyset mode.
+ */
 @Data
+@AllArgsConstructor
 public class PagingConfiguration {
 
   public static final PagingConfiguration UNPAGED =
@@ -31,6 +39,33 @@ public class PagingConfiguration {
   private final String sortColumn;
   private final SortOrder sortOrder;
 
+  /**
+   * Opaque position after which the next page starts, as returned by {@link
+   * PagedResult#getNextCursor()}. {@code null} for offset paging.
+   */
+  private final String cursor;
+
+  /**
+   * Whether the total number of results should be counted. Always true for offset paging, optional
+   * for keyset paging because counting requires an additional query.
+   */
+  private final boolean countTotal;
+
+  public PagingConfiguration(
+      int pageSize, int pageNumber, String sortColumn, SortOrder sortOrder) {
+    this(pageSize, pageNumber, sortColumn, sortOrder, null, true);
+  }
+
+  public static PagingConfiguration keyset(
+      int pageSize, String sortColumn, SortOrder sortOrder, String cursor, boolean countTotal) {
+    return new PagingConfiguration(
+        pageSize, 0, sortColumn, sortOrder, cursor == null ? "" : cursor, countTotal);
+  }
+
+  public boolean isKeysetPaging() {
+    return cursor != null;
+  }
+
   public enum SortOrder {
     ASCENDING,
     DESCENDING
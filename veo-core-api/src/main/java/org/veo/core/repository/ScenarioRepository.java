@@ -19,6 +19,7 @@ package org.veo.core.repository;
 
 import java.util.Set;
 
+import org.veo.core.entity.AbstractRisk;
 import org.veo.core.entity.Domain;
 import org.veo.core.entity.Scenario;
 
@@ -30,4 +31,10 @@ import org.veo.core.entity.Scenario;
  */
 public interface ScenarioRepository extends ElementRepository<Scenario> {
   Set<Scenario> findByDomainWhereRiskValuesExist(Domain domain);
+
+  /**
+   * Loads all risks caused by given scenarios (regardless of the type of risk-affected element)
+   * together with the risk-affected elements' impact values and the scenarios' probabilities.
+   */
+  Set<AbstractRisk<?, ?>> findRisksWithOwners(Set<Scenario> scenarios);
 }
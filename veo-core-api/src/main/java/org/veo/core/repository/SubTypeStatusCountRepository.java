@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.EntityType;
+import org.veo.core.entity.Unit;
+
+/**
+ * Provides the number of elements per sub type and status. The counters are maintained in the
+ * database whenever elements are created, modified, moved or deleted.
+ */
+public interface SubTypeStatusCountRepository {
+  /** Returns the counts for all element types in given unit & domain. */
+  Map<EntityType, Set<SubTypeStatusCount>> findCounts(Unit unit, Domain domain);
+
+  /**
+   * Compares all counters with the actual number of elements.
+   *
+   * @return the number of counters that are incorrect or missing
+   */
+  int verify();
+
+  /**
+   * Merges the changes that have been recorded for each counter, so reading the counters stays
+   * cheap. The counts are not affected.
+   *
+   * @return the number of counter rows written
+   */
+  int compact();
+
+  /**
+   * Recalculates all counters from the elements.
+   *
+   * @return the number of counters that were incorrect or missing
+   */
+  int rebuild();
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Records the progress of migrating a client's elements from a domain to its successor domain. The
+ * migration is performed in chunks that are committed separately, so it can be resumed where it was
+ * interrupted.
+ */
+public interface ClientDomainMigration {
+
+  /** The domain that the client is migrated to. Each migration is identified by this domain. */
+  Key<UUID> getNewDomainId();
+
+  /** The domain that the client is migrated from. It is deactivated once the migration is done. */
+  Key<UUID> getOldDomainId();
+
+  Key<UUID> getClientId();
+
+  Status getStatus();
+
+  void setStatus(Status status);
+
+  /**
+   * Keyset paging cursor pointing to the position after the last element that has been migrated in
+   * the {@link Status#MIGRATING} phase, or {@code null} if no element has been migrated yet.
+   */
+  String getCursor();
+
+  void setCursor(String cursor);
+
+  /** The number of elements that have been processed in all phases so far. */
+  long getProcessedElementCount();
+
+  void addProcessedElements(int count);
+
+  Instant getStartedAt();
+
+  Instant getUpdatedAt();
+
+  enum Status {
+    /** Domain-specific information is being moved from the old domain to the new domain. */
+    TRANSFERRING,
+    /** Elements are adapted to the new domain and their decisions are evaluated. */
+    MIGRATING,
+    DONE
+  }
+}
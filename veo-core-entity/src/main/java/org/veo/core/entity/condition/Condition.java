@@ -49,6 +49,11 @@ public class Condition {
     return inputMatcher.matches(inputProvider.getValue(element, domain));
   }
 
+  /** Determines whether the (memoized) input value is matched by the {@link InputMatcher}. */
+  public boolean matches(ElementInputs inputs) {
+    return inputMatcher.matches(inputs.getValue(inputProvider));
+  }
+
   /** Determines whether this condition may yield a different result after given event. */
   public boolean isAffectedByEvent(ElementEvent event, Domain domain) {
     return inputProvider.isAffectedByEvent(event, domain);
@@ -43,10 +43,18 @@ public class CustomAspectAttributeSizeProvider implements InputProvider {
 
   @Override
   public Object getValue(Element element, Domain domain) {
-    var value =
+    return toSize(
         new CustomAspectAttributeValueProvider(customAspectType, attributeType)
-            .getValue(element, domain);
+            .getValue(element, domain));
+  }
+
+  @Override
+  public Object getValue(ElementInputs inputs) {
+    return toSize(
+        inputs.getValue(new CustomAspectAttributeValueProvider(customAspectType, attributeType)));
+  }
 
+  private int toSize(Object value) {
     if (value == null) {
       return 0;
     }
@@ -46,6 +46,14 @@ public class CustomAspectAttributeValueProvider implements InputProvider {
         .orElse(null);
   }
 
+  @Override
+  public Object getValue(ElementInputs inputs) {
+    return inputs
+        .findCustomAspect(customAspect)
+        .map(ca -> ca.getAttributes().get(attribute))
+        .orElse(null);
+  }
+
   @Override
   public void selfValidate(DomainBase domain, String elementType) {
     getAttributeDefinition(domain, elementType);
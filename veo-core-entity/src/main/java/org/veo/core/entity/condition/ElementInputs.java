@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.entity.condition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.veo.core.entity.CustomAspect;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Element;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Extracts input values from an element in the context of a domain for evaluating many {@link
+ * Condition}s at once. Values are memoized per {@link InputProvider}, so equal providers used by
+ * different rules, decisions or inspections are only evaluated once, and custom aspects are indexed
+ * by type on first access. Must not be reused after the element has been modified.
+ */
+@RequiredArgsConstructor
+public class ElementInputs {
+  @Getter private final Element element;
+  @Getter private final Domain domain;
+
+  private final Map<InputProvider, Object> values = new HashMap<>();
+  private Map<String, CustomAspect> customAspectsByType;
+  private Optional<String> subType;
+
+  public Object getValue(InputProvider provider) {
+    // Decision results may be updated on the element between the evaluation of different
+    // decisions, so they are always read from the element.
+    if (provider instanceof DecisionResultValueProvider) {
+      return provider.getValue(this);
+    }
+    if (values.containsKey(provider)) {
+      return values.get(provider);
+    }
+    var value = provider.getValue(this);
+    values.put(provider, value);
+    return value;
+  }
+
+  public Optional<CustomAspect> findCustomAspect(String type) {
+    if (customAspectsByType == null) {
+      customAspectsByType = new HashMap<>();
+      element.getCustomAspects().forEach(ca -> customAspectsByType.putIfAbsent(ca.getType(), ca));
+    }
+    return Optional.ofNullable(customAspectsByType.get(type));
+  }
+
+  public Optional<String> findSubType() {
+    if (subType == null) {
+      subType = element.findSubType(domain);
+    }
+    return subType;
+  }
+}
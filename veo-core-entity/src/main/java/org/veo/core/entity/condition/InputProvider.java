@@ -41,6 +41,14 @@ import org.veo.core.entity.event.ElementEvent;
 public interface InputProvider {
   public Object getValue(Element element, Domain domain);
 
+  /**
+   * Provides the value for the element of given inputs. Providers may override this to make use of
+   * the inputs' indexes.
+   */
+  default Object getValue(ElementInputs inputs) {
+    return getValue(inputs.getElement(), inputs.getDomain());
+  }
+
   /** Determines whether this provider may yield a different value after given event. */
   default boolean isAffectedByEvent(ElementEvent event, Domain domain) {
     return false;
@@ -31,6 +31,7 @@ import org.veo.core.entity.DomainBase;
 import org.veo.core.entity.Element;
 import org.veo.core.entity.TranslatedText;
 import org.veo.core.entity.aspects.SubTypeAspect;
+import org.veo.core.entity.condition.ElementInputs;
 import org.veo.core.entity.event.ElementEvent;
 import org.veo.core.entity.exception.NotFoundException;
 
@@ -65,13 +66,22 @@ public class Decision {
   private Boolean defaultResultValue;
 
   public DecisionResult evaluate(Element element, Domain domain) {
+    return evaluate(new ElementInputs(element, domain));
+  }
+
+  /**
+   * Evaluates this decision on the element of given inputs. Inputs can be shared between decisions
+   * on the same element.
+   */
+  public DecisionResult evaluate(ElementInputs inputs) {
     // Find all matching rules
     var matchingRules = new ArrayList<DecisionRuleRef>();
-    for (var i = 0; i < rules.size(); i++) {
-      var rule = rules.get(i);
-      if (rule.matches(element, domain)) {
+    var i = 0;
+    for (var rule : rules) {
+      if (rule.matches(inputs)) {
         matchingRules.add(new DecisionRuleRef(i, this));
       }
+      i++;
     }
 
     // The first matching rule determines the result.
@@ -27,6 +27,7 @@ import org.veo.core.entity.DomainBase;
 import org.veo.core.entity.Element;
 import org.veo.core.entity.TranslatedText;
 import org.veo.core.entity.condition.Condition;
+import org.veo.core.entity.condition.ElementInputs;
 import org.veo.core.entity.event.ElementEvent;
 import org.veo.core.entity.exception.NotFoundException;
 
@@ -58,7 +59,17 @@ public class Rule {
 
   /** Determines whether the element matches any rule conditions */
   public boolean matches(Element element, Domain domain) {
-    return conditions.stream().anyMatch(c -> c.matches(element, domain));
+    return matches(new ElementInputs(element, domain));
+  }
+
+  /** Determines whether the element of given inputs matches any rule conditions */
+  public boolean matches(ElementInputs inputs) {
+    for (var condition : conditions) {
+      if (condition.matches(inputs)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /** Compares the output of this rule to given value. */
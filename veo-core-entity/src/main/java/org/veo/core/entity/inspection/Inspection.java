@@ -26,6 +26,7 @@ import org.veo.core.entity.Element;
 import org.veo.core.entity.TranslatedText;
 import org.veo.core.entity.condition.Condition;
 import org.veo.core.entity.condition.DecisionResultValueProvider;
+import org.veo.core.entity.condition.ElementInputs;
 import org.veo.core.entity.condition.EqualsMatcher;
 import org.veo.core.entity.condition.InputMatcher;
 import org.veo.core.entity.condition.InputProvider;
@@ -60,17 +61,26 @@ public class Inspection {
   final List<Suggestion> suggestions = new ArrayList<>();
 
   public Optional<Finding> run(Element element, Domain domain) {
-    if (elementType != null && !elementType.equals(element.getModelType())) {
+    return run(new ElementInputs(element, domain));
+  }
+
+  /**
+   * Runs this inspection on the element of given inputs. Inputs can be shared between inspections
+   * on the same element.
+   */
+  public Optional<Finding> run(ElementInputs inputs) {
+    if (elementType != null && !elementType.equals(inputs.getElement().getModelType())) {
       return Optional.empty();
     }
-    if (elementSubType != null
-        && !elementSubType.equals(element.findSubType(domain).orElse(null))) {
+    if (elementSubType != null && !elementSubType.equals(inputs.findSubType().orElse(null))) {
       return Optional.empty();
     }
-    if (conditions.stream().allMatch(c -> c.matches(element, domain))) {
-      return Optional.of(new Finding(severity, description, suggestions));
+    for (var condition : conditions) {
+      if (!condition.matches(inputs)) {
+        return Optional.empty();
+      }
     }
-    return Optional.empty();
+    return Optional.of(new Finding(severity, description, suggestions));
   }
 
   public Inspection addCondition(InputProvider provider, InputMatcher matcher) {
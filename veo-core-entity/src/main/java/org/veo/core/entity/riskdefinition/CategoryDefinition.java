@@ -20,19 +20,27 @@ package org.veo.core.entity.riskdefinition;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import jakarta.validation.constraints.NotNull;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import org.veo.core.entity.TranslationMap;
+import org.veo.core.entity.risk.CategoryRef;
 import org.veo.core.entity.risk.ImpactRef;
 import org.veo.core.entity.risk.ProbabilityRef;
+import org.veo.core.entity.risk.RiskRef;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 /**
@@ -71,6 +79,15 @@ public class CategoryDefinition extends DimensionDefinition {
   @EqualsAndHashCode.Include private List<List<RiskValue>> valueMatrix = new ArrayList<>();
   @EqualsAndHashCode.Include private List<CategoryLevel> potentialImpacts = new ArrayList<>();
 
+  /**
+   * Array-backed form of the value matrix, compiled on first use. It is compiled again when the ID
+   * or matrix are replaced (but not when the matrix is modified in place).
+   */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private transient volatile CompiledMatrix compiledMatrix;
+
   /** returns a risk value from the matrix for the ProbabilityLevel and the CategoryLevel. */
   public RiskValue getRiskValue(ProbabilityLevel plevel, CategoryLevel clevel) {
     if (!potentialImpacts.contains(clevel)) {
@@ -94,6 +111,37 @@ public class CategoryDefinition extends DimensionDefinition {
     return probability.get(probabliltyOrdinalValue);
   }
 
+  /**
+   * Returns a reference to the risk value from the matrix for given probability & impact. Unlike
+   * {@link #getRiskValue(ProbabilityRef, ImpactRef)}, this does not allocate a new reference.
+   *
+   * @throws NullPointerException if the matrix cell is empty
+   */
+  public RiskRef getRiskRef(ProbabilityRef effectiveProbability, ImpactRef effectiveImpact) {
+    var riskRefs = getCompiledMatrix().riskRefs();
+    int categoryOrdinalValue = effectiveImpact.getIdRef().intValue();
+    if (categoryOrdinalValue > riskRefs.length - 1) {
+      throw new IllegalArgumentException("No risk value for category: " + categoryOrdinalValue);
+    }
+    RiskRef[] probability = riskRefs[categoryOrdinalValue];
+    int probabilityOrdinalValue = effectiveProbability.getIdRef().intValue();
+    if (probabilityOrdinalValue > probability.length - 1) {
+      throw new IllegalArgumentException(
+          "No risk value for probability: " + probabilityOrdinalValue);
+    }
+    return Objects.requireNonNull(
+        probability[probabilityOrdinalValue],
+        () ->
+            "No risk value in matrix cell for category %d and probability %d"
+                .formatted(categoryOrdinalValue, probabilityOrdinalValue));
+  }
+
+  /** Returns a shared reference to this category. */
+  @JsonIgnore
+  public CategoryRef getCategoryRef() {
+    return getCompiledMatrix().categoryRef();
+  }
+
   public void setPotentialImpacts(@NotNull List<CategoryLevel> potentialImpacts) {
     this.potentialImpacts = potentialImpacts;
     initLevel(potentialImpacts);
@@ -128,8 +176,48 @@ public class CategoryDefinition extends DimensionDefinition {
   }
 
   public Optional<CategoryLevel> getLevel(int ordinalValue) {
+    // The ordinal value is usually the level's position in the list.
+    if (ordinalValue >= 0 && ordinalValue < potentialImpacts.size()) {
+      var level = potentialImpacts.get(ordinalValue);
+      if (level.getOrdinalValue() == ordinalValue) {
+        return Optional.of(level);
+      }
+    }
     return potentialImpacts.stream()
         .filter(level -> level.getOrdinalValue() == ordinalValue)
         .findFirst();
   }
+
+  private CompiledMatrix getCompiledMatrix() {
+    var compiled = compiledMatrix;
+    if (compiled == null || !compiled.isCompiledFrom(this)) {
+      compiled = CompiledMatrix.compile(this);
+      compiledMatrix = compiled;
+    }
+    return compiled;
+  }
+
+  private record CompiledMatrix(
+      String id,
+      List<List<RiskValue>> valueMatrix,
+      CategoryRef categoryRef,
+      RiskRef[][] riskRefs) {
+
+    static CompiledMatrix compile(CategoryDefinition definition) {
+      var riskRefs =
+          definition.valueMatrix.stream()
+              .map(
+                  row ->
+                      row.stream()
+                          .map(value -> value == null ? null : RiskRef.from(value))
+                          .toArray(RiskRef[]::new))
+              .toArray(RiskRef[][]::new);
+      return new CompiledMatrix(
+          definition.getId(), definition.valueMatrix, CategoryRef.from(definition), riskRefs);
+    }
+
+    boolean isCompiledFrom(CategoryDefinition definition) {
+      return valueMatrix == definition.valueMatrix && Objects.equals(id, definition.getId());
+    }
+  }
 }
@@ -19,6 +19,10 @@ package org.veo.core.entity
 
 import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator
 
+import org.veo.core.entity.risk.CategoryRef
+import org.veo.core.entity.risk.ImpactRef
+import org.veo.core.entity.risk.ProbabilityRef
+import org.veo.core.entity.risk.RiskRef
 import org.veo.core.entity.riskdefinition.CategoryDefinition
 import org.veo.core.entity.riskdefinition.CategoryLevel
 import org.veo.core.entity.riskdefinition.ImplementationStateDefinition
@@ -31,6 +35,7 @@ import org.veo.core.entity.specification.TranslationValidator
 
 import jakarta.validation.ConstraintViolation
 import jakarta.validation.Validation
+import spock.lang.Requires
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -175,6 +180,96 @@ class RiskMatrixSpec extends Specification {
         cd1.validateRiskCategory(riskValues, probabilities)
     }
 
+    def "risk values are looked up in the compiled matrix"() {
+        given: "a category with a 4x4 matrix"
+        def riskValues = (0..3).collect { new RiskValue(it, "#00000$it", "symbolic_risk_$it") }
+        def probabilities = new ProbabilityDefinition((0..3).collect { new ProbabilityLevel("#00000$it") })
+        def impacts = (0..3).collect { new CategoryLevel("#00000$it") }
+        def matrix = (0..3).collect { i ->
+            (0..3).collect { p -> riskValues[Math.max(i, p)] }
+        }
+        def cd = new CategoryDefinition("C", matrix, impacts)
+        def cells = (0..<16).collect {
+            [
+                ProbabilityRef.from(probabilities.levels[it % 4]),
+                ImpactRef.from(impacts[it.intdiv(4)])
+            ]
+        }
+
+        when: "looking up all risk values"
+        def directRefs = cells.collect { RiskRef.from(cd.getRiskValue(it[0], it[1])) }
+        def compiledRefs = cells.collect { cd.getRiskRef(it[0], it[1]) }
+
+        then: "the results are the same"
+        compiledRefs == directRefs
+        cd.getRiskRef(ProbabilityRef.from(probabilities.levels[3]), ImpactRef.from(impacts[0])).is(
+                cd.getRiskRef(ProbabilityRef.from(probabilities.levels[3]), ImpactRef.from(impacts[0])))
+        cd.categoryRef == CategoryRef.from(cd)
+        cd.getLevel(2).get().is(impacts[2])
+        cd.getLevel(4).empty
+
+        when: "the matrix is replaced"
+        cd.valueMatrix = matrix.collect { row -> row.collect { riskValues[0] } }
+
+        then: "the new matrix is used"
+        cd.getRiskRef(ProbabilityRef.from(probabilities.levels[3]), ImpactRef.from(impacts[3])) == RiskRef.from(riskValues[0])
+
+        when: "looking up values outside of the matrix"
+        cd.getRiskRef(ProbabilityRef.from(probabilities.levels[3]), new ImpactRef(4))
+
+        then:
+        IllegalArgumentException ex = thrown()
+        ex.message == "No risk value for category: 4"
+
+        when: "looking up an empty matrix cell"
+        cd.valueMatrix = matrix.collect { row -> row.collect { null } }
+        cd.getRiskRef(ProbabilityRef.from(probabilities.levels[1]), ImpactRef.from(impacts[2]))
+
+        then: "it fails like creating a reference for the missing risk value"
+        NullPointerException npe = thrown()
+        npe.message == "No risk value in matrix cell for category 2 and probability 1"
+    }
+
+    @Requires({ env.VEO_LARGE_PERFORMANCE_TESTS })
+    def "looking up risk values in the compiled matrix is faster"() {
+        given: "a category with a 4x4 matrix and 100k cells to look up"
+        def riskValues = (0..3).collect { new RiskValue(it, "#00000$it", "symbolic_risk_$it") }
+        def probabilities = new ProbabilityDefinition((0..3).collect { new ProbabilityLevel("#00000$it") })
+        def impacts = (0..3).collect { new CategoryLevel("#00000$it") }
+        def matrix = (0..3).collect { i ->
+            (0..3).collect { p -> riskValues[Math.max(i, p)] }
+        }
+        def cd = new CategoryDefinition("C", matrix, impacts)
+        def cells = (0..<100_000).collect {
+            [
+                ProbabilityRef.from(probabilities.levels[it % 4]),
+                ImpactRef.from(impacts[it.intdiv(4) % 4])
+            ]
+        }
+        def measure = { Closure lookup ->
+            def start = System.nanoTime()
+            def refs = cells.collect { lookup(it[0], it[1]) }
+            [
+                refs,
+                System.nanoTime() - start
+            ]
+        }
+        def direct = { p, i -> RiskRef.from(cd.getRiskValue(p, i)) }
+        def compiled = { p, i -> cd.getRiskRef(p, i) }
+        3.times {
+            measure(direct)
+            measure(compiled)
+        }
+
+        when: "looking up 100k risk values"
+        def (directRefs, directNanos) = measure(direct)
+        def (compiledRefs, compiledNanos) = measure(compiled)
+
+        then:
+        compiledRefs == directRefs
+        compiledNanos < directNanos
+    }
+
     def "test ImplementationStateDefinition equals"() {
         when: "ImplementationStateDefinition"
         def isd1 =new ImplementationStateDefinition()
@@ -17,15 +17,53 @@
  ******************************************************************************/
 package org.veo.core.usecase;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
 import org.veo.core.entity.Client;
 import org.veo.core.entity.Designated;
+import org.veo.core.entity.Key;
 import org.veo.core.repository.DesignatorSequenceRepository;
 
-import lombok.AllArgsConstructor;
-
-@AllArgsConstructor
+/**
+ * Assigns designators using numbers from the per-client designator sequences. Numbers are reserved
+ * from the sequences in blocks and handed out from an in-memory pool keyed by client and type
+ * designator, so assigning many designators does not cost one sequence round trip each. Numbers
+ * that are reserved but never handed out (because the pool is discarded or the application stops)
+ * leave gaps in the designators.
+ */
 public class DesignatorService {
   private final DesignatorSequenceRepository designatorSequenceRepository;
+  private final int blockSize;
+  private final Map<PoolKey, Deque<Long>> pools = new ConcurrentHashMap<>();
+  private final AtomicLong reservedNumberCount = new AtomicLong();
+  private final AtomicLong discardedNumberCount = new AtomicLong();
+
+  public DesignatorService(DesignatorSequenceRepository designatorSequenceRepository) {
+    this(designatorSequenceRepository, 1);
+  }
+
+  /**
+   * @param blockSize minimum amount of numbers to reserve from a sequence when the pool for a
+   *     client and type designator runs empty
+   */
+  public DesignatorService(
+      DesignatorSequenceRepository designatorSequenceRepository, int blockSize) {
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("Designator block size must be positive");
+    }
+    this.designatorSequenceRepository = designatorSequenceRepository;
+    this.blockSize = blockSize;
+  }
 
   /**
    * Assigns a designator to a new entity. Use before persisting the target.
@@ -33,12 +71,104 @@ public class DesignatorService {
    * @throws IllegalStateException when the target already has a designator.
    */
   public void assignDesignator(Designated target, Client client) {
-    if (target.getDesignator() != null) {
-      throw new IllegalStateException(
-          "Cannot reassign designator on target " + target.getDesignator());
+    assignDesignators(List.of(target), client);
+  }
+
+  /**
+   * Assigns designators to new entities, fetching all required numbers with at most one sequence
+   * query per type designator. Numbers are assigned in iteration order. Use before persisting the
+   * targets.
+   *
+   * @throws IllegalStateException when one of the targets already has a designator.
+   */
+  public void assignDesignators(Collection<? extends Designated> targets, Client client) {
+    targets.forEach(
+        target -> {
+          if (target.getDesignator() != null) {
+            throw new IllegalStateException(
+                "Cannot reassign designator on target " + target.getDesignator());
+          }
+        });
+    targets.stream()
+        .collect(
+            Collectors.groupingBy(
+                Designated::getTypeDesignator, LinkedHashMap::new, Collectors.toList()))
+        .forEach(
+            (typeDesignator, targetsWithType) -> {
+              var numbers = take(client.getId(), typeDesignator, targetsWithType.size());
+              for (int i = 0; i < targetsWithType.size(); i++) {
+                targetsWithType.get(i).setDesignator(typeDesignator + "-" + numbers.get(i));
+              }
+            });
+  }
+
+  /**
+   * Discards all pooled numbers for given client. This must be called when the client's sequences
+   * are (re-)created or removed.
+   */
+  public void discardReservations(Key<UUID> clientId) {
+    pools
+        .keySet()
+        .removeIf(
+            key -> {
+              if (!key.clientId().equals(clientId)) {
+                return false;
+              }
+              var pool = pools.get(key);
+              if (pool != null) {
+                synchronized (pool) {
+                  discardedNumberCount.addAndGet(pool.size());
+                  pool.clear();
+                }
+              }
+              return true;
+            });
+  }
+
+  /** @return total amount of numbers reserved from the designator sequences */
+  public long getReservedNumberCount() {
+    return reservedNumberCount.get();
+  }
+
+  /** @return amount of reserved numbers that were discarded without being assigned (gaps) */
+  public long getDiscardedNumberCount() {
+    return discardedNumberCount.get();
+  }
+
+  /**
+   * @return amount of reserved numbers currently waiting in the pool. These become gaps if the
+   *     application stops before they are assigned.
+   */
+  public long getPooledNumberCount() {
+    return pools.values().stream()
+        .mapToLong(
+            pool -> {
+              synchronized (pool) {
+                return pool.size();
+              }
+            })
+        .sum();
+  }
+
+  private List<Long> take(Key<UUID> clientId, String typeDesignator, int count) {
+    var pool =
+        pools.computeIfAbsent(new PoolKey(clientId, typeDesignator), k -> new ArrayDeque<>());
+    synchronized (pool) {
+      var missing = count - pool.size();
+      if (missing > 0) {
+        var reserved =
+            designatorSequenceRepository.getNext(
+                clientId, typeDesignator, Math.max(missing, blockSize));
+        reservedNumberCount.addAndGet(reserved.size());
+        pool.addAll(reserved);
+      }
+      var numbers = new ArrayList<Long>(count);
+      for (int i = 0; i < count; i++) {
+        numbers.add(pool.removeFirst());
+      }
+      return numbers;
     }
-    String typeDesignator = target.getTypeDesignator();
-    var number = designatorSequenceRepository.getNext(client.getId(), typeDesignator);
-    target.setDesignator(typeDesignator + "-" + number);
   }
+
+  private record PoolKey(Key<UUID> clientId, String typeDesignator) {}
 }
@@ -35,11 +35,18 @@ public class IncomingMessageHandler {
   private final ElementMigrationService elementMigrationService;
   private final CatalogMigrationService catalogMigrationService;
 
+  /** Number of elements that are loaded & migrated at once. */
+  private final int migrationChunkSize;
+
   public void handleElementTypeDefinitionUpdate(Domain domain, EntityType elementType) {
-    repositoryProvider
-        .getElementRepositoryFor((Class<? extends Element>) elementType.getType())
-        .findByDomain(domain)
-        .forEach(element -> elementMigrationService.migrate(element, domain));
+    var query =
+        repositoryProvider
+            .getElementRepositoryFor((Class<? extends Element>) elementType.getType())
+            .query(domain.getOwner());
+    query.whereDomainsContain(domain);
+    query.forEachChunk(
+        migrationChunkSize,
+        elements -> elements.forEach(element -> elementMigrationService.migrate(element, domain)));
 
     catalogMigrationService.migrate(elementType, domain);
   }
@@ -20,18 +20,18 @@ package org.veo.core.usecase.catalogitem;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.BiConsumer;
-import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
@@ -100,67 +100,73 @@ public class ApplyIncarnationDescriptionUseCase
         catalogItemRepository.getByIdsFetchElementData(catalogItemIds).stream()
             .collect(Collectors.toMap(CatalogItem::getId, Function.identity()));
 
-    Supplier<IncarnationResult> supplier = IncarnationResult::new;
-    BiConsumer<IncarnationResult, ElementResult> consumer =
-        (elementData, iElement) -> {
-          elementData.elements.add(iElement.element);
-          elementData.internalLinks.addAll(iElement.getInternalLinks());
-        };
-    BinaryOperator<IncarnationResult> operator =
-        (source, data) -> {
-          source.elements.addAll(data.elements);
-          source.internalLinks.addAll(data.internalLinks);
-          return source;
-        };
-    Function<IncarnationResult, List<Element>> function =
-        elementData -> {
-          processInternalLinks(elementData.internalLinks, elementData.elements);
-          return elementData.elements;
-        };
-
-    Set<Key<UUID>> usedDomains1 =
-        catalogItemsbyId.values().stream()
-            .map(ci -> ci.getCatalog().getDomainTemplate().getId())
-            .collect(Collectors.toSet());
-
     Map<Key<UUID>, Domain> usedDomains =
-        usedDomains1.stream()
-            .collect(Collectors.toMap(Function.identity(), domainRepository::getById));
-
+        getUsedDomains(unit.getClient(), catalogItemsbyId.values());
     usedDomains
         .values()
         .forEach(
             domain ->
                 UseCaseTools.checkDomainBelongsToClient(input.getAuthenticatedClient(), domain));
 
-    List<Element> createdElements =
-        input.getReferencesToApply().stream()
-            .map(
-                ra -> {
-                  Key<UUID> catalogItemId = ra.getItem().getId();
-                  CatalogItem catalogItem = catalogItemsbyId.get(catalogItemId);
-                  if (catalogItem == null) {
-                    throw new ReferenceTargetNotFoundException(catalogItemId, CatalogItem.class);
-                  }
-                  Domain domain =
-                      usedDomains.get(catalogItem.getCatalog().getDomainTemplate().getId());
-                  return createElementFromCatalogItem(
-                      unit, authenticatedClient, catalogItem, domain, ra.getReferences());
-                })
-            .collect(Collector.of(supplier, consumer, operator, function));
+    List<ElementResult> results = new ArrayList<>(referencesToApply.size());
+    for (IncarnateCatalogItemDescription ra : referencesToApply) {
+      Key<UUID> catalogItemId = ra.getItem().getId();
+      CatalogItem catalogItem = catalogItemsbyId.get(catalogItemId);
+      if (catalogItem == null) {
+        throw new ReferenceTargetNotFoundException(catalogItemId, CatalogItem.class);
+      }
+      Domain domain = usedDomains.get(catalogItem.getCatalog().getDomainTemplate().getId());
+      results.add(createElementFromCatalogItem(unit, catalogItem, domain, ra.getReferences()));
+    }
+    List<Element> createdElements = results.stream().map(ElementResult::getElement).toList();
+    designatorService.assignDesignators(createdElements, authenticatedClient);
+    saveElements(createdElements);
+
+    Set<Element> linkedElements = new LinkedHashSet<>();
+    results.forEach(
+        result ->
+            applyExternalTailoringReferences(
+                result.element,
+                result.domain,
+                linkTailorReferences(
+                    result.catalogItem, TailoringReferenceTyped.IS_EXTERNALLINK_PREDICATE),
+                linkTailorReferencesParameters(
+                    result.referencesToApply, TailoringReferenceTyped.IS_EXTERNALLINK_PREDICATE),
+                linkedElements));
+    linkedElements.forEach(this::saveElement);
+    processInternalLinks(
+        results.stream().flatMap(r -> r.internalLinks.stream()).toList(), createdElements);
     log.info("ApplyIncarnationDescriptionUseCase elements created: {}", createdElements);
     return new ApplyIncarnationDescriptionUseCase.OutputData(createdElements);
   }
 
+  /**
+   * Returns the domains of given catalog items by ID. The domains are taken from the client's
+   * domains if possible, so they don't have to be loaded one by one.
+   */
+  private Map<Key<UUID>, Domain> getUsedDomains(Client client, Collection<CatalogItem> items) {
+    Map<Key<UUID>, Domain> clientDomains =
+        client.getDomains().stream().collect(Collectors.toMap(Domain::getId, Function.identity()));
+    return items.stream()
+        .map(ci -> ci.getCatalog().getDomainTemplate().getId())
+        .distinct()
+        .collect(
+            Collectors.toMap(
+                Function.identity(),
+                id ->
+                    Optional.ofNullable(clientDomains.get(id))
+                        .orElseGet(() -> domainRepository.getById(id))));
+  }
+
   /**
    * Incarnate a catalogItem, uses the {@link CatalogItem#incarnate()} to create the element. Set
-   * the customLinkTargets of this element to the given referencesToApply. Assign the designator,
-   * save the element and create the links in the opposite objects which are defined by the {@link
-   * TailoringReference}.
+   * the customLinkTargets of this element to the given referencesToApply. The designator is
+   * assigned and the element is saved together with all other elements of the batch, the links in
+   * the opposite objects which are defined by the {@link TailoringReference} are created
+   * afterwards.
    */
   private ElementResult createElementFromCatalogItem(
       Unit unit,
-      Client authenticatedClient,
       CatalogItem catalogItem,
       Domain domain,
       List<TailoringReferenceParameter> referencesToApply) {
@@ -174,15 +180,7 @@ public class ApplyIncarnationDescriptionUseCase
                 referencesToApply, TailoringReferenceTyped.IS_LINK_PREDICATE),
             linkTailorReferences(catalogItem, TailoringReferenceTyped.IS_LINK_PREDICATE));
     entity.setOwner(unit);
-    designatorService.assignDesignator(entity, authenticatedClient);
-    entity = saveElement(entity);
-    applyExternalTailoringReferences(
-        entity,
-        domain,
-        linkTailorReferences(catalogItem, TailoringReferenceTyped.IS_EXTERNALLINK_PREDICATE),
-        linkTailorReferencesParameters(
-            referencesToApply, TailoringReferenceTyped.IS_EXTERNALLINK_PREDICATE));
-    return new ElementResult(entity, internalLinks);
+    return new ElementResult(entity, catalogItem, domain, referencesToApply, internalLinks);
   }
 
   /**
@@ -242,13 +240,15 @@ public class ApplyIncarnationDescriptionUseCase
    * other. We should not create such a link when the {@link
    * TailoringReferenceParameter#getReferencedElement()} is null, as we demand the set of objects to
    * create in one batch is complete and therefore the link gets created by the {@link
-   * TailoringReferenceType#LINK} of the other element.
+   * TailoringReferenceType#LINK} of the other element. The elements that have been linked are added
+   * to {@code linkedElements}, so they can be saved once.
    */
   private void applyExternalTailoringReferences(
       Element linkTargetEntity,
       Domain domain,
       List<LinkTailoringReference> externalTailoringRefs,
-      List<TailoringReferenceParameter> referencesToApply) {
+      List<TailoringReferenceParameter> referencesToApply,
+      Set<Element> linkedElements) {
     Iterator<TailoringReferenceParameter> parameter = referencesToApply.iterator();
     Iterator<LinkTailoringReference> references = externalTailoringRefs.iterator();
     while (references.hasNext()) {
@@ -269,7 +269,7 @@ public class ApplyIncarnationDescriptionUseCase
             domain,
             catalogReference.getLinkType(),
             catalogReference.getAttributes());
-        saveElement(element);
+        linkedElements.add(element);
       }
     }
   }
@@ -293,20 +293,23 @@ public class ApplyIncarnationDescriptionUseCase
    */
   private void processInternalLinks(
       List<InternalResolveInfo> internalLinks, List<Element> createdCatalogables) {
+    if (internalLinks.isEmpty()) {
+      return;
+    }
+    Map<CatalogItem, Element> elementsByCatalogItem = new HashMap<>();
+    createdCatalogables.forEach(
+        c -> c.getAppliedCatalogItems().forEach(ci -> elementsByCatalogItem.putIfAbsent(ci, c)));
     for (InternalResolveInfo ri : internalLinks) {
-      Element internalTarget =
-          createdCatalogables.stream()
-              .filter(c -> c.getAppliedCatalogItems().contains(ri.sourceItem))
-              .findFirst()
-              .orElseThrow(
-                  () ->
-                      new UnprocessableDataException(
-                          format(
-                              "CatalogItem %s:%s not included in request but required by %s:%s.",
-                              ri.sourceItem.getNamespace(),
-                              ri.sourceItem.getDisplayName(),
-                              ri.source.getDesignator(),
-                              ri.source.getName())));
+      Element internalTarget = elementsByCatalogItem.get(ri.sourceItem);
+      if (internalTarget == null) {
+        throw new UnprocessableDataException(
+            format(
+                "CatalogItem %s:%s not included in request but required by %s:%s.",
+                ri.sourceItem.getNamespace(),
+                ri.sourceItem.getDisplayName(),
+                ri.source.getDesignator(),
+                ri.source.getName()));
+      }
       CustomLink link =
           createLink(ri.source, internalTarget, ri.domain, ri.linkType, ri.attributes);
       ri.source.applyLink(link);
@@ -333,6 +336,21 @@ public class ApplyIncarnationDescriptionUseCase
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private void saveElements(List<Element> elements) {
+    elements.stream()
+        .collect(
+            Collectors.groupingBy(
+                e -> (Class<Element>) e.getModelInterface(),
+                LinkedHashMap::new,
+                Collectors.toList()))
+        .forEach(
+            (type, elementsWithType) ->
+                repositoryProvider
+                    .getElementRepositoryFor(type)
+                    .saveAll(new LinkedHashSet<>(elementsWithType)));
+  }
+
   private Element saveElement(Element entity) {
     @SuppressWarnings("unchecked")
     ElementRepository<Element> repository =
@@ -379,18 +397,17 @@ public class ApplyIncarnationDescriptionUseCase
     @Valid List<Element> newElements;
   }
 
-  /** Contains the created elements and the links to resolve later of all these elements. */
-  @Data
-  private static class IncarnationResult {
-    private final List<Element> elements = new ArrayList<>();
-    private final List<InternalResolveInfo> internalLinks = new ArrayList<>();
-  }
-
-  /** Contains the created element and the links to resolve later. */
+  /**
+   * Contains the created element, the catalog item & parameters it has been created from and the
+   * links to resolve later.
+   */
   @Data
   @RequiredArgsConstructor
   private static class ElementResult {
     private final Element element;
+    private final CatalogItem catalogItem;
+    private final Domain domain;
+    private final List<TailoringReferenceParameter> referencesToApply;
     private final List<InternalResolveInfo> internalLinks;
   }
 
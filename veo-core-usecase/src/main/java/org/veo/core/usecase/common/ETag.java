@@ -17,16 +17,18 @@
  ******************************************************************************/
 package org.veo.core.usecase.common;
 
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /** This class provides methods to manage ETags, see: https://en.wikipedia.org/wiki/HTTP_ETag. */
 public final class ETag {
 
   public static final String SHA256_ALGORITHM = "SHA-256";
 
+  private static final HexFormat HEX_FORMAT = HexFormat.of();
+
   private static String salt;
 
   private ETag() {
@@ -70,9 +72,7 @@ public final class ETag {
   private static String createSHA256Hash(String s) throws NoSuchAlgorithmException {
     MessageDigest digest = MessageDigest.getInstance(SHA256_ALGORITHM);
     byte[] encodedhash = digest.digest(s.getBytes(StandardCharsets.UTF_8));
-    BigInteger bigInteger = new BigInteger(1, encodedhash);
-    // https://www.baeldung.com/java-byte-arrays-hex-strings#using-thebiginteger-class
-    return String.format("%0" + (encodedhash.length << 1) + "x", bigInteger);
+    return HEX_FORMAT.formatHex(encodedhash);
   }
 
   public static void setSalt(String salt) {
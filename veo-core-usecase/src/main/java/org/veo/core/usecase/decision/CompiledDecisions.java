@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.decision;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Element;
+import org.veo.core.entity.condition.ElementInputs;
+import org.veo.core.entity.decision.Decision;
+import org.veo.core.entity.decision.DecisionRef;
+
+/**
+ * A domain's decisions indexed by the element type & subtype that they are applicable to. Compiled
+ * for a certain version of the domain and for the decisions that the domain held at that time.
+ * Decisions are stored apart from the domain, so changing them does not increment the domain
+ * version and they are compared by value as well.
+ */
+class CompiledDecisions {
+  private final long domainVersion;
+  private final Map<String, Decision> decisions;
+  private final Map<ElementKind, List<ApplicableDecision>> decisionsByElementKind =
+      new HashMap<>();
+
+  CompiledDecisions(Domain domain) {
+    domainVersion = domain.getVersion();
+    decisions = new HashMap<>(domain.getDecisions());
+    decisions.forEach(
+        (key, decision) ->
+            decisionsByElementKind
+                .computeIfAbsent(
+                    new ElementKind(decision.getElementType(), decision.getElementSubType()),
+                    k -> new ArrayList<>())
+                .add(new ApplicableDecision(new DecisionRef(key, domain), decision)));
+  }
+
+  boolean isUpToDate(Domain domain) {
+    if (domain.getVersion() != domainVersion) {
+      return false;
+    }
+    // Equal decisions are usually the same instances, so this does not compare the rules in depth.
+    return decisions.equals(domain.getDecisions());
+  }
+
+  /** Returns all decisions that are applicable to the element of given inputs. */
+  List<ApplicableDecision> getApplicableDecisions(ElementInputs inputs) {
+    Element element = inputs.getElement();
+    return inputs
+        .findSubType()
+        .map(subType -> new ElementKind(element.getModelType(), subType))
+        .map(kind -> decisionsByElementKind.getOrDefault(kind, List.of()))
+        .orElse(List.of());
+  }
+
+  record ApplicableDecision(DecisionRef ref, Decision decision) {}
+
+  private record ElementKind(String elementType, String elementSubType) {}
+}
@@ -18,11 +18,18 @@
 package org.veo.core.usecase.decision;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.veo.core.entity.Client;
 import org.veo.core.entity.Domain;
 import org.veo.core.entity.Element;
+import org.veo.core.entity.Key;
+import org.veo.core.entity.condition.ElementInputs;
 import org.veo.core.entity.decision.DecisionRef;
 import org.veo.core.entity.decision.DecisionResult;
 import org.veo.core.entity.event.ElementEvent;
@@ -36,18 +43,15 @@ import lombok.RequiredArgsConstructor;
 public class Decider {
   private final ClientRepository clientRepository;
   private final RepositoryProvider repositoryProvider;
+  private final Map<Key<UUID>, CompiledDecisions> compiledDecisions = new ConcurrentHashMap<>();
 
   /** Transiently evaluates decisions on given element and returns the results. */
   public Map<DecisionRef, DecisionResult> decide(Element element, Domain domain) {
     var results = new HashMap<DecisionRef, DecisionResult>();
-    domain
-        .getDecisions()
-        .forEach(
-            (key, decision) -> {
-              if (decision.isApplicableToElement(element, domain)) {
-                results.put(new DecisionRef(key, domain), decision.evaluate(element, domain));
-              }
-            });
+    var inputs = new ElementInputs(element, domain);
+    getCompiledDecisions(domain)
+        .getApplicableDecisions(inputs)
+        .forEach(d -> results.put(d.ref(), d.decision().evaluate(inputs)));
     return results;
   }
 
@@ -62,22 +66,43 @@ public class Decider {
             .getElementRepositoryFor(event.getEntityType())
             .findById(event.getEntityId())
             .orElseThrow();
+    updateDecisions(element, client, List.of(event));
+  }
+
+  /**
+   * Reevaluates all decisions on given element that are affected by any of the given events, which
+   * must all concern that element. Each affected decision is only evaluated once.
+   */
+  public void updateDecisions(
+      Element element, Client client, Collection<? extends ElementEvent> events) {
     client
         .getDomains()
         .forEach(
-            domain ->
-                domain
-                    .getDecisions()
-                    .forEach(
-                        (key, decision) -> {
-                          if (decision.isApplicableToElement(element, domain)
-                              && decision.isAffectedByEvent(event, domain)
-                              && element.setDecisionResult(
-                                  new DecisionRef(key, domain),
-                                  decision.evaluate(element, domain),
-                                  domain)) {
-                            element.setUpdatedAt(Instant.now());
-                          }
-                        }));
+            domain -> {
+              var inputs = new ElementInputs(element, domain);
+              getCompiledDecisions(domain)
+                  .getApplicableDecisions(inputs)
+                  .forEach(
+                      d -> {
+                        if (events.stream()
+                                .anyMatch(event -> d.decision().isAffectedByEvent(event, domain))
+                            && element.setDecisionResult(
+                                d.ref(), d.decision().evaluate(inputs), domain)) {
+                          element.setUpdatedAt(Instant.now());
+                        }
+                      });
+            });
+  }
+
+  private CompiledDecisions getCompiledDecisions(Domain domain) {
+    if (domain.getId() == null) {
+      return new CompiledDecisions(domain);
+    }
+    return compiledDecisions.compute(
+        domain.getId(),
+        (id, compiled) ->
+            compiled != null && compiled.isUpToDate(domain)
+                ? compiled
+                : new CompiledDecisions(domain));
   }
 }
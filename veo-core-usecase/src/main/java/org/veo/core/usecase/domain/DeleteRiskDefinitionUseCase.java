@@ -61,6 +61,7 @@ public class DeleteRiskDefinitionUseCase
         DomainRiskReferenceProvider.referencesForDomain(domain)
             .getRiskDefinitionRef(input.riskDefinitionRef);
     domain.removeRiskDefinition(riskDefRef);
+    domain.setUpdatedAt(Instant.now());
     repositoryProvider.getRiskRelatedElementRepos().stream()
         .flatMap(r -> r.findByDomain(domain).stream())
         .forEach(
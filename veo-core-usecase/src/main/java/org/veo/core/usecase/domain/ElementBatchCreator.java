@@ -17,9 +17,12 @@
  ******************************************************************************/
 package org.veo.core.usecase.domain;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -61,6 +64,17 @@ public class ElementBatchCreator {
    * throw up. Assigns designators.
    */
   public void create(Collection<Element> elements, Unit unit, boolean migrate) {
+    persist(elements, unit, migrate);
+    evaluate(elements);
+    log.info("{} elements added to unit {}", elements.size(), unit.getIdAsString());
+  }
+
+  /**
+   * Persists a batch of transient elements (and contained risks) like {@link #create}, but without
+   * evaluating decisions or publishing events. Callers must {@link #evaluate} the elements once they
+   * are complete.
+   */
+  public void persist(Collection<Element> elements, Unit unit, boolean migrate) {
     Map<Class<Element>, List<Element>> elementsGroupedByType = groupByType(elements);
     Map<Element, Set<CustomLink>> links = new HashMap<>();
 
@@ -84,11 +98,15 @@ public class ElementBatchCreator {
               e.getRisks().clear();
             });
 
-    elementsGroupedByType.entrySet().stream()
-        // sort entries by model type to get predictable designators
-        .sorted(Comparator.comparing(entry -> entry.getKey().getSimpleName()))
-        .flatMap(entry -> entry.getValue().stream())
-        .forEach(e -> prepareElement(e, unit, migrate));
+    List<Element> sortedElements =
+        elementsGroupedByType.entrySet().stream()
+            // sort entries by model type to get predictable designators
+            .sorted(Comparator.comparing(entry -> entry.getKey().getSimpleName()))
+            .flatMap(entry -> entry.getValue().stream())
+            .toList();
+    designatorService.assignDesignators(
+        collectElementsWithoutDesignator(sortedElements), unit.getClient());
+    sortedElements.forEach(e -> prepareElement(e, unit, migrate));
     elementsGroupedByType.forEach(this::saveElements);
 
     links.forEach(
@@ -96,17 +114,17 @@ public class ElementBatchCreator {
           elementLinks.forEach(element::applyLink);
         });
 
-    risks.forEach(
-        (element, elementRisks) -> {
-          elementRisks.forEach(
-              r -> {
-                if (r.getDesignator() == null) {
-                  designatorService.assignDesignator(r, unit.getClient());
-                }
-                element.addRisk(r);
-              });
-        });
+    designatorService.assignDesignators(
+        risks.values().stream()
+            .flatMap(Set::stream)
+            .filter(r -> r.getDesignator() == null)
+            .toList(),
+        unit.getClient());
+    risks.forEach((element, elementRisks) -> elementRisks.forEach(element::addRisk));
+  }
 
+  /** Evaluates decisions on given elements and publishes events for risk-affecting elements. */
+  public void evaluate(Collection<Element> elements) {
     elements.forEach(
         element ->
             element
@@ -116,7 +134,6 @@ public class ElementBatchCreator {
     elements.stream()
         .filter(pr -> pr instanceof Process || pr instanceof Asset || pr instanceof Scope)
         .forEach(it -> eventPublisher.publish(new RiskAffectingElementChangeEvent(it, this)));
-    log.info("{} elements added to unit {}", elements.size(), unit.getIdAsString());
   }
 
   @SuppressWarnings("unchecked")
@@ -134,9 +151,6 @@ public class ElementBatchCreator {
 
   private void prepareElement(Element element, Unit unit, boolean migrate) {
     log.debug("Preparing element {}:{}", element.getId(), element);
-    if (element.getDesignator() == null) {
-      designatorService.assignDesignator(element, unit.getClient());
-    }
     element.setOwner(unit);
     // TODO VEO-1547 element migration will become obsolete once the profiles they come from get
     // migrated in the domain.
@@ -151,4 +165,30 @@ public class ElementBatchCreator {
       members.forEach(m -> prepareElement(m, unit, migrate));
     }
   }
+
+  /**
+   * Collects given elements and their (transitive) parts and members that don't have a designator
+   * yet, in the order in which they are prepared.
+   */
+  private List<Element> collectElementsWithoutDesignator(List<Element> elements) {
+    List<Element> result = new ArrayList<>();
+    Set<Element> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    elements.forEach(e -> collectElementsWithoutDesignator(e, visited, result));
+    return result;
+  }
+
+  private void collectElementsWithoutDesignator(
+      Element element, Set<Element> visited, List<Element> result) {
+    if (!visited.add(element)) {
+      return;
+    }
+    if (element.getDesignator() == null) {
+      result.add(element);
+    }
+    if (element instanceof CompositeElement<?> ce) {
+      ce.getParts().forEach(e -> collectElementsWithoutDesignator(e, visited, result));
+    } else if (element instanceof Scope scope) {
+      scope.getMembers().forEach(m -> collectElementsWithoutDesignator(m, visited, result));
+    }
+  }
 }
@@ -17,23 +17,19 @@
  ******************************************************************************/
 package org.veo.core.usecase.domain;
 
-import java.util.Set;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
 
 import org.veo.core.entity.Client;
 import org.veo.core.entity.Domain;
-import org.veo.core.entity.Element;
-import org.veo.core.entity.EntityType;
 import org.veo.core.entity.Key;
 import org.veo.core.entity.Unit;
 import org.veo.core.entity.exception.NotFoundException;
 import org.veo.core.entity.specification.ClientBoundaryViolationException;
 import org.veo.core.entity.statistics.ElementStatusCounts;
 import org.veo.core.repository.DomainRepository;
-import org.veo.core.repository.RepositoryProvider;
-import org.veo.core.repository.SubTypeStatusCount;
+import org.veo.core.repository.SubTypeStatusCountRepository;
 import org.veo.core.repository.UnitRepository;
 import org.veo.core.usecase.TransactionalUseCase;
 import org.veo.core.usecase.UseCase;
@@ -50,7 +46,7 @@ public class GetElementStatusCountUseCase
 
   private final DomainRepository domainRepository;
   private final UnitRepository unitRepository;
-  private final RepositoryProvider repositoryProvider;
+  private final SubTypeStatusCountRepository subTypeStatusCountRepository;
 
   @Override
   public OutputData execute(InputData input) {
@@ -66,18 +62,11 @@ public class GetElementStatusCountUseCase
     unit.checkSameClient(input.getAuthenticatedClient());
 
     ElementStatusCounts elementStatusCounts = new ElementStatusCounts(domain);
-
-    EntityType.ELEMENT_TYPES.stream()
+    subTypeStatusCountRepository
+        .findCounts(unit, domain)
         .forEach(
-            type -> {
-              String typeName = type.getSingularTerm();
-              log.debug("Checking type {}", typeName);
-              Set<SubTypeStatusCount> counts =
-                  repositoryProvider
-                      .getElementRepositoryFor((Class<? extends Element>) type.getType())
-                      .getCountsBySubType(unit, domain);
-              log.debug("Found counts: {}", counts);
-
+            (type, counts) -> {
+              log.debug("Found counts for type {}: {}", type.getSingularTerm(), counts);
               counts.forEach(
                   c ->
                       elementStatusCounts.setCount(
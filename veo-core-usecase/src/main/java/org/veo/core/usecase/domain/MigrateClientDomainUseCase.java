@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+
+import org.veo.core.entity.Client;
+import org.veo.core.entity.ClientDomainMigration;
+import org.veo.core.entity.ClientDomainMigration.Status;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Element;
+import org.veo.core.entity.Key;
+import org.veo.core.entity.Unit;
+import org.veo.core.entity.exception.NotFoundException;
+import org.veo.core.repository.ClientDomainMigrationRepository;
+import org.veo.core.repository.DomainRepository;
+import org.veo.core.repository.GenericElementRepository;
+import org.veo.core.repository.PagingConfiguration;
+import org.veo.core.repository.PagingConfiguration.SortOrder;
+import org.veo.core.repository.UnitRepository;
+import org.veo.core.usecase.TransactionalUseCase;
+import org.veo.core.usecase.UseCase;
+import org.veo.core.usecase.decision.Decider;
+import org.veo.service.ElementMigrationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs the next chunk of a {@link ClientDomainMigration}. Each execution processes at most the
+ * given number of elements and stores the progress in the migration, so the migration can be
+ * resumed after a failure or restart without repeating completed chunks.
+ *
+ * <p>All elements must have been transferred to the new domain before any of them are migrated,
+ * because link targets are also validated during migration. Transferred elements are no longer
+ * associated with the old domain, so the transfer phase simply processes the first page of the
+ * remaining elements until there are none left. The migration phase pages through the elements in
+ * the new domain using a persisted cursor.
+ *
+ * <p>Writes are not blocked while a migration is running, and the committed chunks are visible to
+ * other transactions. During the transfer phase, the client's elements are split between the old
+ * and the new domain. During the migration phase, all elements are in the new domain, but those
+ * after the cursor may still hold information that is invalid in the new domain and outdated
+ * decision results. The units are only moved to the new domain, and the old domain is only
+ * deactivated, in the final chunk. Before that, the old domain is scanned again for elements that
+ * have been added to it during the migration. Those elements are transferred and migrated, and the
+ * migration is only completed once no such elements are left. Links from elements that had already
+ * been migrated to such late elements are lost, because the link targets were not in the new
+ * domain when the links were validated.
+ *
+ * <p>The migration is locked while a chunk is processed. If it is already locked by a concurrent
+ * execution (e.g. another instance running the same migration), nothing is processed.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class MigrateClientDomainUseCase
+    implements TransactionalUseCase<
+        MigrateClientDomainUseCase.InputData, MigrateClientDomainUseCase.OutputData> {
+
+  private final ClientDomainMigrationRepository clientDomainMigrationRepository;
+  private final DomainRepository domainRepository;
+  private final GenericElementRepository genericElementRepository;
+  private final UnitRepository unitRepository;
+  private final ElementMigrationService elementMigrationService;
+  private final Decider decider;
+
+  @Override
+  public OutputData execute(InputData input) {
+    var migration =
+        clientDomainMigrationRepository.findAndLockByNewDomainId(input.newDomainId).orElse(null);
+    if (migration == null) {
+      clientDomainMigrationRepository
+          .findByNewDomainId(input.newDomainId)
+          .orElseThrow(() -> new NotFoundException(input.newDomainId, Domain.class));
+      log.debug("Migration to domain {} is locked by a concurrent execution", input.newDomainId);
+      return new OutputData(false, 0, true);
+    }
+    var oldDomain = domainRepository.getById(migration.getOldDomainId(), migration.getClientId());
+    var newDomain = domainRepository.getById(migration.getNewDomainId(), migration.getClientId());
+    var client = newDomain.getOwner();
+    int processed =
+        switch (migration.getStatus()) {
+          case TRANSFERRING -> transferChunk(migration, client, oldDomain, newDomain, input);
+          case MIGRATING -> migrateChunk(migration, client, oldDomain, newDomain, input);
+          case DONE -> 0;
+        };
+    migration.addProcessedElements(processed);
+    return new OutputData(migration.getStatus() == Status.DONE, processed, false);
+  }
+
+  private int transferChunk(
+      ClientDomainMigration migration,
+      Client client,
+      Domain oldDomain,
+      Domain newDomain,
+      InputData input) {
+    if (migration.getProcessedElementCount() == 0) {
+      log.info("Performing migration for domain {}->{}", oldDomain, newDomain);
+    }
+    var page = findElements(client, oldDomain, null, input.chunkSize);
+    // Transfer domain-specific information from old domain to new domain.
+    page.elements.forEach(element -> element.transferToDomain(oldDomain, newDomain));
+    if (page.nextCursor == null) {
+      migration.setStatus(Status.MIGRATING);
+    }
+    return page.elements.size();
+  }
+
+  private int migrateChunk(
+      ClientDomainMigration migration,
+      Client client,
+      Domain oldDomain,
+      Domain newDomain,
+      InputData input) {
+    var page = findElements(client, newDomain, migration.getCursor(), input.chunkSize);
+    migrate(page.elements, newDomain);
+    if (page.nextCursor != null) {
+      migration.setCursor(page.nextCursor);
+      return page.elements.size();
+    }
+    // Elements may have been added to the old domain after the transfer phase. The cursor is kept,
+    // so the last page is processed again until no more such elements are found.
+    var lateElements = findElements(client, oldDomain, null, input.chunkSize).elements;
+    if (!lateElements.isEmpty()) {
+      log.info(
+          "Transferring {} elements that were added to domain {} during the migration",
+          lateElements.size(),
+          oldDomain);
+      lateElements.forEach(element -> element.transferToDomain(oldDomain, newDomain));
+      migrate(lateElements, newDomain);
+      return page.elements.size() + lateElements.size();
+    }
+    migration.setCursor(null);
+    updateUnits(client, oldDomain, newDomain);
+    oldDomain.setActive(false);
+    migration.setStatus(Status.DONE);
+    log.info("Completed migration for domain {}->{}", oldDomain, newDomain);
+    return page.elements.size();
+  }
+
+  private void migrate(List<Element> elements, Domain newDomain) {
+    // Mercilessly remove all information from the elements that is no longer valid under the new
+    // domain.
+    elements.forEach(element -> elementMigrationService.migrate(element, newDomain));
+    elements.forEach(
+        element -> element.setDecisionResults(decider.decide(element, newDomain), newDomain));
+  }
+
+  private void updateUnits(Client client, Domain oldDomain, Domain newDomain) {
+    for (Unit unit : unitRepository.findByClient(client)) {
+      if (unit.removeFromDomains(oldDomain)) {
+        unit.addToDomains(newDomain);
+      }
+    }
+  }
+
+  private Page findElements(Client client, Domain domain, String cursor, int chunkSize) {
+    var query = genericElementRepository.query(client);
+    query.whereDomainsContain(domain);
+    var result =
+        query.execute(
+            PagingConfiguration.keyset(
+                chunkSize, "designator", SortOrder.ASCENDING, cursor, false));
+    return new Page(result.getResultPage(), result.getNextCursor());
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  private record Page(List<Element> elements, String nextCursor) {}
+
+  @Valid
+  @Value
+  public static class InputData implements UseCase.InputData {
+    Key<UUID> newDomainId;
+    int chunkSize;
+  }
+
+  @Valid
+  @Value
+  public static class OutputData implements UseCase.OutputData {
+    boolean done;
+
+    /** The number of elements that have been processed in this chunk. */
+    int processedElementCount;
+
+    /**
+     * Whether the migration is locked by a concurrent execution. In that case, no elements have
+     * been processed and the migration is left to the other execution.
+     */
+    boolean locked;
+  }
+}
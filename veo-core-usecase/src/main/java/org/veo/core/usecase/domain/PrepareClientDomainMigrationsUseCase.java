@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import jakarta.validation.Valid;
+
+import org.veo.core.entity.Client;
+import org.veo.core.entity.ClientDomainMigration;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Key;
+import org.veo.core.repository.ClientDomainMigrationRepository;
+import org.veo.core.repository.DomainRepository;
+import org.veo.core.usecase.TransactionalUseCase;
+import org.veo.core.usecase.UseCase;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers a {@link ClientDomainMigration} for each client that has a domain based on given
+ * template and is ready to be migrated to it. Migrations that have been registered by a previous
+ * run and have not been completed yet are resumed instead.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class PrepareClientDomainMigrationsUseCase
+    implements TransactionalUseCase<
+        PrepareClientDomainMigrationsUseCase.InputData,
+        PrepareClientDomainMigrationsUseCase.OutputData> {
+
+  private final DomainRepository domainRepository;
+  private final ClientDomainMigrationRepository clientDomainMigrationRepository;
+
+  @Override
+  public OutputData execute(InputData input) {
+    List<Key<UUID>> pendingMigrations = new ArrayList<>();
+    for (Domain newDomain : domainRepository.findAllByTemplateId(input.domainTemplateId)) {
+      var existingMigration = clientDomainMigrationRepository.findByNewDomainId(newDomain.getId());
+      if (existingMigration.isPresent()) {
+        if (existingMigration.get().getStatus() != ClientDomainMigration.Status.DONE) {
+          log.info("Resuming migration {}", existingMigration.get());
+          pendingMigrations.add(newDomain.getId());
+        }
+        continue;
+      }
+      Client client = newDomain.getOwner();
+      Set<Domain> clientActiveDomains =
+          client.getDomains().stream()
+              .filter(Domain::isActive)
+              .filter(d -> d.getName().equals(newDomain.getName()))
+              .collect(Collectors.toSet());
+      if (clientActiveDomains.size() != 2) {
+        log.warn(
+            "Skipping client {}, found {} active domains instead of 2",
+            client,
+            clientActiveDomains.size());
+        continue;
+      }
+      Domain domainToUpdate =
+          clientActiveDomains.stream()
+              .filter(Predicate.not(newDomain::equals))
+              .findAny()
+              .orElseThrow();
+      clientDomainMigrationRepository.create(client, domainToUpdate, newDomain);
+      pendingMigrations.add(newDomain.getId());
+    }
+    return new OutputData(pendingMigrations);
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  @Valid
+  @Value
+  public static class InputData implements UseCase.InputData {
+    Key<UUID> domainTemplateId;
+  }
+
+  @Valid
+  @Value
+  public static class OutputData implements UseCase.OutputData {
+    /** IDs of the new domains of all migrations that must be performed. */
+    List<Key<UUID>> newDomainIds;
+  }
+}
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.core.usecase.domain;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
@@ -44,8 +45,12 @@ public class SaveRiskDefinitionUseCase
     if (!domain.isActive()) {
       throw new NotFoundException("Domain is inactive.");
     }
-    return new OutputData(
-        domain.applyRiskDefinition(input.riskDefinitionRef, input.riskDefinition));
+    var newRiskDefinition =
+        domain.applyRiskDefinition(input.riskDefinitionRef, input.riskDefinition);
+    // Risk definitions are stored apart from the domain, so the domain must be marked as modified
+    // explicitly to increment its version.
+    domain.setUpdatedAt(Instant.now());
+    return new OutputData(newRiskDefinition);
   }
 
   @Override
@@ -17,111 +17,144 @@
  ******************************************************************************/
 package org.veo.core.usecase.domain;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 
 import jakarta.validation.Valid;
 
-import org.veo.core.entity.Client;
-import org.veo.core.entity.Domain;
-import org.veo.core.entity.Element;
-import org.veo.core.entity.EntityType;
 import org.veo.core.entity.Key;
-import org.veo.core.entity.Unit;
-import org.veo.core.repository.DomainRepository;
-import org.veo.core.repository.RepositoryProvider;
-import org.veo.core.repository.UnitRepository;
-import org.veo.core.usecase.TransactionalUseCase;
 import org.veo.core.usecase.UseCase;
 import org.veo.core.usecase.UseCase.EmptyOutput;
-import org.veo.core.usecase.decision.Decider;
-import org.veo.service.ElementMigrationService;
 
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
-@RequiredArgsConstructor
+/**
+ * Migrates all clients from their current domain to the new domain that has been created from
+ * given template. Clients are migrated in parallel on a worker pool and each client migration is
+ * split into chunks that are committed separately (see {@link MigrateClientDomainUseCase}). An
+ * interrupted run can be resumed by executing this use case again with the same template.
+ *
+ * <p>Until a client's migration is done, its elements are visible in an intermediate state that is
+ * partly transferred or migrated to the new domain, as described in {@link
+ * MigrateClientDomainUseCase}. Elements that are added to the old domain in the meantime are
+ * transferred before the old domain is deactivated.
+ *
+ * <p>This use case must not be executed within a transaction.
+ */
 @Slf4j
 public class UpdateAllClientDomainsUseCase
-    implements TransactionalUseCase<UpdateAllClientDomainsUseCase.InputData, EmptyOutput> {
-
-  private final DomainRepository domainRepository;
-  private final RepositoryProvider repositoryProvider;
-  private final UnitRepository unitRepository;
-  private final ElementMigrationService elementMigrationService;
-  private final Decider decider;
+    implements UseCase<UpdateAllClientDomainsUseCase.InputData, EmptyOutput> {
+
+  private final PrepareClientDomainMigrationsUseCase prepareClientDomainMigrationsUseCase;
+  private final MigrateClientDomainUseCase migrateClientDomainUseCase;
+  private final int parallelism;
+  private final int chunkSize;
+
+  /** Wraps tasks before they are run on a worker thread, e.g. to propagate a security context. */
+  private final UnaryOperator<Runnable> taskDecorator;
+
+  @Getter private final AtomicInteger pendingClientCount = new AtomicInteger();
+  @Getter private final AtomicLong migratedClientCount = new AtomicLong();
+  @Getter private final AtomicLong failedClientCount = new AtomicLong();
+  @Getter private final AtomicLong processedElementCount = new AtomicLong();
+
+  public UpdateAllClientDomainsUseCase(
+      PrepareClientDomainMigrationsUseCase prepareClientDomainMigrationsUseCase,
+      MigrateClientDomainUseCase migrateClientDomainUseCase,
+      int parallelism,
+      int chunkSize,
+      UnaryOperator<Runnable> taskDecorator) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be at least 1");
+    }
+    this.prepareClientDomainMigrationsUseCase = prepareClientDomainMigrationsUseCase;
+    this.migrateClientDomainUseCase = migrateClientDomainUseCase;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+    this.taskDecorator = taskDecorator;
+  }
 
   @Override
   public EmptyOutput execute(InputData input) {
-    Set<Domain> newDomains = domainRepository.findAllByTemplateId(input.domainTemplateId);
-    int count = newDomains.size();
-    int migrationsDone = 0;
-    for (Domain newDomain : newDomains) {
-      Client client = newDomain.getOwner();
-
-      Set<Domain> clientActiveDomains =
-          client.getDomains().stream()
-              .filter(Domain::isActive)
-              .filter(d -> d.getName().equals(newDomain.getName()))
-              .collect(Collectors.toSet());
-      if (clientActiveDomains.size() != 2) {
-        log.warn(
-            "Skipping client {}, found {} active domains instead of 2",
-            client,
-            clientActiveDomains.size());
-        continue;
+    List<Key<UUID>> newDomainIds =
+        prepareClientDomainMigrationsUseCase.executeAndTransformResult(
+            new PrepareClientDomainMigrationsUseCase.InputData(input.domainTemplateId),
+            PrepareClientDomainMigrationsUseCase.OutputData::getNewDomainIds);
+    int count = newDomainIds.size();
+    if (count == 0) {
+      return EmptyOutput.INSTANCE;
+    }
+    log.info("Migrating {} clients with {} workers", count, Math.min(parallelism, count));
+    pendingClientCount.addAndGet(count);
+    AtomicInteger migrationsDone = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, count));
+    try {
+      List<Future<?>> futures = new ArrayList<>(count);
+      for (Key<UUID> newDomainId : newDomainIds) {
+        futures.add(
+            executor.submit(
+                taskDecorator.apply(
+                    () -> {
+                      try {
+                        if (migrateClient(newDomainId)) {
+                          migratedClientCount.incrementAndGet();
+                          int done = migrationsDone.incrementAndGet();
+                          if (done % 50 == 0) {
+                            log.info("{} of {} migrations performed", done, count);
+                          }
+                        }
+                      } catch (RuntimeException ex) {
+                        failedClientCount.incrementAndGet();
+                        log.error("Migration to domain {} failed", newDomainId, ex);
+                      } finally {
+                        pendingClientCount.decrementAndGet();
+                      }
+                    })));
       }
-      Domain domainToUpdate =
-          clientActiveDomains.stream()
-              .filter(Predicate.not(newDomain::equals))
-              .findAny()
-              .orElseThrow();
-      performMigration(client, domainToUpdate, newDomain);
-      domainToUpdate.setActive(false);
-      migrationsDone++;
-      if (migrationsDone % 50 == 0) {
-        log.info("{} of {} migrations performed", migrationsDone, count);
+      for (Future<?> future : futures) {
+        future.get();
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Domain migration interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Domain migration failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
     }
-
+    log.info("{} of {} migrations performed", migrationsDone.get(), count);
     return EmptyOutput.INSTANCE;
   }
 
-  private void performMigration(Client client, Domain domainToUpdate, Domain newDomain) {
-    log.info("Performing migration for domain {}->{}", domainToUpdate, newDomain);
-    List<Unit> unitsToUpdate = unitRepository.findByClient(client);
-    for (Unit unit : unitsToUpdate) {
-      if (unit.removeFromDomains(domainToUpdate)) {
-        unit.addToDomains(newDomain);
+  /**
+   * Performs the migration chunk by chunk. Returns {@code false} if the migration is locked by a
+   * concurrent execution, which then completes it instead.
+   */
+  private boolean migrateClient(Key<UUID> newDomainId) {
+    var input = new MigrateClientDomainUseCase.InputData(newDomainId, chunkSize);
+    MigrateClientDomainUseCase.OutputData output;
+    do {
+      output = migrateClientDomainUseCase.executeAndTransformResult(input, out -> out);
+      if (output.isLocked()) {
+        log.info("Migration to domain {} is performed by a concurrent execution", newDomainId);
+        return false;
       }
-    }
-
-    var elements =
-        EntityType.ELEMENT_TYPES.stream()
-            .map(t -> (Class<Element>) t.getType())
-            .map(repositoryProvider::getElementRepositoryFor)
-            .flatMap(repo -> repo.findByDomain(domainToUpdate).stream())
-            .toList();
-
-    // Transfer domain-specific information from old domain to new domain.
-    elements.forEach(element -> element.transferToDomain(domainToUpdate, newDomain));
-
-    // Mercilessly remove all information from the elements that is no longer valid under the new
-    // domain. This must happen after all elements have been transferred, because link targets are
-    // also validated and must have been transferred beforehand.
-    elements.forEach(element -> elementMigrationService.migrate(element, newDomain));
-
-    elements.forEach(
-        element -> element.setDecisionResults(decider.decide(element, newDomain), newDomain));
-  }
-
-  @Override
-  public boolean isReadOnly() {
-    return false;
+      processedElementCount.addAndGet(output.getProcessedElementCount());
+    } while (!output.isDone());
+    return true;
   }
 
   @Valid
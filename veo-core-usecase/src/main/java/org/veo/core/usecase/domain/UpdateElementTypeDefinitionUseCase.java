@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.core.usecase.domain;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
@@ -58,6 +59,9 @@ public class UpdateElementTypeDefinitionUseCase
       throw new NotFoundException("Domain is inactive.");
     }
     domain.applyElementTypeDefinition(input.elementTypeDefinition);
+    // Element type definitions are stored apart from the domain, so the domain must be marked as
+    // modified explicitly to increment its version.
+    domain.setUpdatedAt(Instant.now());
     return EmptyOutput.INSTANCE;
   }
 
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.domain;
+
+import org.veo.core.entity.AccountProvider;
+import org.veo.core.entity.specification.MissingAdminPrivilegesException;
+import org.veo.core.repository.SubTypeStatusCountRepository;
+import org.veo.core.usecase.TransactionalUseCase;
+import org.veo.core.usecase.UseCase;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Compares the maintained element counters used by {@link GetElementStatusCountUseCase} with the
+ * actual elements and optionally rebuilds them.
+ */
+@RequiredArgsConstructor
+public class VerifyElementStatusCountsUseCase
+    implements TransactionalUseCase<
+        VerifyElementStatusCountsUseCase.InputData, VerifyElementStatusCountsUseCase.OutputData> {
+  private final AccountProvider accountProvider;
+  private final SubTypeStatusCountRepository subTypeStatusCountRepository;
+
+  @Override
+  public OutputData execute(InputData input) {
+    if (!accountProvider.getCurrentUserAccount().isAdmin()) {
+      throw new MissingAdminPrivilegesException();
+    }
+    return new OutputData(
+        input.isRebuild()
+            ? subTypeStatusCountRepository.rebuild()
+            : subTypeStatusCountRepository.verify());
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  @Value
+  public static class InputData implements UseCase.InputData {
+    boolean rebuild;
+  }
+
+  @Value
+  public static class OutputData implements UseCase.OutputData {
+    /** Number of counters that were incorrect or missing */
+    int incorrectCounters;
+  }
+}
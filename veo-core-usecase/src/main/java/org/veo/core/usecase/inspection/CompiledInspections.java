@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.inspection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.inspection.Inspection;
+
+/**
+ * A domain's inspections indexed by the element type that they are restricted to. Compiled for a
+ * certain version of the domain. Inspections are derived from the domain's own state, so they can
+ * only change together with the domain version.
+ */
+class CompiledInspections {
+  private final long domainVersion;
+  private final Map<String, List<Inspection>> inspectionsByElementType = new HashMap<>();
+  private final List<Inspection> inspectionsForAllTypes = new ArrayList<>();
+
+  CompiledInspections(Domain domain) {
+    domainVersion = domain.getVersion();
+    domain
+        .getInspections()
+        .values()
+        .forEach(
+            inspection -> {
+              if (inspection.getElementType() == null) {
+                inspectionsForAllTypes.add(inspection);
+              } else {
+                inspectionsByElementType
+                    .computeIfAbsent(inspection.getElementType(), t -> new ArrayList<>())
+                    .add(inspection);
+              }
+            });
+  }
+
+  boolean isUpToDate(Domain domain) {
+    return domain.getVersion() == domainVersion;
+  }
+
+  /** Returns all inspections that may be applicable to elements of given type. */
+  List<Inspection> getInspections(String elementType) {
+    var inspectionsForType = inspectionsByElementType.get(elementType);
+    if (inspectionsForType == null) {
+      return inspectionsForAllTypes;
+    }
+    var result = new ArrayList<>(inspectionsForAllTypes);
+    result.addAll(inspectionsForType);
+    return result;
+  }
+}
@@ -17,21 +17,41 @@
  ******************************************************************************/
 package org.veo.core.usecase.inspection;
 
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.veo.core.entity.Domain;
 import org.veo.core.entity.Element;
+import org.veo.core.entity.Key;
+import org.veo.core.entity.condition.ElementInputs;
 import org.veo.core.entity.inspection.Finding;
 
 /** Runs all applicable inspections on an element (in the context of a domain). */
 public class Inspector {
+  private final Map<Key<UUID>, CompiledInspections> compiledInspections =
+      new ConcurrentHashMap<>();
+
   public Set<Finding> inspect(Element element, Domain domain) {
-    return domain.getInspections().values().stream()
-        .map(inspection -> inspection.run(element, domain))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .collect(Collectors.toSet());
+    var inputs = new ElementInputs(element, domain);
+    var findings = new HashSet<Finding>();
+    getCompiledInspections(domain)
+        .getInspections(element.getModelType())
+        .forEach(inspection -> inspection.run(inputs).ifPresent(findings::add));
+    return findings;
+  }
+
+  private CompiledInspections getCompiledInspections(Domain domain) {
+    if (domain.getId() == null) {
+      return new CompiledInspections(domain);
+    }
+    return compiledInspections.compute(
+        domain.getId(),
+        (id, compiled) ->
+            compiled != null && compiled.isUpToDate(domain)
+                ? compiled
+                : new CompiledInspections(domain));
   }
 }
@@ -17,7 +17,6 @@
  ******************************************************************************/
 package org.veo.core.usecase.unit;
 
-import java.util.List;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
@@ -29,7 +28,6 @@ import org.veo.core.entity.Unit;
 import org.veo.core.repository.ClientRepository;
 import org.veo.core.repository.ElementQuery;
 import org.veo.core.repository.GenericElementRepository;
-import org.veo.core.repository.PagingConfiguration;
 import org.veo.core.repository.UnitRepository;
 import org.veo.core.usecase.RetryableUseCase;
 import org.veo.core.usecase.TransactionalUseCase;
@@ -47,6 +45,9 @@ public class DeleteUnitUseCase
   private final UnitRepository unitRepository;
   private final GenericElementRepository genericElementRepository;
 
+  /** Number of elements that are loaded & deleted at once. */
+  private final int deletionChunkSize;
+
   @Override
   public EmptyOutput execute(InputData input) {
     Client client = clientRepository.getById(input.getAuthenticatedClient().getId());
@@ -60,7 +61,6 @@ public class DeleteUnitUseCase
   }
 
   void removeObjectsInUnit(Unit unit) {
-
     ElementQuery<Element> query = genericElementRepository.query(unit.getClient());
     query.whereOwnerIs(unit);
     query.fetchAppliedCatalogItems();
@@ -68,9 +68,9 @@ public class DeleteUnitUseCase
     query.fetchRisks();
     query.fetchRiskValuesAspects();
 
-    List<Element> entitiesInUnit = query.execute(PagingConfiguration.UNPAGED).getResultPage();
-
-    genericElementRepository.deleteAll(entitiesInUnit);
+    // Deleting a chunk also removes references from elements in other chunks, so each chunk can be
+    // deleted independently.
+    query.forEachChunk(deletionChunkSize, genericElementRepository::deleteAll);
   }
 
   @Override
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.veo.core.entity.AbstractRisk;
@@ -77,60 +78,68 @@ public class GetUnitDumpUseCase
       query.whereDomainsContain(domain);
     }
     var elements = new HashSet<>(query.execute(PagingConfiguration.UNPAGED).getResultPage());
-    elements.forEach(
-        e -> {
-          // remove irrelevant domains
-          if (domain != null) {
-            new HashSet<>(e.getDomains())
-                .stream().filter(d -> !domain.equals(d)).forEach(e::removeFromDomains);
-          }
-          // remove risks for scenarios that are not contained in the dump
-          if (e instanceof Process process) {
-            filterRisks(process, elements);
-          } else if (e instanceof Asset asset) {
-            filterRisks(asset, elements);
-          } else if (e instanceof Scope scope) {
-            filterRisks(scope, elements);
-          }
-          // remove parts that are not contained in the dump
-          if (e instanceof CompositeElement composite) {
-            filterParts(composite, elements);
-          }
-          // remove members that are not contained in the dump
-          if (e instanceof Scope scope) {
-            scope.setMembers(intersection(scope.getMembers(), elements));
-          }
-        });
+    elements.forEach(e -> prepareForDump(e, domain, elements::contains));
     return elements;
   }
 
+  /**
+   * Removes everything from given element that does not belong in a dump: aspects of domains other
+   * than the target domain and references to elements that are not part of the dump.
+   *
+   * @param domain the target domain or {@code null} if the dump includes all domains
+   * @param isInDump tells whether an element is part of the dump
+   */
+  static void prepareForDump(Element e, Domain domain, Predicate<Element> isInDump) {
+    // remove irrelevant domains
+    if (domain != null) {
+      new HashSet<>(e.getDomains())
+          .stream().filter(d -> !domain.equals(d)).forEach(e::removeFromDomains);
+    }
+    // remove risks for scenarios that are not contained in the dump
+    if (e instanceof Process process) {
+      filterRisks(process, isInDump);
+    } else if (e instanceof Asset asset) {
+      filterRisks(asset, isInDump);
+    } else if (e instanceof Scope scope) {
+      filterRisks(scope, isInDump);
+    }
+    // remove parts that are not contained in the dump
+    if (e instanceof CompositeElement composite) {
+      filterParts(composite, isInDump);
+    }
+    // remove members that are not contained in the dump
+    if (e instanceof Scope scope) {
+      scope.setMembers(filter(scope.getMembers(), isInDump));
+    }
+  }
+
   private static <TElement extends CompositeElement<TElement>> void filterParts(
-      TElement composite, HashSet<Element> elements) {
-    composite.setParts(intersection(composite.getParts(), elements));
+      TElement composite, Predicate<Element> isInDump) {
+    composite.setParts(filter(composite.getParts(), isInDump));
   }
 
-  private <
+  private static <
           TElement extends RiskAffected<TElement, TRisk>,
           TRisk extends AbstractRisk<TElement, TRisk>>
-      void filterRisks(TElement e, Set<Element> elements) {
+      void filterRisks(TElement e, Predicate<Element> isInDump) {
     e.setRisks(
         e.getRisks().stream()
-            .filter(r -> elements.contains(r.getScenario()))
+            .filter(r -> isInDump.test(r.getScenario()))
             .collect(Collectors.toSet()));
     e.getRisks()
         .forEach(
             r -> {
-              if (r.getMitigation() != null && !elements.contains(r.getMitigation())) {
+              if (r.getMitigation() != null && !isInDump.test(r.getMitigation())) {
                 r.mitigate(null);
               }
-              if (r.getRiskOwner() != null && !elements.contains(r.getRiskOwner())) {
+              if (r.getRiskOwner() != null && !isInDump.test(r.getRiskOwner())) {
                 r.appoint(null);
               }
             });
   }
 
-  private static <T, U extends T> Set<U> intersection(Set<U> a, Set<T> b) {
-    return a.stream().filter(b::contains).collect(Collectors.toSet());
+  private static <T extends Element> Set<T> filter(Set<T> elements, Predicate<Element> isInDump) {
+    return elements.stream().filter(isInDump).collect(Collectors.toSet());
   }
 
   @Data
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.unit;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.veo.core.entity.Element;
+import org.veo.core.entity.Identifiable;
+import org.veo.core.entity.Key;
+import org.veo.core.entity.exception.ReferenceTargetNotFoundException;
+import org.veo.core.entity.ref.ITypedId;
+import org.veo.core.repository.RepositoryProvider;
+import org.veo.core.usecase.service.IdRefResolver;
+import org.veo.core.usecase.service.TypedId;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves references from a unit dump to elements that have already been imported, using the keys
+ * that were assigned to the elements when they were persisted. Elements are loaded in one query per
+ * type using {@link #load}, so a chunk of dump content should be loaded before it is resolved. All
+ * other references (i.e. domains) are resolved using the delegate.
+ */
+@RequiredArgsConstructor
+class ImportedElementResolver implements IdRefResolver {
+  private final RepositoryProvider repositoryProvider;
+  private final IdRefResolver delegate;
+  private final Map<String, Key<UUID>> keys = new HashMap<>();
+  private final Map<ITypedId<?>, Element> loadedElements = new HashMap<>();
+
+  /** Remembers the key of a persisted element under the ID it has in the dump. */
+  void register(String dumpId, Element element) {
+    keys.put(dumpId, element.getId());
+  }
+
+  /** Loads the elements referenced by given references that have not been loaded yet. */
+  void load(Collection<? extends ITypedId<?>> references) {
+    references.stream()
+        .filter(ref -> Element.class.isAssignableFrom(ref.getType()))
+        .<ITypedId<?>>map(ref -> TypedId.from(ref.getId(), ref.getType()))
+        .filter(ref -> !loadedElements.containsKey(ref))
+        .collect(groupingBy(ITypedId::getType, toSet()))
+        .forEach(this::load);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void load(Class<?> type, Set<ITypedId<?>> references) {
+    Map<Key<UUID>, String> dumpIdsByKey =
+        references.stream().collect(toMap(this::getKey, ITypedId::getId, (a, b) -> a));
+    repositoryProvider
+        .getElementRepositoryFor((Class<Element>) type)
+        .getByIds(dumpIdsByKey.keySet())
+        .forEach(
+            element ->
+                loadedElements.put(
+                    TypedId.from(dumpIdsByKey.get(element.getId()), (Class<Element>) type),
+                    element));
+  }
+
+  /** Returns all elements that have been loaded since the last {@link #clear()}. */
+  Collection<Element> getLoadedElements() {
+    return loadedElements.values();
+  }
+
+  /** Forgets the loaded elements (but not the keys). */
+  void clear() {
+    loadedElements.clear();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <TEntity extends Identifiable> TEntity resolve(ITypedId<TEntity> objectReference) {
+    if (!Element.class.isAssignableFrom(objectReference.getType())) {
+      return delegate.resolve(objectReference);
+    }
+    var ref = TypedId.from(objectReference.getId(), objectReference.getType());
+    if (!loadedElements.containsKey(ref)) {
+      load(Set.of(ref));
+    }
+    return (TEntity) loadedElements.get(ref);
+  }
+
+  @Override
+  public <TEntity extends Identifiable> Set<TEntity> resolve(
+      Set<? extends ITypedId<TEntity>> objectReferences) {
+    load(objectReferences);
+    return objectReferences.stream().map(this::resolve).collect(toSet());
+  }
+
+  private Key<UUID> getKey(ITypedId<?> reference) {
+    var key = keys.get(reference.getId());
+    if (key == null) {
+      throw new ReferenceTargetNotFoundException(
+          "%s %s not found in unit dump"
+              .formatted(reference.getType().getSimpleName(), reference.getId()));
+    }
+    return key;
+  }
+}
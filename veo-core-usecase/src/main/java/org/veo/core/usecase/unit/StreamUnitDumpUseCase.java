@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.unit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.veo.core.entity.AccountProvider;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Element;
+import org.veo.core.entity.Key;
+import org.veo.core.entity.Unit;
+import org.veo.core.repository.DomainRepository;
+import org.veo.core.repository.GenericElementRepository;
+import org.veo.core.repository.PagingConfiguration;
+import org.veo.core.repository.PagingConfiguration.SortOrder;
+import org.veo.core.repository.UnitRepository;
+import org.veo.core.usecase.TransactionalUseCase;
+import org.veo.core.usecase.UseCase;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * Provides the same content as {@link GetUnitDumpUseCase}, but does not load all elements at once.
+ * Instead, the output provides the elements in chunks which are loaded with keyset paging. The
+ * persistence context is cleared after each chunk, so the memory required for the dump does not
+ * depend on the size of the unit. The chunks must be consumed within the use case transaction.
+ */
+public class StreamUnitDumpUseCase
+    implements TransactionalUseCase<
+        StreamUnitDumpUseCase.InputData, StreamUnitDumpUseCase.OutputData> {
+  private final AccountProvider accountProvider;
+  private final GenericElementRepository genericElementRepository;
+  private final UnitRepository unitRepository;
+  private final DomainRepository domainRepository;
+  private final int chunkSize;
+
+  public StreamUnitDumpUseCase(
+      AccountProvider accountProvider,
+      GenericElementRepository genericElementRepository,
+      UnitRepository unitRepository,
+      DomainRepository domainRepository,
+      int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be at least 1");
+    }
+    this.accountProvider = accountProvider;
+    this.genericElementRepository = genericElementRepository;
+    this.unitRepository = unitRepository;
+    this.domainRepository = domainRepository;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public OutputData execute(InputData input) {
+    var unit = unitRepository.getById(input.unitId);
+    var client = accountProvider.getCurrentUserAccount().getClient();
+    if (!accountProvider.getCurrentUserAccount().isAdmin()) {
+      unit.checkSameClient(client);
+    }
+    var domain =
+        Optional.ofNullable(input.domainId)
+            .map(id -> domainRepository.getById(id, client.getId()))
+            .orElse(null);
+    return new OutputData(unit, consumer -> forEachChunk(unit, domain, consumer));
+  }
+
+  private void forEachChunk(Unit unit, Domain domain, Consumer<List<Element>> consumer) {
+    var query = genericElementRepository.query(unit.getClient());
+    query.whereUnitIn(Set.of(unit));
+    if (domain != null) {
+      query.whereDomainsContain(domain);
+    }
+    String cursor = null;
+    do {
+      var page =
+          query.execute(
+              PagingConfiguration.keyset(
+                  chunkSize, "designator", SortOrder.ASCENDING, cursor, false));
+      var elements = page.getResultPage();
+      elements.forEach(
+          e ->
+              GetUnitDumpUseCase.prepareForDump(e, domain, other -> isInDump(other, unit, domain)));
+      consumer.accept(elements);
+      genericElementRepository.clearPersistenceContext();
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+  }
+
+  /**
+   * Determines whether given element is part of the dump without having to keep all elements of
+   * the dump in memory.
+   */
+  private static boolean isInDump(Element element, Unit unit, Domain domain) {
+    return unit.equals(element.getOwner())
+        && (domain == null || element.isAssociatedWithDomain(domain));
+  }
+
+  /** Provides the elements of the dump chunk by chunk. */
+  @FunctionalInterface
+  public interface ElementChunks {
+    /**
+     * Loads all elements of the dump and passes them to given consumer chunk by chunk. Elements
+     * from a chunk are detached once the consumer has returned. This may be called multiple times
+     * within the same transaction.
+     */
+    void forEach(Consumer<List<Element>> consumer);
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class InputData implements UseCase.InputData {
+    @NonNull private Key<UUID> unitId;
+
+    /**
+     * If a domain ID is set, only elements associated with that domain are exported and aspects
+     * belonging to other domains are not included in the elements' representations.
+     */
+    private Key<UUID> domainId;
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class OutputData implements UseCase.OutputData {
+    private Unit unit;
+    private ElementChunks elements;
+  }
+}
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.veo.core.entity.AbstractRisk;
+import org.veo.core.entity.Client;
+import org.veo.core.entity.CompositeElement;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Element;
+import org.veo.core.entity.Scope;
+import org.veo.core.entity.Unit;
+import org.veo.core.entity.exception.UnprocessableDataException;
+import org.veo.core.entity.ref.ITypedId;
+import org.veo.core.entity.state.CustomLinkState;
+import org.veo.core.repository.GenericElementRepository;
+import org.veo.core.repository.RepositoryProvider;
+import org.veo.core.repository.UnitRepository;
+import org.veo.core.usecase.DesignatorService;
+import org.veo.core.usecase.TransactionalUseCase;
+import org.veo.core.usecase.UseCase;
+import org.veo.core.usecase.base.DomainSensitiveElementValidator;
+import org.veo.core.usecase.domain.ElementBatchCreator;
+import org.veo.core.usecase.service.DbIdRefResolver;
+import org.veo.core.usecase.service.EntityStateMapper;
+import org.veo.core.usecase.service.IdRefResolver;
+import org.veo.core.usecase.service.TypedId;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports a unit dump like {@link UnitImportUseCase}, but reads the dump incrementally, so the
+ * whole dump is never parsed into memory and only one chunk of elements is attached to the
+ * persistence context at a time.
+ *
+ * <p>Elements are persisted chunk by chunk without their references to other elements (links,
+ * parts & members), because the referenced elements may not have been read yet. Those references
+ * are applied in a second pass once all elements exist. Risks are added to the persisted elements
+ * as they are read. Finally, all imported elements are validated and evaluated. After each chunk,
+ * the revision messages for the affected elements are created, then the elements are flushed and
+ * detached from the persistence context. Each element therefore gets a creation message and
+ * modification messages for the later passes that change it.
+ *
+ * <p>The import runs in a single transaction, so a failure does not leave a partially imported
+ * unit behind. Memory usage is not independent of the unit size though: the revision messages stay
+ * in the persistence context until the transaction is committed, and the IDs & references of all
+ * imported elements are kept for the later passes.
+ */
+@Slf4j
+public class StreamingUnitImportUseCase
+    implements TransactionalUseCase<
+        StreamingUnitImportUseCase.InputData, StreamingUnitImportUseCase.OutputData> {
+  private final UnitRepository unitRepository;
+  private final GenericElementRepository genericElementRepository;
+  private final RepositoryProvider repositoryProvider;
+  private final ElementBatchCreator elementBatchCreator;
+  private final DesignatorService designatorService;
+  private final EntityStateMapper entityStateMapper;
+  private final int chunkSize;
+
+  public StreamingUnitImportUseCase(
+      UnitRepository unitRepository,
+      GenericElementRepository genericElementRepository,
+      RepositoryProvider repositoryProvider,
+      ElementBatchCreator elementBatchCreator,
+      DesignatorService designatorService,
+      EntityStateMapper entityStateMapper,
+      int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be at least 1");
+    }
+    this.unitRepository = unitRepository;
+    this.genericElementRepository = genericElementRepository;
+    this.repositoryProvider = repositoryProvider;
+    this.elementBatchCreator = elementBatchCreator;
+    this.designatorService = designatorService;
+    this.entityStateMapper = entityStateMapper;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public OutputData execute(InputData input) {
+    var reader = input.reader;
+    var unit = reader.readUnit();
+    unit.setClient(input.client);
+    unitRepository.save(unit);
+    var resolver =
+        new ImportedElementResolver(
+            repositoryProvider, new DbIdRefResolver(repositoryProvider, input.client));
+    var importedElements = new ArrayList<ITypedId<Element>>();
+    var pendingReferences = new ArrayList<PendingReferences>();
+
+    reader.readElements(
+        chunkSize,
+        chunk -> {
+          var elements = chunk.stream().map(ImportedElement::getElement).toList();
+          elementBatchCreator.persist(elements, unit, false);
+          chunk.forEach(
+              imported -> {
+                resolver.register(imported.dumpId, imported.element);
+                var ref = toRef(imported);
+                importedElements.add(ref);
+                if (imported.references.hasReferences()) {
+                  pendingReferences.add(new PendingReferences(ref, imported.references));
+                }
+              });
+          genericElementRepository.flushAndDetach(elements);
+          log.info(
+              "{} elements imported into unit {}", importedElements.size(), unit.getIdAsString());
+        });
+
+    var riskCount = new AtomicInteger();
+    reader.readRisks(
+        chunkSize,
+        chunk -> {
+          resolver.load(chunk.getReferences());
+          var risks = chunk.map(resolver);
+          designatorService.assignDesignators(
+              risks.stream().filter(r -> r.getDesignator() == null).toList(), input.client);
+          genericElementRepository.flushAndDetach(resolver.getLoadedElements());
+          resolver.clear();
+          log.info(
+              "{} risks imported into unit {}",
+              riskCount.addAndGet(risks.size()),
+              unit.getIdAsString());
+        });
+
+    var referenceCount = new AtomicInteger();
+    forEachChunk(
+        pendingReferences,
+        chunk -> {
+          resolver.load(chunk.stream().flatMap(PendingReferences::getAllReferences).toList());
+          chunk.forEach(pending -> applyReferences(pending, resolver));
+          genericElementRepository.flushAndDetach(resolver.getLoadedElements());
+          resolver.clear();
+          log.info(
+              "References applied to {} of {} elements",
+              referenceCount.addAndGet(chunk.size()),
+              pendingReferences.size());
+        });
+
+    var validatedCount = new AtomicInteger();
+    forEachChunk(
+        importedElements,
+        chunk -> {
+          resolver.load(chunk);
+          var elements = chunk.stream().map(ref -> resolver.resolve(ref)).toList();
+          try {
+            elements.forEach(DomainSensitiveElementValidator::validate);
+          } catch (IllegalArgumentException illEx) {
+            throw new UnprocessableDataException(illEx.getMessage());
+          }
+          elementBatchCreator.evaluate(elements);
+          genericElementRepository.flushAndDetach(resolver.getLoadedElements());
+          resolver.clear();
+          log.info(
+              "{} of {} elements validated",
+              validatedCount.addAndGet(chunk.size()),
+              importedElements.size());
+        });
+    return new OutputData(unit);
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void applyReferences(PendingReferences pending, IdRefResolver resolver) {
+    var element = resolver.resolve(pending.element);
+    pending.references.links.forEach(
+        (domainId, links) -> {
+          var domain = resolver.resolve(domainId, Domain.class);
+          links.forEach(
+              link ->
+                  element.applyLink(entityStateMapper.mapLink(link, element, domain, resolver)));
+        });
+    if (element instanceof CompositeElement compositeElement) {
+      compositeElement.setParts(resolver.resolve(pending.references.parts));
+    }
+    if (element instanceof Scope scope) {
+      scope.setMembers(resolver.resolve(pending.references.members));
+    }
+  }
+
+  private <T> void forEachChunk(List<T> items, Consumer<List<T>> chunkConsumer) {
+    for (int i = 0; i < items.size(); i += chunkSize) {
+      chunkConsumer.accept(items.subList(i, Math.min(i + chunkSize, items.size())));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ITypedId<Element> toRef(ImportedElement imported) {
+    return TypedId.from(imported.dumpId, (Class<Element>) imported.element.getModelInterface());
+  }
+
+  /** Reads a unit dump incrementally. The methods must be called in the order of declaration. */
+  public interface DumpReader {
+    /** Reads the unit. The returned unit is transient. */
+    Unit readUnit();
+
+    /**
+     * Reads the elements and passes them to given consumer in chunks of given size. The elements
+     * are transient and lack their references to other elements, which are provided separately.
+     */
+    void readElements(int chunkSize, Consumer<List<ImportedElement>> chunkConsumer);
+
+    /**
+     * Reads the risks and passes them to given consumer in chunks of given size. The elements
+     * referenced by the risks have already been persisted at this point.
+     */
+    void readRisks(int chunkSize, Consumer<RiskChunk> chunkConsumer);
+  }
+
+  /** A chunk of risks that have been read from the dump, but not mapped to entities yet. */
+  public interface RiskChunk {
+    /** Returns the references to all elements used by the risks in this chunk. */
+    Set<ITypedId<?>> getReferences();
+
+    /** Maps the risks, adding them to their risk-affected elements. */
+    List<AbstractRisk<?, ?>> map(IdRefResolver idRefResolver);
+  }
+
+  @Value
+  public static class ImportedElement {
+    /** The ID of the element in the dump */
+    String dumpId;
+
+    Element element;
+    ElementReferences references;
+  }
+
+  /** References from an element to other elements in the dump. */
+  @Value
+  public static class ElementReferences {
+    /** Links by domain ID */
+    Map<String, Set<CustomLinkState>> links;
+
+    Set<ITypedId<Element>> parts;
+    Set<ITypedId<Element>> members;
+
+    boolean hasReferences() {
+      return links.values().stream().anyMatch(l -> !l.isEmpty())
+          || !parts.isEmpty()
+          || !members.isEmpty();
+    }
+  }
+
+  @Value
+  private static class PendingReferences {
+    ITypedId<Element> element;
+    ElementReferences references;
+
+    Stream<ITypedId<Element>> getAllReferences() {
+      return Stream.of(
+              Stream.of(element),
+              references.links.values().stream()
+                  .flatMap(Set::stream)
+                  .map(CustomLinkState::getTarget),
+              references.parts.stream(),
+              references.members.stream())
+          .flatMap(s -> s);
+    }
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class InputData implements UseCase.InputData {
+    private Client client;
+    private DumpReader reader;
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class OutputData implements UseCase.OutputData {
+    private Unit unit;
+  }
+}
@@ -18,13 +18,13 @@
 package org.veo.service;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import org.veo.core.entity.Identifiable;
 import org.veo.core.entity.Key;
 import org.veo.core.entity.Versioned;
 import org.veo.core.repository.IdentifiableVersionedRepository;
 import org.veo.core.repository.RepositoryProvider;
-import org.veo.core.usecase.common.ETag;
 
 import lombok.AllArgsConstructor;
 
@@ -32,11 +32,23 @@ import lombok.AllArgsConstructor;
 public class EtagService {
 
   private final RepositoryProvider repositoryProvider;
+  private final VersionCache versionCache;
 
+  /**
+   * Returns the current ETag of an entity, preferably from the {@link VersionCache}.
+   *
+   * @param clientId the client on whose behalf the entity is requested
+   */
   public <T extends Identifiable & Versioned> Optional<String> getEtag(
-      Class<T> entityClass, String id) {
-    IdentifiableVersionedRepository<T> repo =
-        repositoryProvider.getVersionedIdentifiableRepositoryFor(entityClass);
-    return repo.getVersion(Key.uuidFrom(id)).map(version -> ETag.from(id, version));
+      Key<UUID> clientId, Class<T> entityClass, String id) {
+    return versionCache.getEtag(
+        clientId,
+        entityClass,
+        id,
+        () -> {
+          IdentifiableVersionedRepository<T> repo =
+              repositoryProvider.getVersionedIdentifiableRepositoryFor(entityClass);
+          return repo.getVersion(Key.uuidFrom(id));
+        });
   }
 }
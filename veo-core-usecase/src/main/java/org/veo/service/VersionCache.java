@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.veo.core.entity.Key;
+import org.veo.core.usecase.common.ETag;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the ETags of recently requested or modified entities in memory, so conditional requests
+ * for unchanged entities can be answered without querying the database. Entries are partitioned by
+ * client, each partition holding at most a fixed number of least recently used entries. Only the
+ * partitions of a fixed number of recently active clients are kept, so the cache as a whole is
+ * bounded as well. Entries are updated or evicted when changes to the entities have been committed
+ * and expire after a TTL, which limits the time that changes committed on other nodes may go
+ * unnoticed. Expired entries are purged when their partition is accessed, and partitions without
+ * entries are removed.
+ */
+@Slf4j
+public class VersionCache {
+  private final int maxEntriesPerClient;
+  private final long ttlNanos;
+
+  private final Map<Key<UUID>, Partition> partitions;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  public VersionCache(int maxClients, int maxEntriesPerClient, Duration ttl) {
+    this.maxEntriesPerClient = maxEntriesPerClient;
+    this.ttlNanos = ttl.toNanos();
+    partitions = Collections.synchronizedMap(new Partitions(maxClients));
+  }
+
+  /**
+   * Returns the ETag of the entity with given type and ID. If it is not cached, its version is
+   * loaded using given loader and cached.
+   *
+   * @param clientId the client on whose behalf the entity is requested
+   * @param versionLoader loads the current version of the entity, returns empty if it does not
+   *     exist
+   */
+  public Optional<String> getEtag(
+      Key<UUID> clientId, Class<?> type, String id, Supplier<Optional<Long>> versionLoader) {
+    var partition = getPartition(clientId);
+    var now = System.nanoTime();
+    long generationBeforeLoad;
+    synchronized (partition) {
+      purgeExpired(partition, now);
+      var cached = partition.get(id);
+      if (cached != null && cached.type() == type && now - cached.cachedAt() < ttlNanos) {
+        hitCount.incrementAndGet();
+        return Optional.of(cached.etag());
+      }
+      generationBeforeLoad = partition.generation;
+    }
+    missCount.incrementAndGet();
+    return versionLoader
+        .get()
+        .map(
+            version -> {
+              var entry = new CachedVersion(type, version, ETag.from(id, version), now);
+              synchronized (partition) {
+                // The entity may have been changed while it was loaded.
+                if (partition.generation == generationBeforeLoad) {
+                  partition.put(id, entry);
+                }
+              }
+              return entry.etag();
+            });
+  }
+
+  /** Caches the version of an entity after a change to it has been committed. */
+  public void put(Key<UUID> clientId, Class<?> type, String id, long version) {
+    var partition = getPartition(clientId);
+    var entry = new CachedVersion(type, version, ETag.from(id, version), System.nanoTime());
+    synchronized (partition) {
+      purgeExpired(partition, entry.cachedAt());
+      partition.generation++;
+      var previous = partition.get(id);
+      if (previous == null || previous.version() <= version) {
+        partition.put(id, entry);
+      }
+    }
+  }
+
+  /** Removes an entity after it has been deleted or changed elsewhere. */
+  public void evict(Key<UUID> clientId, String id) {
+    var partition = partitions.get(clientId);
+    if (partition == null) {
+      return;
+    }
+    boolean empty;
+    synchronized (partition) {
+      partition.generation++;
+      if (partition.remove(id) != null) {
+        log.debug("Evicted cached version of {}", id);
+      }
+      purgeExpired(partition, System.nanoTime());
+      empty = partition.isEmpty();
+    }
+    if (empty) {
+      // The partition lock is released first, so the locks are always taken in the same order.
+      partitions.remove(clientId, partition);
+    }
+  }
+
+  public void clear() {
+    partitions.clear();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public int getSize() {
+    List<Partition> currentPartitions;
+    synchronized (partitions) {
+      currentPartitions = new ArrayList<>(partitions.values());
+    }
+    return currentPartitions.stream()
+        .mapToInt(
+            partition -> {
+              synchronized (partition) {
+                return partition.size();
+              }
+            })
+        .sum();
+  }
+
+  private Partition getPartition(Key<UUID> clientId) {
+    return partitions.computeIfAbsent(clientId, k -> new Partition(maxEntriesPerClient));
+  }
+
+  /** Removes expired entries, starting with the least recently used one. */
+  private void purgeExpired(Partition partition, long now) {
+    var iterator = partition.values().iterator();
+    while (iterator.hasNext() && now - iterator.next().cachedAt() >= ttlNanos) {
+      iterator.remove();
+    }
+  }
+
+  /** Partitions of the most recently active clients in access order. */
+  private static final class Partitions extends LinkedHashMap<Key<UUID>, Partition> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxClients;
+
+    Partitions(int maxClients) {
+      super(16, 0.75f, true);
+      this.maxClients = maxClients;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key<UUID>, Partition> eldest) {
+      return size() > maxClients;
+    }
+  }
+
+  /** Entries of one client in access order. */
+  private static final class Partition extends LinkedHashMap<String, CachedVersion> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+
+    /** Incremented on every change, a version loaded during a change is not cached. */
+    private long generation;
+
+    Partition(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, CachedVersion> eldest) {
+      return size() > maxEntries;
+    }
+  }
+
+  private record CachedVersion(Class<?> type, long version, String etag, long cachedAt) {}
+}
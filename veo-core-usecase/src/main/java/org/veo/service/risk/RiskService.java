@@ -22,10 +22,17 @@ import static org.veo.core.entity.event.RiskEvent.ChangedValues.PROBABILITY_VALU
 import static org.veo.core.entity.event.RiskEvent.ChangedValues.RISK_VALUES_CHANGED;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.veo.core.entity.AbstractRisk;
@@ -33,6 +40,7 @@ import org.veo.core.entity.Asset;
 import org.veo.core.entity.Domain;
 import org.veo.core.entity.Element;
 import org.veo.core.entity.Identifiable;
+import org.veo.core.entity.Key;
 import org.veo.core.entity.Process;
 import org.veo.core.entity.RiskAffected;
 import org.veo.core.entity.Scenario;
@@ -54,81 +62,156 @@ import org.veo.core.entity.riskdefinition.CategoryDefinition;
 import org.veo.core.entity.riskdefinition.RiskDefinition;
 import org.veo.core.repository.AssetRepository;
 import org.veo.core.repository.ProcessRepository;
+import org.veo.core.repository.ScenarioRepository;
 import org.veo.core.repository.ScopeRepository;
 import org.veo.core.service.EventPublisher;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class RiskService {
 
   private final ProcessRepository processRepository;
   private final AssetRepository assetRepository;
   private final ScopeRepository scopeRepository;
+  private final ScenarioRepository scenarioRepository;
 
   private final EventPublisher eventPublisher;
 
+  private final AtomicLong evaluationCount = new AtomicLong();
+  private final AtomicLong evaluationNanos = new AtomicLong();
+  private final AtomicLong evaluatedRiskCount = new AtomicLong();
+  private final AtomicLong evaluatedCategoryCount = new AtomicLong();
+
   public void evaluateChangedRiskComponent(Element element) {
-    Class<? extends Identifiable> type = element.getModelInterface();
-
-    if (Asset.class.isAssignableFrom(type)) {
-      assetRepository.findWithRisksAndScenarios(Set.of(element.getId()));
-      calculateValuesForObject((Asset) element);
-    } else if (Scope.class.isAssignableFrom(type)) {
-      scopeRepository.findWithRisksAndScenarios(Set.of(element.getId()));
-      calculateValuesForObject((Scope) element);
-    } else if (Process.class.isAssignableFrom(type)) {
-      processRepository.findWithRisksAndScenarios(Set.of(element.getId()));
-      calculateValuesForObject((Process) element);
-    } else if (Scenario.class.isAssignableFrom(type)) {
-      Set<Process> processes = processRepository.findByRisk((Scenario) element);
-      processRepository.findWithRisksAndScenarios(
-          processes.stream().map(Process::getId).collect(Collectors.toSet()));
-
-      Set<Asset> assets = assetRepository.findByRisk((Scenario) element);
-      assetRepository.findWithRisksAndScenarios(
-          assets.stream().map(Asset::getId).collect(Collectors.toSet()));
-
-      Set<Scope> scopes = scopeRepository.findByRisk((Scenario) element);
-      scopeRepository.findWithRisksAndScenarios(
-          scopes.stream().map(Scope::getId).collect(Collectors.toSet()));
-
-      Set<RiskAffected<?, ?>> elements = new HashSet<>();
-      elements.addAll(scopes);
-      elements.addAll(processes);
-      elements.addAll(assets);
-
-      for (RiskAffected<?, ?> e : elements) {
-        calculateValuesForObject(e);
+    evaluateChangedRiskComponents(List.of(element));
+  }
+
+  /**
+   * Recalculates the risk values of all risks that are affected by changes to given elements.
+   *
+   * <p>All risks of changed risk-affected elements are recalculated. They are loaded together with
+   * their risks and scenarios using one query per element type and each of them is only evaluated
+   * once, even if it is affected by multiple given elements.
+   *
+   * <p>For changed scenarios, only the risks caused by these scenarios are loaded (together with
+   * their risk-affected elements, using one query for all element types) and recalculated. As the
+   * impacts of these risks have not changed, only the risk values of risk definitions whose
+   * effective probability has changed are determined again.
+   */
+  public void evaluateChangedRiskComponents(Collection<? extends Element> elements) {
+    var start = System.nanoTime();
+    Set<Asset> assets = new LinkedHashSet<>();
+    Set<Scope> scopes = new LinkedHashSet<>();
+    Set<Process> processes = new LinkedHashSet<>();
+    Set<Scenario> scenarios = new LinkedHashSet<>();
+    for (Element element : elements) {
+      Class<? extends Identifiable> type = element.getModelInterface();
+      if (Asset.class.isAssignableFrom(type)) {
+        assets.add((Asset) element);
+      } else if (Scope.class.isAssignableFrom(type)) {
+        scopes.add((Scope) element);
+      } else if (Process.class.isAssignableFrom(type)) {
+        processes.add((Process) element);
+      } else if (Scenario.class.isAssignableFrom(type)) {
+        scenarios.add((Scenario) element);
       }
     }
+    if (!processes.isEmpty()) {
+      processRepository.findWithRisksAndScenarios(getIds(processes));
+    }
+    if (!assets.isEmpty()) {
+      assetRepository.findWithRisksAndScenarios(getIds(assets));
+    }
+    if (!scopes.isEmpty()) {
+      scopeRepository.findWithRisksAndScenarios(getIds(scopes));
+    }
+
+    Set<RiskAffected<?, ?>> riskAffected = new LinkedHashSet<>();
+    riskAffected.addAll(scopes);
+    riskAffected.addAll(processes);
+    riskAffected.addAll(assets);
+    for (RiskAffected<?, ?> e : riskAffected) {
+      calculateValuesForRisks(e, e.getRisks(), true);
+    }
+
+    if (!scenarios.isEmpty()) {
+      var risksByElement = new LinkedHashMap<RiskAffected<?, ?>, List<AbstractRisk<?, ?>>>();
+      scenarioRepository.findRisksWithOwners(scenarios).stream()
+          // Risk-affected elements that have changed themselves have been evaluated completely.
+          .filter(risk -> !riskAffected.contains(risk.getEntity()))
+          .forEach(
+              risk ->
+                  risksByElement
+                      .computeIfAbsent(risk.getEntity(), e -> new ArrayList<>())
+                      .add(risk));
+      risksByElement.forEach((element, risks) -> calculateValuesForRisks(element, risks, false));
+    }
+    evaluationCount.incrementAndGet();
+    evaluationNanos.addAndGet(System.nanoTime() - start);
   }
 
-  private void calculateValuesForObject(RiskAffected<?, ?> process) {
+  private static Set<Key<UUID>> getIds(Set<? extends Element> elements) {
+    return elements.stream().map(Element::getId).collect(Collectors.toSet());
+  }
+
+  /**
+   * @param impactsChanged whether the impacts of the risk-affected element may have changed,
+   *     requiring all risk values to be determined again
+   */
+  private void calculateValuesForRisks(
+      RiskAffected<?, ?> process,
+      Collection<? extends AbstractRisk<?, ?>> risks,
+      boolean impactsChanged) {
     var entityEvent = new RiskAffectingElementChangeEvent(process, this);
-    for (AbstractRisk<?, ?> risk : process.getRisks()) {
-      var events = calculateValuesForRisk(process, risk);
+    for (AbstractRisk<?, ?> risk : risks) {
+      var events = calculateValuesForRisk(process, risk, impactsChanged);
       events.forEach(entityEvent::addChangedRisk);
     }
+    evaluatedRiskCount.addAndGet(risks.size());
     if (entityEvent.hasChangedRisks()) {
       eventPublisher.publish(entityEvent);
     }
   }
 
+  /** Number of risk evaluations that have been performed. */
+  public long getEvaluationCount() {
+    return evaluationCount.get();
+  }
+
+  /** Total duration of all risk evaluations in nanoseconds. */
+  public long getEvaluationNanos() {
+    return evaluationNanos.get();
+  }
+
+  /** Number of risks that have been recalculated. */
+  public long getEvaluatedRiskCount() {
+    return evaluatedRiskCount.get();
+  }
+
+  /** Number of risk values (per risk, domain, risk definition & category) determined again. */
+  public long getEvaluatedCategoryCount() {
+    return evaluatedCategoryCount.get();
+  }
+
   private Set<RiskChangedEvent> calculateValuesForRisk(
-      RiskAffected<?, ?> process, AbstractRisk<?, ?> risk) {
+      RiskAffected<?, ?> process, AbstractRisk<?, ?> risk, boolean impactsChanged) {
     Set<RiskChangedEvent> riskEvents = new HashSet<>();
     Scenario scenario = risk.getScenario();
     for (Domain domain : risk.getDomains()) {
-      riskEvents.addAll(calculateValuesForDomain(process, risk, scenario, domain));
+      riskEvents.addAll(calculateValuesForDomain(process, risk, scenario, domain, impactsChanged));
     }
     return riskEvents;
   }
 
   private Set<RiskChangedEvent> calculateValuesForDomain(
-      RiskAffected<?, ?> process, AbstractRisk<?, ?> risk, Scenario scenario, Domain domain) {
+      RiskAffected<?, ?> process,
+      AbstractRisk<?, ?> risk,
+      Scenario scenario,
+      Domain domain,
+      boolean impactsChanged) {
     log.debug("Determine values for {} of {} in {}", risk, process, domain);
     Set<RiskChangedEvent> riskEvents = new HashSet<>();
 
@@ -136,7 +219,8 @@ public class RiskService {
       RiskDefinitionRef rdr = RiskDefinitionRef.from(riskDefinition);
       if (risk.getRiskDefinitions(domain).contains(rdr)) {
         var riskEvent =
-            calculateValuesForRiskDefinition(process, risk, scenario, domain, riskDefinition);
+            calculateValuesForRiskDefinition(
+                process, risk, scenario, domain, riskDefinition, impactsChanged);
         riskEvent.ifPresent(riskEvents::add);
       } else {
         log.debug(
@@ -155,16 +239,26 @@ public class RiskService {
       AbstractRisk<?, ?> risk,
       Scenario scenario,
       Domain domain,
-      RiskDefinition riskDefinition) {
+      RiskDefinition riskDefinition,
+      boolean impactsChanged) {
     var riskEvent = new RiskChangedEvent(risk, this);
     var riskDefRef = RiskDefinitionRef.from(riskDefinition);
     riskEvent = riskEvent.withDomainId(domain.getId()).withRiskDefinition(riskDefRef);
 
+    ProbabilityRef previousEffectiveProbability =
+        risk.getProbabilityProvider(riskDefRef, domain).getEffectiveProbability();
     ProbabilityRef riskValueEffectiveProbability =
         calculateProbability(risk, scenario, domain, riskDefRef, riskEvent);
 
+    // Without changed inputs, the risk values cannot have changed either.
+    if (!impactsChanged
+        && Objects.equals(previousEffectiveProbability, riskValueEffectiveProbability)) {
+      return finishRiskEvent(risk, riskEvent);
+    }
+
     // Iterate over impact categories:
     for (CategoryDefinition categoryDefinition : riskDefinition.getCategories()) {
+      evaluatedCategoryCount.incrementAndGet();
       calculateValuesForCategory(
           process,
           risk,
@@ -174,7 +268,11 @@ public class RiskService {
           riskValueEffectiveProbability,
           categoryDefinition);
     }
+    return finishRiskEvent(risk, riskEvent);
+  }
 
+  private Optional<RiskChangedEvent> finishRiskEvent(
+      AbstractRisk<?, ?> risk, RiskChangedEvent riskEvent) {
     if (!riskEvent.getChanges().isEmpty()) {
       // Setting values does not increase the risk's (aggregate root's) version,
       // we have to do it manually:
@@ -217,7 +315,7 @@ public class RiskService {
       RiskChangedEvent riskEvent,
       ProbabilityRef riskValueEffectiveProbability,
       CategoryDefinition categoryDefinition) {
-    CategoryRef categoryRef = CategoryRef.from(categoryDefinition);
+    CategoryRef categoryRef = categoryDefinition.getCategoryRef();
     var riskValueImpact = risk.getImpactProvider(riskDefinitionRef, domain);
 
     ImpactRef effectiveImpact =
@@ -243,7 +341,7 @@ public class RiskService {
       ProbabilityRef riskValueEffectiveProbability,
       CategoryDefinition categoryDefinition,
       ImpactRef effectiveImpact) {
-    var category = CategoryRef.from(categoryDefinition);
+    var category = categoryDefinition.getCategoryRef();
 
     // Cast to implementing classes to gain package-private access to field
     // 'inherentRisk':
@@ -265,8 +363,7 @@ public class RiskService {
       ProbabilityRef riskValueEffectiveProbability,
       ImpactRef effectiveImpact) {
     if (riskValueEffectiveProbability != null && effectiveImpact != null) {
-      return RiskRef.from(
-          categoryDefinition.getRiskValue(riskValueEffectiveProbability, effectiveImpact));
+      return categoryDefinition.getRiskRef(riskValueEffectiveProbability, effectiveImpact);
     }
     return null;
   }
@@ -17,6 +17,8 @@
  ******************************************************************************/
 package org.veo.core.usecase
 
+import java.util.function.Consumer
+
 import org.veo.core.entity.Asset
 import org.veo.core.entity.Control
 import org.veo.core.entity.Document
@@ -29,7 +31,6 @@ import org.veo.core.entity.Scope
 import org.veo.core.entity.Unit
 import org.veo.core.repository.ElementQuery
 import org.veo.core.repository.GenericElementRepository
-import org.veo.core.repository.PagedResult
 import org.veo.core.usecase.unit.DeleteUnitUseCase
 
 public class DeleteUnitUseCaseSpec extends UseCaseSpec {
@@ -67,12 +68,11 @@ public class DeleteUnitUseCaseSpec extends UseCaseSpec {
         })
 
         ElementQuery query = Mock()
-        PagedResult result = Mock()
         List resultPage = (scopes + assets + controls + documents + incidents + persons + processes + scenarios) as List
 
         when: "the unit is deleted"
         def input = new DeleteUnitUseCase.InputData(existingUnit.getId(), existingClient)
-        def usecase = new DeleteUnitUseCase(clientRepository, unitRepository, genericElementRepository)
+        def usecase = new DeleteUnitUseCase(clientRepository, unitRepository, genericElementRepository, 500)
         usecase.execute(input)
 
         then: "the client for the unit is retrieved"
@@ -80,8 +80,9 @@ public class DeleteUnitUseCaseSpec extends UseCaseSpec {
         1 * unitRepository.getById(_) >> existingUnit
         1 * genericElementRepository.query(existingClient) >> query
         1 * query.whereOwnerIs(existingUnit)
-        1 * query.execute(_) >> result
-        1 * result.resultPage >> resultPage
+        1 * query.forEachChunk(500, _) >> { int chunkSize, Consumer consumer ->
+            consumer.accept(resultPage)
+        }
         1 * genericElementRepository.deleteAll(resultPage)
 
         and: "the unit is deleted"
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core.usecase
+
+import org.veo.core.entity.Client
+import org.veo.core.entity.Designated
+import org.veo.core.entity.Key
+import org.veo.core.repository.DesignatorSequenceRepository
+
+import spock.lang.Specification
+
+class DesignatorServiceSpec extends Specification {
+    def clientId = Key.newUuid()
+    Client client = Mock {
+        getId() >> clientId
+    }
+    Map<String, Long> sequences = [:]
+    DesignatorSequenceRepository repo = Mock {
+        getNext(_, _, _) >> { Key id, String type, int count -> reserve(type, count) }
+    }
+
+    def "assigns designators from reserved blocks"() {
+        given:
+        def sut = new DesignatorService(repo, 10)
+        def assets = (1..12).collect { new TestDesignated("AST") }
+        def process = new TestDesignated("PRO")
+
+        when:
+        sut.assignDesignators(assets + process, client)
+
+        then:
+        1 * repo.getNext(clientId, "AST", 12) >> { reserve("AST", 12) }
+        1 * repo.getNext(clientId, "PRO", 10) >> { reserve("PRO", 10) }
+        assets*.designator == (1..12).collect { "AST-$it" }
+        process.designator == "PRO-1"
+
+        when:
+        def moreProcesses = (1..3).collect { new TestDesignated("PRO") }
+        sut.assignDesignators(moreProcesses, client)
+
+        then: "pooled numbers are used"
+        0 * repo.getNext(*_)
+        moreProcesses*.designator == ["PRO-2", "PRO-3", "PRO-4"]
+        sut.reservedNumberCount == 22
+        sut.pooledNumberCount == 6
+        sut.discardedNumberCount == 0
+    }
+
+    def "tops up an insufficient pool"() {
+        given:
+        def sut = new DesignatorService(repo, 5)
+        sut.assignDesignator(new TestDesignated("AST"), client)
+        def assets = (1..7).collect { new TestDesignated("AST") }
+
+        when:
+        sut.assignDesignators(assets, client)
+
+        then:
+        1 * repo.getNext(clientId, "AST", 5) >> { reserve("AST", 5) }
+        assets*.designator == (2..8).collect { "AST-$it" }
+        sut.pooledNumberCount == 2
+    }
+
+    def "counts discarded reservations as gaps"() {
+        given:
+        def sut = new DesignatorService(repo, 10)
+        sut.assignDesignator(new TestDesignated("AST"), client)
+
+        when:
+        sut.discardReservations(clientId)
+
+        then:
+        sut.discardedNumberCount == 9
+        sut.pooledNumberCount == 0
+
+        when:
+        def asset = new TestDesignated("AST")
+        sut.assignDesignator(asset, client)
+
+        then:
+        asset.designator == "AST-11"
+    }
+
+    def "refuses to reassign designators"() {
+        given:
+        def sut = new DesignatorService(repo, 10)
+        def asset = new TestDesignated("AST")
+        asset.designator = "AST-5"
+
+        when:
+        sut.assignDesignators([new TestDesignated("AST"), asset], client)
+
+        then:
+        thrown(IllegalStateException)
+        0 * repo.getNext(*_)
+    }
+
+    List<Long> reserve(String type, int count) {
+        def first = sequences.get(type, 0L) + 1
+        sequences[type] += count
+        (first..<first + count).toList()
+    }
+
+    static class TestDesignated implements Designated {
+        String designator
+        final String typeDesignator
+
+        TestDesignated(String typeDesignator) {
+            this.typeDesignator = typeDesignator
+        }
+    }
+}
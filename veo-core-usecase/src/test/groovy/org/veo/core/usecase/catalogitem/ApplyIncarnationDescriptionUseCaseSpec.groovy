@@ -61,9 +61,9 @@ class ApplyIncarnationDescriptionUseCaseSpec extends ApplyIncarnationDescription
         ]))
 
         then:
-        1* repo.save(newControl) >> newControl
+        1* repo.saveAll([newControl] as Set)
         1* newControl.setOwner(existingUnit)
-        1* designatorService.assignDesignator(newControl, existingClient)
+        1* designatorService.assignDesignators([newControl], existingClient)
 
         output.newElements.size() == 1
         output.newElements.first() == newControl
@@ -103,9 +103,9 @@ class ApplyIncarnationDescriptionUseCaseSpec extends ApplyIncarnationDescription
         ]))
 
         then:
-        1* repo.save(newControl) >> newControl
+        1* repo.saveAll([newControl] as Set)
         1* newControl.setOwner(existingUnit)
-        1* designatorService.assignDesignator(newControl, existingClient)
+        1* designatorService.assignDesignators([newControl], existingClient)
         1* factory.createCustomLink(control3, _, "link.type", _) >> newLink
 
         output.newElements.size() == 1
@@ -153,9 +153,9 @@ class ApplyIncarnationDescriptionUseCaseSpec extends ApplyIncarnationDescription
         ]))
 
         then:
-        1* repo.save(newControl) >> newControl
+        1* repo.saveAll([newControl] as Set)
         1* newControl.setOwner(existingUnit)
-        1* designatorService.assignDesignator(newControl, existingClient)
+        1* designatorService.assignDesignators([newControl], existingClient)
         1* control3.applyLink(_)
         output.newElements.size() == 1
         output.newElements.first() == newControl
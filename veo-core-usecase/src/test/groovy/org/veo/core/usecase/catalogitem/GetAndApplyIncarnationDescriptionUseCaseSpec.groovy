@@ -65,9 +65,9 @@ class GetAndApplyIncarnationDescriptionUseCaseSpec extends ApplyIncarnationDescr
         def o1 = usecasePut.execute(new ApplyIncarnationDescriptionUseCase.InputData(existingClient, existingUnit.id, output.references))
 
         then: "the new element is created and saved"
-        1* repo.save(newControl) >> newControl
+        1* repo.saveAll([newControl] as Set)
         1* newControl.setOwner(existingUnit)
-        1* designatorService.assignDesignator(newControl, existingClient)
+        1* designatorService.assignDesignators([newControl], existingClient)
 
         o1.newElements.size() == 1
         o1.newElements.first() == newControl
@@ -112,9 +112,9 @@ class GetAndApplyIncarnationDescriptionUseCaseSpec extends ApplyIncarnationDescr
         def o1 = usecasePut.execute(new ApplyIncarnationDescriptionUseCase.InputData(existingClient, existingUnit.id, output.references))
 
         then: "the control is saved and the link ist set to control2"
-        1* repo.save(newControl) >> newControl
+        1* repo.saveAll([newControl] as Set)
         1* newControl.setOwner(existingUnit)
-        1* designatorService.assignDesignator(newControl, existingClient)
+        1* designatorService.assignDesignators([newControl], existingClient)
         1* factory.createCustomLink(control2, newControl, "link.type", _) >> newLink
 
         o1.newElements.size() == 1
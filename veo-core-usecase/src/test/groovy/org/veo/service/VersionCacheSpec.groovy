@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.service
+
+import java.time.Duration
+
+import org.veo.core.entity.Asset
+import org.veo.core.entity.Control
+import org.veo.core.entity.Key
+import org.veo.core.usecase.common.ETag
+
+import spock.lang.Specification
+
+class VersionCacheSpec extends Specification {
+
+    def clientId = Key.newUuid()
+    def otherClientId = Key.newUuid()
+    def id = UUID.randomUUID().toString()
+    def cache = new VersionCache(2, 2, Duration.ofMinutes(1))
+
+    def setup() {
+        ETag.setSalt("salt-for-etag")
+    }
+
+    def "loads a version only once"() {
+        when:
+        def etag1 = cache.getEtag(clientId, Asset, id, { Optional.of(3L) })
+        def etag2 = cache.getEtag(clientId, Asset, id, { throw new IllegalStateException() })
+
+        then:
+        etag1 == Optional.of(ETag.from(id, 3))
+        etag2 == etag1
+        cache.hitCount == 1
+        cache.missCount == 1
+    }
+
+    def "does not cache missing entities"() {
+        when:
+        cache.getEtag(clientId, Asset, id, { Optional.empty() })
+        def etag = cache.getEtag(clientId, Asset, id, { Optional.of(1L) })
+
+        then:
+        etag == Optional.of(ETag.from(id, 1))
+        cache.missCount == 2
+    }
+
+    def "partitions versions by client and type"() {
+        given:
+        cache.put(clientId, Asset, id, 2)
+
+        expect:
+        cache.getEtag(otherClientId, Asset, id, { Optional.empty() }).empty
+        cache.getEtag(clientId, Control, id, { Optional.empty() }).empty
+        cache.getEtag(clientId, Asset, id, { Optional.empty() }) == Optional.of(ETag.from(id, 2))
+    }
+
+    def "updates and evicts versions"() {
+        given:
+        cache.getEtag(clientId, Asset, id, { Optional.of(1L) })
+
+        when:
+        cache.put(clientId, Asset, id, 2)
+
+        then:
+        cache.getEtag(clientId, Asset, id, { Optional.empty() }) == Optional.of(ETag.from(id, 2))
+
+        when: "an outdated version arrives late"
+        cache.put(clientId, Asset, id, 1)
+
+        then:
+        cache.getEtag(clientId, Asset, id, { Optional.empty() }) == Optional.of(ETag.from(id, 2))
+
+        when:
+        cache.evict(clientId, id)
+
+        then:
+        cache.getEtag(clientId, Asset, id, { Optional.empty() }).empty
+    }
+
+    def "does not cache a version that was loaded during a change"() {
+        when:
+        cache.getEtag(clientId, Asset, id, {
+            cache.evict(clientId, id)
+            Optional.of(1L)
+        })
+
+        then:
+        cache.size == 0
+    }
+
+    def "limits the number of entries per client"() {
+        when:
+        3.times {
+            cache.put(clientId, Asset, UUID.randomUUID().toString(), 0)
+        }
+        cache.put(otherClientId, Asset, id, 0)
+
+        then:
+        cache.size == 3
+    }
+
+    def "limits the number of clients"() {
+        when:
+        cache.put(clientId, Asset, id, 0)
+        cache.put(otherClientId, Asset, id, 0)
+        cache.put(Key.newUuid(), Asset, id, 0)
+
+        then: "the least recently active client's versions have been dropped"
+        cache.size == 2
+        cache.getEtag(otherClientId, Asset, id, { Optional.empty() }) == Optional.of(ETag.from(id, 0))
+        cache.getEtag(clientId, Asset, id, { Optional.empty() }).empty
+    }
+
+    def "expires versions"() {
+        given:
+        cache = new VersionCache(2, 2, Duration.ZERO)
+        cache.put(clientId, Asset, id, 2)
+
+        expect:
+        cache.getEtag(clientId, Asset, id, { Optional.of(3L) }) == Optional.of(ETag.from(id, 3))
+    }
+
+    def "purges expired versions"() {
+        given:
+        cache = new VersionCache(2, 2, Duration.ZERO)
+        cache.put(clientId, Asset, id, 2)
+        cache.put(otherClientId, Asset, id, 2)
+
+        when: "another version is cached for the client"
+        cache.put(clientId, Control, UUID.randomUUID().toString(), 1)
+
+        then: "the expired version has been purged"
+        cache.size == 2
+
+        when: "a version of the other client is evicted"
+        cache.evict(otherClientId, UUID.randomUUID().toString())
+
+        then: "the other client's partition is gone"
+        cache.size == 1
+        cache.@partitions.keySet() == [clientId] as Set
+    }
+}
@@ -20,17 +20,30 @@ package org.veo.message;
 import static java.lang.Long.parseLong;
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Publishes event messages and keeps track of the publisher confirms. At most {@code
+ * veo.messages.publishing.maxInFlight} messages may be awaiting their confirmation at any time.
+ * Messages that cannot be published within the confirm timeout are left for a later publishing
+ * run, so every message is still delivered at least once.
+ */
 @Component
 @Slf4j
 public class EventDispatcher {
@@ -39,23 +52,50 @@ public class EventDispatcher {
 
   private final ConcurrentLinkedQueue<Consumer<Long>> ackCallbacks = new ConcurrentLinkedQueue<>();
 
+  private final Semaphore inFlightPermits;
+
+  private final Duration confirmTimeout;
+
+  /** IDs of the events whose messages are awaiting a confirmation. */
+  private final Set<Long> inFlightMessages = ConcurrentHashMap.newKeySet();
+
+  /** Timestamp of the oldest unconfirmed event when the outbox was last checked. */
+  private volatile Instant oldestPendingTimestamp;
+
+  private final AtomicLong publishedCount = new AtomicLong();
+  private final AtomicLong ackedCount = new AtomicLong();
+  private final AtomicLong nackedCount = new AtomicLong();
+  private final AtomicLong returnedCount = new AtomicLong();
+
   @Autowired
-  EventDispatcher(RabbitTemplate rabbitTemplate) {
+  EventDispatcher(
+      RabbitTemplate rabbitTemplate,
+      @Value("${veo.messages.publishing.maxInFlight:1000}") int maxInFlight,
+      @Value("${veo.messages.publishing.confirmTimeoutMs:20000}") long confirmTimeoutMs) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Max in-flight message count must be at least 1");
+    }
     this.rabbitTemplate = rabbitTemplate;
+    this.inFlightPermits = new Semaphore(maxInFlight);
+    this.confirmTimeout = Duration.ofMillis(confirmTimeoutMs);
     rabbitTemplate.setConfirmCallback(
         ((correlationData, ack, cause) -> {
           requireNonNull(correlationData);
           var messageId = parseLong(correlationData.getId());
+          release(messageId);
           var returnedMessage = correlationData.getReturned();
           if (returnedMessage != null) {
+            returnedCount.incrementAndGet();
             log.warn(
                 "Message for event {} returned with code {}: {}",
                 messageId,
                 returnedMessage.getReplyCode(),
                 returnedMessage.getMessage());
           } else if (!ack) {
-            log.warn("message with id {} was not acked", messageId);
+            nackedCount.incrementAndGet();
+            log.warn("message with id {} was not acked: {}", messageId, cause);
           } else {
+            ackedCount.incrementAndGet();
             log.debug("message with id {} was acked", messageId);
             ackCallbacks.forEach(cb -> cb.accept(messageId));
           }
@@ -63,20 +103,111 @@ public class EventDispatcher {
   }
 
   public void send(String exchange, EventMessage event) {
-    log.debug(
-        "Sending event id: {}, timestamp: {}, routing-key: {}",
-        event.getId(),
-        event.getTimestamp(),
-        event.getRoutingKey());
-    rabbitTemplate.convertAndSend(
-        exchange, event.getRoutingKey(), event, new CorrelationData(event.getId().toString()));
+    send(exchange, Set.of(event));
   }
 
+  /**
+   * Publishes the given messages on a single channel. Blocks while the maximum number of messages
+   * is awaiting confirmation. If no confirmation arrives within the confirm timeout, the remaining
+   * messages are skipped and will be picked up again once their lock has expired.
+   */
   public void send(String exchange, Set<EventMessage> events) {
-    events.forEach(event -> send(exchange, event));
+    rabbitTemplate.invoke(
+        operations -> {
+          var sent = 0;
+          for (var event : events) {
+            if (!acquire(event)) {
+              log.warn(
+                  "No publisher confirms received within {}, postponing {} messages",
+                  confirmTimeout,
+                  events.size() - sent);
+              return null;
+            }
+            log.debug(
+                "Sending event id: {}, timestamp: {}, routing-key: {}",
+                event.getId(),
+                event.getTimestamp(),
+                event.getRoutingKey());
+            try {
+              operations.convertAndSend(
+                  exchange,
+                  event.getRoutingKey(),
+                  event,
+                  new CorrelationData(event.getId().toString()));
+            } catch (RuntimeException e) {
+              release(event.getId());
+              throw e;
+            }
+            publishedCount.incrementAndGet();
+            sent++;
+          }
+          return null;
+        });
   }
 
   public void addAckCallback(Consumer<Long> ackCallback) {
     ackCallbacks.add(ackCallback);
   }
+
+  /** @return total number of published messages */
+  public long getPublishedCount() {
+    return publishedCount.get();
+  }
+
+  /** @return total number of messages that were positively confirmed by the broker */
+  public long getAckedCount() {
+    return ackedCount.get();
+  }
+
+  /** @return total number of messages that were negatively confirmed by the broker */
+  public long getNackedCount() {
+    return nackedCount.get();
+  }
+
+  /** @return total number of messages that were returned by the broker as unroutable */
+  public long getReturnedCount() {
+    return returnedCount.get();
+  }
+
+  /** @return number of published messages that are still awaiting a confirmation */
+  public int getInFlightCount() {
+    return inFlightMessages.size();
+  }
+
+  /**
+   * Records the timestamp of the oldest stored event that has not been confirmed yet, or {@code
+   * null} if there is none. This is called by the publishing loop, so the outbox lag can be
+   * reported without querying the database.
+   */
+  public void setOldestPendingTimestamp(Instant timestamp) {
+    oldestPendingTimestamp = timestamp;
+  }
+
+  /** @return age of the oldest unconfirmed event in milliseconds, or 0 if there is none */
+  public long getOutboxLagMillis() {
+    var timestamp = oldestPendingTimestamp;
+    return timestamp == null ? 0 : Duration.between(timestamp, Instant.now()).toMillis();
+  }
+
+  private boolean acquire(EventMessage event) {
+    try {
+      if (!inFlightPermits.tryAcquire(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        return false;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    if (!inFlightMessages.add(event.getId())) {
+      // The message is already awaiting a confirmation from an earlier run, which holds the permit.
+      inFlightPermits.release();
+    }
+    return true;
+  }
+
+  private void release(long messageId) {
+    if (inFlightMessages.remove(messageId)) {
+      inFlightPermits.release();
+    }
+  }
 }
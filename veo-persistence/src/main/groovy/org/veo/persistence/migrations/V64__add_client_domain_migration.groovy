@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.migrations
+
+import org.flywaydb.core.api.migration.BaseJavaMigration
+import org.flywaydb.core.api.migration.Context
+
+import groovy.sql.Sql
+
+class V64__add_client_domain_migration extends BaseJavaMigration {
+    @Override
+    void migrate(Context context) throws Exception {
+        new Sql(context.connection).with {
+            execute("""
+            create table client_domain_migration_data (
+                new_domain_id varchar(255) not null,
+                old_domain_id varchar(255) not null,
+                client_id varchar(255) not null,
+                status varchar(255) not null,
+                element_cursor varchar(1000),
+                processed_element_count int8 not null,
+                started_at timestamp not null,
+                updated_at timestamp not null,
+                primary key (new_domain_id)
+            );
+            """)
+        }
+    }
+}
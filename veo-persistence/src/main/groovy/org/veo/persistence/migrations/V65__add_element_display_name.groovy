@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.migrations
+
+import org.flywaydb.core.api.migration.BaseJavaMigration
+import org.flywaydb.core.api.migration.Context
+
+import groovy.sql.Sql
+
+/**
+ * Adds the display name as a stored generated column, so it can be filtered with a trigram index
+ * (see {@link V67__add_element_search_indexes}). Adding a stored generated column rewrites the
+ * element table while holding an ACCESS EXCLUSIVE lock, so all requests that read or write elements
+ * wait until the migration has finished. This takes roughly as long as copying the table and must
+ * be planned as downtime for large installations.
+ */
+class V65__add_element_display_name extends BaseJavaMigration {
+    @Override
+    void migrate(Context context) throws Exception {
+        new Sql(context.connection).with {
+            execute("""
+            create extension if not exists pg_trgm;
+
+            alter table element
+                add column display_name varchar(1024) generated always as (
+                    case when abbreviation is null
+                        then coalesce(designator, '') || ' ' || coalesce(name, '')
+                        else coalesce(designator, '') || ' ' || abbreviation || ' ' || coalesce(name, '')
+                    end
+                ) stored;
+            """)
+        }
+    }
+}
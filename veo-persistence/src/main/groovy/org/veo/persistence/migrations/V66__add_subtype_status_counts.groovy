@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.migrations
+
+import org.flywaydb.core.api.migration.BaseJavaMigration
+import org.flywaydb.core.api.migration.Context
+
+import groovy.sql.Sql
+
+/**
+ * Adds counters for the number of elements per unit, domain, element type, sub type & status. The
+ * counters are maintained by triggers within the transactions that change the sub type aspects or
+ * move elements to another unit, which also covers bulk deletions that bypass JPA callbacks.
+ *
+ * <p>The triggers never update existing rows, they only insert deltas of +1 or -1. Updating a
+ * single row per counter would make all transactions that change elements of the same unit, sub
+ * type and status wait for each other, and transactions changing several elements would lock those
+ * rows in arbitrary order and could deadlock. The deltas are summed up when reading and compacted
+ * periodically.
+ */
+class V66__add_subtype_status_counts extends BaseJavaMigration {
+    @Override
+    void migrate(Context context) throws Exception {
+        new Sql(context.connection).with {
+            execute('''
+            create table subtype_status_count (
+                id bigserial primary key,
+                unit_id varchar(255) not null,
+                domain_id varchar(255) not null,
+                element_type varchar(255) not null,
+                sub_type varchar(255) not null,
+                status varchar(255) not null,
+                count bigint not null
+            );
+
+            create index subtype_status_count_unit_domain_idx on subtype_status_count (unit_id, domain_id);
+
+            create function add_subtype_status_count(
+                p_unit_id varchar, p_domain_id varchar, p_element_type varchar,
+                p_sub_type varchar, p_status varchar, p_delta bigint) returns void as $$
+            begin
+                if p_unit_id is null then
+                    return;
+                end if;
+                insert into subtype_status_count (unit_id, domain_id, element_type, sub_type, status, count)
+                    values (p_unit_id, p_domain_id, p_element_type, p_sub_type, p_status, p_delta);
+            end;
+            $$ language plpgsql;
+
+            create function count_subtype_aspect_change() returns trigger as $$
+            declare
+                v_old_unit_id varchar;
+                v_old_element_type varchar;
+                v_new_unit_id varchar;
+                v_new_element_type varchar;
+            begin
+                if tg_op = 'UPDATE' and old.owner_db_id = new.owner_db_id and old.domain_id = new.domain_id
+                        and old.sub_type = new.sub_type and old.status = new.status then
+                    return null;
+                end if;
+                if tg_op in ('UPDATE', 'DELETE') then
+                    select owner_id, dtype into v_old_unit_id, v_old_element_type from element where db_id = old.owner_db_id;
+                    perform add_subtype_status_count(v_old_unit_id, old.domain_id, v_old_element_type, old.sub_type, old.status, -1);
+                end if;
+                if tg_op in ('INSERT', 'UPDATE') then
+                    select owner_id, dtype into v_new_unit_id, v_new_element_type from element where db_id = new.owner_db_id;
+                    perform add_subtype_status_count(v_new_unit_id, new.domain_id, v_new_element_type, new.sub_type, new.status, 1);
+                end if;
+                return null;
+            end;
+            $$ language plpgsql;
+
+            create trigger subtype_aspect_count_trigger
+                after insert or update or delete on subtype_aspect
+                for each row execute function count_subtype_aspect_change();
+
+            create function count_element_owner_change() returns trigger as $$
+            declare
+                v_aspect record;
+            begin
+                for v_aspect in select domain_id, sub_type, status from subtype_aspect where owner_db_id = new.db_id loop
+                    perform add_subtype_status_count(old.owner_id, v_aspect.domain_id, old.dtype, v_aspect.sub_type, v_aspect.status, -1);
+                    perform add_subtype_status_count(new.owner_id, v_aspect.domain_id, new.dtype, v_aspect.sub_type, v_aspect.status, 1);
+                end loop;
+                return null;
+            end;
+            $$ language plpgsql;
+
+            create trigger element_owner_count_trigger
+                after update of owner_id on element
+                for each row when (old.owner_id is distinct from new.owner_id)
+                execute function count_element_owner_change();
+
+            insert into subtype_status_count (unit_id, domain_id, element_type, sub_type, status, count)
+                select e.owner_id, a.domain_id, e.dtype, a.sub_type, a.status, count(*)
+                    from subtype_aspect as a
+                    inner join element as e on e.db_id = a.owner_db_id
+                    where e.owner_id is not null
+                    group by e.owner_id, a.domain_id, e.dtype, a.sub_type, a.status;
+            ''')
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.migrations
+
+import org.flywaydb.core.api.migration.BaseJavaMigration
+import org.flywaydb.core.api.migration.Context
+
+import groovy.sql.Sql
+
+/**
+ * Adds trigram indexes for substring searches on element columns. The indexes are built
+ * concurrently, so elements can still be read and written meanwhile. This is not possible within a
+ * transaction, so each statement is executed on its own. If building an index fails, PostgreSQL
+ * leaves an invalid index behind, which must be dropped before running the migration again.
+ */
+class V67__add_element_search_indexes extends BaseJavaMigration {
+    @Override
+    boolean canExecuteInTransaction() {
+        false
+    }
+
+    @Override
+    void migrate(Context context) throws Exception {
+        new Sql(context.connection).with { sql ->
+            [
+                "display_name",
+                "name",
+                "description",
+                "designator",
+                "updated_by"
+            ].each { column ->
+                sql.execute("""
+                create index concurrently if not exists IDX_ELEMENT_${column.toUpperCase()}_TRGM
+                    on element using gin (lower($column) gin_trgm_ops);
+                """.toString())
+            }
+        }
+    }
+}
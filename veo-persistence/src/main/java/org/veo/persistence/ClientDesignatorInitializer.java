@@ -24,24 +24,28 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import org.veo.core.entity.event.ClientVersioningEvent;
+import org.veo.core.usecase.DesignatorService;
 import org.veo.persistence.access.DesignatorSequenceRepositoryImpl;
 
 import lombok.AllArgsConstructor;
 
 /**
  * Creates designator sequences when a new client is created and removes them when the client is
- * removed.
+ * removed. Pooled designator numbers for the client are discarded in both cases.
  */
 @Component
 @AllArgsConstructor
 public class ClientDesignatorInitializer {
   private final DesignatorSequenceRepositoryImpl designatorSequenceRepository;
+  private final DesignatorService designatorService;
 
   @EventListener
   public void handle(ClientVersioningEvent event) {
     if (event.getType() == PERSIST) {
+      designatorService.discardReservations(event.getClientId());
       designatorSequenceRepository.createSequences(event.getClientId());
     } else if (event.getType() == REMOVE) {
+      designatorService.discardReservations(event.getClientId());
       designatorSequenceRepository.deleteSequences(event.getClientId());
     }
   }
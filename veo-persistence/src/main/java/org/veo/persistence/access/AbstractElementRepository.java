@@ -36,7 +36,6 @@ import org.veo.core.entity.Unit;
 import org.veo.core.entity.exception.NotFoundException;
 import org.veo.core.repository.ElementRepository;
 import org.veo.core.repository.PagingConfiguration;
-import org.veo.core.repository.SubTypeStatusCount;
 import org.veo.persistence.access.jpa.CustomLinkDataRepository;
 import org.veo.persistence.access.jpa.ElementDataRepository;
 import org.veo.persistence.access.jpa.ScopeDataRepository;
@@ -111,11 +110,6 @@ abstract class AbstractElementRepository<T extends Element, S extends ElementDat
     return findById(id, clientId).orElseThrow(() -> new NotFoundException(id, elementType));
   }
 
-  @Override
-  public Set<SubTypeStatusCount> getCountsBySubType(Unit u, Domain d) {
-    return dataRepository.getCountsBySubType(u.getIdAsString(), d.getIdAsString());
-  }
-
   @Override
   @Transactional
   public void deleteById(Key<UUID> id) {
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.access;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Repository;
+
+import org.veo.core.entity.Client;
+import org.veo.core.entity.ClientDomainMigration;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Key;
+import org.veo.core.repository.ClientDomainMigrationRepository;
+import org.veo.persistence.access.jpa.ClientDomainMigrationDataRepository;
+import org.veo.persistence.entity.jpa.ClientDomainMigrationData;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ClientDomainMigrationRepositoryImpl implements ClientDomainMigrationRepository {
+
+  private final ClientDomainMigrationDataRepository dataRepository;
+
+  @Override
+  public Optional<ClientDomainMigration> findByNewDomainId(Key<UUID> newDomainId) {
+    return dataRepository.findById(newDomainId.uuidValue()).map(ClientDomainMigration.class::cast);
+  }
+
+  @Override
+  public Optional<ClientDomainMigration> findAndLockByNewDomainId(Key<UUID> newDomainId) {
+    return dataRepository
+        .findAndLockById(newDomainId.uuidValue())
+        .map(ClientDomainMigration.class::cast);
+  }
+
+  @Override
+  public ClientDomainMigration create(Client client, Domain oldDomain, Domain newDomain) {
+    return dataRepository.save(
+        new ClientDomainMigrationData(
+            client.getIdAsString(), oldDomain.getIdAsString(), newDomain.getIdAsString()));
+  }
+}
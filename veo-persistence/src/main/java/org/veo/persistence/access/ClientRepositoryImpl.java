@@ -19,6 +19,7 @@ package org.veo.persistence.access;
 
 import static java.util.stream.StreamSupport.stream;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -72,6 +73,19 @@ public class ClientRepositoryImpl
     return clientDataRepository.findWithTranslationsByDbId(id.uuidValue()).map(Client.class::cast);
   }
 
+  @Override
+  public Optional<Versions> findVersionsById(Key<UUID> id) {
+    var rows = clientDataRepository.findVersionsWithDomainVersionsByDbId(id.uuidValue());
+    if (rows.isEmpty()) {
+      return Optional.empty();
+    }
+    var domainVersions = new HashMap<Key<UUID>, Long>();
+    rows.stream()
+        .filter(row -> row[1] != null)
+        .forEach(row -> domainVersions.put(Key.uuidFrom((String) row[1]), (Long) row[2]));
+    return Optional.of(new Versions((Long) rows.get(0)[0], domainVersions));
+  }
+
   @Override
   public List<Client> findAll() {
     return stream(clientDataRepository.findAll().spliterator(), false)
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.persistence.access;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -69,6 +70,27 @@ public class DesignatorSequenceRepositoryImpl implements DesignatorSequenceRepos
             .getSingleResult();
   }
 
+  /**
+   * @return The next {@code count} sequential designator numbers for given client & entity type in
+   *     ascending order, fetched with a single query.
+   */
+  @Override
+  @SuppressFBWarnings("SQL_INJECTION_JPA")
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<Long> getNext(Key<UUID> clientId, String typeDesignator, int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("Designator count must be positive");
+    }
+    List<?> numbers =
+        em.createNativeQuery(
+                "SELECT nextval('"
+                    + getSequenceName(clientId, typeDesignator)
+                    + "') FROM generate_series(1, :count)")
+            .setParameter("count", count)
+            .getResultList();
+    return numbers.stream().map(n -> ((Number) n).longValue()).sorted().toList();
+  }
+
   /**
    * Removes all designator sequences for given client from DB. This should be performed as a
    * cleanup when the client is removed.
@@ -20,6 +20,7 @@ package org.veo.persistence.access;
 import static java.lang.String.format;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -80,6 +81,12 @@ public class DomainRepositoryImpl
         .collect(Collectors.toSet());
   }
 
+  @Override
+  public Map<Key<UUID>, Long> findVersionsByClient(Key<UUID> clientId) {
+    return dataRepository.findIdsAndVersionsByClient(clientId.uuidValue()).stream()
+        .collect(Collectors.toMap(row -> Key.uuidFrom((String) row[0]), row -> (Long) row[1]));
+  }
+
   @Override
   public Set<Domain> findAllByTemplateId(Key<UUID> domainTemplateId) {
     return dataRepository.findAllByDomainTemplateId(domainTemplateId.uuidValue()).stream()
@@ -24,6 +24,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,6 +48,7 @@ import org.veo.core.repository.GenericElementRepository;
 import org.veo.persistence.access.jpa.AssetDataRepository;
 import org.veo.persistence.access.jpa.CustomLinkDataRepository;
 import org.veo.persistence.access.jpa.ElementDataRepository;
+import org.veo.persistence.access.jpa.MostRecentChangeTracker;
 import org.veo.persistence.access.jpa.ProcessDataRepository;
 import org.veo.persistence.access.jpa.ScopeDataRepository;
 import org.veo.persistence.access.query.ElementQueryFactory;
@@ -64,6 +67,7 @@ public class GenericElementRepositoryImpl implements GenericElementRepository {
   private final ProcessDataRepository processDataRepository;
   private final ScopeDataRepository scopeDataRepository;
   private final CustomLinkDataRepository linkDataRepository;
+  private final EntityManager entityManager;
 
   @Override
   public ElementQuery<Element> query(Client client) {
@@ -115,6 +119,21 @@ public class GenericElementRepositoryImpl implements GenericElementRepository {
             .toList());
   }
 
+  @Override
+  public void clearPersistenceContext() {
+    entityManager.clear();
+  }
+
+  @Override
+  public void flushAndDetach(Collection<? extends Element> elements) {
+    // Revision messages must be created while the elements are attached. Insertions & removals are
+    // tracked right away, updates only when flushing.
+    MostRecentChangeTracker.publishPending();
+    entityManager.flush();
+    MostRecentChangeTracker.publishPending();
+    elements.forEach(entityManager::detach);
+  }
+
   private void removeRisks(Set<ScenarioData> scenarios) {
     // remove risks associated with these scenarios:
     var assets = assetDataRepository.findDistinctByRisks_ScenarioIn(scenarios);
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.veo.core.entity.AbstractRisk;
 import org.veo.core.entity.Client;
 import org.veo.core.entity.Domain;
 import org.veo.core.entity.Key;
@@ -112,4 +113,14 @@ public class ScenarioRepositoryImpl
         .map(Scenario.class::cast)
         .collect(Collectors.toSet());
   }
+
+  @Override
+  public Set<AbstractRisk<?, ?>> findRisksWithOwners(Set<Scenario> scenarios) {
+    return scenarioDataRepository
+        .findRisksWithOwnersByScenarioIn(
+            scenarios.stream().map(ScenarioData.class::cast).collect(Collectors.toSet()))
+        .stream()
+        .map(risk -> (AbstractRisk<?, ?>) risk)
+        .collect(Collectors.toSet());
+  }
 }
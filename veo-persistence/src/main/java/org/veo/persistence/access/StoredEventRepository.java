@@ -21,7 +21,6 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import org.veo.core.entity.event.StoredEvent;
 
@@ -31,18 +30,31 @@ public interface StoredEventRepository {
   void remove(StoredEvent event);
 
   /**
-   * Retrieves stored events that are either not locked or have been locked before given point in
-   * time, sorted by creation time in descending order.
+   * Atomically locks and returns stored events that are either not locked or have been locked
+   * before given point in time, in ascending ID order. Events that are being locked by a concurrent
+   * transaction are skipped instead of waited for.
    *
    * @param maxLockTime Locked events are only included if they've been locked before this point in
    *     time.
    * @param maxResults the maximum number of results to return
    */
-  List<StoredEvent> findPendingEvents(Instant maxLockTime, int maxResults);
+  List<StoredEvent> lockPendingEvents(Instant maxLockTime, int maxResults);
 
   Optional<StoredEvent> findById(Long id);
 
-  void delete(Set<Long> ids);
+  /**
+   * @return creation time of the oldest stored event that has not been confirmed by the broker yet,
+   *     or empty if all events have been confirmed
+   */
+  Optional<Instant> findOldestPendingTimestamp();
+
+  /**
+   * Deletes the stored events with given IDs using a single statement. IDs of events that no longer
+   * exist are ignored.
+   *
+   * @return the number of deleted events
+   */
+  int delete(Collection<Long> ids);
 
   void saveAll(Collection<StoredEvent> events);
 }
@@ -21,9 +21,7 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import org.veo.core.entity.event.StoredEvent;
@@ -55,8 +53,10 @@ public class StoredEventRepositoryImpl implements StoredEventRepository {
   }
 
   @Override
-  public List<StoredEvent> findPendingEvents(Instant maxLockTime, int maxResults) {
-    return dataRepository.findPendingEvents(maxLockTime, PageRequest.ofSize(maxResults));
+  public List<StoredEvent> lockPendingEvents(Instant maxLockTime, int maxResults) {
+    return dataRepository.lockPendingEvents(maxLockTime, Instant.now(), maxResults).stream()
+        .map(StoredEvent.class::cast)
+        .toList();
   }
 
   @Override
@@ -65,9 +65,15 @@ public class StoredEventRepositoryImpl implements StoredEventRepository {
   }
 
   @Override
-  public void delete(Set<Long> ids) {
-    // gracefully delete the existing IDs:
-    var existingIds = dataRepository.findExistingIds(ids);
-    dataRepository.deleteAllById(existingIds);
+  public Optional<Instant> findOldestPendingTimestamp() {
+    return dataRepository.findFirstTimestamp();
+  }
+
+  @Override
+  public int delete(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return dataRepository.deleteAllByIdIn(ids);
   }
 }
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.access;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.EntityType;
+import org.veo.core.entity.Unit;
+import org.veo.core.repository.SubTypeStatusCount;
+import org.veo.core.repository.SubTypeStatusCountRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the counters from the table {@code subtype_status_count}, which is maintained by database
+ * triggers on the sub type aspects and elements. The triggers only insert deltas, so a counter is
+ * the sum of all its rows.
+ */
+@Repository
+@AllArgsConstructor
+@Slf4j
+public class SubTypeStatusCountRepositoryImpl implements SubTypeStatusCountRepository {
+  private static final String ACTUAL_COUNTS =
+      "select e.owner_id as unit_id, a.domain_id, e.dtype as element_type, a.sub_type, a.status, "
+          + "count(*) as count "
+          + "from subtype_aspect as a "
+          + "inner join element as e on e.db_id = a.owner_db_id "
+          + "where e.owner_id is not null "
+          + "group by e.owner_id, a.domain_id, e.dtype, a.sub_type, a.status";
+
+  private static final String STORED_COUNTS =
+      "select unit_id, domain_id, element_type, sub_type, status, sum(count) as count "
+          + "from subtype_status_count "
+          + "group by unit_id, domain_id, element_type, sub_type, status "
+          + "having sum(count) <> 0";
+
+  private static final String COUNT_INCORRECT_COUNTERS =
+      "select count(*) from ("
+          + ACTUAL_COUNTS
+          + ") as actual "
+          + "full outer join ("
+          + STORED_COUNTS
+          + ") as c "
+          + "using (unit_id, domain_id, element_type, sub_type, status) "
+          + "where actual.count is distinct from c.count";
+
+  /**
+   * Replaces the deltas of each counter that has more than one row with a single row holding their
+   * sum. Deltas inserted by transactions that commit while this is running are not visible to the
+   * statement and are left untouched.
+   */
+  private static final String COMPACT =
+      "with deleted as ("
+          + "delete from subtype_status_count as c using ("
+          + "select unit_id, domain_id, element_type, sub_type, status from subtype_status_count "
+          + "group by unit_id, domain_id, element_type, sub_type, status having count(*) > 1"
+          + ") as d "
+          + "where (c.unit_id, c.domain_id, c.element_type, c.sub_type, c.status) "
+          + "= (d.unit_id, d.domain_id, d.element_type, d.sub_type, d.status) "
+          + "returning c.unit_id, c.domain_id, c.element_type, c.sub_type, c.status, c.count) "
+          + "insert into subtype_status_count "
+          + "(unit_id, domain_id, element_type, sub_type, status, count) "
+          + "select unit_id, domain_id, element_type, sub_type, status, sum(count) from deleted "
+          + "group by unit_id, domain_id, element_type, sub_type, status "
+          + "having sum(count) <> 0";
+
+  private final EntityManager em;
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public Map<EntityType, Set<SubTypeStatusCount>> findCounts(Unit unit, Domain domain) {
+    List<Object[]> rows =
+        em.createNativeQuery(
+                "select element_type, sub_type, status, sum(count) from subtype_status_count "
+                    + "where unit_id = :unitId and domain_id = :domainId "
+                    + "group by element_type, sub_type, status "
+                    + "having sum(count) <> 0")
+            .setParameter("unitId", unit.getIdAsString())
+            .setParameter("domainId", domain.getIdAsString())
+            .getResultList();
+    return rows.stream()
+        .collect(
+            groupingBy(
+                row -> EntityType.getBySingularTerm((String) row[0]),
+                mapping(
+                    row ->
+                        new SubTypeStatusCount(
+                            (String) row[1], (String) row[2], ((Number) row[3]).longValue()),
+                    toSet())));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public int verify() {
+    return ((Number) em.createNativeQuery(COUNT_INCORRECT_COUNTERS).getSingleResult()).intValue();
+  }
+
+  @Override
+  @Transactional
+  public int compact() {
+    // Only one compaction at a time, concurrent ones could delete the same deltas in different
+    // order and deadlock. This lock mode does not conflict with the triggers' inserts.
+    em.createNativeQuery("lock table subtype_status_count in share update exclusive mode")
+        .executeUpdate();
+    return em.createNativeQuery(COMPACT).executeUpdate();
+  }
+
+  @Override
+  @Transactional
+  public int rebuild() {
+    // Block concurrent counter updates, they would be lost when the counters are replaced.
+    em.createNativeQuery("lock table subtype_status_count in exclusive mode").executeUpdate();
+    var incorrectCounters = verify();
+    if (incorrectCounters > 0) {
+      log.warn("Rebuilding sub type status counts, {} counters are incorrect", incorrectCounters);
+      em.createNativeQuery("delete from subtype_status_count").executeUpdate();
+      em.createNativeQuery(
+              "insert into subtype_status_count "
+                  + "(unit_id, domain_id, element_type, sub_type, status, count) "
+                  + ACTUAL_COUNTS)
+          .executeUpdate();
+    }
+    return incorrectCounters;
+  }
+}
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.persistence.access.jpa;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -45,4 +46,9 @@ public interface ClientDataRepository extends IdentifiableVersionedDataRepositor
 
   @EntityGraph(attributePaths = {"domains.elementTypeDefinitions.translations"})
   Optional<ClientData> findWithTranslationsByDbId(String id);
+
+  @Query(
+      "select c.version, d.dbId, d.version from #{#entityName} c left join c.domains d"
+          + " where c.dbId = ?1")
+  List<Object[]> findVersionsWithDomainVersionsByDbId(String id);
 }
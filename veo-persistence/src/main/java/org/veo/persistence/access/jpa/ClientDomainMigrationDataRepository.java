@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.access.jpa;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import org.veo.persistence.entity.jpa.ClientDomainMigrationData;
+
+public interface ClientDomainMigrationDataRepository
+    extends JpaRepository<ClientDomainMigrationData, String> {
+
+  /**
+   * Locks and returns the migration. If the migration is currently locked by a concurrent
+   * transaction, nothing is returned, so concurrent callers never process the same chunk.
+   */
+  @Query(
+      value =
+          """
+          select * from client_domain_migration_data
+            where new_domain_id = ?1
+            for update skip locked
+          """,
+      nativeQuery = true)
+  Optional<ClientDomainMigrationData> findAndLockById(String newDomainId);
+}
@@ -18,6 +18,7 @@
 package org.veo.persistence.access.jpa;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -81,6 +82,9 @@ public interface DomainDataRepository extends IdentifiableVersionedDataRepositor
       """)
   Set<Domain> findAllByClientWithEntityTypeDefinitionsAndRiskDefinitions(String clientId);
 
+  @Query("select d.dbId, d.version from #{#entityName} d where d.owner.dbId = ?1")
+  List<Object[]> findIdsAndVersionsByClient(String clientId);
+
   @Query("select count(d.id) > 0 from domain d where d.name = ?1 and d.owner = ?2")
   boolean nameExistsInClient(String name, Client client);
 }
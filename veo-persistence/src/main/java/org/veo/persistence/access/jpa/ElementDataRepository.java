@@ -19,7 +19,6 @@ package org.veo.persistence.access.jpa;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import jakarta.annotation.Nonnull;
 
@@ -32,7 +31,6 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
-import org.veo.core.repository.SubTypeStatusCount;
 import org.veo.persistence.entity.jpa.ElementData;
 
 public interface ElementDataRepository<T extends ElementData>
@@ -92,15 +90,6 @@ public interface ElementDataRepository<T extends ElementData>
   // https://github.com/spring-projects/spring-data-jpa/issues/1378 is fixed
   Page<T> findAll(Specification<T> specification, Pageable pageable);
 
-  @Query(
-      "SELECT new org.veo.core.repository.SubTypeStatusCount(a.subType, a.status, count(a.status)) from #{#entityName} as e "
-          + "inner join e.subTypeAspects a "
-          + "inner join e.domains d "
-          + "where e.owner.dbId = ?1 "
-          + "and d.id = ?2 "
-          + "group by a.subType, a.status")
-  Set<SubTypeStatusCount> getCountsBySubType(String unitId, String domainId);
-
   @Transactional(readOnly = true)
   @EntityGraph(attributePaths = {"scopes", "scopes.members"})
   List<T> findAllWithScopesAndScopeMembersByDbIdIn(List<String> ids);
@@ -17,8 +17,6 @@
  ******************************************************************************/
 package org.veo.persistence.access.jpa;
 
-import static java.util.Collections.unmodifiableList;
-import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.joining;
 import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
@@ -27,12 +25,10 @@ import static org.veo.core.entity.event.VersioningEvent.ModificationType.REMOVE;
 import static org.veo.core.entity.event.VersioningEvent.ModificationType.UPDATE;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.Order;
@@ -57,16 +53,24 @@ import lombok.extern.slf4j.Slf4j;
  * Collect change events for elements during a running transaction. Keeps only the most recent
  * change for each element. Previous changes will be replaced with the most recent one.
  *
+ * <p>The consolidated state is maintained incrementally for each ID as events arrive, so tracking
+ * an event takes constant time. The consolidated events are only materialized once when they are
+ * published.
+ *
  * <p>Before the transaction is committed, all pending changes will be persisted to the repository.
+ * Operations that detach changed entities before the commit must publish the pending changes
+ * first, see {@link #publishPending()}.
  */
 @Slf4j
 @SuppressWarnings("PMD.ClassWithOnlyPrivateConstructorsShouldBeFinal")
 public class MostRecentChangeTracker<
     V extends Versioned & Identifiable, E extends VersioningEvent<V>> {
 
-  private final Map<String, List<E>> allSeenChanges = new HashMap<>();
+  /** PERSIST events for entities that did not have an ID yet. */
+  private final List<E> persistsWithoutId = new ArrayList<>();
 
-  private final Map<String, List<E>> consolidatedChanges = new HashMap<>();
+  /** Consolidated state of all other events by entity ID. */
+  private final Map<String, ConsolidatedChange<V, E>> changesById = new LinkedHashMap<>();
 
   public static final String NO_ID = "no_id";
 
@@ -117,6 +121,24 @@ public class MostRecentChangeTracker<
     return tracker;
   }
 
+  /**
+   * Publishes the changes that have been collected in the current transaction so far and forgets
+   * them. Changes made afterwards are collected and published separately. Operations that process
+   * elements in chunks within one transaction must call this while the changed entities are still
+   * attached, because the event listeners need to read their lazy associations. Does nothing if no
+   * changes have been collected.
+   */
+  public static void publishPending() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      return;
+    }
+    var holder =
+        (ChangeTrackerResourceHolder) TransactionSynchronizationManager.getResource(TRACKER_KEY);
+    if (holder != null) {
+      holder.getTracker().publishAndClear();
+    }
+  }
+
   public synchronized void put(@NonNull E eventToStore) {
     requireNonNull(eventToStore.getEntity());
     if (eventToStore.getEntity() instanceof AbstractRisk<?, ?>) {
@@ -135,8 +157,6 @@ public class MostRecentChangeTracker<
       case PERSIST -> trackEventWithoutId(eventToStore);
       case UPDATE, REMOVE -> trackEvent(eventToStore);
     }
-
-    consolidate();
   }
 
   private synchronized void trackEvent(@NonNull E eventToStore) {
@@ -150,7 +170,7 @@ public class MostRecentChangeTracker<
         eventToStore.getChangeNumber());
 
     var id = determineId(eventToStore.getEntity());
-    allSeenChanges.computeIfAbsent(id, k -> new ArrayList<>()).add(eventToStore);
+    changesById.computeIfAbsent(id, k -> new ConsolidatedChange<>()).add(eventToStore);
   }
 
   private synchronized void trackEventWithoutId(E eventToStore) {
@@ -164,7 +184,7 @@ public class MostRecentChangeTracker<
           eventToStore.getEntity().getIdAsString(),
           eventToStore.getEntity().getClass(),
           eventToStore.getChangeNumber());
-      allSeenChanges.computeIfAbsent(id, k -> new ArrayList<>()).add(eventToStore);
+      changesById.computeIfAbsent(id, k -> new ConsolidatedChange<>()).add(eventToStore);
       return;
     }
 
@@ -173,7 +193,7 @@ public class MostRecentChangeTracker<
         eventToStore.getEntity().getClass(),
         eventToStore.getChangeNumber());
 
-    allSeenChanges.computeIfAbsent(NO_ID, k -> new ArrayList<>()).add(eventToStore);
+    persistsWithoutId.add(eventToStore);
   }
 
   private String determineId(V entityToStore) {
@@ -184,62 +204,15 @@ public class MostRecentChangeTracker<
     }
   }
 
-  private synchronized void consolidate() {
-    consolidatedChanges.clear();
-
-    // add PERSIST events:
-    var persists = allSeenChanges.computeIfAbsent(NO_ID, k -> new ArrayList<>());
-    consolidatedChanges.put(NO_ID, unmodifiableList(persists));
-
-    allSeenChanges.keySet().stream()
-        .filter(k -> !Objects.equals(k, NO_ID))
-        .forEach(
-            id -> {
-              // add PERSIST events that already have an ID (edge case):
-              var persistsWithId =
-                  allSeenChanges.get(id).stream()
-                      .filter(e -> e.getType() == PERSIST && determineId(e.getEntity()) != null)
-                      .toList();
-              if (!persistsWithId.isEmpty()) {
-                // get only one, order doesn't matter for inserts:
-                consolidatedChanges
-                    .computeIfAbsent(id, k -> new ArrayList<>())
-                    .add(persistsWithId.get(0));
-              }
-
-              // add UPDATE event:
-              // (add only the latest UPDATE rewritten to the lowest seen change-no of any update)
-              var updates =
-                  allSeenChanges.get(id).stream().filter(e -> e.getType() == UPDATE).toList();
-              var lowestNo = -1L;
-              if (!updates.isEmpty()) {
-                lowestNo = lowestSeenChangeNo(updates);
-                var newestUpdate = newestEvent(updates);
-                consolidatedChanges
-                    .computeIfAbsent(id, k -> new ArrayList<>())
-                    .add((E) newestUpdate.withChangeNumber(lowestNo));
-              }
-
-              // add REMOVE event:
-              var removes =
-                  allSeenChanges.get(id).stream().filter(e -> e.getType() == REMOVE).toList();
-              if (!removes.isEmpty()) {
-                var newestRemove = newestEvent(removes);
-                if (lowestNo == -1L) {
-                  // no updates tracked, use lowest change no from removes:
-                  lowestNo = lowestSeenChangeNo(removes);
-                } else {
-                  lowestNo += 1;
-                }
-                consolidatedChanges
-                    .computeIfAbsent(id, k -> new ArrayList<>())
-                    .add((E) newestRemove.withChangeNumber(lowestNo));
-              }
-            });
-  }
-
-  private long lowestSeenChangeNo(Collection<E> events) {
-    return events.stream().map(VersioningEvent::getChangeNumber).min(Long::compare).orElseThrow();
+  /**
+   * Materializes the consolidated events: all PERSIST events without an ID followed by the
+   * consolidated events for each ID.
+   */
+  synchronized List<E> getConsolidatedChanges() {
+    var result = new ArrayList<E>(persistsWithoutId.size() + changesById.size());
+    result.addAll(persistsWithoutId);
+    changesById.values().forEach(change -> change.materialize(result));
+    return result;
   }
 
   private void hydrate(V entity) {
@@ -250,26 +223,81 @@ public class MostRecentChangeTracker<
     }
   }
 
-  private E newestEvent(Collection<E> events) {
-    return events.stream().max(comparingLong(VersioningEvent::getChangeNumber)).orElseThrow();
-  }
-
   @Transactional(propagation = Propagation.MANDATORY)
   @Order(HIGHEST_PRECEDENCE)
   public synchronized void publishAll() {
+    var consolidatedChanges = getConsolidatedChanges();
     log.atDebug().log(
         () ->
             "Publishing all events:\n %s"
                 .formatted(
-                    consolidatedChanges.values().stream()
-                        .map(Object::toString)
-                        .collect(joining(";\n"))));
-    consolidatedChanges.values().stream().flatMap(List::stream).forEach(publisher::publishEvent);
+                    consolidatedChanges.stream().map(Object::toString).collect(joining(";\n"))));
+    consolidatedChanges.forEach(publisher::publishEvent);
+  }
+
+  private synchronized void publishAndClear() {
+    var consolidatedChanges = getConsolidatedChanges();
+    clear();
+    log.debug("Publishing {} pending events", consolidatedChanges.size());
+    consolidatedChanges.forEach(publisher::publishEvent);
   }
 
   public synchronized void clear() {
     log.debug("Clearing all events");
-    this.consolidatedChanges.clear();
-    this.allSeenChanges.clear();
+    this.persistsWithoutId.clear();
+    this.changesById.clear();
+  }
+
+  /**
+   * Running consolidation of all events for one entity. Keeps the first PERSIST event, the newest
+   * UPDATE event together with the lowest change number of all UPDATE events and the newest REMOVE
+   * event together with the lowest change number of all REMOVE events.
+   */
+  private static final class ConsolidatedChange<
+      V extends Versioned & Identifiable, E extends VersioningEvent<V>> {
+    private E firstPersist;
+    private E newestUpdate;
+    private long lowestUpdateNo = Long.MAX_VALUE;
+    private E newestRemove;
+    private long lowestRemoveNo = Long.MAX_VALUE;
+
+    void add(E event) {
+      switch (event.getType()) {
+        case PERSIST -> {
+          if (firstPersist == null) {
+            // order doesn't matter for inserts
+            firstPersist = event;
+          }
+        }
+        case UPDATE -> {
+          if (newestUpdate == null || event.getChangeNumber() > newestUpdate.getChangeNumber()) {
+            newestUpdate = event;
+          }
+          lowestUpdateNo = Math.min(lowestUpdateNo, event.getChangeNumber());
+        }
+        case REMOVE -> {
+          if (newestRemove == null || event.getChangeNumber() > newestRemove.getChangeNumber()) {
+            newestRemove = event;
+          }
+          lowestRemoveNo = Math.min(lowestRemoveNo, event.getChangeNumber());
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    void materialize(List<E> target) {
+      if (firstPersist != null) {
+        target.add(firstPersist);
+      }
+      // add only the latest UPDATE rewritten to the lowest seen change-no of any update
+      if (newestUpdate != null) {
+        target.add((E) newestUpdate.withChangeNumber(lowestUpdateNo));
+      }
+      if (newestRemove != null) {
+        // if there are no updates, use the lowest change no from removes
+        var removeNo = newestUpdate != null ? lowestUpdateNo + 1 : lowestRemoveNo;
+        target.add((E) newestRemove.withChangeNumber(removeNo));
+      }
+    }
   }
 }
@@ -25,6 +25,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.veo.core.entity.Domain;
+import org.veo.persistence.entity.jpa.AbstractRiskData;
 import org.veo.persistence.entity.jpa.ScenarioData;
 
 public interface ScenarioDataRepository extends CompositeEntityDataRepository<ScenarioData> {
@@ -35,4 +36,16 @@ public interface ScenarioDataRepository extends CompositeEntityDataRepository<Sc
 
   @Query("SELECT e FROM #{#entityName} as e RIGHT JOIN FETCH e.riskValuesAspects")
   Set<ScenarioData> findByDomainWhereRiskValuesExist(Domain domain);
+
+  @Query(
+      """
+         select distinct r from abstractriskdata r
+         inner join fetch r.entity e
+         left join fetch e.riskValuesAspects
+         inner join fetch r.domains
+         left join fetch r.riskAspects
+         inner join fetch r.scenario s
+         left join fetch s.riskValuesAspects
+         where s in ?1""")
+  Set<AbstractRiskData<?, ?>> findRisksWithOwnersByScenarioIn(Set<ScenarioData> scenarios);
 }
@@ -18,13 +18,14 @@
 package org.veo.persistence.access.jpa;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.veo.core.entity.event.StoredEvent;
@@ -38,6 +39,35 @@ public interface StoredEventDataRepository extends JpaRepository<StoredEventData
           + "order by e.id")
   List<StoredEvent> findPendingEvents(Instant maxLockTime, Pageable pageable);
 
-  @Query("SELECT e.id FROM #{#entityName} as e WHERE e.id IN (:ids)")
-  Set<Long> findExistingIds(@Param("ids") Set<Long> ids);
+  /**
+   * Locks and returns pending events in a single statement. Rows that are currently locked by a
+   * concurrent transaction are skipped, so concurrent callers never claim the same event.
+   */
+  @Transactional
+  @Query(
+      value =
+          """
+          update stored_event_data set lock_time = ?2
+            where id in (
+              select id from stored_event_data
+                where lock_time is null or lock_time < ?1
+                order by id
+                limit ?3
+                for update skip locked)
+            returning *
+          """,
+      nativeQuery = true)
+  List<StoredEventData> lockPendingEvents(Instant maxLockTime, Instant lockTime, int maxResults);
+
+  /**
+   * Confirmed events are deleted, so the event with the lowest ID is the oldest one that is still
+   * waiting to be published or confirmed.
+   */
+  @Query("select e.timestamp from #{#entityName} e order by e.id limit 1")
+  Optional<Instant> findFirstTimestamp();
+
+  @Transactional
+  @Modifying
+  @Query("delete from #{#entityName} e where e.id in ?1")
+  int deleteAllByIdIn(Collection<Long> ids);
 }
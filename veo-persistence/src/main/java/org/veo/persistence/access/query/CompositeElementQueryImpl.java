@@ -19,6 +19,7 @@ package org.veo.persistence.access.query;
 
 import java.util.UUID;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.JoinType;
 
 import org.springframework.data.jpa.domain.Specification;
@@ -45,6 +46,8 @@ class CompositeElementQueryImpl<
     extends ElementQueryImpl<TInterface, TDataClass> implements CompositeElementQuery<TInterface> {
   public CompositeElementQueryImpl(
       CompositeEntityDataRepository<TDataClass> repo,
+      Class<TDataClass> dataClass,
+      EntityManager entityManager,
       AssetDataRepository assetDataRepository,
       ControlDataRepository controlDataRepository,
       DocumentDataRepository documentDataRepository,
@@ -53,9 +56,12 @@ class CompositeElementQueryImpl<
       ProcessDataRepository processDataRepository,
       ScenarioDataRepository scenarioDataRepository,
       ScopeDataRepository scopeDataRepository,
+      int hydrationBatchSize,
       Client client) {
     super(
         repo,
+        dataClass,
+        entityManager,
         assetDataRepository,
         controlDataRepository,
         documentDataRepository,
@@ -64,6 +70,7 @@ class CompositeElementQueryImpl<
         processDataRepository,
         scenarioDataRepository,
         scopeDataRepository,
+        hydrationBatchSize,
         client);
   }
 
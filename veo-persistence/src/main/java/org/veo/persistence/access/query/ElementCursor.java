@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.access.query;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.beans.BeanWrapperImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.veo.core.repository.PagingConfiguration;
+import org.veo.core.repository.PagingConfiguration.SortOrder;
+import org.veo.persistence.entity.jpa.ElementData;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Position of an element within a sorted element query result, used for keyset paging. The
+ * position consists of the value of the sort column and the tie-breakers designator length,
+ * designator & database ID (which make the sort order total).
+ *
+ * <p>A cursor is encoded as an opaque base64url string. It also contains the sort column & order
+ * it was created for, so it cannot be applied to a query with a different sorting.
+ *
+ * <p>NULL values in the sort column are handled according to the PostgreSQL default, which treats
+ * NULL as larger than any other value (NULLS LAST for ascending and NULLS FIRST for descending
+ * order).
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class ElementCursor {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String DESIGNATOR = "designator";
+  private static final String DESIGNATOR_LENGTH = "designatorLength";
+  private static final String DB_ID = "dbId";
+
+  private final String sortColumn;
+  private final SortOrder sortOrder;
+  private final Object sortValue;
+  private final int designatorLength;
+  private final String designator;
+  private final String dbId;
+
+  /** Creates a cursor pointing to the position of given element. */
+  static ElementCursor of(ElementData element, PagingConfiguration pagingConfiguration) {
+    var sortColumn = pagingConfiguration.getSortColumn();
+    Object sortValue = null;
+    if (!DESIGNATOR.equals(sortColumn)) {
+      sortValue = toRawValue(new BeanWrapperImpl(element).getPropertyValue(sortColumn));
+    }
+    return new ElementCursor(
+        sortColumn,
+        pagingConfiguration.getSortOrder(),
+        sortValue,
+        element.getDesignator().length(),
+        element.getDesignator(),
+        element.getDbId());
+  }
+
+  /**
+   * Decodes the cursor for given paging configuration.
+   *
+   * @throws IllegalArgumentException if the cursor is malformed or does not match the sorting
+   */
+  static ElementCursor decode(PagingConfiguration pagingConfiguration) {
+    List<?> values;
+    try {
+      values =
+          OBJECT_MAPPER.readValue(
+              Base64.getUrlDecoder().decode(pagingConfiguration.getCursor()), List.class);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+    if (values.size() != 6
+        || !pagingConfiguration.getSortColumn().equals(values.get(0))
+        || !pagingConfiguration.getSortOrder().name().equals(values.get(1))) {
+      throw new IllegalArgumentException(
+          "Cursor does not match sort column and sort order of the request");
+    }
+    return new ElementCursor(
+        (String) values.get(0),
+        pagingConfiguration.getSortOrder(),
+        values.get(2),
+        ((Number) values.get(3)).intValue(),
+        (String) values.get(4),
+        (String) values.get(5));
+  }
+
+  String encode() {
+    try {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(
+              OBJECT_MAPPER.writeValueAsString(
+                      Arrays.asList(
+                          sortColumn,
+                          sortOrder.name(),
+                          sortValue,
+                          designatorLength,
+                          designator,
+                          dbId))
+                  .getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot encode cursor", e);
+    }
+  }
+
+  /** Creates a predicate that only matches elements positioned after this cursor. */
+  Predicate after(Root<? extends ElementData> root, CriteriaBuilder cb) {
+    var ascending = sortOrder == SortOrder.ASCENDING;
+    // Innermost tie-breaker: the ID is unique.
+    Predicate result = compare(cb, root.get(DB_ID), dbId, ascending);
+    result =
+        cb.or(
+            compare(cb, root.get(DESIGNATOR), designator, ascending),
+            cb.and(cb.equal(root.get(DESIGNATOR), designator), result));
+    Expression<Integer> length = cb.length(root.<String>get(DESIGNATOR));
+    result =
+        cb.or(
+            compare(cb, length, designatorLength, ascending),
+            cb.and(cb.equal(length, designatorLength), result));
+    if (DESIGNATOR.equals(sortColumn)) {
+      return result;
+    }
+    Expression<?> column = root.get(sortColumn);
+    var value = toComparable(sortValue, column.getJavaType());
+    if (value == null) {
+      // NULL is the largest value, nothing comes after it in ascending order.
+      var tie = cb.and(cb.isNull(column), result);
+      return ascending ? tie : cb.or(cb.isNotNull(column), tie);
+    }
+    var tie = cb.and(cb.equal(column, value), result);
+    var greater = compare(cb, column, value, ascending);
+    return ascending ? cb.or(greater, cb.isNull(column), tie) : cb.or(greater, tie);
+  }
+
+  /** Creates the total ordering that keyset paging relies on. */
+  static List<Order> orders(
+      Root<? extends ElementData> root,
+      CriteriaBuilder cb,
+      PagingConfiguration pagingConfiguration) {
+    var columns = new ArrayList<String>();
+    if (!DESIGNATOR.equals(pagingConfiguration.getSortColumn())) {
+      columns.add(pagingConfiguration.getSortColumn());
+    }
+    columns.addAll(List.of(DESIGNATOR_LENGTH, DESIGNATOR, DB_ID));
+    return columns.stream()
+        .map(root::get)
+        .map(
+            path ->
+                pagingConfiguration.getSortOrder() == SortOrder.ASCENDING
+                    ? cb.asc(path)
+                    : cb.desc(path))
+        .toList();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Predicate compare(
+      CriteriaBuilder cb, Expression expression, Comparable value, boolean ascending) {
+    return ascending ? cb.greaterThan(expression, value) : cb.lessThan(expression, value);
+  }
+
+  private static Object toRawValue(Object value) {
+    if (value == null || value instanceof String || value instanceof Number) {
+      return value;
+    }
+    if (value instanceof Instant) {
+      return value.toString();
+    }
+    throw new IllegalArgumentException(
+        "Keyset paging is not supported for sort values of type " + value.getClass());
+  }
+
+  private static Comparable<?> toComparable(Object rawValue, Class<?> type) {
+    if (rawValue == null) {
+      return null;
+    }
+    if (String.class.equals(type)) {
+      return rawValue.toString();
+    }
+    if (Instant.class.equals(type)) {
+      return Instant.parse(rawValue.toString());
+    }
+    if (rawValue instanceof Number number) {
+      if (Long.class.equals(type) || long.class.equals(type)) {
+        return number.longValue();
+      }
+      if (Integer.class.equals(type) || int.class.equals(type)) {
+        return number.intValue();
+      }
+    }
+    throw new IllegalArgumentException(
+        "Keyset paging is not supported for sort column type " + type);
+  }
+}
@@ -17,6 +17,9 @@
  ******************************************************************************/
 package org.veo.persistence.access.query;
 
+import jakarta.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import org.veo.core.entity.Asset;
@@ -42,7 +45,15 @@ import org.veo.persistence.access.jpa.PersonDataRepository;
 import org.veo.persistence.access.jpa.ProcessDataRepository;
 import org.veo.persistence.access.jpa.ScenarioDataRepository;
 import org.veo.persistence.access.jpa.ScopeDataRepository;
+import org.veo.persistence.entity.jpa.AssetData;
+import org.veo.persistence.entity.jpa.ControlData;
+import org.veo.persistence.entity.jpa.DocumentData;
 import org.veo.persistence.entity.jpa.ElementData;
+import org.veo.persistence.entity.jpa.IncidentData;
+import org.veo.persistence.entity.jpa.PersonData;
+import org.veo.persistence.entity.jpa.ProcessData;
+import org.veo.persistence.entity.jpa.ScenarioData;
+import org.veo.persistence.entity.jpa.ScopeData;
 
 import lombok.RequiredArgsConstructor;
 
@@ -58,47 +69,55 @@ public class ElementQueryFactory {
   private final ProcessDataRepository processDataRepository;
   private final ScenarioDataRepository scenarioDataRepository;
   private final ScopeDataRepository scopeDataRepository;
+  private final EntityManager entityManager;
+
+  /** Maximum number of IDs per query when fetching the associations of query results. */
+  @Value("${veo.persistence.query.hydration-batch-size:1000}")
+  private int hydrationBatchSize = 1000;
 
   public ElementQuery<Element> queryElements(Client client) {
-    return query(client, elementRepository);
+    return query(client, elementRepository, ElementData.class);
   }
 
   public CompositeElementQuery<Asset> queryAssets(Client client) {
-    return query(client, assetDataRepository);
+    return query(client, assetDataRepository, AssetData.class);
   }
 
   public CompositeElementQuery<Control> queryControls(Client client) {
-    return query(client, controlDataRepository);
+    return query(client, controlDataRepository, ControlData.class);
   }
 
   public CompositeElementQuery<Document> queryDocuments(Client client) {
-    return query(client, documentDataRepository);
+    return query(client, documentDataRepository, DocumentData.class);
   }
 
   public CompositeElementQuery<Incident> queryIncidents(Client client) {
-    return query(client, incidentDataRepository);
+    return query(client, incidentDataRepository, IncidentData.class);
   }
 
   public CompositeElementQuery<Person> queryPersons(Client client) {
-    return query(client, personDataRepository);
+    return query(client, personDataRepository, PersonData.class);
   }
 
   public CompositeElementQuery<Process> queryProcesses(Client client) {
-    return query(client, processDataRepository);
+    return query(client, processDataRepository, ProcessData.class);
   }
 
   public CompositeElementQuery<Scenario> queryScenarios(Client client) {
-    return query(client, scenarioDataRepository);
+    return query(client, scenarioDataRepository, ScenarioData.class);
   }
 
   public ElementQuery<Scope> queryScopes(Client client) {
-    return query(client, scopeDataRepository);
+    return query(client, scopeDataRepository, ScopeData.class);
   }
 
   private <TElement extends Element, TData extends ElementData>
-      ElementQueryImpl<TElement, TData> query(Client client, ElementDataRepository<TData> repo) {
+      ElementQueryImpl<TElement, TData> query(
+          Client client, ElementDataRepository<TData> repo, Class<TData> dataClass) {
     return new ElementQueryImpl<>(
         repo,
+        dataClass,
+        entityManager,
         assetDataRepository,
         controlDataRepository,
         documentDataRepository,
@@ -107,14 +126,17 @@ public class ElementQueryFactory {
         processDataRepository,
         scenarioDataRepository,
         scopeDataRepository,
+        hydrationBatchSize,
         client);
   }
 
   private <TElement extends CompositeElement<TElement>, TData extends ElementData>
       CompositeElementQueryImpl<TElement, TData> query(
-          Client client, CompositeEntityDataRepository<TData> repo) {
+          Client client, CompositeEntityDataRepository<TData> repo, Class<TData> dataClass) {
     return new CompositeElementQueryImpl<>(
         repo,
+        dataClass,
+        entityManager,
         assetDataRepository,
         controlDataRepository,
         documentDataRepository,
@@ -123,6 +145,7 @@ public class ElementQueryFactory {
         processDataRepository,
         scenarioDataRepository,
         scopeDataRepository,
+        hydrationBatchSize,
         client);
   }
 }
@@ -19,14 +19,17 @@ package org.veo.persistence.access.query;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Path;
@@ -69,6 +72,7 @@ import org.veo.persistence.access.jpa.ControlDataRepository;
 import org.veo.persistence.access.jpa.DocumentDataRepository;
 import org.veo.persistence.access.jpa.ElementDataRepository;
 import org.veo.persistence.access.jpa.IncidentDataRepository;
+import org.veo.persistence.access.jpa.MostRecentChangeTracker;
 import org.veo.persistence.access.jpa.PersonDataRepository;
 import org.veo.persistence.access.jpa.ProcessDataRepository;
 import org.veo.persistence.access.jpa.ScenarioDataRepository;
@@ -81,6 +85,8 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
     implements ElementQuery<TInterface> {
 
   private final ElementDataRepository<TDataClass> dataRepository;
+  private final Class<TDataClass> dataClass;
+  private final EntityManager entityManager;
   private final AssetDataRepository assetDataRepository;
   private final ControlDataRepository controlDataRepository;
   private final DocumentDataRepository documentDataRepository;
@@ -89,6 +95,7 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
   private final ProcessDataRepository processDataRepository;
   private final ScenarioDataRepository scenarioDataRepository;
   private final ScopeDataRepository scopeDataRepository;
+  private final int hydrationBatchSize;
   protected Specification<TDataClass> mySpec;
   private boolean fetchAppliedCatalogItems;
   private boolean fetchScopesAndScopeMembers;
@@ -99,6 +106,8 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
 
   public ElementQueryImpl(
       ElementDataRepository<TDataClass> repo,
+      Class<TDataClass> dataClass,
+      EntityManager entityManager,
       AssetDataRepository assetDataRepository,
       ControlDataRepository controlDataRepository,
       DocumentDataRepository documentDataRepository,
@@ -107,7 +116,11 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
       ProcessDataRepository processDataRepository,
       ScenarioDataRepository scenarioDataRepository,
       ScopeDataRepository scopeDataRepository,
+      int hydrationBatchSize,
       Client client) {
+    if (hydrationBatchSize < 1) {
+      throw new IllegalArgumentException("Hydration batch size must be positive");
+    }
     this.assetDataRepository = assetDataRepository;
     this.controlDataRepository = controlDataRepository;
     this.documentDataRepository = documentDataRepository;
@@ -117,6 +130,9 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
     this.scenarioDataRepository = scenarioDataRepository;
     this.scopeDataRepository = scopeDataRepository;
     this.dataRepository = repo;
+    this.dataClass = dataClass;
+    this.entityManager = entityManager;
+    this.hydrationBatchSize = hydrationBatchSize;
     mySpec = createSpecification(client);
   }
 
@@ -292,23 +308,127 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
   @Override
   @Transactional(readOnly = true)
   public PagedResult<TInterface> execute(PagingConfiguration pagingConfiguration) {
+    if (pagingConfiguration.isKeysetPaging()) {
+      return executeWithKeyset(pagingConfiguration);
+    }
     Page<TDataClass> items = dataRepository.findAll(mySpec, toPageable(pagingConfiguration));
     List<String> ids = items.stream().map(ElementData::getDbId).toList();
-    List<TDataClass> fullyLoadedItems = fullyLoadItems(ids);
-    fullyLoadedItems.sort(Comparator.comparingInt(item -> ids.indexOf(item.getDbId())));
 
     return new PagedResult<>(
         pagingConfiguration,
-        (List<TInterface>) fullyLoadedItems,
+        fullyLoadItemsInOrder(ids),
         items.getTotalElements(),
         items.getTotalPages());
   }
 
+  /**
+   * Seeks to the position after the cursor instead of skipping an offset, so the cost of a page
+   * does not depend on its position. Fetches one additional row to determine whether there is a
+   * next page and only counts all results if requested.
+   */
+  private PagedResult<TInterface> executeWithKeyset(PagingConfiguration pagingConfiguration) {
+    if (pagingConfiguration.getPageSize() < 1) {
+      throw new IllegalArgumentException("Page size must not be less than one");
+    }
+    var cb = entityManager.getCriteriaBuilder();
+    var query = cb.createQuery(dataClass);
+    var root = query.from(dataClass);
+    var predicate = mySpec.toPredicate(root, query, cb);
+    if (!pagingConfiguration.getCursor().isEmpty()) {
+      predicate = cb.and(predicate, ElementCursor.decode(pagingConfiguration).after(root, cb));
+    }
+    query.where(predicate).orderBy(ElementCursor.orders(root, cb, pagingConfiguration));
+    var items =
+        entityManager
+            .createQuery(query)
+            .setMaxResults(pagingConfiguration.getPageSize() + 1)
+            .getResultList();
+
+    String nextCursor = null;
+    if (items.size() > pagingConfiguration.getPageSize()) {
+      items = items.subList(0, pagingConfiguration.getPageSize());
+      nextCursor = ElementCursor.of(items.get(items.size() - 1), pagingConfiguration).encode();
+    }
+    long totalResults = PagedResult.UNKNOWN;
+    int totalPages = PagedResult.UNKNOWN;
+    if (pagingConfiguration.isCountTotal()) {
+      totalResults = dataRepository.count(mySpec);
+      totalPages = (int) Math.ceil((double) totalResults / pagingConfiguration.getPageSize());
+    }
+    List<String> ids = items.stream().map(ElementData::getDbId).toList();
+    return new PagedResult<>(
+        pagingConfiguration, fullyLoadItemsInOrder(ids), totalResults, totalPages, nextCursor);
+  }
+
+  @Override
+  public void forEachChunk(int chunkSize, Consumer<List<TInterface>> consumer) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be at least 1");
+    }
+    String lastId = null;
+    List<String> ids;
+    do {
+      ids = findIdsAfter(lastId, chunkSize);
+      if (ids.isEmpty()) {
+        return;
+      }
+      var elements = fullyLoadItemsInOrder(ids);
+      consumer.accept(elements);
+      // Revision messages must be created while the elements are attached. Insertions & removals
+      // are tracked right away, updates only when flushing.
+      MostRecentChangeTracker.publishPending();
+      entityManager.flush();
+      MostRecentChangeTracker.publishPending();
+      elements.forEach(entityManager::detach);
+      lastId = ids.get(ids.size() - 1);
+    } while (ids.size() == chunkSize);
+  }
+
+  /**
+   * Selects the next IDs after given ID (or the first IDs if it is null) in ascending order. Only
+   * the IDs are read, so no entities are added to the persistence context.
+   */
+  private List<String> findIdsAfter(String lastId, int limit) {
+    var cb = entityManager.getCriteriaBuilder();
+    var query = cb.createQuery(String.class);
+    var root = query.from(dataClass);
+    Path<String> id = root.get("dbId");
+    var predicate = mySpec.toPredicate(root, query, cb);
+    if (lastId != null) {
+      predicate = cb.and(predicate, cb.greaterThan(id, lastId));
+    }
+    query.select(id).distinct(true).where(predicate).orderBy(cb.asc(id));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  /**
+   * Loads the items with given IDs with all required associations, in batches of {@link
+   * #hydrationBatchSize}, and returns them in the order of the given IDs.
+   */
+  @SuppressWarnings("unchecked")
+  private List<TInterface> fullyLoadItemsInOrder(List<String> ids) {
+    Map<String, Integer> positions = new HashMap<>((int) (ids.size() / 0.75f) + 1);
+    for (int i = 0; i < ids.size(); i++) {
+      positions.put(ids.get(i), i);
+    }
+    Object[] orderedItems = new Object[ids.size()];
+    for (int from = 0; from < ids.size(); from += hydrationBatchSize) {
+      fullyLoadItems(ids.subList(from, Math.min(from + hydrationBatchSize, ids.size())))
+          .forEach(item -> orderedItems[positions.get(item.getDbId())] = item);
+    }
+    List<TInterface> result = new ArrayList<>(ids.size());
+    for (Object item : orderedItems) {
+      if (item != null) {
+        result.add((TInterface) item);
+      }
+    }
+    return result;
+  }
+
   private List<TDataClass> fullyLoadItems(List<String> ids) {
     var items = dataRepository.findAllWithDomainsLinksDecisionsByDbIdIn(ids);
     dataRepository.findAllWithCustomAspectsByDbIdIn(ids);
     dataRepository.findAllWithSubtypeAspectsByDbIdIn(ids);
-
     if (fetchAppliedCatalogItems) {
       dataRepository.findAllWithAppliedCatalogItemsByDbIdIn(ids);
     }
@@ -318,8 +438,7 @@ class ElementQueryImpl<TInterface extends Element, TDataClass extends ElementDat
     items.stream()
         .collect(Collectors.groupingBy(Element::getModelInterface))
         .forEach(this::fullyLoadItems);
-
-    return new ArrayList<>(items);
+    return items;
   }
 
   private void fullyLoadItems(Class<? extends Identifiable> type, List<TDataClass> items) {
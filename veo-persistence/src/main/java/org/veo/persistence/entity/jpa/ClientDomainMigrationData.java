@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.entity.jpa;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PreUpdate;
+
+import org.veo.core.entity.ClientDomainMigration;
+import org.veo.core.entity.Key;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Entity
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ClientDomainMigrationData implements ClientDomainMigration {
+
+  @Id private String newDomainId;
+
+  private String oldDomainId;
+
+  private String clientId;
+
+  @Enumerated(EnumType.STRING)
+  private Status status;
+
+  @Column(name = "element_cursor", length = 1000)
+  private String cursor;
+
+  private long processedElementCount;
+
+  private Instant startedAt;
+
+  private Instant updatedAt;
+
+  public ClientDomainMigrationData(String clientId, String oldDomainId, String newDomainId) {
+    this.clientId = clientId;
+    this.oldDomainId = oldDomainId;
+    this.newDomainId = newDomainId;
+    status = Status.TRANSFERRING;
+    startedAt = Instant.now();
+    updatedAt = startedAt;
+  }
+
+  @Override
+  public Key<UUID> getNewDomainId() {
+    return Key.uuidFrom(newDomainId);
+  }
+
+  @Override
+  public Key<UUID> getOldDomainId() {
+    return Key.uuidFrom(oldDomainId);
+  }
+
+  @Override
+  public Key<UUID> getClientId() {
+    return Key.uuidFrom(clientId);
+  }
+
+  @Override
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  @Override
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  @Override
+  public void addProcessedElements(int count) {
+    processedElementCount += count;
+  }
+
+  @PreUpdate
+  void onUpdate() {
+    updatedAt = Instant.now();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof ClientDomainMigrationData other)) return false;
+    return newDomainId != null && newDomainId.equals(other.newDomainId);
+  }
+
+  @Override
+  public int hashCode() {
+    return getClass().hashCode();
+  }
+}
@@ -19,21 +19,27 @@ package org.veo.persistence.entity.jpa;
 
 import static jakarta.persistence.GenerationType.SEQUENCE;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
 
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.ColumnTransformer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import org.veo.core.entity.decision.Decision;
 import org.veo.core.entity.exception.NotFoundException;
 
-import io.hypersistence.utils.hibernate.type.json.JsonType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -49,12 +55,25 @@ public class DecisionSetData {
   private Long id;
 
   @NotNull
-  @Type(JsonType.class)
-  Map<String, Decision> decisions = new HashMap<>();
+  @Column(name = "decisions", columnDefinition = "jsonb")
+  @ColumnTransformer(write = "?::jsonb")
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private String decisionsJson = "{}";
+
+  @Transient private Map<String, Decision> decisions = new HashMap<>();
+
+  @PostLoad
+  void decode() {
+    decisions = DecodedJsonCache.getInstance().decode(decisionsJson, new TypeReference<>() {});
+  }
+
+  public Map<String, Decision> getDecisions() {
+    return Collections.unmodifiableMap(decisions);
+  }
 
   public void setDecisions(Map<String, Decision> decisions) {
-    this.decisions.clear();
-    this.decisions.putAll(decisions);
+    update(new HashMap<>(decisions));
   }
 
   /**
@@ -62,7 +81,9 @@ public class DecisionSetData {
    */
   public boolean applyDecision(String key, Decision value) {
     var created = !decisions.containsKey(key);
-    decisions.put(key, value);
+    var updated = new HashMap<>(decisions);
+    updated.put(key, value);
+    update(updated);
     return created;
   }
 
@@ -70,7 +91,14 @@ public class DecisionSetData {
     if (!decisions.containsKey(decisionKey)) {
       throw new NotFoundException("Decision '%s' not found", decisionKey);
     }
-    decisions.remove(decisionKey);
+    var updated = new HashMap<>(decisions);
+    updated.remove(decisionKey);
+    update(updated);
+  }
+
+  private void update(Map<String, Decision> decisions) {
+    this.decisions = decisions;
+    decisionsJson = DecodedJsonCache.encode(decisions);
   }
 
   @Override
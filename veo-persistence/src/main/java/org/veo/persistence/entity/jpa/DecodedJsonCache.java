@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.entity.jpa;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Process-wide cache of decoded JSONB content of domain configuration entities (risk definitions,
+ * decisions and profiles). Decoding that content with Jackson every time a domain is loaded is
+ * expensive, but the content itself rarely changes and is often the same in many clients' domains.
+ *
+ * <p>Entries are keyed by the target type and a SHA-256 hash of the raw JSON, so domains with equal
+ * content share one decoded value and every change to the content leads to a different entry. The
+ * cache is bounded by the total length of the JSON content of its entries, which grows with the
+ * size of the decoded values. The least recently used entries are dropped first.
+ *
+ * <p>Decoded values are shared between sessions, threads and clients and must not be modified.
+ * Entities hand out unmodifiable views and replace the whole value on change, and no use case
+ * modifies risk definitions, decisions or profiles in place. Lazily computed state on the values
+ * (e.g. compiled risk matrices) must be thread-safe.
+ */
+public final class DecodedJsonCache {
+  /** Maximum total length of the cached JSON content in characters. */
+  private static final long MAX_WEIGHT = 32_000_000;
+
+  private static final ObjectMapper OBJECT_MAPPER = new CustomObjectMapper();
+  private static final DecodedJsonCache INSTANCE = new DecodedJsonCache(MAX_WEIGHT);
+
+  private final long maxWeight;
+  private final LinkedHashMap<Key, CachedValue> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long weight;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  DecodedJsonCache(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public static DecodedJsonCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the decoded value of given JSON content, using a previously decoded value of equal
+   * content if it is still cached.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T decode(String json, TypeReference<T> type) {
+    if (json == null) {
+      return null;
+    }
+    var key = new Key(type.getType(), hash(json));
+    CachedValue cached;
+    synchronized (entries) {
+      cached = entries.get(key);
+    }
+    if (cached != null) {
+      hits.incrementAndGet();
+      return (T) cached.value();
+    }
+    misses.incrementAndGet();
+    var value = read(json, type);
+    put(key, new CachedValue(value, json.length()));
+    return value;
+  }
+
+  private void put(Key key, CachedValue value) {
+    if (value.weight() > maxWeight) {
+      return;
+    }
+    synchronized (entries) {
+      var previous = entries.put(key, value);
+      if (previous != null) {
+        weight -= previous.weight();
+      }
+      weight += value.weight();
+      var iterator = entries.values().iterator();
+      while (weight > maxWeight) {
+        weight -= iterator.next().weight();
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Encodes given value the same way as it is stored in the JSONB columns. */
+  public static String encode(Object value) {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(value);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot encode JSON content", e);
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      weight = 0;
+    }
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  public int getSize() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /** Returns the total length of the cached JSON content in characters. */
+  public long getWeight() {
+    synchronized (entries) {
+      return weight;
+    }
+  }
+
+  private static String hash(String json) {
+    try {
+      return HexFormat.of()
+          .formatHex(MessageDigest.getInstance("SHA-256").digest(json.getBytes(UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static <T> T read(String json, TypeReference<T> type) {
+    try {
+      return OBJECT_MAPPER.readValue(json, type);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot decode JSON content", e);
+    }
+  }
+
+  private record Key(Type type, String hash) {}
+
+  private record CachedValue(Object value, long weight) {}
+}
@@ -146,8 +146,11 @@ public abstract class ElementData extends IdentifiableVersionedData implements E
   @JoinColumn(name = "owner_id")
   private Unit owner;
 
-  @Formula(
-      "case when abbreviation is null then concat(designator,' ',name) else concat(designator,' ',abbreviation,' ',name) end")
+  /**
+   * Generated by the database from designator, abbreviation & name, so that it can be covered by a
+   * trigram index for substring searches.
+   */
+  @Column(name = "display_name", insertable = false, updatable = false)
   @Setter(AccessLevel.NONE)
   private String displayName;
 
@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.persistence.entity.jpa;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,15 +26,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.ColumnTransformer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import org.veo.core.entity.profile.ProfileDefinition;
 
-import io.hypersistence.utils.hibernate.type.json.JsonType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -49,14 +54,26 @@ public class ProfileSetData {
   private Long id;
 
   @NotNull
-  @Column(columnDefinition = "jsonb")
-  @Valid
-  @Type(JsonType.class)
-  private Map<String, ProfileDefinition> profiles = new HashMap<>();
+  @Column(name = "profiles", columnDefinition = "jsonb")
+  @ColumnTransformer(write = "?::jsonb")
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private String profilesJson = "{}";
+
+  @Transient @Valid private Map<String, ProfileDefinition> profiles = new HashMap<>();
+
+  @PostLoad
+  void decode() {
+    profiles = DecodedJsonCache.getInstance().decode(profilesJson, new TypeReference<>() {});
+  }
+
+  public Map<String, ProfileDefinition> getProfiles() {
+    return Collections.unmodifiableMap(profiles);
+  }
 
   public void setProfiles(Map<String, ProfileDefinition> profiles) {
-    this.profiles.clear();
-    this.profiles.putAll(profiles);
+    this.profiles = new HashMap<>(profiles);
+    profilesJson = DecodedJsonCache.encode(this.profiles);
   }
 
   @Override
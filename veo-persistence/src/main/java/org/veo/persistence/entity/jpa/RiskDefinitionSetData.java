@@ -19,6 +19,7 @@ package org.veo.persistence.entity.jpa;
 
 import static jakarta.persistence.GenerationType.SEQUENCE;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,17 +27,21 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.ColumnTransformer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import org.veo.core.entity.exception.EntityAlreadyExistsException;
 import org.veo.core.entity.exception.NotFoundException;
 import org.veo.core.entity.riskdefinition.RiskDefinition;
 
-import io.hypersistence.utils.hibernate.type.json.JsonType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -52,14 +57,32 @@ public class RiskDefinitionSetData {
   private Long id;
 
   @NotNull
-  @Column(columnDefinition = "jsonb")
-  @Type(JsonType.class)
-  @Valid
-  Map<String, RiskDefinition> riskDefinitions = new HashMap<>();
+  @Column(name = "risk_definitions", columnDefinition = "jsonb")
+  @ColumnTransformer(write = "?::jsonb")
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private String riskDefinitionsJson = "{}";
+
+  @Transient @Valid private Map<String, RiskDefinition> riskDefinitions = new HashMap<>();
+
+  @PostLoad
+  void decode() {
+    riskDefinitions =
+        DecodedJsonCache.getInstance().decode(riskDefinitionsJson, new TypeReference<>() {});
+  }
+
+  public Map<String, RiskDefinition> getRiskDefinitions() {
+    return Collections.unmodifiableMap(riskDefinitions);
+  }
 
   public void setRiskDefinitions(Map<String, RiskDefinition> riskDefinitions) {
-    this.riskDefinitions.clear();
-    riskDefinitions.forEach(this::apply);
+    var updated = new HashMap<String, RiskDefinition>();
+    riskDefinitions.forEach(
+        (ref, riskDefinition) -> {
+          riskDefinition.validateRiskDefinition();
+          updated.put(ref, riskDefinition);
+        });
+    update(updated);
   }
 
   @Override
@@ -91,7 +114,9 @@ public class RiskDefinitionSetData {
           "Updating an existing risk definition is not supported yet");
     }
     riskDefinition.validateRiskDefinition();
-    riskDefinitions.put(riskDefinitionRef, riskDefinition);
+    var updated = new HashMap<>(riskDefinitions);
+    updated.put(riskDefinitionRef, riskDefinition);
+    update(updated);
     return true;
   }
 
@@ -99,6 +124,13 @@ public class RiskDefinitionSetData {
     if (!riskDefinitions.containsKey(riskDefinitionKey)) {
       throw new NotFoundException("Risk definition '%s' not found", riskDefinitionKey);
     }
-    riskDefinitions.remove(riskDefinitionKey);
+    var updated = new HashMap<>(riskDefinitions);
+    updated.remove(riskDefinitionKey);
+    update(updated);
+  }
+
+  private void update(Map<String, RiskDefinition> riskDefinitions) {
+    this.riskDefinitions = riskDefinitions;
+    riskDefinitionsJson = DecodedJsonCache.encode(riskDefinitions);
   }
 }
@@ -19,6 +19,8 @@ package org.veo.persistence.metrics;
 
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
@@ -35,6 +37,7 @@ import org.springframework.util.ReflectionUtils;
 import com.zaxxer.hikari.HikariDataSource;
 
 import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
 import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 
@@ -66,6 +69,26 @@ public class DataSourceProxyBeanPostProcessor implements BeanPostProcessor {
     return totalResultSetRowsRead;
   }
 
+  private static final List<QueryInfo> recordedQueries = new CopyOnWriteArrayList<>();
+
+  private static volatile boolean recordingQueries;
+
+  /**
+   * Runs given action and returns the queries that have been executed meanwhile, including their
+   * parameters. Queries executed concurrently by other threads are recorded as well.
+   */
+  public static synchronized List<QueryInfo> recordQueries(Runnable action) {
+    recordedQueries.clear();
+    recordingQueries = true;
+    try {
+      action.run();
+      return List.copyOf(recordedQueries);
+    } finally {
+      recordingQueries = false;
+      recordedQueries.clear();
+    }
+  }
+
   @Override
   public Object postProcessAfterInitialization(Object bean, String beanName) {
     if (bean instanceof DataSource datasource) {
@@ -104,6 +127,12 @@ public class DataSourceProxyBeanPostProcessor implements BeanPostProcessor {
               .countQuery()
               .name("DATA_SOURCE_PROXY")
               .logSlowQueryBySlf4j(slowThreshold, TimeUnit.MILLISECONDS)
+              .afterQuery(
+                  (executionInfo, queryInfos) -> {
+                    if (recordingQueries) {
+                      recordedQueries.addAll(queryInfos);
+                    }
+                  })
               .multiline();
 
       if (logAll) {
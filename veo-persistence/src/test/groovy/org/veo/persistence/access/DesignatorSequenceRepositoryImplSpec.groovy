@@ -55,6 +55,18 @@ class DesignatorSequenceRepositoryImplSpec extends AbstractJpaSpec{
         designatorSequenceRepo.getNext(clientId2, Document.TYPE_DESIGNATOR) == 2
     }
 
+    def "provides blocks of sequence values"() {
+        given:
+        def clientId = Key.newUuid()
+        designatorSequenceRepo.createSequences(clientId)
+
+        expect:
+        designatorSequenceRepo.getNext(clientId, Asset.TYPE_DESIGNATOR, 3) == [1, 2, 3]
+        designatorSequenceRepo.getNext(clientId, Asset.TYPE_DESIGNATOR) == 4
+        designatorSequenceRepo.getNext(clientId, Asset.TYPE_DESIGNATOR, 2) == [5, 6]
+        designatorSequenceRepo.getNext(clientId, Document.TYPE_DESIGNATOR, 1) == [1]
+    }
+
     def "can't get value without creating sequence first"() {
         when:
         designatorSequenceRepo.getNext(Key.newUuid(), Asset.TYPE_DESIGNATOR)
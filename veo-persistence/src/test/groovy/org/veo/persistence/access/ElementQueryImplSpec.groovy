@@ -18,11 +18,12 @@
 package org.veo.persistence.access
 
 import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.data.domain.Page
+import org.springframework.data.domain.PageImpl
 import org.springframework.data.domain.Pageable
 
 import org.veo.core.entity.Domain
 import org.veo.core.entity.Key
+import org.veo.core.repository.PagedResult
 import org.veo.core.repository.PagingConfiguration
 import org.veo.core.repository.PagingConfiguration.SortOrder
 import org.veo.core.repository.QueryCondition
@@ -32,7 +33,9 @@ import org.veo.persistence.access.jpa.ClientDataRepository
 import org.veo.persistence.access.jpa.UnitDataRepository
 import org.veo.persistence.access.query.ElementQueryImpl
 import org.veo.persistence.entity.jpa.AbstractJpaSpec
+import org.veo.persistence.entity.jpa.AssetData
 import org.veo.persistence.entity.jpa.ClientData
+import org.veo.persistence.entity.jpa.PersonData
 import org.veo.persistence.entity.jpa.UnitData
 
 class ElementQueryImplSpec extends AbstractJpaSpec {
@@ -747,7 +750,7 @@ class ElementQueryImplSpec extends AbstractJpaSpec {
     def 'Paging configuration is correctly passed to data repository'() {
         given: 'a repository'
         AssetDataRepository dataRepository = Mock()
-        def query = new ElementQueryImpl(dataRepository, dataRepository, null, null, null, null, null, null, null, client)
+        def query = new ElementQueryImpl(dataRepository, AssetData, null, dataRepository, null, null, null, null, null, null, null, 1000, client)
 
         when:
         query.execute(new PagingConfiguration(2, 0, 'foo', SortOrder.ASCENDING))
@@ -759,7 +762,7 @@ class ElementQueryImplSpec extends AbstractJpaSpec {
             pageable.sort.size() == 1
             pageable.sort.first().ascending
             pageable.sort.first().property == 'foo'
-        }) >> Page.empty()
+        }) >> new PageImpl([newAsset(unit)])
         1 * dataRepository.findAllWithDomainsLinksDecisionsByDbIdIn(_) >> []
     }
 
@@ -786,6 +789,89 @@ class ElementQueryImplSpec extends AbstractJpaSpec {
         }
     }
 
+    def 'keeps the sort order when loading results in batches'() {
+        given:
+        personDataRepository.saveAll((1..25).collect{ n->
+            newPerson(unit) {
+                name = "Person $n"
+                designator = "PER-$n"
+            }
+        })
+        def query = new ElementQueryImpl(personDataRepository, PersonData, null, null, null, null, null, personDataRepository, null, null, null, 7, client)
+
+        when:
+        def result = query.execute(new PagingConfiguration(25, 0, 'designator', SortOrder.DESCENDING))
+
+        then:
+        result.resultPage*.name == (25..1).collect { "Person $it" }
+    }
+
+    def 'pages through results with a cursor'() {
+        given:
+        personDataRepository.saveAll((1..25).collect{ n->
+            newPerson(unit) {
+                name = "Person ${n % 4}"
+                abbreviation = n % 3 == 0 ? null : "${n % 5}"
+                designator = "PER-$n"
+            }
+        })
+        def query = elementQueryFactory.queryPersons(client)
+
+        when: "paging through all persons sorted by designator"
+        def pages = readAllPages(query, 'designator', SortOrder.ASCENDING)
+
+        then: "all persons are returned once in the correct order"
+        pages.size() == 3
+        pages.collectMany { it.resultPage }*.designator == (1..25).collect { "PER-$it" }
+        pages.last().nextCursor == null
+        pages.every { it.totalResults == PagedResult.UNKNOWN }
+
+        when: "paging through all persons sorted by abbreviation (with NULL values) descending"
+        pages = readAllPages(query, 'abbreviation', SortOrder.DESCENDING)
+        def expected = query.execute(new PagingConfiguration(100, 0, 'abbreviation', SortOrder.DESCENDING)).resultPage
+
+        then: "the result matches offset paging"
+        pages.collectMany { it.resultPage }*.abbreviation == expected*.abbreviation
+        pages.collectMany { it.resultPage }*.dbId.unique().size() == 25
+
+        when: "paging through all persons sorted by name ascending"
+        pages = readAllPages(query, 'name', SortOrder.ASCENDING)
+
+        then:
+        pages.collectMany { it.resultPage }*.name == (1..25).collect { "Person ${it % 4}" }.sort()
+        pages.collectMany { it.resultPage }*.dbId.unique().size() == 25
+
+        when: "requesting the total count"
+        def page = query.execute(PagingConfiguration.keyset(10, 'name', SortOrder.ASCENDING, null, true))
+
+        then:
+        page.totalResults == 25
+        page.totalPages == 3
+    }
+
+    def 'rejects cursors for a different sorting'() {
+        given:
+        personDataRepository.saveAll((1..3).collect{ n->
+            newPerson(unit) {
+                designator = "PER-$n"
+            }
+        })
+        def query = elementQueryFactory.queryPersons(client)
+        def cursor = query.execute(PagingConfiguration.keyset(1, 'name', SortOrder.ASCENDING, null, false)).nextCursor
+
+        when:
+        query.execute(PagingConfiguration.keyset(1, 'designator', SortOrder.ASCENDING, cursor, false))
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        query.execute(PagingConfiguration.keyset(1, 'name', SortOrder.ASCENDING, "garbage", false))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def 'queries by domain'() {
         given:
         newDomain(client) { name = "one" }
@@ -820,4 +906,42 @@ class ElementQueryImplSpec extends AbstractJpaSpec {
         then:
         result.resultPage.sort{it.name}*.name == ["one", "two"]
     }
+
+    def 'iterates over results in chunks'() {
+        given:
+        personDataRepository.saveAll((1..25).collect{ n->
+            newPerson(unit) {
+                name = "Person $n"
+                associateWithDomain(domain, "Person", n % 5 == 0 ? "OLD" : "NEW")
+            }
+        })
+        def query = elementQueryFactory.queryPersons(client)
+        query.whereStatusMatches(new QueryCondition<>(["NEW"] as Set))
+        def chunks = []
+
+        when:
+        query.forEachChunk(7) { chunk ->
+            chunks << chunk
+            assert chunk.every { entityManager.contains(it) }
+        }
+
+        then: "all matching persons are passed once in order of their IDs"
+        chunks*.size() == [7, 7, 6]
+        chunks.flatten()*.dbId == chunks.flatten()*.dbId.sort()
+        chunks.flatten()*.name as Set == (1..25).findAll { it % 5 != 0 }.collect { "Person $it" } as Set
+
+        and: "processed chunks have been detached"
+        chunks.flatten().every { !entityManager.contains(it) }
+    }
+
+    private List<PagedResult> readAllPages(query, String sortColumn, SortOrder sortOrder) {
+        def pages = []
+        String cursor = null
+        do {
+            def page = query.execute(PagingConfiguration.keyset(10, sortColumn, sortOrder, cursor, false))
+            pages << page
+            cursor = page.nextCursor
+        } while (cursor != null)
+        pages
+    }
 }
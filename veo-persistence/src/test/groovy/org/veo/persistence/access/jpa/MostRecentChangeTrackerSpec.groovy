@@ -24,6 +24,7 @@ import static org.veo.core.entity.event.VersioningEvent.ModificationType.UPDATE
 import java.time.Instant
 
 import org.springframework.context.ApplicationEventPublisher
+import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import org.veo.core.entity.Asset
 import org.veo.core.entity.event.ClientOwnedEntityVersioningEvent
@@ -53,10 +54,8 @@ class MostRecentChangeTrackerSpec extends Specification {
         toSend.forEach {
             sut.put(it)
         }
-        sut.consolidatedChanges.values().collectMany { list ->
-            list.collect {
-                event2Values(it)
-            }
+        sut.consolidatedChanges.collect {
+            event2Values(it)
         } =~ result
 
         where:
@@ -111,10 +110,8 @@ class MostRecentChangeTrackerSpec extends Specification {
         toSend.forEach {
             sut.put(it)
         }
-        sut.consolidatedChanges.values().collectMany { list ->
-            list.collect {
-                event2Values(it)
-            }
+        sut.consolidatedChanges.collect {
+            event2Values(it)
         } =~ result
 
         where:
@@ -157,10 +154,8 @@ class MostRecentChangeTrackerSpec extends Specification {
         toSend.forEach {
             sut.put(it)
         }
-        sut.consolidatedChanges.values().collectMany { list ->
-            list.collect {
-                event2Values(it)
-            }
+        sut.consolidatedChanges.collect {
+            event2Values(it)
         } =~ result
 
         where:
@@ -183,6 +178,85 @@ class MostRecentChangeTrackerSpec extends Specification {
         ]                          | [[1, UPDATE], [2, REMOVE]]
     }
 
+    def "Consolidation effort grows linearly with the number of events"() {
+        when:
+        def small = trackEventsForAssets(100)
+        def large = trackEventsForAssets(1000)
+
+        then: "each event is read a constant number of times and only its own entity's ID is looked up"
+        small.idLookups == 300
+        large.idLookups == 3000
+        large.eventReads < small.eventReads * 12
+        small.consolidatedChanges.size() == 200
+        large.consolidatedChanges.size() == 2000
+        large.consolidatedChanges.take(2).collect { event2Values(it) } == [[1, UPDATE], [2, REMOVE]]
+    }
+
+    def "Pending changes are published and forgotten"() {
+        given:
+        ApplicationEventPublisher publisher = Mock()
+        TransactionSynchronizationManager.actualTransactionActive = true
+        TransactionSynchronizationManager.initSynchronization()
+        sut = MostRecentChangeTracker.getForCurrentTransaction(publisher)
+        Asset asset = Mock {
+            getIdAsString() >> uuid.toString()
+        }
+
+        when:
+        sut.put(values2Event(asset, 1, UPDATE))
+        sut.put(values2Event(asset, 2, UPDATE))
+        MostRecentChangeTracker.publishPending()
+
+        then:
+        1 * publisher.publishEvent({ event2Values(it) == [1, UPDATE] })
+        sut.consolidatedChanges.empty
+
+        when: "the entity is changed again"
+        sut.put(values2Event(asset, 3, REMOVE))
+        sut.publishAll()
+
+        then:
+        1 * publisher.publishEvent({ event2Values(it) == [3, REMOVE] })
+
+        cleanup:
+        TransactionSynchronizationManager.resourceMap.keySet().each {
+            TransactionSynchronizationManager.unbindResource(it)
+        }
+        TransactionSynchronizationManager.clear()
+    }
+
+    /**
+     * Tracks two updates and a remove for each of the given number of assets and counts how often
+     * the asset IDs and the event types and change numbers have been read while tracking.
+     */
+    Map trackEventsForAssets(int assetCount) {
+        def idLookups = 0
+        def eventReads = new int[1]
+        def events = (1..assetCount).collectMany { n ->
+            Asset asset = [
+                getIdAsString: {
+                    idLookups++
+                    "asset-$n".toString()
+                },
+                getOwningClient: { Optional.empty() }
+            ] as Asset
+            [
+                new CountingEvent(asset, UPDATE, 2, eventReads),
+                new CountingEvent(asset, UPDATE, 1, eventReads),
+                new CountingEvent(asset, REMOVE, 3, eventReads)
+            ]
+        }
+        sut = new MostRecentChangeTracker(Mock(ApplicationEventPublisher))
+        events.forEach {
+            sut.put(it)
+        }
+        [
+            idLookups: idLookups,
+            eventReads: eventReads[0],
+            consolidatedChanges: sut.consolidatedChanges
+        ]
+    }
+
     VersioningEvent values2Event(Asset asset, int changeNo, VersioningEvent.ModificationType type) {
         return new ClientOwnedEntityVersioningEvent(asset, type, "me", Instant.now(), changeNo)
     }
@@ -191,3 +265,35 @@ class MostRecentChangeTrackerSpec extends Specification {
         return [it.changeNumber, it.type]
     }
 }
+
+/** Counts how often its type and change number are read. */
+class CountingEvent implements VersioningEvent<Asset> {
+    final Asset entity
+    final VersioningEvent.ModificationType type
+    final long changeNumber
+    final int[] reads
+
+    CountingEvent(Asset entity, VersioningEvent.ModificationType type, long changeNumber, int[] reads) {
+        this.entity = entity
+        this.type = type
+        this.changeNumber = changeNumber
+        this.reads = reads
+    }
+
+    @Override
+    VersioningEvent.ModificationType getType() {
+        reads[0]++
+        type
+    }
+
+    @Override
+    long getChangeNumber() {
+        reads[0]++
+        changeNumber
+    }
+
+    @Override
+    VersioningEvent<Asset> withChangeNumber(long changeNumber) {
+        new CountingEvent(entity, type, changeNumber, reads)
+    }
+}
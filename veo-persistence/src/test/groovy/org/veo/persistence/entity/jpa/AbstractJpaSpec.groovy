@@ -42,6 +42,8 @@ import org.veo.persistence.access.jpa.ScopeDataRepository
 import org.veo.persistence.access.query.ElementQueryFactory
 import org.veo.test.VeoSpec
 
+import jakarta.persistence.EntityManager
+
 @DataJpaTest
 @ContextConfiguration(classes = [VeoJpaConfiguration, JpaTestConfig])
 @AutoConfigureTestDatabase(replace = NONE)
@@ -75,6 +77,9 @@ abstract class AbstractJpaSpec extends VeoSpec {
     @Autowired
     ScopeDataRepository scopeDataRepository
 
+    @Autowired
+    EntityManager entityManager
+
     ElementQueryFactory elementQueryFactory
 
     def setup() {
@@ -88,6 +93,7 @@ abstract class AbstractJpaSpec extends VeoSpec {
                 processDataRepository,
                 scenarioDataRepository,
                 scopeDataRepository,
+                entityManager,
                 )
     }
 
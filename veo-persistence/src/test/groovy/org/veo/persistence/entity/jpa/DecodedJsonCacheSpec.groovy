@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.persistence.entity.jpa
+
+import com.fasterxml.jackson.core.type.TypeReference
+
+import spock.lang.Specification
+
+class DecodedJsonCacheSpec extends Specification {
+
+    def cache = new DecodedJsonCache(20)
+
+    def "shares decoded values of equal content"() {
+        when:
+        def first = cache.decode('{"a":[1]}', new TypeReference<Map<String, List<Integer>>>() {})
+        def second = cache.decode('{"a":[1]}', new TypeReference<Map<String, List<Integer>>>() {})
+        def other = cache.decode('{"a":[2]}', new TypeReference<Map<String, List<Integer>>>() {})
+
+        then:
+        second.is(first)
+        other == [a: [2]]
+        cache.hitCount == 1
+        cache.missCount == 2
+    }
+
+    def "does not share values of different types"() {
+        when:
+        def map = cache.decode('{}', new TypeReference<Map<String, Integer>>() {})
+        def otherMap = cache.decode('{}', new TypeReference<Map<String, String>>() {})
+
+        then:
+        !otherMap.is(map)
+        cache.size == 2
+    }
+
+    def "is bounded by the length of the content"() {
+        when:
+        ['{"a":1}', '{"b":2}', '{"c":3}'].each {
+            cache.decode(it, new TypeReference<Map<String, Integer>>() {})
+        }
+
+        then: "the least recently used value has been dropped"
+        cache.size == 2
+        cache.weight == 14
+
+        when: "decoding content that exceeds the bound on its own"
+        cache.decode('{"abcdefghijklmnopq":1}', new TypeReference<Map<String, Integer>>() {})
+
+        then: "it is not cached"
+        cache.size == 2
+    }
+}
@@ -88,6 +88,60 @@ class DomainJpaSpec extends AbstractJpaSpec {
         d.riskDefinitions == domain0.riskDefinitions
     }
 
+    def 'decoded risk definitions are reused until they change'() {
+        given: "a saved domain with a risk definition"
+        domain0 = repository.save(newDomain(client) {
+            riskDefinitions = ["id": createRiskDefinition("id1")] as Map
+        })
+        entityManager.flush()
+        entityManager.clear()
+
+        when: "loading it in two sessions"
+        def firstDefinition = repository.findById(domain0.dbId).get().riskDefinitions.id
+        entityManager.clear()
+        def secondDefinition = repository.findById(domain0.dbId).get().riskDefinitions.id
+        entityManager.clear()
+
+        then: "the decoded risk definition is shared"
+        secondDefinition.is(firstDefinition)
+
+        when: "the risk definitions are replaced"
+        repository.findById(domain0.dbId).get().riskDefinitions = ["id": createRiskDefinition("id2")] as Map
+        entityManager.flush()
+        entityManager.clear()
+        def updatedDefinition = repository.findById(domain0.dbId).get().riskDefinitions.id
+
+        then: "the new content is decoded"
+        !updatedDefinition.is(firstDefinition)
+        updatedDefinition.id == "id2"
+
+        when: "trying to modify the risk definitions in place"
+        repository.findById(domain0.dbId).get().riskDefinitions.put("other", createRiskDefinition("id3"))
+
+        then: "it is rejected"
+        thrown(UnsupportedOperationException)
+    }
+
+    def 'decoded risk definitions are shared between domains with equal content'() {
+        given: "domains of different clients with equal risk definitions"
+        def domainIds = [
+            client,
+            clientRepository.save(newClient())
+        ].collect { owner ->
+            repository.save(newDomain(owner) {
+                riskDefinitions = ["id": createRiskDefinition("id1")] as Map
+            }).dbId
+        }
+        entityManager.flush()
+        entityManager.clear()
+
+        when:
+        def definitions = domainIds.collect { repository.findById(it).get().riskDefinitions.id }
+
+        then:
+        definitions[0].is(definitions[1])
+    }
+
     def 'domain with catalog is inserted'() {
         given: "the domain template"
         domain0 = newDomain(client) {
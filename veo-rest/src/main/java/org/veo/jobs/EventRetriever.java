@@ -22,15 +22,7 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 
-import org.springframework.dao.PessimisticLockingFailureException;
-import org.springframework.jdbc.UncategorizedSQLException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.TransactionSystemException;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.veo.core.entity.event.StoredEvent;
@@ -58,60 +50,24 @@ public class EventRetriever {
   }
 
   /**
-   * Retrieve and lock retrieved events. {@code Serializable} isolation level prevents phantom
-   * reads.
+   * Retrieve and lock pending events. Events are claimed with a single {@code UPDATE} that skips
+   * rows locked by concurrent retrievers, so multiple MessagingJobs can claim events in parallel
+   * without conflicts or retries.
    */
-  @Transactional(isolation = Isolation.SERIALIZABLE)
-  @Retryable(
-      value = {
-        ObjectOptimisticLockingFailureException.class,
-        PessimisticLockingFailureException.class,
-        TransactionSystemException.class,
-        UncategorizedSQLException.class
-      },
-      maxAttempts = 5,
-      backoff = @Backoff(delay = 250, maxDelay = 1000, multiplier = 2))
+  @Transactional
   public List<StoredEvent> retrievePendingEvents(Duration lockExpiration, int chunkSize) {
     var now = Instant.now();
     var maxLockTime = now.minus(lockExpiration);
-    var events = storedEventRepository.findPendingEvents(maxLockTime, chunkSize);
+    var events = storedEventRepository.lockPendingEvents(maxLockTime, chunkSize);
     if (events.isEmpty()) {
       log.debug("Retrieved no events");
       return Collections.emptyList();
     }
 
     log.debug("maxLockTime is: {}", maxLockTime);
-    log.debug("Retrieved {} events.", events.size());
+    log.debug("Retrieved and locked {} events.", events.size());
     log.debug("lockExpiration is: {}", lockExpiration);
     log.debug("Now is: {}", now);
-
-    events.forEach(StoredEvent::lock);
-    storedEventRepository.saveAll(events);
     return events;
   }
-
-  @Recover
-  public List<StoredEvent> recover(ObjectOptimisticLockingFailureException e) {
-    log.error("Could not retrieve messages, max number of retries has been reached.", e);
-    throw e;
-  }
-
-  @Recover
-  public List<StoredEvent> recover(PessimisticLockingFailureException e) {
-    log.error("Could not retrieve messages, max number of retries has been reached.", e);
-    throw e;
-  }
-
-  @Recover
-  public List<StoredEvent> recover(TransactionSystemException e) {
-    log.error("Could not retrieve messages, max number of retries has been reached.", e);
-    throw e;
-  }
-
-  @Recover
-  public List<StoredEvent> recover(UncategorizedSQLException e) {
-    // see https://github.com/spring-projects/spring-boot/pull/25493
-    log.error("Could not retrieve messages, max number of retries has been reached.", e);
-    throw e;
-  }
 }
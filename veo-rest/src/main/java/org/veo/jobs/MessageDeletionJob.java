@@ -19,66 +19,102 @@ package org.veo.jobs;
 
 import static org.veo.rest.VeoRestConfiguration.PROFILE_BACKGROUND_TASKS;
 
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import org.veo.core.entity.event.StoredEvent;
 import org.veo.message.EventDispatcher;
 import org.veo.persistence.access.StoredEventRepository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Deletes {@link StoredEvent}s from the DB once they've been acked. Listens to acks on the {@link
- * EventDispatcher} and collects acked messages for batch deletion.
+ * EventDispatcher} and collects acked messages for batch deletion. Each run keeps deleting chunks
+ * of acked messages until none are left or the drain time is used up.
  */
 @Component
 @Slf4j
 @Profile(PROFILE_BACKGROUND_TASKS)
 public class MessageDeletionJob {
+  @Value("${veo.messages.deletion.chunkSize:1000}")
+  public int chunkSize = 1000;
+
+  @Value("${veo.messages.deletion.maxDrainMs:400}")
+  public long maxDrainMs = 400;
+
   private final StoredEventRepository storedEventRepository;
   private final Set<Long> ackedMessageIds = ConcurrentHashMap.newKeySet();
+  private final DistributionSummary deletedMessagesPerRun;
+  private final Timer deletionDuration;
 
   @Autowired
   public MessageDeletionJob(
-      StoredEventRepository storedEventRepository, EventDispatcher eventDispatcher) {
+      StoredEventRepository storedEventRepository,
+      EventDispatcher eventDispatcher,
+      MeterRegistry meterRegistry) {
     log.debug("Creating MessageDeletionJob");
     this.storedEventRepository = storedEventRepository;
     eventDispatcher.addAckCallback(ackedMessageIds::add);
+    deletedMessagesPerRun =
+        DistributionSummary.builder("veo.messages.deletion.count")
+            .description("Acked messages deleted per deletion run")
+            .register(meterRegistry);
+    deletionDuration =
+        Timer.builder("veo.messages.deletion.duration")
+            .description("Duration of deletion runs that deleted acked messages")
+            .register(meterRegistry);
   }
 
   @Scheduled(fixedDelayString = "${veo.messages.deletion.delayMs:500}")
   public void deleteMessages() {
-    var messageIdsToDelete = new HashSet<>(ackedMessageIds);
-    if (!messageIdsToDelete.isEmpty()) {
-      new EventDeleter().delete(messageIdsToDelete);
-      ackedMessageIds.removeAll(messageIdsToDelete);
-    } else {
+    if (ackedMessageIds.isEmpty()) {
       log.debug("Nothing to delete");
+      return;
     }
+    var start = System.nanoTime();
+    var deadline = start + Duration.ofMillis(maxDrainMs).toNanos();
+    var deletedCount = 0;
+    var chunkCount = 0;
+    do {
+      var chunk = nextChunk();
+      if (chunk.isEmpty()) {
+        break;
+      }
+      deletedCount += storedEventRepository.delete(chunk);
+      chunk.forEach(ackedMessageIds::remove);
+      chunkCount++;
+    } while (System.nanoTime() < deadline);
+    var duration = Duration.ofNanos(System.nanoTime() - start);
+    deletedMessagesPerRun.record(deletedCount);
+    deletionDuration.record(duration);
+    log.info(
+        "Deleted {} acked messages in {} chunks within {} ms",
+        deletedCount,
+        chunkCount,
+        duration.toMillis());
   }
 
-  /**
-   * An inner class is used to wrap event deletion in a dedicated transaction. This is due to
-   * limitations of Spring AOP:
-   *
-   * <p>"In proxy mode (which is the default), only external method calls coming in through the
-   * proxy are intercepted. This means that self-invocation, in effect, a method within the target
-   * object calling another method of the target object, will not lead to an actual transaction at
-   * runtime even if the invoked method is marked with @Transactional."
-   */
-  public class EventDeleter {
-    @Transactional
-    public void delete(Set<Long> messageIds) {
-      log.info("Deleting {} acked messages", messageIds.size());
-      storedEventRepository.delete(messageIds);
+  private List<Long> nextChunk() {
+    var chunk = new ArrayList<Long>(chunkSize);
+    for (var id : ackedMessageIds) {
+      if (chunk.size() == chunkSize) {
+        break;
+      }
+      chunk.add(id);
     }
+    return chunk;
   }
 }
@@ -20,6 +20,7 @@ package org.veo.jobs;
 import static org.veo.message.EventMessage.messagesFrom;
 import static org.veo.rest.VeoRestConfiguration.PROFILE_BACKGROUND_TASKS;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -29,6 +30,7 @@ import org.springframework.stereotype.Component;
 
 import org.veo.core.entity.event.StoredEvent;
 import org.veo.message.EventDispatcher;
+import org.veo.persistence.access.StoredEventRepository;
 import org.veo.rest.VeoRestConfiguration;
 
 import lombok.extern.slf4j.Slf4j;
@@ -44,21 +46,34 @@ public class MessagingJob {
   @Value("${veo.message.exchanges.veo}")
   private String exchange;
 
+  /** Minimum interval between two checks of the oldest unconfirmed event for the lag metric. */
+  @Value("${veo.messages.outbox.lagRefreshMs:10000}")
+  private long outboxLagRefreshMs;
+
+  private Instant nextOutboxLagRefresh = Instant.MIN;
+
   private final VeoRestConfiguration config;
 
   private final EventDispatcher eventDispatcher;
 
   private final EventRetriever retriever;
 
+  private final StoredEventRepository storedEventRepository;
+
   public MessagingJob(
-      VeoRestConfiguration config, EventDispatcher eventDispatcher, EventRetriever retriever) {
+      VeoRestConfiguration config,
+      EventDispatcher eventDispatcher,
+      EventRetriever retriever,
+      StoredEventRepository storedEventRepository) {
     this.config = config;
     this.eventDispatcher = eventDispatcher;
     this.retriever = retriever;
+    this.storedEventRepository = storedEventRepository;
   }
 
   @Scheduled(fixedDelayString = "${veo.messages.publishing.delayMs:500}")
   public void sendMessages() {
+    refreshOutboxLag();
     List<StoredEvent> pendingEvents =
         retriever.retrievePendingEvents(
             config.getMessagePublishingLockExpiration(), processingChunkSize);
@@ -66,4 +81,12 @@ public class MessagingJob {
     log.info("Dispatching messages for {} stored events.", pendingEvents.size());
     eventDispatcher.send(exchange, messagesFrom(pendingEvents));
   }
+
+  private void refreshOutboxLag() {
+    var now = Instant.now();
+    if (now.isBefore(nextOutboxLagRefresh)) return;
+    nextOutboxLagRefresh = now.plusMillis(outboxLagRefreshMs);
+    eventDispatcher.setOldestPendingTimestamp(
+        storedEventRepository.findOldestPendingTimestamp().orElse(null));
+  }
 }
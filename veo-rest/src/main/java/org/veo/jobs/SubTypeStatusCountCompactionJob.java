@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.jobs;
+
+import static org.veo.rest.VeoRestConfiguration.PROFILE_BACKGROUND_TASKS;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.veo.core.repository.SubTypeStatusCountRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compacts the sub type status counters, whose changes are recorded as separate rows by the
+ * database triggers.
+ */
+@Component
+@Slf4j
+@Profile(PROFILE_BACKGROUND_TASKS)
+@RequiredArgsConstructor
+public class SubTypeStatusCountCompactionJob {
+  private final SubTypeStatusCountRepository subTypeStatusCountRepository;
+
+  @Scheduled(fixedDelayString = "${veo.subtype-status-counts.compaction.delayMs:60000}")
+  public void compact() {
+    var rows = subTypeStatusCountRepository.compact();
+    log.debug("Compacted sub type status counts into {} rows", rows);
+  }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.jobs;
+
+import static org.veo.core.events.MessageCreatorImpl.EVENT_TYPE_ENTITY_REVISION;
+
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.veo.core.entity.Key;
+import org.veo.message.EventMessage;
+import org.veo.service.VersionCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts cached entity versions when entity revision messages arrive, so changes committed on other
+ * nodes are noticed before the cached versions expire. Every node consumes the messages from its
+ * own temporary queue.
+ */
+@Component
+@ConditionalOnProperty(
+    value = "veo.etag.cache.evict-on-revision-messages",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class VersionCacheEvictionSubscriber {
+  private final ObjectMapper objectMapper;
+  private final VersionCache versionCache;
+
+  @RabbitListener(
+      bindings =
+          @QueueBinding(
+              value = @Queue(exclusive = "true", durable = "false", autoDelete = "true"),
+              exchange = @Exchange(value = "${veo.message.exchanges.veo}", type = "topic"),
+              key = {"${veo.message.routing-key-prefix}" + EVENT_TYPE_ENTITY_REVISION}))
+  public void handleEntityRevision(EventMessage event) throws JsonProcessingException {
+    var content = objectMapper.readTree(event.getContent());
+    var entityId = content.path("content").path("id");
+    if (!content.hasNonNull("clientId") || !entityId.isTextual()) {
+      return;
+    }
+    log.debug("Evicting cached version of {} after revision message", entityId.asText());
+    versionCache.evict(Key.uuidFrom(content.get("clientId").asText()), entityId.asText());
+  }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.listeners;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import org.veo.core.entity.ClientOwned;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Versioned;
+import org.veo.core.entity.event.ClientChangedEvent;
+import org.veo.core.entity.event.ClientOwnedEntityVersioningEvent;
+import org.veo.core.entity.event.ClientVersioningEvent;
+import org.veo.core.entity.event.ElementTypeDefinitionUpdateEvent;
+import org.veo.rest.common.ClientCache;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evicts cached clients after changes to the client, its domains or their element type definitions
+ * have been committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientCacheEvictionListener {
+  private final ClientCache clientCache;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void handle(ClientVersioningEvent event) {
+    clientCache.evict(event.getClientId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void handle(ClientChangedEvent event) {
+    clientCache.evict(event.getClientId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void handle(ElementTypeDefinitionUpdateEvent event) {
+    event.getDomain().getOwningClient().ifPresent(client -> clientCache.evict(client.getId()));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  <T extends Versioned & ClientOwned> void handle(ClientOwnedEntityVersioningEvent<T> event) {
+    if (event.getEntity() instanceof Domain domain) {
+      domain.getOwningClient().ifPresent(client -> clientCache.evict(client.getId()));
+    }
+  }
+}
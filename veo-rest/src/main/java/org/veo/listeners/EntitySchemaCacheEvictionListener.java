@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.listeners;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import org.veo.core.entity.ClientOwned;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Versioned;
+import org.veo.core.entity.event.ClientOwnedEntityVersioningEvent;
+import org.veo.core.entity.event.ElementTypeDefinitionUpdateEvent;
+import org.veo.rest.schemas.EntitySchemaCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts cached entity schemas for a domain after changes to the domain or its element type
+ * definitions have been committed. Outdated schemas would not be served anyway, because they are
+ * cached by domain version, but evicting them makes room for current ones.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EntitySchemaCacheEvictionListener {
+  private final EntitySchemaCache entitySchemaCache;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void handle(ElementTypeDefinitionUpdateEvent event) {
+    log.debug("Evicting cached schemas for domain {}", event.getDomain().getIdAsString());
+    entitySchemaCache.evictDomain(event.getDomain().getIdAsString());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  <T extends Versioned & ClientOwned> void handle(ClientOwnedEntityVersioningEvent<T> event) {
+    if (event.getEntity() instanceof Domain domain) {
+      log.debug("Evicting cached schemas for domain {}", domain.getIdAsString());
+      entitySchemaCache.evictDomain(domain.getIdAsString());
+    }
+  }
+}
@@ -17,15 +17,30 @@
  ******************************************************************************/
 package org.veo.listeners;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import org.veo.core.entity.Client;
 import org.veo.core.entity.Element;
+import org.veo.core.entity.Key;
 import org.veo.core.entity.event.ElementEvent;
 import org.veo.core.entity.event.RiskAffectingElementChangeEvent;
-import org.veo.core.repository.ElementRepository;
+import org.veo.core.repository.ClientRepository;
 import org.veo.core.repository.RepositoryProvider;
 import org.veo.core.usecase.decision.Decider;
 import org.veo.service.risk.RiskService;
@@ -35,28 +50,158 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Listens to {@link RiskAffectingElementChangeEvent}s from the use-case layer and invokes the
- * {@link RiskService}.
+ * {@link RiskService} and the {@link Decider}.
+ *
+ * <p>Events are collected until the transaction that published them has been committed. They are
+ * then coalesced per element, so an element that has been changed multiple times is only
+ * reevaluated once. The affected elements are loaded and reevaluated in batches, each batch in its
+ * own transaction. Events that are published outside of a transaction are ignored.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RiskComponentChangeListener {
   private final RiskService riskService;
   private final RepositoryProvider repositoryProvider;
+  private final ClientRepository clientRepository;
   private final Decider decider;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
 
-  @TransactionalEventListener(condition = "#event.source != @riskService")
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
-  public void handle(RiskAffectingElementChangeEvent event) {
-    ElementRepository<? extends Element> repository =
-        repositoryProvider.getElementRepositoryFor(event.getEntityType());
-    Element element = repository.findById(event.getEntityId()).orElseThrow();
-    riskService.evaluateChangedRiskComponent(element);
+  public RiskComponentChangeListener(
+      RiskService riskService,
+      RepositoryProvider repositoryProvider,
+      ClientRepository clientRepository,
+      Decider decider,
+      PlatformTransactionManager transactionManager,
+      @Value("${veo.risk-evaluation.batch-size:200}") int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    }
+    this.riskService = riskService;
+    this.repositoryProvider = repositoryProvider;
+    this.clientRepository = clientRepository;
+    this.decider = decider;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.batchSize = batchSize;
   }
 
-  @TransactionalEventListener
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @EventListener
   public void handle(ElementEvent event) {
-    decider.updateDecisions(event);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      log.debug("Ignoring {} published outside of a transaction", event);
+      return;
+    }
+    TransactionSynchronizationManager.getSynchronizations().stream()
+        .filter(PendingEvents.class::isInstance)
+        .map(PendingEvents.class::cast)
+        .findFirst()
+        .orElseGet(
+            () -> {
+              var pendingEvents = new PendingEvents();
+              TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+              return pendingEvents;
+            })
+        .events
+        .add(event);
+  }
+
+  private void reevaluate(List<ElementEvent> events) {
+    // Entity IDs are only guaranteed to be initialized after the commit, so the events cannot be
+    // grouped before.
+    var changes = new LinkedHashMap<ElementRef, ElementChanges>();
+    for (ElementEvent event : events) {
+      changes
+          .computeIfAbsent(
+              new ElementRef(event.getEntityType(), event.getEntityId()),
+              ref -> new ElementChanges(ref, event.getClientId()))
+          .add(event);
+    }
+    log.debug("Reevaluating {} elements affected by {} events", changes.size(), events.size());
+    var batch = new ArrayList<ElementChanges>(batchSize);
+    for (ElementChanges elementChanges : changes.values()) {
+      batch.add(elementChanges);
+      if (batch.size() == batchSize) {
+        reevaluateBatch(batch);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      reevaluateBatch(batch);
+    }
+  }
+
+  private void reevaluateBatch(Collection<ElementChanges> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> reevaluateInTransaction(batch));
+    } catch (RuntimeException ex) {
+      log.error("Reevaluation of {} elements failed", batch.size(), ex);
+    }
+  }
+
+  private void reevaluateInTransaction(Collection<ElementChanges> batch) {
+    var elements = loadElements(batch);
+    // Elements that have been deleted in the meantime are skipped.
+    var existingChanges = batch.stream().filter(c -> elements.containsKey(c.ref)).toList();
+    riskService.evaluateChangedRiskComponents(
+        existingChanges.stream()
+            .filter(ElementChanges::isRiskEvaluationRequired)
+            .map(c -> elements.get(c.ref))
+            .toList());
+    var clients = new HashMap<Key<UUID>, Client>();
+    existingChanges.forEach(
+        c ->
+            decider.updateDecisions(
+                elements.get(c.ref),
+                clients.computeIfAbsent(
+                    c.clientId, id -> clientRepository.findById(id).orElseThrow()),
+                c.events));
+  }
+
+  private Map<ElementRef, Element> loadElements(Collection<ElementChanges> batch) {
+    var elements = new HashMap<ElementRef, Element>();
+    batch.stream()
+        .collect(
+            Collectors.groupingBy(
+                c -> c.ref.type, Collectors.mapping(c -> c.ref.id, Collectors.toSet())))
+        .forEach(
+            (type, ids) ->
+                repositoryProvider
+                    .getElementRepositoryFor(type)
+                    .findByIds(ids)
+                    .forEach(e -> elements.put(new ElementRef(type, e.getId()), e)));
+    return elements;
+  }
+
+  private record ElementRef(Class<? extends Element> type, Key<UUID> id) {}
+
+  @RequiredArgsConstructor
+  private class ElementChanges {
+    private final ElementRef ref;
+    private final Key<UUID> clientId;
+    private final List<ElementEvent> events = new ArrayList<>();
+
+    void add(ElementEvent event) {
+      events.add(event);
+    }
+
+    /** Events published by the risk service itself only require decisions to be updated. */
+    boolean isRiskEvaluationRequired() {
+      return events.stream()
+          .anyMatch(
+              e -> e instanceof RiskAffectingElementChangeEvent && e.getSource() != riskService);
+    }
+  }
+
+  /** Events published in a transaction, reevaluated after the transaction has been committed. */
+  private class PendingEvents implements TransactionSynchronization {
+    private final List<ElementEvent> events = new ArrayList<>();
+
+    @Override
+    public void afterCompletion(int status) {
+      if (status == STATUS_COMMITTED) {
+        reevaluate(events);
+      }
+    }
   }
 }
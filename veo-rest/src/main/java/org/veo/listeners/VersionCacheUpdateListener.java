@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.listeners;
+
+import static org.veo.core.entity.event.VersioningEvent.ModificationType.REMOVE;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import org.veo.core.entity.ClientOwned;
+import org.veo.core.entity.Identifiable;
+import org.veo.core.entity.Versioned;
+import org.veo.core.entity.event.ClientOwnedEntityVersioningEvent;
+import org.veo.service.VersionCache;
+
+import lombok.RequiredArgsConstructor;
+
+/** Updates cached entity versions after changes to the entities have been committed. */
+@Component
+@RequiredArgsConstructor
+public class VersionCacheUpdateListener {
+  private final VersionCache versionCache;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  <T extends Versioned & ClientOwned> void handle(ClientOwnedEntityVersioningEvent<T> event) {
+    if (event.getEntity() instanceof Identifiable entity) {
+      event
+          .getEntity()
+          .getOwningClient()
+          .ifPresent(
+              client -> {
+                if (event.getType() == REMOVE) {
+                  versionCache.evict(client.getId(), entity.getIdAsString());
+                } else {
+                  versionCache.put(
+                      client.getId(),
+                      entity.getModelInterface(),
+                      entity.getIdAsString(),
+                      event.getEntity().getVersion());
+                }
+              });
+    }
+  }
+}
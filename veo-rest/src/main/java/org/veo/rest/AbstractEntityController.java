@@ -25,6 +25,7 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.veo.adapter.presenter.api.common.ReferenceAssembler;
 import org.veo.adapter.presenter.api.dto.SearchQueryDto;
@@ -32,11 +33,13 @@ import org.veo.adapter.presenter.api.response.transformer.DtoToEntityTransformer
 import org.veo.adapter.presenter.api.response.transformer.EntityToDtoTransformer;
 import org.veo.core.entity.Client;
 import org.veo.core.entity.Identifiable;
+import org.veo.core.entity.Key;
 import org.veo.core.entity.Versioned;
 import org.veo.core.repository.RepositoryProvider;
 import org.veo.core.usecase.service.DbIdRefResolver;
 import org.veo.core.usecase.service.IdRefResolver;
 import org.veo.rest.common.SearchResponse;
+import org.veo.rest.security.ApplicationUser;
 import org.veo.service.EtagService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -77,6 +80,9 @@ public abstract class AbstractEntityController extends AbstractVeoController {
 
   protected <T extends Identifiable & Versioned> Optional<String> getEtag(
       Class<T> entityClass, String id) {
-    return etagService.getEtag(entityClass, id);
+    var user =
+        ApplicationUser.authenticatedUser(
+            SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    return etagService.getEtag(Key.uuidFrom(user.getClientId()), entityClass, id);
   }
 }
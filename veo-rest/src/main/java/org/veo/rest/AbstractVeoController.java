@@ -27,6 +27,7 @@ import org.veo.core.entity.Client;
 import org.veo.core.entity.Key;
 import org.veo.core.repository.ClientRepository;
 import org.veo.core.usecase.UseCaseInteractor;
+import org.veo.rest.common.ClientCache;
 import org.veo.rest.common.ClientNotActiveException;
 import org.veo.rest.security.ApplicationUser;
 
@@ -38,14 +39,13 @@ public abstract class AbstractVeoController {
   @Autowired protected UseCaseInteractor useCaseInteractor;
   @Autowired protected ReferenceAssembler referenceAssembler;
   @Autowired protected ClientRepository clientRepository;
+  @Autowired protected ClientCache clientCache;
 
   protected AbstractVeoController() {}
 
   protected Client getClient(String clientId) {
     Key<UUID> id = Key.uuidFrom(clientId);
-    return clientRepository
-        .findActiveById(id)
-        .orElseThrow(() -> new ClientNotActiveException(clientId));
+    return clientCache.findActiveById(id).orElseThrow(() -> new ClientNotActiveException(clientId));
   }
 
   protected Client getAuthenticatedClient(Authentication auth) {
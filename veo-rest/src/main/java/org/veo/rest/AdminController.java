@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import org.veo.adapter.presenter.api.common.ApiResponseBody;
@@ -38,6 +39,7 @@ import org.veo.core.entity.Key;
 import org.veo.core.usecase.UseCaseInteractor;
 import org.veo.core.usecase.client.DeleteClientUseCase;
 import org.veo.core.usecase.domain.UpdateAllClientDomainsUseCase;
+import org.veo.core.usecase.domain.VerifyElementStatusCountsUseCase;
 import org.veo.core.usecase.unit.GetUnitDumpUseCase;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -55,6 +57,7 @@ public class AdminController {
   private final DeleteClientUseCase deleteClientUseCase;
   private final GetUnitDumpUseCase getUnitDumpUseCase;
   private final UpdateAllClientDomainsUseCase updateAllClientDomainsUseCase;
+  private final VerifyElementStatusCountsUseCase verifyElementStatusCountsUseCase;
   private final EntityToDtoTransformer entityToDtoTransformer;
   private final TaskExecutor threadPoolTaskExecutor;
 
@@ -102,4 +105,23 @@ public class AdminController {
             }));
     return CompletableFuture.completedFuture(ResponseEntity.noContent().build());
   }
+
+  @PostMapping("/element-status-counts/verification")
+  @Operation(
+      summary = "Verifies the maintained element counts per sub type and status",
+      description =
+          "Compares the counters used for the element status counts of units with the actual elements. If rebuild is true, all counters are recalculated when any of them is incorrect.")
+  public CompletableFuture<ResponseEntity<ApiResponseBody>> verifyElementStatusCounts(
+      @RequestParam(defaultValue = "false") boolean rebuild) {
+    return useCaseInteractor.execute(
+        verifyElementStatusCountsUseCase,
+        new VerifyElementStatusCountsUseCase.InputData(rebuild),
+        out ->
+            ResponseEntity.ok(
+                new ApiResponseBody(
+                    out.getIncorrectCounters() == 0,
+                    "%d incorrect counters%s",
+                    out.getIncorrectCounters(),
+                    rebuild && out.getIncorrectCounters() > 0 ? " rebuilt" : "")));
+  }
 }
@@ -24,6 +24,10 @@ import static org.veo.rest.ControllerConstants.ANY_BOOLEAN;
 import static org.veo.rest.ControllerConstants.ANY_INT;
 import static org.veo.rest.ControllerConstants.ANY_STRING;
 import static org.veo.rest.ControllerConstants.CHILD_ELEMENT_IDS_PARAM;
+import static org.veo.rest.ControllerConstants.COUNT_TOTAL_DESCRIPTION;
+import static org.veo.rest.ControllerConstants.COUNT_TOTAL_PARAM;
+import static org.veo.rest.ControllerConstants.CURSOR_DESCRIPTION;
+import static org.veo.rest.ControllerConstants.CURSOR_PARAM;
 import static org.veo.rest.ControllerConstants.DESCRIPTION_PARAM;
 import static org.veo.rest.ControllerConstants.DESIGNATOR_PARAM;
 import static org.veo.rest.ControllerConstants.DISPLAY_NAME_PARAM;
@@ -209,6 +213,12 @@ public class AssetController extends AbstractElementController<Asset, FullAssetD
               defaultValue = SORT_ORDER_DEFAULT_VALUE)
           @Pattern(regexp = SORT_ORDER_PATTERN)
           String sortOrder,
+      @RequestParam(value = CURSOR_PARAM, required = false)
+          @Parameter(description = CURSOR_DESCRIPTION)
+          String cursor,
+      @RequestParam(value = COUNT_TOTAL_PARAM, required = false, defaultValue = "false")
+          @Parameter(description = COUNT_TOTAL_DESCRIPTION)
+          Boolean countTotal,
       @RequestParam(name = EMBED_RISKS_PARAM, required = false, defaultValue = "false")
           @Parameter(name = EMBED_RISKS_PARAM, description = EMBED_RISKS_DESC)
           Boolean embedRisksParam) {
@@ -232,9 +242,7 @@ public class AssetController extends AbstractElementController<Asset, FullAssetD
             designator,
             name,
             updatedBy,
-            PagingMapper.toConfig(
-                pageSize, pageNumber,
-                sortColumn, sortOrder),
+            PagingMapper.toConfig(pageSize, pageNumber, sortColumn, sortOrder, cursor, countTotal),
             embedRisks));
   }
 
@@ -360,7 +368,16 @@ public class AssetController extends AbstractElementController<Asset, FullAssetD
   protected String buildSearchUri(String id) {
     return linkTo(
             methodOn(AssetController.class)
-                .runSearch(ANY_AUTH, id, ANY_INT, ANY_INT, ANY_STRING, ANY_STRING, ANY_BOOLEAN))
+                .runSearch(
+                    ANY_AUTH,
+                    id,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN))
         .withSelfRel()
         .getHref();
   }
@@ -391,6 +408,12 @@ public class AssetController extends AbstractElementController<Asset, FullAssetD
               defaultValue = SORT_ORDER_DEFAULT_VALUE)
           @Pattern(regexp = SORT_ORDER_PATTERN)
           String sortOrder,
+      @RequestParam(value = CURSOR_PARAM, required = false)
+          @Parameter(description = CURSOR_DESCRIPTION)
+          String cursor,
+      @RequestParam(value = COUNT_TOTAL_PARAM, required = false, defaultValue = "false")
+          @Parameter(description = COUNT_TOTAL_DESCRIPTION)
+          Boolean countTotal,
       @RequestParam(name = EMBED_RISKS_PARAM, required = false, defaultValue = "false")
           @Parameter(name = EMBED_RISKS_PARAM, description = EMBED_RISKS_DESC)
           Boolean embedRisksParam) {
@@ -401,7 +424,8 @@ public class AssetController extends AbstractElementController<Asset, FullAssetD
           GetRiskAffectedInputMapper.map(
               getAuthenticatedClient(auth),
               SearchQueryDto.decodeFromSearchId(searchId),
-              PagingMapper.toConfig(pageSize, pageNumber, sortColumn, sortOrder),
+              PagingMapper.toConfig(
+                  pageSize, pageNumber, sortColumn, sortOrder, cursor, countTotal),
               embedRisks));
     } catch (IOException e) {
       log.error("Could not decode search URL: {}", e.getLocalizedMessage());
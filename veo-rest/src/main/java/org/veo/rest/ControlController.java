@@ -23,6 +23,10 @@ import static org.veo.rest.ControllerConstants.ANY_AUTH;
 import static org.veo.rest.ControllerConstants.ANY_INT;
 import static org.veo.rest.ControllerConstants.ANY_STRING;
 import static org.veo.rest.ControllerConstants.CHILD_ELEMENT_IDS_PARAM;
+import static org.veo.rest.ControllerConstants.COUNT_TOTAL_DESCRIPTION;
+import static org.veo.rest.ControllerConstants.COUNT_TOTAL_PARAM;
+import static org.veo.rest.ControllerConstants.CURSOR_DESCRIPTION;
+import static org.veo.rest.ControllerConstants.CURSOR_PARAM;
 import static org.veo.rest.ControllerConstants.DESCRIPTION_PARAM;
 import static org.veo.rest.ControllerConstants.DESIGNATOR_PARAM;
 import static org.veo.rest.ControllerConstants.DISPLAY_NAME_PARAM;
@@ -178,7 +182,13 @@ public class ControlController extends AbstractElementController<Control, FullCo
               required = false,
               defaultValue = SORT_ORDER_DEFAULT_VALUE)
           @Pattern(regexp = SORT_ORDER_PATTERN)
-          String sortOrder) {
+          String sortOrder,
+      @RequestParam(value = CURSOR_PARAM, required = false)
+          @Parameter(description = CURSOR_DESCRIPTION)
+          String cursor,
+      @RequestParam(value = COUNT_TOTAL_PARAM, required = false, defaultValue = "false")
+          @Parameter(description = COUNT_TOTAL_DESCRIPTION)
+          Boolean countTotal) {
     Client client = getAuthenticatedClient(auth);
 
     return getControls(
@@ -198,7 +208,8 @@ public class ControlController extends AbstractElementController<Control, FullCo
             designator,
             name,
             updatedBy,
-            PagingMapper.toConfig(pageSize, pageNumber, sortColumn, sortOrder)));
+            PagingMapper.toConfig(
+                pageSize, pageNumber, sortColumn, sortOrder, cursor, countTotal)));
   }
 
   private CompletableFuture<PageDto<FullControlDto>> getControls(
@@ -309,7 +320,15 @@ public class ControlController extends AbstractElementController<Control, FullCo
   protected String buildSearchUri(String id) {
     return linkTo(
             methodOn(ControlController.class)
-                .runSearch(ANY_AUTH, id, ANY_INT, ANY_INT, ANY_STRING, ANY_STRING))
+                .runSearch(
+                    ANY_AUTH,
+                    id,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN))
         .withSelfRel()
         .getHref();
   }
@@ -339,13 +358,20 @@ public class ControlController extends AbstractElementController<Control, FullCo
               required = false,
               defaultValue = SORT_ORDER_DEFAULT_VALUE)
           @Pattern(regexp = SORT_ORDER_PATTERN)
-          String sortOrder) {
+          String sortOrder,
+      @RequestParam(value = CURSOR_PARAM, required = false)
+          @Parameter(description = CURSOR_DESCRIPTION)
+          String cursor,
+      @RequestParam(value = COUNT_TOTAL_PARAM, required = false, defaultValue = "false")
+          @Parameter(description = COUNT_TOTAL_DESCRIPTION)
+          Boolean countTotal) {
     try {
       return getControls(
           GetElementsInputMapper.map(
               getAuthenticatedClient(auth),
               SearchQueryDto.decodeFromSearchId(searchId),
-              PagingMapper.toConfig(pageSize, pageNumber, sortColumn, sortOrder)));
+              PagingMapper.toConfig(
+                  pageSize, pageNumber, sortColumn, sortOrder, cursor, countTotal)));
     } catch (IOException e) {
       log.error("Could not decode search URL: {}", e.getLocalizedMessage());
       return null;
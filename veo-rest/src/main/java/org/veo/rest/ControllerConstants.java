@@ -67,6 +67,14 @@ public final class ControllerConstants {
   static final String SORT_ORDER_PARAM = "sortOrder";
   static final String SORT_ORDER_DEFAULT_VALUE = "asc";
   static final String SORT_ORDER_PATTERN = "[asc|desc|ASC|DESC]";
+  static final String CURSOR_PARAM = "cursor";
+  static final String CURSOR_DESCRIPTION =
+      "Enables keyset paging, which is faster than paging by page number on large result sets. Pass"
+          + " an empty value to get the first page and the nextCursor value from the previous"
+          + " response to get the next page. The page number is ignored in this mode.";
+  static final String COUNT_TOTAL_PARAM = "countTotal";
+  static final String COUNT_TOTAL_DESCRIPTION =
+      "Keyset paging only: count the total number of items (requires an additional query).";
   static final String IF_MATCH_HEADER = "If-Match";
 
   static final String UUID_DESCRIPTION =
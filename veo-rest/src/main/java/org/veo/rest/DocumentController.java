@@ -23,6 +23,10 @@ import static org.veo.rest.ControllerConstants.ANY_AUTH;
 import static org.veo.rest.ControllerConstants.ANY_INT;
 import static org.veo.rest.ControllerConstants.ANY_STRING;
 import static org.veo.rest.ControllerConstants.CHILD_ELEMENT_IDS_PARAM;
+import static org.veo.rest.ControllerConstants.COUNT_TOTAL_DESCRIPTION;
+import static org.veo.rest.ControllerConstants.COUNT_TOTAL_PARAM;
+import static org.veo.rest.ControllerConstants.CURSOR_DESCRIPTION;
+import static org.veo.rest.ControllerConstants.CURSOR_PARAM;
 import static org.veo.rest.ControllerConstants.DESCRIPTION_PARAM;
 import static org.veo.rest.ControllerConstants.DESIGNATOR_PARAM;
 import static org.veo.rest.ControllerConstants.DISPLAY_NAME_PARAM;
@@ -177,7 +181,13 @@ public class DocumentController extends AbstractElementController<Document, Full
               required = false,
               defaultValue = SORT_ORDER_DEFAULT_VALUE)
           @Pattern(regexp = SORT_ORDER_PATTERN)
-          String sortOrder) {
+          String sortOrder,
+      @RequestParam(value = CURSOR_PARAM, required = false)
+          @Parameter(description = CURSOR_DESCRIPTION)
+          String cursor,
+      @RequestParam(value = COUNT_TOTAL_PARAM, required = false, defaultValue = "false")
+          @Parameter(description = COUNT_TOTAL_DESCRIPTION)
+          Boolean countTotal) {
     Client client = getAuthenticatedClient(auth);
 
     return getDocuments(
@@ -197,7 +207,8 @@ public class DocumentController extends AbstractElementController<Document, Full
             designator,
             name,
             updatedBy,
-            PagingMapper.toConfig(pageSize, pageNumber, sortColumn, sortOrder)));
+            PagingMapper.toConfig(
+                pageSize, pageNumber, sortColumn, sortOrder, cursor, countTotal)));
   }
 
   private CompletableFuture<PageDto<FullDocumentDto>> getDocuments(
@@ -306,7 +317,15 @@ public class DocumentController extends AbstractElementController<Document, Full
   protected String buildSearchUri(String id) {
     return linkTo(
             methodOn(DocumentController.class)
-                .runSearch(ANY_AUTH, id, ANY_INT, ANY_INT, ANY_STRING, ANY_STRING))
+                .runSearch(
+                    ANY_AUTH,
+                    id,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN))
         .withSelfRel()
         .getHref();
   }
@@ -336,13 +355,20 @@ public class DocumentController extends AbstractElementController<Document, Full
               required = false,
               defaultValue = SORT_ORDER_DEFAULT_VALUE)
           @Pattern(regexp = SORT_ORDER_PATTERN)
-          String sortOrder) {
+          String sortOrder,
+      @RequestParam(value = CURSOR_PARAM, required = false)
+          @Parameter(description = CURSOR_DESCRIPTION)
+          String cursor,
+      @RequestParam(value = COUNT_TOTAL_PARAM, required = false, defaultValue = "false")
+          @Parameter(description = COUNT_TOTAL_DESCRIPTION)
+          Boolean countTotal) {
     try {
       return getDocuments(
           GetElementsInputMapper.map(
               getAuthenticatedClient(auth),
               SearchQueryDto.decodeFromSearchId(searchId),
-              PagingMapper.toConfig(pageSize, pageNumber, sortColumn, sortOrder)));
+              PagingMapper.toConfig(
+                  pageSize, pageNumber, sortColumn, sortOrder, cursor, countTotal)));
     } catch (IOException e) {
       log.error("Could not decode search URL: {}", e.getLocalizedMessage());
       return null;
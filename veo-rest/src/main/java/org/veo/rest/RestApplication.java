@@ -34,6 +34,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
 
 import org.veo.SpringPropertyLogger;
+import org.veo.rest.interactor.UseCaseTaskExecutor;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
@@ -125,8 +126,27 @@ public class RestApplication {
     return executor;
   }
 
+  /**
+   * Executes use cases either on the {@link #threadPoolTaskExecutor} ("pool") or on the request
+   * thread ("caller"). In caller mode, the number of concurrently running use cases is limited to
+   * the size of the database connection pool by default.
+   */
   @Bean
-  public DelegatingSecurityContextAsyncTaskExecutor taskExecutor(ThreadPoolTaskExecutor delegate) {
+  public UseCaseTaskExecutor useCaseTaskExecutor(
+      ThreadPoolTaskExecutor threadPoolTaskExecutor,
+      @Value("${veo.threads.mode:pool}") String mode,
+      @Value("${veo.threads.maxConcurrency:${spring.datasource.hikari.maximum-pool-size:10}}")
+          int maxConcurrency,
+      @Value("${veo.threads.maxWaitMs:30000}") long maxWaitMs) {
+    return switch (mode) {
+      case "pool" -> UseCaseTaskExecutor.pooled(threadPoolTaskExecutor);
+      case "caller" -> UseCaseTaskExecutor.callerRuns(maxConcurrency, maxWaitMs);
+      default -> throw new IllegalArgumentException("Unknown thread mode: " + mode);
+    };
+  }
+
+  @Bean
+  public DelegatingSecurityContextAsyncTaskExecutor taskExecutor(UseCaseTaskExecutor delegate) {
     return new DelegatingSecurityContextAsyncTaskExecutor(delegate);
   }
 
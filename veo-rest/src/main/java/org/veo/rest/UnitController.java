@@ -26,10 +26,12 @@ import static org.veo.rest.ControllerConstants.UUID_DESCRIPTION;
 import static org.veo.rest.ControllerConstants.UUID_EXAMPLE;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
@@ -50,6 +52,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.veo.adapter.presenter.api.common.ApiResponseBody;
 import org.veo.adapter.presenter.api.common.IdRef;
@@ -76,6 +81,8 @@ import org.veo.core.usecase.unit.DeleteUnitUseCase;
 import org.veo.core.usecase.unit.GetUnitDumpUseCase;
 import org.veo.core.usecase.unit.GetUnitUseCase;
 import org.veo.core.usecase.unit.GetUnitsUseCase;
+import org.veo.core.usecase.unit.StreamUnitDumpUseCase;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase;
 import org.veo.core.usecase.unit.UnitImportUseCase;
 import org.veo.core.usecase.unit.UpdateUnitUseCase;
 import org.veo.rest.annotations.UnitUuidParam;
@@ -117,7 +124,10 @@ public class UnitController extends AbstractEntityControllerWithDefaultSearch {
   private final ApplyIncarnationDescriptionUseCase applyIncarnationDescriptionUseCase;
   private final GetIncarnationDescriptionUseCase getIncarnationDescriptionUseCase;
   private final GetUnitDumpUseCase getUnitDumpUseCase;
+  private final StreamUnitDumpUseCase streamUnitDumpUseCase;
   private final UnitImportUseCase unitImportUseCase;
+  private final StreamingUnitImportUseCase streamingUnitImportUseCase;
+  private final ObjectMapper objectMapper;
 
   @GetMapping(value = "/{unitId}/incarnations")
   @Operation(
@@ -261,6 +271,53 @@ public class UnitController extends AbstractEntityControllerWithDefaultSearch {
         out -> UnitDumpMapper.mapOutput(out, entityToDtoTransformer));
   }
 
+  @GetMapping(value = "/{id}/export", params = "streaming=true")
+  @Operation(
+      summary =
+          "Exports given unit in the same format as the regular export, but writes elements & "
+              + "risks to the response while they are being loaded. Use this for large units.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "Unit export",
+      content =
+          @Content(
+              mediaType = MediaType.APPLICATION_JSON_VALUE,
+              schema = @Schema(implementation = UnitDumpDto.class)))
+  @ApiResponse(responseCode = "404", description = "Unit not found")
+  public ResponseEntity<StreamingResponseBody> exportUnitStreaming(
+      @PathVariable String id,
+      @Parameter(description = "Stream the export") @RequestParam(name = "streaming")
+          boolean streaming) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(
+            outputStream -> {
+              // This response thread waits until the use case has written the whole export. The use
+              // case runs on the use case executor (see RestApplication#useCaseTaskExecutor), so
+              // each download occupies a worker (pool mode) or a concurrency permit (caller mode)
+              // until it is complete. The number of concurrent streaming exports is therefore
+              // bounded by the veo.threads.* limits of that executor.
+              try {
+                useCaseInteractor
+                    .execute(
+                        streamUnitDumpUseCase,
+                        (Supplier<StreamUnitDumpUseCase.InputData>)
+                            () -> UnitDumpMapper.mapStreamingInput(id),
+                        out -> {
+                          UnitDumpMapper.writeOutput(
+                              out, entityToDtoTransformer, objectMapper, outputStream);
+                          return null;
+                        })
+                    .join();
+              } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                  throw cause;
+                }
+                throw e;
+              }
+            });
+  }
+
   @PostMapping(value = "/import")
   @Operation(
       summary =
@@ -281,6 +338,37 @@ public class UnitController extends AbstractEntityControllerWithDefaultSearch {
                 referenceAssembler.targetReferenceOf(out.getUnit()), "Unit created successfully"));
   }
 
+  @PostMapping(value = "/import", params = "streaming=true")
+  @Operation(
+      summary =
+          "Imports a previously exported unit like the regular import, but reads the request body "
+              + "incrementally and persists the elements in chunks. Use this for large units. The "
+              + "properties in the request body must appear in the order used by the export "
+              + "(unit, domains, elements, risks).",
+      requestBody =
+          @io.swagger.v3.oas.annotations.parameters.RequestBody(
+              content =
+                  @Content(
+                      mediaType = MediaType.APPLICATION_JSON_VALUE,
+                      schema = @Schema(implementation = UnitDumpDto.class))))
+  @ApiResponse(responseCode = "201", description = "Unit imported")
+  @ApiResponse(responseCode = "404", description = "Domain not found")
+  public CompletableFuture<ResponseEntity<ApiResponseBody>> importUnitStreaming(
+      @Parameter(hidden = true) ApplicationUser user,
+      @Parameter(description = "Stream the import") @RequestParam(name = "streaming")
+          boolean streaming,
+      @Parameter(hidden = true) InputStream body)
+      throws IOException {
+    var parser = objectMapper.createParser(body);
+    return useCaseInteractor.execute(
+        streamingUnitImportUseCase,
+        (Supplier<StreamingUnitImportUseCase.InputData>)
+            () -> unitImportMapper.mapStreamingInput(parser, objectMapper, getClient(user)),
+        out ->
+            RestApiResponse.created(
+                referenceAssembler.targetReferenceOf(out.getUnit()), "Unit created successfully"));
+  }
+
   // TODO: veo-279 use the complete dto
   @PostMapping()
   @Operation(summary = "Creates a unit")
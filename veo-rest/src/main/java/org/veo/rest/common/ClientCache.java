@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.common;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.veo.core.entity.Client;
+import org.veo.core.entity.Domain;
+import org.veo.core.entity.Key;
+import org.veo.core.repository.ClientRepository;
+import org.veo.core.repository.ClientRepository.Versions;
+import org.veo.core.repository.DomainRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches detached clients together with their domains, element type definitions and risk
+ * definitions, so consecutive requests by the same client don't have to load them again. On every
+ * hit, the versions of the client and its domains are read with a single query within the caller's
+ * transaction and compared with those of the cached client, which detects changes that were
+ * committed on other nodes. Cached clients are also evicted when changes to a client or its domains
+ * are committed on this node (see {@link org.veo.listeners.ClientCacheEvictionListener}). Only a
+ * limited number of least recently used clients is kept.
+ *
+ * <p>Cached clients are loaded in a separate transaction and shared between requests, so they must
+ * not be modified. Use cases that change a client load their own instance from the {@link
+ * ClientRepository}.
+ */
+@Component
+@Slf4j
+public class ClientCache {
+  private final ClientRepository clientRepository;
+  private final DomainRepository domainRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Map<Key<UUID>, CachedClient> entries;
+
+  /**
+   * Incremented on every eviction. A client that was loaded while an eviction happened may already
+   * be outdated and is not cached.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  public ClientCache(
+      ClientRepository clientRepository,
+      DomainRepository domainRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${veo.client-cache.max-entries:1000}") int maxEntries) {
+    this.clientRepository = clientRepository;
+    this.domainRepository = domainRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    transactionTemplate.setReadOnly(true);
+    this.entries = Collections.synchronizedMap(new Entries(maxEntries));
+  }
+
+  /**
+   * Returns the client with given ID (regardless of its state), loading and caching it if it is
+   * not cached or it or one of its domains has changed since it was cached.
+   */
+  public Optional<Client> findById(Key<UUID> clientId) {
+    var cached = entries.get(clientId);
+    if (cached != null
+        && clientRepository
+            .findVersionsById(clientId)
+            .filter(versions -> versions.equals(cached.versions()))
+            .isPresent()) {
+      hitCount.incrementAndGet();
+      return Optional.of(cached.client());
+    }
+    missCount.incrementAndGet();
+    var generationBeforeLoad = generation.get();
+    var loaded = transactionTemplate.execute(status -> load(clientId));
+    if (loaded == null) {
+      entries.remove(clientId);
+      return Optional.empty();
+    }
+    if (generation.get() == generationBeforeLoad) {
+      entries.put(clientId, loaded);
+    }
+    return Optional.of(loaded.client());
+  }
+
+  /** Returns the client with given ID if it is active, see {@link #findById(Key)}. */
+  public Optional<Client> findActiveById(Key<UUID> clientId) {
+    return findById(clientId).filter(ClientRepository.IS_CLIENT_ACTIVE);
+  }
+
+  private CachedClient load(Key<UUID> clientId) {
+    return clientRepository
+        .findById(clientId)
+        .map(
+            client -> {
+              // Initializes the definitions on the client's domains within the same session.
+              var domains =
+                  domainRepository.findAllByClientWithEntityTypeDefinitionsAndRiskDefinitions(
+                      clientId);
+              return new CachedClient(
+                  client,
+                  new Versions(
+                      client.getVersion(),
+                      domains.stream()
+                          .collect(Collectors.toMap(Domain::getId, Domain::getVersion))));
+            })
+        .orElse(null);
+  }
+
+  public void evict(Key<UUID> clientId) {
+    generation.incrementAndGet();
+    if (entries.remove(clientId) != null) {
+      log.debug("Evicted cached client {}", clientId);
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  public void clear() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  public int getSize() {
+    return entries.size();
+  }
+
+  private record CachedClient(Client client, Versions versions) {}
+
+  /** Cached clients in access order. */
+  private static final class Entries extends LinkedHashMap<Key<UUID>, CachedClient> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+
+    Entries(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key<UUID>, CachedClient> eldest) {
+      return size() > maxEntries;
+    }
+  }
+}
@@ -22,7 +22,6 @@ import org.springframework.stereotype.Component;
 
 import org.veo.core.entity.Client;
 import org.veo.core.entity.Key;
-import org.veo.core.repository.ClientRepository;
 import org.veo.rest.security.ApplicationUser;
 
 import lombok.AllArgsConstructor;
@@ -30,13 +29,15 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 @Component
 public class ClientLookup {
-  private final ClientRepository clientRepository;
+  private final ClientCache clientCache;
 
   public Client getClient(Authentication auth) {
     return getClient(ApplicationUser.authenticatedUser(auth.getPrincipal()));
   }
 
   public Client getClient(ApplicationUser user) {
-    return clientRepository.getActiveById(Key.uuidFrom(user.getClientId()));
+    return clientCache
+        .findActiveById(Key.uuidFrom(user.getClientId()))
+        .orElseThrow(() -> new ClientNotActiveException(user.getClientId()));
   }
 }
@@ -91,7 +91,10 @@ public class ElementInDomainService {
           GetElementUseCase<TElement> getElementUseCase,
           BiFunction<TElement, Domain, TFullDto> toDtoMapper) {
     var client = clientLookup.getClient(auth);
-    if (etagService.getEtag(modelType, uuid).map(request::checkNotModified).orElse(false)) {
+    if (etagService
+        .getEtag(client.getId(), modelType, uuid)
+        .map(request::checkNotModified)
+        .orElse(false)) {
       return null;
     }
     return useCaseInteractor
@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -134,6 +135,11 @@ public class VeriniceExceptionHandler {
     return handle(ex, HttpStatus.CONFLICT);
   }
 
+  @ExceptionHandler(TaskRejectedException.class)
+  protected ResponseEntity<ApiResponseBody> handle(TaskRejectedException exception) {
+    return handle(exception, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, String>> handleValidationExceptions(
       MethodArgumentNotValidException ex) {
@@ -29,6 +29,11 @@ import static org.veo.rest.ControllerConstants.ANY_STRING;
 import static org.veo.rest.ControllerConstants.ANY_STRING_LIST;
 import static org.veo.rest.ControllerConstants.ANY_USER;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -36,8 +41,12 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 import org.veo.adapter.presenter.api.common.ReferenceAssembler;
 import org.veo.adapter.presenter.api.dto.ModelDto;
@@ -68,7 +77,6 @@ import org.veo.core.entity.exception.UnprocessableDataException;
 import org.veo.core.entity.ref.ITypedId;
 import org.veo.rest.AssetController;
 import org.veo.rest.AssetInDomainController;
-import org.veo.rest.AssetRiskResource;
 import org.veo.rest.CatalogController;
 import org.veo.rest.ControlController;
 import org.veo.rest.ControlInDomainController;
@@ -82,21 +90,22 @@ import org.veo.rest.PersonController;
 import org.veo.rest.PersonInDomainController;
 import org.veo.rest.ProcessController;
 import org.veo.rest.ProcessInDomainController;
-import org.veo.rest.ProcessRiskResource;
 import org.veo.rest.ScenarioController;
 import org.veo.rest.ScenarioInDomainController;
 import org.veo.rest.ScopeController;
 import org.veo.rest.ScopeInDomainController;
-import org.veo.rest.ScopeRiskResource;
 import org.veo.rest.UnitController;
 import org.veo.rest.configuration.TypeExtractor;
 import org.veo.rest.schemas.controller.EntitySchemaController;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import lombok.AllArgsConstructor;
 
+/**
+ * Creates and parses reference URIs. The URI templates of all references are resolved from the
+ * controller mappings once on construction, so creating a reference only requires the base URI of
+ * the current request (which is determined once per request) and string concatenation.
+ */
 @Component
-@AllArgsConstructor
 public class ReferenceAssemblerImpl implements ReferenceAssembler {
 
   private static final String UUID_REGEX =
@@ -106,92 +115,60 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
   private static final Pattern ELEMENT_IN_DOMAIN_URI_PATTERN =
       Pattern.compile("/" + Domain.PLURAL_TERM + "/" + UUID_REGEX + "/(.+)/(" + UUID_REGEX + ")");
 
+  /** Splits a URI into scheme & authority (group 1) and path (group 2) according to RFC 3986. */
+  private static final Pattern URI_PATTERN =
+      Pattern.compile("^((?:[^:/?#]+:)?(?://[^/?#]*)?)([^?#]*)");
+
+  /** Placeholders for variables, used when resolving the URI templates. */
+  private static final String ID = "00000000-0000-0000-0000-000000000001";
+
+  private static final String OTHER_ID = "00000000-0000-0000-0000-000000000002";
+  private static final String TYPE = "placeholdertype";
+
+  private static final String BASE_URI_ATTRIBUTE =
+      ReferenceAssemblerImpl.class.getName() + ".BASE_URI";
+
   private final TypeExtractor typeExtractor;
 
+  private final Map<Class<?>, UriTemplate> targetTemplates;
+  private final UriTemplate catalogItemTemplate;
+  private final Map<Class<?>, UriTemplate> elementInDomainTemplates;
+  private final Map<Class<?>, UriTemplate> riskTemplates;
+  private final Map<Class<?>, String> searchesPaths;
+  private final Map<Class<?>, String> resourcesPaths;
+  private final UriTemplate schemaTemplate;
+
+  public ReferenceAssemblerImpl(TypeExtractor typeExtractor) {
+    this.typeExtractor = typeExtractor;
+    // The templates must be relative to the base URI, so they must not be resolved within a
+    // request.
+    var requestAttributes = RequestContextHolder.getRequestAttributes();
+    RequestContextHolder.resetRequestAttributes();
+    try {
+      targetTemplates = resolveTargetTemplates();
+      catalogItemTemplate = resolveCatalogItemTemplate();
+      elementInDomainTemplates = resolveElementInDomainTemplates();
+      riskTemplates = resolveRiskTemplates();
+      searchesPaths = resolveSearchesPaths();
+      resourcesPaths = resolveResourcesPaths();
+      schemaTemplate = resolveSchemaTemplate();
+    } finally {
+      RequestContextHolder.setRequestAttributes(requestAttributes);
+    }
+  }
+
   @Override
-  @SuppressFBWarnings // ignore warning on call to method proxy factory
   public String targetReferenceOf(Identifiable identifiable) {
     Class<? extends Identifiable> type = identifiable.getModelInterface();
     String id = identifiable.getId().uuidValue();
-    if (Scope.class.isAssignableFrom(type)) {
-      return trimVariables(
-          linkTo(methodOn(ScopeController.class).getScope(ANY_AUTH, id, ANY_BOOLEAN, ANY_REQUEST))
-              .withRel(ScopeController.URL_BASE_PATH)
-              .getHref());
-    }
-    if (Asset.class.isAssignableFrom(type)) {
-      return trimVariables(
-          linkTo(methodOn(AssetController.class).getAsset(ANY_AUTH, id, ANY_BOOLEAN, ANY_REQUEST))
-              .withRel(AssetController.URL_BASE_PATH)
-              .getHref());
-    }
-    if (Document.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(DocumentController.class).getElement(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(DocumentController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Unit.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(UnitController.class).getUnit(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(UnitController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Person.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(PersonController.class).getElement(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(PersonController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Process.class.isAssignableFrom(type)) {
-      return trimVariables(
-          linkTo(
-                  methodOn(ProcessController.class)
-                      .getProcess(ANY_AUTH, id, ANY_BOOLEAN, ANY_REQUEST))
-              .withRel(ProcessController.URL_BASE_PATH)
-              .getHref());
-    }
-    if (Control.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(ControlController.class).getElement(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(ControlController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Scenario.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(ScenarioController.class).getElement(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(ScenarioController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Incident.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(IncidentController.class).getElement(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(IncidentController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Domain.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(DomainController.class).getDomain(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(DomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (DomainTemplate.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(DomainTemplateController.class).getDomainTemplate(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(DomainTemplateController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Catalog.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(CatalogController.class).getCatalog(ANY_AUTH, id, ANY_REQUEST))
-          .withRel(CatalogController.URL_BASE_PATH)
-          .getHref();
-    }
     if (CatalogItem.class.isAssignableFrom(type)) {
       CatalogItem catalogItem = (CatalogItem) identifiable;
-      return linkTo(
-              methodOn(CatalogController.class)
-                  .getCatalogItem(
-                      ANY_AUTH,
-                      catalogItem.getCatalog().getId().uuidValue(),
-                      id,
-                      null,
-                      ANY_REQUEST))
-          .withRel(CatalogController.URL_BASE_PATH)
-          .expand()
-          .getHref();
+      return catalogItemTemplate.expand(
+          baseUri(), catalogItem.getCatalog().getId().uuidValue(), id);
+    }
+    var template = find(targetTemplates, type);
+    if (template != null) {
+      return template.expand(baseUri(), id);
     }
     // Some types have no endpoint.
     if (Client.class.isAssignableFrom(type) || CatalogReference.class.isAssignableFrom(type)) {
@@ -202,109 +179,24 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
   }
 
   @Override
-  @SuppressFBWarnings // ignore warning on call to method proxy factory
   public String elementInDomainRefOf(Element element, Domain domain) {
     var type = element.getModelInterface();
-    if (Asset.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(AssetInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(AssetInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Control.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ControlInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(ControlInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Document.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(DocumentInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(DocumentInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Incident.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(IncidentInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(IncidentInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Person.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(PersonInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(PersonInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Process.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ProcessInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(ProcessInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Scenario.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ScenarioInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(ScenarioInDomainController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Scope.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ScopeInDomainController.class)
-                  .getElement(
-                      ANY_AUTH, domain.getIdAsString(), element.getIdAsString(), ANY_REQUEST))
-          .withRel(ScopeInDomainController.URL_BASE_PATH)
-          .getHref();
+    var template = find(elementInDomainTemplates, type);
+    if (template != null) {
+      return template.expand(baseUri(), domain.getIdAsString(), element.getIdAsString());
     }
     throw new NotImplementedException(
         "%s references in domain context not supported".formatted(type.getSimpleName()));
   }
 
-  /**
-   * HATEOAS links may contain a list of optional variables that are invalid as a URI if they are
-   * not expanded with values (i.e. "{@code {?embedRisks=false}}"). This method removes those
-   * because we have many places that do not expect optional variables in the reference URI and trip
-   * over them.
-   */
-  // TODO VEO-1352 remove this method when users can handle the URI template
-  // format
-  private String trimVariables(String href) {
-    if (href.contains("{")) return href.split("\\{")[0];
-    return href;
-  }
-
   @Override
-  @SuppressFBWarnings // ignore warning on call to method proxy factory
   public String targetReferenceOf(AbstractRisk<?, ?> risk) {
-    var entityId = risk.getEntity().getId().uuidValue();
-    var scenarioId = risk.getScenario().getId().uuidValue();
-    if (risk instanceof AssetRisk) {
-      return linkTo(methodOn(AssetController.class).getRisk(ANY_USER, entityId, scenarioId))
-          .withRel(AssetController.URL_BASE_PATH + AssetRiskResource.RELPATH)
-          .getHref();
-    }
-    if (risk instanceof ProcessRisk) {
-      return linkTo(methodOn(ProcessController.class).getRisk(ANY_USER, entityId, scenarioId))
-          .withRel(ProcessController.URL_BASE_PATH + ProcessRiskResource.RELPATH)
-          .getHref();
-    }
-    if (risk instanceof ScopeRisk) {
-      return linkTo(methodOn(ScopeController.class).getRisk(ANY_USER, entityId, scenarioId))
-          .withRel(ScopeController.URL_BASE_PATH + ScopeRiskResource.RELPATH)
-          .getHref();
+    var template = find(riskTemplates, risk.getClass());
+    if (template != null) {
+      return template.expand(
+          baseUri(),
+          risk.getEntity().getId().uuidValue(),
+          risk.getScenario().getId().uuidValue());
     }
     throw new NotImplementedException(
         format("Cannot create risk reference to entity " + "%s.", risk.getClass()));
@@ -312,55 +204,9 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
 
   @Override
   public String searchesReferenceOf(Class<? extends Identifiable> type) {
-    if (Scope.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(ScopeController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(ScopeController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Asset.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(AssetController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(AssetController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Document.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(DocumentController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(AssetController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Unit.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(UnitController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(UnitController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Process.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(ProcessController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(ProcessController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Person.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(PersonController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(PersonController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Control.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(ControlController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(ControlController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Scenario.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(ScenarioController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(ScenarioController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Incident.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(IncidentController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(IncidentController.URL_BASE_PATH)
-          .getHref();
-    }
-    if (Domain.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(DomainController.class).createSearch(ANY_AUTH, ANY_SEARCH))
-          .withRel(DomainController.URL_BASE_PATH)
-          .getHref();
+    var path = find(searchesPaths, type);
+    if (path != null) {
+      return baseUri() + path;
     }
     // Some types have no endpoint.
     if (Client.class.isAssignableFrom(type)
@@ -373,199 +219,10 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
   }
 
   @Override
-  @SuppressFBWarnings // ignore warnings on calls to method proxy factories
   public String resourcesReferenceOf(Class<? extends Identifiable> type) {
-    if (Scope.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ScopeController.class)
-                  .getScopes(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_BOOLEAN))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Asset.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(AssetController.class)
-                  .getAssets(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_BOOLEAN))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Document.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(DocumentController.class)
-                  .getDocuments(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Unit.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(UnitController.class).getUnits(ANY_AUTH, ANY_STRING, ANY_STRING))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Process.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ProcessController.class)
-                  .getProcesses(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_BOOLEAN))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Person.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(PersonController.class)
-                  .getPersons(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Control.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ControlController.class)
-                  .getControls(
-                      ANY_AUTH, ANY_STRING,
-                      ANY_STRING, ANY_STRING,
-                      ANY_STRING, ANY_STRING_LIST,
-                      ANY_BOOLEAN, ANY_BOOLEAN,
-                      ANY_STRING, ANY_STRING,
-                      ANY_STRING, ANY_STRING,
-                      ANY_INT, ANY_INT,
-                      ANY_STRING, ANY_STRING))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Scenario.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(ScenarioController.class)
-                  .getScenarios(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Incident.class.isAssignableFrom(type)) {
-      return linkTo(
-              methodOn(IncidentController.class)
-                  .getIncidents(
-                      ANY_AUTH,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING_LIST,
-                      ANY_BOOLEAN,
-                      ANY_BOOLEAN,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_STRING,
-                      ANY_INT,
-                      ANY_INT,
-                      ANY_STRING,
-                      ANY_STRING))
-          .withSelfRel()
-          .getHref();
-    }
-    if (Domain.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(DomainController.class).getDomains(ANY_AUTH)).withSelfRel().getHref();
-    }
-    if (DomainTemplate.class.isAssignableFrom(type)) {
-      return linkTo(methodOn(DomainTemplateController.class).getDomainTemplates())
-          .withSelfRel()
-          .getHref();
+    var path = find(resourcesPaths, type);
+    if (path != null) {
+      return baseUri() + path;
     }
     // Some types have no endpoint.
     if (Client.class.isAssignableFrom(type)
@@ -576,6 +233,50 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
     throw new NotImplementedException("Unsupported collection reference type " + type);
   }
 
+  @Override
+  public String schemaReferenceOf(String typeSingularTerm) {
+    return schemaTemplate.expand(
+        baseUri(), UriUtils.encodePathSegment(typeSingularTerm, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the value for the first key in given map that given type is assignable to, or null if
+   * there is none.
+   */
+  private static <T> T find(Map<Class<?>, T> map, Class<?> type) {
+    T value = map.get(type);
+    if (value != null) {
+      return value;
+    }
+    for (var entry : map.entrySet()) {
+      if (entry.getKey().isAssignableFrom(type)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns scheme, host, port & context path of the current request (without a trailing slash),
+   * or an empty string if there is no current request, which makes references relative.
+   */
+  private static String baseUri() {
+    var requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return "";
+    }
+    var baseUri =
+        (String)
+            requestAttributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (baseUri == null) {
+      baseUri =
+          StringUtils.removeEnd(
+              ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString(), "/");
+      requestAttributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+    }
+    return baseUri;
+  }
+
   /**
    * Compares the given URI with all mapped request methods of type "GET". Extracts the DTO type
    * used in the methods return value. Then returns the corresponding entity type.
@@ -603,10 +304,7 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
 
   @Override
   public String parseId(String uriString) {
-    String pathComponent = UriComponentsBuilder.fromUriString(uriString).build().getPath();
-    if (pathComponent == null) {
-      throw invalidReference(uriString);
-    }
+    String pathComponent = pathOf(uriString);
     Matcher matcher = UUID_PATTERN.matcher(pathComponent);
     if (!matcher.find()) {
       throw invalidReference(uriString);
@@ -630,20 +328,9 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
     return references.stream().map(this::toKey).collect(Collectors.toSet());
   }
 
-  @Override
-  public String schemaReferenceOf(String typeSingularTerm) {
-    return linkTo(
-            methodOn(EntitySchemaController.class)
-                .getSchema(ANY_AUTH, typeSingularTerm, ANY_STRING_LIST))
-        .withSelfRel()
-        .getHref();
-  }
-
   @Override
   public String parseElementIdInDomain(String targetInDomainUri) {
-    var matcher =
-        ELEMENT_IN_DOMAIN_URI_PATTERN.matcher(
-            UriComponentsBuilder.fromUriString(targetInDomainUri).build().getPath());
+    var matcher = ELEMENT_IN_DOMAIN_URI_PATTERN.matcher(pathOf(targetInDomainUri));
     if (matcher.find()) {
       return matcher.group(2);
     }
@@ -652,16 +339,481 @@ public class ReferenceAssemblerImpl implements ReferenceAssembler {
 
   @Override
   public Class<Element> parseElementTypeInDomain(String targetInDomainUri) {
-    var matcher =
-        ELEMENT_IN_DOMAIN_URI_PATTERN.matcher(
-            UriComponentsBuilder.fromUriString(targetInDomainUri).build().getPath());
+    var matcher = ELEMENT_IN_DOMAIN_URI_PATTERN.matcher(pathOf(targetInDomainUri));
     if (matcher.find()) {
       return (Class<Element>) EntityType.getTypeForPluralTerm(matcher.group(1));
     }
     throw invalidReference(targetInDomainUri);
   }
 
+  /** Returns the path of given URI, without scheme, authority, query or fragment. */
+  private static String pathOf(String uri) {
+    var matcher = URI_PATTERN.matcher(uri);
+    // the pattern matches any string, because all of its groups are optional
+    matcher.lookingAt();
+    return matcher.group(2);
+  }
+
   private UnprocessableDataException invalidReference(String uri) {
     return new UnprocessableDataException("Invalid entity reference: %s".formatted(uri));
   }
+
+  @SuppressFBWarnings // ignore warnings on calls to method proxy factories
+  private static Map<Class<?>, UriTemplate> resolveTargetTemplates() {
+    var templates = new LinkedHashMap<Class<?>, UriTemplate>();
+    templates.put(
+        Scope.class,
+        UriTemplate.of(
+            trimVariables(
+                href(
+                    methodOn(ScopeController.class)
+                        .getScope(ANY_AUTH, ID, ANY_BOOLEAN, ANY_REQUEST))),
+            ID));
+    templates.put(
+        Asset.class,
+        UriTemplate.of(
+            trimVariables(
+                href(
+                    methodOn(AssetController.class)
+                        .getAsset(ANY_AUTH, ID, ANY_BOOLEAN, ANY_REQUEST))),
+            ID));
+    templates.put(
+        Document.class,
+        UriTemplate.of(
+            href(methodOn(DocumentController.class).getElement(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        Unit.class,
+        UriTemplate.of(
+            href(methodOn(UnitController.class).getUnit(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        Person.class,
+        UriTemplate.of(
+            href(methodOn(PersonController.class).getElement(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        Process.class,
+        UriTemplate.of(
+            trimVariables(
+                href(
+                    methodOn(ProcessController.class)
+                        .getProcess(ANY_AUTH, ID, ANY_BOOLEAN, ANY_REQUEST))),
+            ID));
+    templates.put(
+        Control.class,
+        UriTemplate.of(
+            href(methodOn(ControlController.class).getElement(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        Scenario.class,
+        UriTemplate.of(
+            href(methodOn(ScenarioController.class).getElement(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        Incident.class,
+        UriTemplate.of(
+            href(methodOn(IncidentController.class).getElement(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        Domain.class,
+        UriTemplate.of(
+            href(methodOn(DomainController.class).getDomain(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    templates.put(
+        DomainTemplate.class,
+        UriTemplate.of(
+            href(
+                methodOn(DomainTemplateController.class)
+                    .getDomainTemplate(ANY_AUTH, ID, ANY_REQUEST)),
+            ID));
+    templates.put(
+        Catalog.class,
+        UriTemplate.of(
+            href(methodOn(CatalogController.class).getCatalog(ANY_AUTH, ID, ANY_REQUEST)), ID));
+    return templates;
+  }
+
+  @SuppressFBWarnings // ignore warning on call to method proxy factory
+  private static UriTemplate resolveCatalogItemTemplate() {
+    return UriTemplate.of(
+        linkTo(
+                methodOn(CatalogController.class)
+                    .getCatalogItem(ANY_AUTH, ID, OTHER_ID, null, ANY_REQUEST))
+            .withSelfRel()
+            .expand()
+            .getHref(),
+        ID,
+        OTHER_ID);
+  }
+
+  @SuppressFBWarnings // ignore warnings on calls to method proxy factories
+  private static Map<Class<?>, UriTemplate> resolveElementInDomainTemplates() {
+    var templates = new LinkedHashMap<Class<?>, UriTemplate>();
+    templates.put(
+        Asset.class,
+        UriTemplate.of(
+            href(
+                methodOn(AssetInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Control.class,
+        UriTemplate.of(
+            href(
+                methodOn(ControlInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Document.class,
+        UriTemplate.of(
+            href(
+                methodOn(DocumentInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Incident.class,
+        UriTemplate.of(
+            href(
+                methodOn(IncidentInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Person.class,
+        UriTemplate.of(
+            href(
+                methodOn(PersonInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Process.class,
+        UriTemplate.of(
+            href(
+                methodOn(ProcessInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Scenario.class,
+        UriTemplate.of(
+            href(
+                methodOn(ScenarioInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        Scope.class,
+        UriTemplate.of(
+            href(
+                methodOn(ScopeInDomainController.class)
+                    .getElement(ANY_AUTH, ID, OTHER_ID, ANY_REQUEST)),
+            ID,
+            OTHER_ID));
+    return templates;
+  }
+
+  @SuppressFBWarnings // ignore warnings on calls to method proxy factories
+  private static Map<Class<?>, UriTemplate> resolveRiskTemplates() {
+    var templates = new LinkedHashMap<Class<?>, UriTemplate>();
+    templates.put(
+        AssetRisk.class,
+        UriTemplate.of(
+            href(methodOn(AssetController.class).getRisk(ANY_USER, ID, OTHER_ID)), ID, OTHER_ID));
+    templates.put(
+        ProcessRisk.class,
+        UriTemplate.of(
+            href(methodOn(ProcessController.class).getRisk(ANY_USER, ID, OTHER_ID)),
+            ID,
+            OTHER_ID));
+    templates.put(
+        ScopeRisk.class,
+        UriTemplate.of(
+            href(methodOn(ScopeController.class).getRisk(ANY_USER, ID, OTHER_ID)), ID, OTHER_ID));
+    return templates;
+  }
+
+  @SuppressFBWarnings // ignore warnings on calls to method proxy factories
+  private static Map<Class<?>, String> resolveSearchesPaths() {
+    var paths = new LinkedHashMap<Class<?>, String>();
+    paths.put(
+        Scope.class, href(methodOn(ScopeController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Asset.class, href(methodOn(AssetController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Document.class,
+        href(methodOn(DocumentController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(Unit.class, href(methodOn(UnitController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Process.class, href(methodOn(ProcessController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Person.class, href(methodOn(PersonController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Control.class, href(methodOn(ControlController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Scenario.class,
+        href(methodOn(ScenarioController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Incident.class,
+        href(methodOn(IncidentController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    paths.put(
+        Domain.class, href(methodOn(DomainController.class).createSearch(ANY_AUTH, ANY_SEARCH)));
+    return paths;
+  }
+
+  @SuppressFBWarnings // ignore warnings on calls to method proxy factories
+  private static Map<Class<?>, String> resolveResourcesPaths() {
+    var paths = new LinkedHashMap<Class<?>, String>();
+    paths.put(
+        Scope.class,
+        href(
+            methodOn(ScopeController.class)
+                .getScopes(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Asset.class,
+        href(
+            methodOn(AssetController.class)
+                .getAssets(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Document.class,
+        href(
+            methodOn(DocumentController.class)
+                .getDocuments(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Unit.class,
+        href(methodOn(UnitController.class).getUnits(ANY_AUTH, ANY_STRING, ANY_STRING)));
+    paths.put(
+        Process.class,
+        href(
+            methodOn(ProcessController.class)
+                .getProcesses(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Person.class,
+        href(
+            methodOn(PersonController.class)
+                .getPersons(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Control.class,
+        href(
+            methodOn(ControlController.class)
+                .getControls(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Scenario.class,
+        href(
+            methodOn(ScenarioController.class)
+                .getScenarios(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN)));
+    paths.put(
+        Incident.class,
+        href(
+            methodOn(IncidentController.class)
+                .getIncidents(
+                    ANY_AUTH,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING_LIST,
+                    ANY_BOOLEAN,
+                    ANY_BOOLEAN,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_INT,
+                    ANY_INT,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_STRING,
+                    ANY_BOOLEAN)));
+    paths.put(Domain.class, href(methodOn(DomainController.class).getDomains(ANY_AUTH)));
+    paths.put(
+        DomainTemplate.class, href(methodOn(DomainTemplateController.class).getDomainTemplates()));
+    return paths;
+  }
+
+  @SuppressFBWarnings // ignore warning on call to method proxy factory
+  private static UriTemplate resolveSchemaTemplate() {
+    return UriTemplate.of(
+        href(methodOn(EntitySchemaController.class).getSchema(ANY_AUTH, TYPE, ANY_STRING_LIST)),
+        TYPE);
+  }
+
+  private static String href(Object invocationValue) {
+    return linkTo(invocationValue).withSelfRel().getHref();
+  }
+
+  /**
+   * HATEOAS links may contain a list of optional variables that are invalid as a URI if they are
+   * not expanded with values (i.e. "{@code {?embedRisks=false}}"). This method removes those
+   * because we have many places that do not expect optional variables in the reference URI and trip
+   * over them.
+   */
+  // TODO VEO-1352 remove this method when users can handle the URI template
+  // format
+  private static String trimVariables(String href) {
+    if (href.contains("{")) return href.split("\\{")[0];
+    return href;
+  }
+
+  /**
+   * A URI relative to the base URI, split into the literal parts between its variables, so it can
+   * be expanded by concatenation.
+   */
+  private record UriTemplate(List<String> parts) {
+
+    /**
+     * @param href a resolved URI
+     * @param placeholders the values that have been used for the variables when resolving the
+     *     URI, in order of appearance
+     */
+    static UriTemplate of(String href, String... placeholders) {
+      var parts = new ArrayList<String>(placeholders.length + 1);
+      int start = 0;
+      for (String placeholder : placeholders) {
+        int end = href.indexOf(placeholder, start);
+        if (end < 0) {
+          throw new IllegalStateException(
+              "Placeholder %s not found in %s".formatted(placeholder, href));
+        }
+        parts.add(href.substring(start, end));
+        start = end + placeholder.length();
+      }
+      parts.add(href.substring(start));
+      return new UriTemplate(List.copyOf(parts));
+    }
+
+    String expand(String baseUri, String... values) {
+      var uri = new StringBuilder(baseUri.length() + 120).append(baseUri).append(parts.get(0));
+      for (int i = 0; i < values.length; i++) {
+        uri.append(values[i]).append(parts.get(i + 1));
+      }
+      return uri.toString();
+    }
+  }
 }
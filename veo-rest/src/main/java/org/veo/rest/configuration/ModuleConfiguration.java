@@ -17,7 +17,9 @@
  ******************************************************************************/
 package org.veo.rest.configuration;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -32,6 +34,7 @@ import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -64,6 +67,7 @@ import org.veo.core.events.MessageCreatorImpl;
 import org.veo.core.repository.AssetRepository;
 import org.veo.core.repository.CatalogItemRepository;
 import org.veo.core.repository.CatalogRepository;
+import org.veo.core.repository.ClientDomainMigrationRepository;
 import org.veo.core.repository.ClientRepository;
 import org.veo.core.repository.DesignatorSequenceRepository;
 import org.veo.core.repository.DomainRepository;
@@ -71,7 +75,9 @@ import org.veo.core.repository.DomainTemplateRepository;
 import org.veo.core.repository.GenericElementRepository;
 import org.veo.core.repository.ProcessRepository;
 import org.veo.core.repository.RepositoryProvider;
+import org.veo.core.repository.ScenarioRepository;
 import org.veo.core.repository.ScopeRepository;
+import org.veo.core.repository.SubTypeStatusCountRepository;
 import org.veo.core.repository.UnitRepository;
 import org.veo.core.service.DomainTemplateIdGenerator;
 import org.veo.core.service.DomainTemplateService;
@@ -129,11 +135,14 @@ import org.veo.core.usecase.domain.ExportDomainUseCase;
 import org.veo.core.usecase.domain.GetDomainUseCase;
 import org.veo.core.usecase.domain.GetDomainsUseCase;
 import org.veo.core.usecase.domain.GetElementStatusCountUseCase;
+import org.veo.core.usecase.domain.MigrateClientDomainUseCase;
+import org.veo.core.usecase.domain.PrepareClientDomainMigrationsUseCase;
 import org.veo.core.usecase.domain.ProfileApplier;
 import org.veo.core.usecase.domain.SaveDecisionUseCase;
 import org.veo.core.usecase.domain.SaveRiskDefinitionUseCase;
 import org.veo.core.usecase.domain.UpdateAllClientDomainsUseCase;
 import org.veo.core.usecase.domain.UpdateElementTypeDefinitionUseCase;
+import org.veo.core.usecase.domain.VerifyElementStatusCountsUseCase;
 import org.veo.core.usecase.domaintemplate.CreateDomainTemplateFromDomainUseCase;
 import org.veo.core.usecase.domaintemplate.CreateDomainTemplateUseCase;
 import org.veo.core.usecase.domaintemplate.FindDomainTemplatesUseCase;
@@ -169,9 +178,12 @@ import org.veo.core.usecase.unit.DeleteUnitUseCase;
 import org.veo.core.usecase.unit.GetUnitDumpUseCase;
 import org.veo.core.usecase.unit.GetUnitUseCase;
 import org.veo.core.usecase.unit.GetUnitsUseCase;
+import org.veo.core.usecase.unit.StreamUnitDumpUseCase;
+import org.veo.core.usecase.unit.StreamingUnitImportUseCase;
 import org.veo.core.usecase.unit.UnitImportUseCase;
 import org.veo.core.usecase.unit.UnitValidator;
 import org.veo.core.usecase.unit.UpdateUnitUseCase;
+import org.veo.message.EventDispatcher;
 import org.veo.persistence.CurrentUserProvider;
 import org.veo.persistence.access.AssetRepositoryImpl;
 import org.veo.persistence.access.ClientRepositoryImpl;
@@ -186,17 +198,27 @@ import org.veo.persistence.access.StoredEventRepository;
 import org.veo.persistence.access.StoredEventRepositoryImpl;
 import org.veo.persistence.access.UnitRepositoryImpl;
 import org.veo.persistence.access.jpa.StoredEventDataRepository;
+import org.veo.persistence.entity.jpa.DecodedJsonCache;
 import org.veo.persistence.entity.jpa.ReferenceSerializationModule;
 import org.veo.persistence.entity.jpa.transformer.EntityDataFactory;
 import org.veo.persistence.entity.jpa.transformer.IdentifiableDataFactory;
+import org.veo.rest.common.ClientCache;
+import org.veo.rest.interactor.UseCaseTaskExecutor;
 import org.veo.rest.security.AuthAwareImpl;
 import org.veo.rest.security.CurrentUserProviderImpl;
 import org.veo.service.CatalogMigrationService;
 import org.veo.service.DefaultDomainCreator;
 import org.veo.service.ElementMigrationService;
 import org.veo.service.EtagService;
+import org.veo.service.VersionCache;
 import org.veo.service.risk.RiskService;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 /**
  * This configuration takes care of wiring classes from core modules (Entity-Layer, Use-Case-Layer)
  * that have no dependency to the Spring framework. They are therefore not picked up and autowired
@@ -437,8 +459,9 @@ public class ModuleConfiguration {
   public DeleteUnitUseCase getDeleteUnitUseCase(
       ClientRepositoryImpl clientRepository,
       UnitRepositoryImpl unitRepository,
-      GenericElementRepository elementRepository) {
-    return new DeleteUnitUseCase(clientRepository, unitRepository, elementRepository);
+      GenericElementRepository elementRepository,
+      @Value("${veo.units.deletion.chunk-size:500}") int chunkSize) {
+    return new DeleteUnitUseCase(clientRepository, unitRepository, elementRepository, chunkSize);
   }
 
   @Bean
@@ -639,8 +662,61 @@ public class ModuleConfiguration {
 
   @Bean
   public DesignatorService designatorService(
-      DesignatorSequenceRepository designatorSequenceRepository) {
-    return new DesignatorService(designatorSequenceRepository);
+      DesignatorSequenceRepository designatorSequenceRepository,
+      @Value("${veo.designators.block-size:10}") int blockSize) {
+    return new DesignatorService(designatorSequenceRepository, blockSize);
+  }
+
+  @Bean
+  public MeterBinder designatorPoolMetrics(DesignatorService designatorService) {
+    return registry -> {
+      FunctionCounter.builder(
+              "veo.designators.reserved",
+              designatorService,
+              DesignatorService::getReservedNumberCount)
+          .description("Designator numbers reserved from the sequences")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.designators.discarded",
+              designatorService,
+              DesignatorService::getDiscardedNumberCount)
+          .description("Reserved designator numbers discarded without being assigned")
+          .register(registry);
+      Gauge.builder("veo.designators.pooled", designatorService, s -> s.getPooledNumberCount())
+          .description("Reserved designator numbers waiting to be assigned")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder messagePublishingMetrics(EventDispatcher eventDispatcher) {
+    return registry -> {
+      FunctionCounter.builder(
+              "veo.messages.published", eventDispatcher, EventDispatcher::getPublishedCount)
+          .description("Event messages published to the broker")
+          .register(registry);
+      FunctionCounter.builder("veo.messages.acked", eventDispatcher, EventDispatcher::getAckedCount)
+          .description("Event messages positively confirmed by the broker")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.messages.nacked", eventDispatcher, EventDispatcher::getNackedCount)
+          .description("Event messages negatively confirmed by the broker")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.messages.returned", eventDispatcher, EventDispatcher::getReturnedCount)
+          .description("Event messages returned by the broker as unroutable")
+          .register(registry);
+      Gauge.builder("veo.messages.inflight", eventDispatcher, d -> d.getInFlightCount())
+          .description("Published event messages awaiting a confirmation")
+          .register(registry);
+      TimeGauge.builder(
+              "veo.messages.outbox.lag",
+              eventDispatcher,
+              TimeUnit.MILLISECONDS,
+              EventDispatcher::getOutboxLagMillis)
+          .description("Age of the oldest stored event that has not been confirmed yet")
+          .register(registry);
+    };
   }
 
   @Bean
@@ -727,12 +803,41 @@ public class ModuleConfiguration {
         accountProvider, genericElementRepository, unitRepository, domainRepository);
   }
 
+  @Bean
+  public StreamUnitDumpUseCase streamUnitDumpUseCase(
+      AccountProvider accountProvider,
+      GenericElementRepository genericElementRepository,
+      UnitRepository unitRepository,
+      DomainRepository domainRepository,
+      @Value("${veo.units.export.chunk-size:500}") int chunkSize) {
+    return new StreamUnitDumpUseCase(
+        accountProvider, genericElementRepository, unitRepository, domainRepository, chunkSize);
+  }
+
   @Bean
   public UnitImportUseCase unitImportUseCase(
       UnitRepository unitRepository, ElementBatchCreator elementBatchCreator) {
     return new UnitImportUseCase(unitRepository, elementBatchCreator);
   }
 
+  @Bean
+  public StreamingUnitImportUseCase streamingUnitImportUseCase(
+      UnitRepository unitRepository,
+      GenericElementRepository genericElementRepository,
+      RepositoryProvider repositoryProvider,
+      ElementBatchCreator elementBatchCreator,
+      DesignatorService designatorService,
+      @Value("${veo.units.import.chunk-size:500}") int chunkSize) {
+    return new StreamingUnitImportUseCase(
+        unitRepository,
+        genericElementRepository,
+        repositoryProvider,
+        elementBatchCreator,
+        designatorService,
+        getEntityStateMapper(),
+        chunkSize);
+  }
+
   @Bean
   public EntityValidator entityValidator(AccountProvider accountProvider) {
     return new EntityValidator(accountProvider);
@@ -780,8 +885,16 @@ public class ModuleConfiguration {
   }
 
   @Bean
-  public EtagService etagService(RepositoryProvider repositoryProvider) {
-    return new EtagService(repositoryProvider);
+  public VersionCache versionCache(
+      @Value("${veo.etag.cache.max-clients:1000}") int maxClients,
+      @Value("${veo.etag.cache.max-entries-per-client:10000}") int maxEntriesPerClient,
+      @Value("${veo.etag.cache.ttl-ms:10000}") long ttlMs) {
+    return new VersionCache(maxClients, maxEntriesPerClient, Duration.ofMillis(ttlMs));
+  }
+
+  @Bean
+  public EtagService etagService(RepositoryProvider repositoryProvider, VersionCache versionCache) {
+    return new EtagService(repositoryProvider, versionCache);
   }
 
   @Bean
@@ -818,9 +931,10 @@ public class ModuleConfiguration {
   public IncomingMessageHandler incomingMessageHandler(
       RepositoryProvider repositoryProvider,
       ElementMigrationService elementMigrationService,
-      CatalogMigrationService catalogMigrationService) {
+      CatalogMigrationService catalogMigrationService,
+      @Value("${veo.element-migration.chunk-size:500}") int chunkSize) {
     return new IncomingMessageHandler(
-        repositoryProvider, elementMigrationService, catalogMigrationService);
+        repositoryProvider, elementMigrationService, catalogMigrationService, chunkSize);
   }
 
   @Bean
@@ -829,14 +943,126 @@ public class ModuleConfiguration {
   }
 
   @Bean
-  public UpdateAllClientDomainsUseCase getUpdateAllClientDomainsUseCase(
+  public PrepareClientDomainMigrationsUseCase prepareClientDomainMigrationsUseCase(
       DomainRepository domainRepository,
-      RepositoryProvider repositoryProvider,
+      ClientDomainMigrationRepository clientDomainMigrationRepository) {
+    return new PrepareClientDomainMigrationsUseCase(
+        domainRepository, clientDomainMigrationRepository);
+  }
+
+  @Bean
+  public MigrateClientDomainUseCase migrateClientDomainUseCase(
+      ClientDomainMigrationRepository clientDomainMigrationRepository,
+      DomainRepository domainRepository,
+      GenericElementRepository genericElementRepository,
       UnitRepository unitRepository,
       ElementMigrationService elementMigrationService,
       Decider decider) {
+    return new MigrateClientDomainUseCase(
+        clientDomainMigrationRepository,
+        domainRepository,
+        genericElementRepository,
+        unitRepository,
+        elementMigrationService,
+        decider);
+  }
+
+  @Bean
+  public UpdateAllClientDomainsUseCase getUpdateAllClientDomainsUseCase(
+      PrepareClientDomainMigrationsUseCase prepareClientDomainMigrationsUseCase,
+      MigrateClientDomainUseCase migrateClientDomainUseCase,
+      @Value("${veo.domain-migration.parallelism:4}") int parallelism,
+      @Value("${veo.domain-migration.chunk-size:500}") int chunkSize) {
     return new UpdateAllClientDomainsUseCase(
-        domainRepository, repositoryProvider, unitRepository, elementMigrationService, decider);
+        prepareClientDomainMigrationsUseCase,
+        migrateClientDomainUseCase,
+        parallelism,
+        chunkSize,
+        DelegatingSecurityContextRunnable::new);
+  }
+
+  @Bean
+  public MeterBinder domainMigrationMetrics(UpdateAllClientDomainsUseCase useCase) {
+    return registry -> {
+      FunctionCounter.builder(
+              "veo.domain-migration.clients.migrated",
+              useCase,
+              u -> u.getMigratedClientCount().get())
+          .description("Clients migrated to a new domain version")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.domain-migration.clients.failed",
+              useCase,
+              u -> u.getFailedClientCount().get())
+          .description("Client domain migrations that have failed")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.domain-migration.elements",
+              useCase,
+              u -> u.getProcessedElementCount().get())
+          .description("Elements processed by client domain migrations")
+          .register(registry);
+      Gauge.builder(
+              "veo.domain-migration.clients.pending",
+              useCase,
+              u -> u.getPendingClientCount().get())
+          .description("Client domain migrations waiting to be completed")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder clientCacheMetrics(ClientCache clientCache) {
+    return registry -> {
+      FunctionCounter.builder("veo.client-cache.hits", clientCache, ClientCache::getHitCount)
+          .description("Client lookups served from the client cache")
+          .register(registry);
+      FunctionCounter.builder("veo.client-cache.misses", clientCache, ClientCache::getMissCount)
+          .description("Client lookups that had to load the client")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.client-cache.evictions", clientCache, ClientCache::getEvictionCount)
+          .description("Cached clients evicted due to changes")
+          .register(registry);
+      Gauge.builder("veo.client-cache.size", clientCache, c -> c.getSize())
+          .description("Clients currently cached")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder versionCacheMetrics(VersionCache versionCache) {
+    return registry -> {
+      FunctionCounter.builder("veo.etag-cache.hits", versionCache, VersionCache::getHitCount)
+          .description("ETag lookups served from the version cache")
+          .register(registry);
+      FunctionCounter.builder("veo.etag-cache.misses", versionCache, VersionCache::getMissCount)
+          .description("ETag lookups that had to load the version")
+          .register(registry);
+      Gauge.builder("veo.etag-cache.size", versionCache, c -> c.getSize())
+          .description("Entity versions currently cached")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder decodedJsonCacheMetrics() {
+    var cache = DecodedJsonCache.getInstance();
+    return registry -> {
+      FunctionCounter.builder("veo.decoded-json-cache.hits", cache, DecodedJsonCache::getHitCount)
+          .description("Domain configuration content reused without decoding")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.decoded-json-cache.misses", cache, DecodedJsonCache::getMissCount)
+          .description("Domain configuration content that had to be decoded")
+          .register(registry);
+      Gauge.builder("veo.decoded-json-cache.size", cache, c -> c.getSize())
+          .description("Decoded domain configuration values currently cached")
+          .register(registry);
+      Gauge.builder("veo.decoded-json-cache.weight", cache, c -> c.getWeight())
+          .description("Total length of the cached domain configuration content in characters")
+          .register(registry);
+    };
   }
 
   @Bean
@@ -879,8 +1105,53 @@ public class ModuleConfiguration {
       ProcessRepository processRepository,
       AssetRepository assetRepository,
       ScopeRepository scopeRepository,
+      ScenarioRepository scenarioRepository,
       EventPublisher publisher) {
-    return new RiskService(processRepository, assetRepository, scopeRepository, publisher);
+    return new RiskService(
+        processRepository, assetRepository, scopeRepository, scenarioRepository, publisher);
+  }
+
+  @Bean
+  public MeterBinder riskEvaluationMetrics(RiskService riskService) {
+    return registry -> {
+      FunctionTimer.builder(
+              "veo.risks.evaluation",
+              riskService,
+              RiskService::getEvaluationCount,
+              RiskService::getEvaluationNanos,
+              TimeUnit.NANOSECONDS)
+          .description("Recalculations of risks affected by changed elements")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.risks.evaluated", riskService, RiskService::getEvaluatedRiskCount)
+          .description("Risks recalculated due to changed elements")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.risks.evaluated.categories", riskService, RiskService::getEvaluatedCategoryCount)
+          .description("Risk values determined again per domain, risk definition & category")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder useCaseExecutionMetrics(UseCaseTaskExecutor useCaseTaskExecutor) {
+    return registry -> {
+      FunctionTimer.builder(
+              "veo.usecases.wait",
+              useCaseTaskExecutor,
+              UseCaseTaskExecutor::getStartedCount,
+              UseCaseTaskExecutor::getWaitNanos,
+              TimeUnit.NANOSECONDS)
+          .description("Time that use cases have waited before they were started")
+          .register(registry);
+      Gauge.builder("veo.usecases.active", useCaseTaskExecutor, e -> e.getActiveCount())
+          .description("Use cases that are currently running")
+          .register(registry);
+      FunctionCounter.builder(
+              "veo.usecases.rejected", useCaseTaskExecutor, UseCaseTaskExecutor::getRejectedCount)
+          .description("Use cases that have been rejected because the executor was saturated")
+          .register(registry);
+    };
   }
 
   @Bean
@@ -926,8 +1197,15 @@ public class ModuleConfiguration {
   GetElementStatusCountUseCase getElementStatusCountUseCase(
       DomainRepository domainRepository,
       UnitRepository unitRepository,
-      RepositoryProvider repositoryProvider) {
-    return new GetElementStatusCountUseCase(domainRepository, unitRepository, repositoryProvider);
+      SubTypeStatusCountRepository subTypeStatusCountRepository) {
+    return new GetElementStatusCountUseCase(
+        domainRepository, unitRepository, subTypeStatusCountRepository);
+  }
+
+  @Bean
+  VerifyElementStatusCountsUseCase verifyElementStatusCountsUseCase(
+      AccountProvider accountProvider, SubTypeStatusCountRepository subTypeStatusCountRepository) {
+    return new VerifyElementStatusCountsUseCase(accountProvider, subTypeStatusCountRepository);
   }
 
   @Bean
@@ -19,7 +19,6 @@ package org.veo.rest.configuration;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
@@ -29,5 +28,4 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @ConditionalOnProperty(value = "veo.scheduler.active", havingValue = "true")
 @Configuration
 @EnableScheduling
-@EnableRetry
 public class SchedulingConfiguration {}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.interactor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Executes the use cases that are invoked asynchronously by {@link UseCaseInteractorImpl}, either
+ * on a dedicated thread pool or directly on the calling (request) thread. Records how long tasks
+ * wait before they start, how many tasks are running and how many have been rejected.
+ *
+ * <p>When running on the calling thread, the number of concurrent executions is limited (usually to
+ * the size of the database connection pool), so that excess requests wait here instead of holding
+ * a request thread while blocking inside the connection pool. A task that cannot start within the
+ * configured time is rejected.
+ */
+public class UseCaseTaskExecutor implements AsyncTaskExecutor {
+
+  /** Thread pool to run tasks on, {@code null} to run them on the calling thread. */
+  private final Executor pool;
+
+  private final Semaphore permits;
+  private final long maxWaitMs;
+
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final AtomicLong startedCount = new AtomicLong();
+  private final AtomicLong waitNanos = new AtomicLong();
+  private final AtomicLong rejectedCount = new AtomicLong();
+
+  private UseCaseTaskExecutor(Executor pool, Semaphore permits, long maxWaitMs) {
+    this.pool = pool;
+    this.permits = permits;
+    this.maxWaitMs = maxWaitMs;
+  }
+
+  /** Runs tasks on given pool. */
+  public static UseCaseTaskExecutor pooled(Executor pool) {
+    return new UseCaseTaskExecutor(pool, null, 0);
+  }
+
+  /**
+   * Runs tasks on the calling thread, with at most the given number of tasks running at the same
+   * time.
+   *
+   * @param maxConcurrency maximum number of tasks that run at the same time
+   * @param maxWaitMs maximum time that a task waits for another task to finish before it is
+   *     rejected
+   */
+  public static UseCaseTaskExecutor callerRuns(int maxConcurrency, long maxWaitMs) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be at least 1");
+    }
+    return new UseCaseTaskExecutor(null, new Semaphore(maxConcurrency, true), maxWaitMs);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    long submittedAt = System.nanoTime();
+    if (pool == null) {
+      acquirePermit();
+      try {
+        runInstrumented(task, submittedAt);
+      } finally {
+        permits.release();
+      }
+      return;
+    }
+    try {
+      pool.execute(() -> runInstrumented(task, submittedAt));
+    } catch (RejectedExecutionException ex) {
+      rejectedCount.incrementAndGet();
+      throw ex;
+    }
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    var future = new FutureTask<>(task, null);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    var future = new FutureTask<>(task);
+    execute(future);
+    return future;
+  }
+
+  private void acquirePermit() {
+    try {
+      if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+        rejectedCount.incrementAndGet();
+        throw new TaskRejectedException(
+            "Use case could not be started within %d ms".formatted(maxWaitMs));
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      rejectedCount.incrementAndGet();
+      throw new TaskRejectedException("Interrupted while waiting to start use case", ex);
+    }
+  }
+
+  private void runInstrumented(Runnable task, long submittedAt) {
+    waitNanos.addAndGet(System.nanoTime() - submittedAt);
+    startedCount.incrementAndGet();
+    activeCount.incrementAndGet();
+    try {
+      task.run();
+    } finally {
+      activeCount.decrementAndGet();
+    }
+  }
+
+  /** Number of tasks that are currently running. */
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  /** Number of tasks that have been started. */
+  public long getStartedCount() {
+    return startedCount.get();
+  }
+
+  /** Total time that started tasks have waited before they were started. */
+  public long getWaitNanos() {
+    return waitNanos.get();
+  }
+
+  /** Number of tasks that have been rejected because the executor was saturated. */
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+}
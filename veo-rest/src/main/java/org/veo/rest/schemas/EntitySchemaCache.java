@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.schemas;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import org.veo.core.usecase.common.ETag;
+
+/**
+ * Caches generated entity schemas by element type, the IDs & versions of the domains they were
+ * generated for and the roles they were filtered for. Any change to a domain's element type
+ * definitions or risk definitions increments the domain version, so schemas that are outdated
+ * because of changes on other nodes are never served. Only a limited number of least recently used
+ * schemas is kept.
+ */
+@Component
+public class EntitySchemaCache {
+  private static final int MAX_ENTRIES = 500;
+
+  private final Map<CacheKey, CachedSchema> entries =
+      Collections.synchronizedMap(new Entries(MAX_ENTRIES));
+
+  /**
+   * Returns the cached schema for given type, domain versions & roles, generating and caching it if
+   * necessary.
+   *
+   * @param domainVersions domain versions by domain ID
+   * @param roles roles that the schema is filtered for
+   * @param generator generates the schema, already filtered for the given roles
+   */
+  public CachedSchema get(
+      String type,
+      SortedMap<String, Long> domainVersions,
+      SortedSet<String> roles,
+      Supplier<String> generator) {
+    var key = new CacheKey(type, domainVersions, roles);
+    var cached = entries.get(key);
+    if (cached == null) {
+      var schema = generator.get();
+      cached = new CachedSchema(schema, ETag.from(schema, 0));
+      entries.putIfAbsent(key, cached);
+    }
+    return cached;
+  }
+
+  /** Removes all cached schemas that were generated for given domain. */
+  public void evictDomain(String domainId) {
+    synchronized (entries) {
+      entries.keySet().removeIf(key -> key.domainVersions().containsKey(domainId));
+    }
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @param schema serialized schema, filtered for the roles it was requested with
+   * @param eTag ETag derived from the serialized & filtered schema
+   */
+  public record CachedSchema(String schema, String eTag) {}
+
+  private record CacheKey(
+      String type, SortedMap<String, Long> domainVersions, SortedSet<String> roles) {}
+
+  /** Cached schemas in access order. */
+  private static final class Entries extends LinkedHashMap<CacheKey, CachedSchema> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+
+    Entries(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedSchema> eldest) {
+      return size() > maxEntries;
+    }
+  }
+}
@@ -19,12 +19,14 @@ package org.veo.rest.schemas.controller;
 
 import static org.veo.core.entity.Key.uuidFrom;
 
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
@@ -35,9 +37,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import org.veo.core.entity.Domain;
+import org.veo.core.entity.Key;
 import org.veo.core.entity.exception.NotFoundException;
 import org.veo.core.repository.DomainRepository;
 import org.veo.core.service.EntitySchemaService;
+import org.veo.rest.schemas.EntitySchemaCache;
 import org.veo.rest.schemas.resource.EntitySchemaResource;
 import org.veo.rest.security.ApplicationUser;
 
@@ -55,6 +59,7 @@ public class EntitySchemaController implements EntitySchemaResource {
 
   private final EntitySchemaService schemaService;
   private final DomainRepository domainRepository;
+  private final EntitySchemaCache schemaCache;
 
   @Override
   public Future<ResponseEntity<String>> getSchema(
@@ -64,29 +69,46 @@ public class EntitySchemaController implements EntitySchemaResource {
     return CompletableFuture.supplyAsync(
         () -> {
           ApplicationUser user = ApplicationUser.authenticatedUser(auth.getPrincipal());
-          List<String> userRoles =
-              user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+          var userRoles =
+              user.getAuthorities().stream()
+                  .map(GrantedAuthority::getAuthority)
+                  .collect(Collectors.toCollection(TreeSet::new));
           // TODO define schema-roles for users
           // TODO use valid 'domain' class
 
-          var clientDomainsById =
-              domainRepository
-                  .findAllByClientWithEntityTypeDefinitionsAndRiskDefinitions(
-                      uuidFrom(user.getClientId()))
-                  .stream()
-                  .collect(Collectors.toMap(Domain::getIdAsString, Function.identity()));
-          Set<Domain> domains = new HashSet<>(domainIDs.size());
+          var clientId = uuidFrom(user.getClientId());
+          var clientDomainVersions =
+              domainRepository.findVersionsByClient(clientId).entrySet().stream()
+                  .collect(Collectors.toMap(e -> e.getKey().uuidValue(), Map.Entry::getValue));
+          var domainVersions = new TreeMap<String, Long>();
           for (String domainId : domainIDs) {
-            Domain domain = clientDomainsById.get(domainId);
-            if (domain == null) {
+            Long version = clientDomainVersions.get(domainId);
+            if (version == null) {
               throw new NotFoundException(domainId, Domain.class);
             }
-            domains.add(domain);
+            domainVersions.put(domainId, version);
           }
 
-          String schema =
-              schemaService.roleFilter(userRoles, schemaService.findSchema(type, domains));
-          return ResponseEntity.ok().body(schema);
+          // The schema is filtered before it is cached, so the ETag also covers the user's roles.
+          var cachedSchema =
+              schemaCache.get(
+                  type,
+                  domainVersions,
+                  userRoles,
+                  () ->
+                      schemaService.roleFilter(
+                          List.copyOf(userRoles), generateSchema(clientId, type, domainVersions)));
+          return ResponseEntity.ok().eTag(cachedSchema.eTag()).body(cachedSchema.schema());
         });
   }
+
+  private String generateSchema(Key<UUID> clientId, String type, Map<String, Long> domainVersions) {
+    Set<Domain> domains =
+        domainRepository
+            .findAllByClientWithEntityTypeDefinitionsAndRiskDefinitions(clientId)
+            .stream()
+            .filter(d -> domainVersions.containsKey(d.getIdAsString()))
+            .collect(Collectors.toSet());
+    return schemaService.findSchema(type, domains);
+  }
 }
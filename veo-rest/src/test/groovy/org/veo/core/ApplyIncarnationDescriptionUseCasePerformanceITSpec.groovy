@@ -98,11 +98,73 @@ class ApplyIncarnationDescriptionUseCasePerformanceITSpec extends AbstractPerfor
         queryCounts = QueryCountHolder.grandTotal
 
         then:
-        queryCounts.select == 10
+        queryCounts.select == 5
         queryCounts.insert == 22
         queryCounts.time < 500
     }
 
+    def "SQL performance for applying a large catalog"() {
+        given: 'two catalogs of linked controls with different sizes'
+        createClient()
+        Catalog smallCatalog = createLargeCatalog('small', 50)
+        Catalog largeCatalog = createLargeCatalog('large', 300)
+
+        when: 'applying all items of each catalog'
+        def smallQueryCounts = applyAllItems(smallCatalog)
+        def largeQueryCounts = applyAllItems(largeCatalog)
+
+        then: 'the number of selects does not depend on the number of items'
+        largeQueryCounts.select == smallQueryCounts.select
+        largeQueryCounts.time < 5000
+
+        and: 'all links have been resolved within the batch'
+        executeInTransaction {
+            controlDataRepository.findAll().findAll { it.links.size() == 1 }.size() == 49 + 299
+        }
+    }
+
+    private applyAllItems(Catalog catalog) {
+        def description = executeInTransaction {
+            synchronousUseCaseInteractor.execute(getIncarnationDescriptionUseCase,
+                    new GetIncarnationDescriptionUseCase.InputData(client, unit.id, catalog.catalogItems.collect{it.id}),
+                    Function.identity()).get()
+        }
+        QueryCountHolder.clear()
+        executeInTransaction {
+            synchronousUseCaseInteractor.execute(applyIncarnationDescriptionUseCase,
+                    new ApplyIncarnationDescriptionUseCase.InputData(client, unit.id, description.references),
+                    Function.identity()).get()
+        }
+        QueryCountHolder.grandTotal
+    }
+
+    Catalog createLargeCatalog(String catalogName, int itemCount) {
+        executeInTransaction {
+            def domain = client.domains.first()
+            Catalog catalog = newCatalog(domain) {
+                name = catalogName
+            }
+            List<CatalogItem> items = []
+            itemCount.times { n ->
+                CatalogItem item = newCatalogItem(catalog, {
+                    elementType = Control.SINGULAR_TERM
+                    subType = "Test"
+                    status = "NEW"
+                    name = "$catalogName-$n"
+                })
+                if (n > 0) {
+                    newLinkTailoringReference(item, TailoringReferenceType.LINK) {
+                        catalogItem = items[n - 1]
+                        linkType = "aLink"
+                    }
+                }
+                items << item
+            }
+            catalog.catalogItems = items as Set
+            catalogRepository.save(catalog)
+        }
+    }
+
     Client createClient() {
         executeInTransaction {
             client = newClient()
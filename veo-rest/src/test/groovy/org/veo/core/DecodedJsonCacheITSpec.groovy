@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.test.context.support.WithUserDetails
+
+import org.veo.core.entity.profile.ProfileRef
+import org.veo.core.usecase.decision.Decider
+import org.veo.core.usecase.domain.ApplyProfileUseCase
+import org.veo.persistence.entity.jpa.DecodedJsonCache
+
+/**
+ * Decoded domain configuration is shared between sessions and clients, so nothing may modify it.
+ */
+@WithUserDetails("user@domain.example")
+class DecodedJsonCacheITSpec extends VeoSpringSpec {
+
+    @Autowired
+    ApplyProfileUseCase applyProfileUseCase
+
+    @Autowired
+    Decider decider
+
+    def "shared domain configuration is not modified by use cases"() {
+        given: "domains of two clients created from the same template"
+        def client = createTestClient()
+        def domain = createTestDomain(client, DSGVO_DOMAINTEMPLATE_UUID)
+        def otherDomain = createTestDomain(clientDataRepository.save(newClient()), DSGVO_DOMAINTEMPLATE_UUID)
+        def loadConfiguration = { String domainId ->
+            executeInTransaction {
+                domainDataRepository.findById(domainId).get().with {
+                    [
+                        riskDefinitions.DSRA,
+                        decisions.piaMandatory,
+                        profiles.exampleOrganization
+                    ]
+                }
+            }
+        }
+        def configuration = loadConfiguration(domain.idAsString)
+        def encodedConfiguration = configuration.collect { DecodedJsonCache.encode(it) }
+
+        expect: "the decoded configuration is shared between the clients"
+        [
+            loadConfiguration(otherDomain.idAsString),
+            configuration
+        ].transpose().every { a, b -> a.is(b) }
+
+        when: "applying a profile, which creates risks and evaluates decisions and inspections"
+        def unit = unitDataRepository.save(newUnit(client))
+        executeInTransaction {
+            applyProfileUseCase.execute(new ApplyProfileUseCase.InputData(client.id, domain.id, new ProfileRef("exampleOrganization"), unit.id))
+        }
+
+        and: "making decisions on the elements again"
+        executeInTransaction {
+            def reloadedDomain = domainDataRepository.findById(domain.idAsString).get()
+            processDataRepository.findAll().each { decider.decide(it, reloadedDomain) }
+        }
+
+        then: "the shared configuration is still in use and unchanged"
+        [
+            loadConfiguration(domain.idAsString),
+            configuration
+        ].transpose().every { a, b -> a.is(b) }
+        configuration.collect { DecodedJsonCache.encode(it) } == encodedConfiguration
+    }
+}
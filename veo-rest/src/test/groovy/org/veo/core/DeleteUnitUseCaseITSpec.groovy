@@ -25,13 +25,16 @@ import org.springframework.test.context.DynamicPropertySource
 import org.veo.core.entity.Client
 import org.veo.core.entity.Unit
 import org.veo.core.entity.profile.ProfileRef
+import org.veo.core.repository.GenericElementRepository
 import org.veo.core.repository.UnitRepository
 import org.veo.core.usecase.domain.ApplyProfileUseCase
 import org.veo.core.usecase.unit.DeleteUnitUseCase
 import org.veo.core.usecase.unit.DeleteUnitUseCase.InputData
 import org.veo.persistence.access.ClientRepositoryImpl
+import org.veo.persistence.access.jpa.StoredEventDataRepository
 import org.veo.persistence.metrics.DataSourceProxyBeanPostProcessor
 
+import groovy.json.JsonSlurper
 import net.ttddyy.dsproxy.QueryCountHolder
 
 @WithUserDetails("user@domain.example")
@@ -49,9 +52,17 @@ class DeleteUnitUseCaseITSpec extends AbstractPerformanceITSpec {
     @Autowired
     private DeleteUnitUseCase deleteUnitUseCase
 
+    @Autowired
+    private GenericElementRepository genericElementRepository
+
+    @Autowired
+    private StoredEventDataRepository storedEventRepository
+
     @DynamicPropertySource
     static void setRowCount(DynamicPropertyRegistry registry) {
         registry.add("veo.logging.datasource.row_count", { -> true })
+        // the query counts below are for units that are deleted in a single chunk
+        registry.add("veo.units.deletion.chunk-size", { -> 1000 })
     }
 
     def "delete a unit with example elements"() {
@@ -149,6 +160,59 @@ class DeleteUnitUseCaseITSpec extends AbstractPerformanceITSpec {
         }
     }
 
+    def "delete a unit in chunks"() {
+        given: 'a unit with elements that reference each other across chunks'
+        def client = createTestClient()
+        def testDomain = createTestDomain(client, DSGVO_DOMAINTEMPLATE_UUID)
+        def unit = executeInTransaction {
+            def unit = unitDataRepository.save( newUnit(client).tap { unit->
+                addToDomains(testDomain)
+            })
+            def scenarios = scenarioDataRepository.saveAll((0..19).collect{
+                newScenario(unit)
+            })
+            def processes = processDataRepository.saveAll((0..19).collect{ i->
+                newProcess(unit).tap {
+                    associateWithDomain(testDomain, 'PRO_DataProcessing', 'NEW')
+                    obtainRisk(scenarios[i], testDomain).tap {
+                        assignDesignator(it)
+                    }
+                    links = [
+                        newCustomLink(scenarios[19 - i], "process_scenario", testDomain)
+                    ]
+                }
+            })
+            scopeDataRepository.saveAll((0..19).collect{ i->
+                newScope(unit).tap {
+                    addMember(scenarios[19 - i])
+                    addMember(processes[i])
+                }
+            })
+            unit
+        }
+        def useCase = new DeleteUnitUseCase(clientRepository, unitRepository, genericElementRepository, 7)
+
+        when: 'deleting the unit in chunks of seven elements'
+        executeInTransaction {
+            useCase.execute(new InputData(unit.id, unit.client))
+        }
+
+        then: 'all elements are gone'
+        unitDataRepository.findById(unit.idAsString).empty
+        scopeDataRepository.count() == 0
+        processDataRepository.count() == 0
+        scenarioDataRepository.count() == 0
+
+        and: 'deletion messages have been created for the elements of all chunks'
+        def deletions = storedEventRepository.findAll()
+                .findAll { it.routingKey.endsWith("entity_revision") }
+                .collect { new JsonSlurper().parseText(it.content) }
+                .findAll { it.clientId == client.idAsString && it.type == "HARD_DELETION" }
+        deletions.count { it.uri.contains("/scopes/") } == 20
+        deletions.count { it.uri.contains("/processes/") } == 20
+        deletions.count { it.uri.contains("/scenarios/") } == 20
+    }
+
     def runUseCase(Unit unit) {
         executeInTransaction {
             deleteUnitUseCase.execute(new InputData(unit.id, unit.client))
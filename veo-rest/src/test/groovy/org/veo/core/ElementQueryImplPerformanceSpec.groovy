@@ -17,6 +17,7 @@
  ******************************************************************************/
 package org.veo.core
 
+import org.hibernate.Session
 import org.springframework.beans.factory.annotation.Autowired
 
 import org.veo.core.entity.Client
@@ -29,14 +30,19 @@ import org.veo.core.entity.risk.ImplementationStatusRef
 import org.veo.core.entity.risk.RiskDefinitionRef
 import org.veo.core.repository.DomainRepository
 import org.veo.core.repository.PagingConfiguration
+import org.veo.core.repository.QueryCondition
 import org.veo.persistence.access.AssetRepositoryImpl
 import org.veo.persistence.access.ClientRepositoryImpl
 import org.veo.persistence.access.GenericElementRepositoryImpl
 import org.veo.persistence.access.ProcessRepositoryImpl
 import org.veo.persistence.access.UnitRepositoryImpl
 import org.veo.persistence.entity.jpa.ProcessData
+import org.veo.persistence.metrics.DataSourceProxyBeanPostProcessor
 
+import jakarta.persistence.EntityManager
 import net.ttddyy.dsproxy.QueryCountHolder
+import net.ttddyy.dsproxy.QueryInfo
+import spock.lang.Requires
 
 class ElementQueryImplPerformanceSpec extends AbstractPerformanceITSpec {
 
@@ -58,6 +64,9 @@ class ElementQueryImplPerformanceSpec extends AbstractPerformanceITSpec {
     @Autowired
     private GenericElementRepositoryImpl elementRepository
 
+    @Autowired
+    private EntityManager entityManager
+
     private Client client
     Domain domain
     private Unit unit
@@ -157,4 +166,194 @@ class ElementQueryImplPerformanceSpec extends AbstractPerformanceITSpec {
         QueryCountHolder.grandTotal.select == 5
         QueryCountHolder.grandTotal.time < 500
     }
+
+    def "query loads #elementCount elements in batches"() {
+        given:
+        saveProcesses(elementCount)
+
+        when:
+        QueryCountHolder.clear()
+        def result = txTemplate.execute {
+            processRepository.query(client).execute(PagingConfiguration.UNPAGED)
+        }
+        def batchCount = Math.ceil(elementCount / 1000) as int
+
+        then: "the number of queries only grows with the number of batches"
+        result.resultPage.size() == elementCount
+        QueryCountHolder.grandTotal.select <= 1 + 4 * batchCount
+
+        and: "nothing is written"
+        QueryCountHolder.grandTotal.insert == 0
+        QueryCountHolder.grandTotal.update == 0
+        QueryCountHolder.grandTotal.delete == 0
+
+        where:
+        elementCount << [100, 1_000, 10_000]
+    }
+
+    @Requires({ env.VEO_LARGE_PERFORMANCE_TESTS })
+    def "query loads 100k elements in batches"() {
+        given:
+        saveProcesses(100_000)
+
+        when:
+        QueryCountHolder.clear()
+        def start = System.currentTimeMillis()
+        def result = txTemplate.execute {
+            processRepository.query(client).execute(PagingConfiguration.UNPAGED)
+        }
+        def wallTime = System.currentTimeMillis() - start
+
+        then:
+        result.resultPage.size() == 100_000
+        QueryCountHolder.grandTotal.select <= 1 + 4 * 100
+
+        and: "loading 100k elements stays within five minutes"
+        wallTime < 300_000
+    }
+
+    def "text filters are backed by trigram indexes"() {
+        given:
+        saveSearchableProcesses()
+        def filters = [
+            display_name: { it.whereDisplayNameMatchesIgnoringCase(new QueryCondition<>(Set.of("ocess 4711"))) },
+            name: { it.whereNameMatchesIgnoreCase(new QueryCondition<>(Set.of("PROCESS 4711"))) },
+            description: { it.whereDescriptionMatchesIgnoreCase(new QueryCondition<>(Set.of("of process 4711"))) },
+            designator: { it.whereDesignatorMatchesIgnoreCase(new QueryCondition<>(Set.of("prc-4711"))) },
+            updated_by: { it.whereUpdatedByContainsIgnoreCase(new QueryCondition<>(Set.of("nobody"))) },
+        ]
+        txTemplate.execute {
+            entityManager.createNativeQuery("analyze element").executeUpdate()
+        }
+
+        when: "the SQL generated for each filter is captured"
+        def queries = filters.collectEntries { column, filter ->
+            [
+                (column): captureFilterQuery(filter)
+            ]
+        }
+
+        and: "the planner is asked for the captured queries"
+        def plans = txTemplate.execute {
+            queries.collectEntries { column, query ->
+                [
+                    (column): explain(query)
+                ]
+            }
+        }
+
+        then: "the trigram indexes are used"
+        plans.each { column, plan ->
+            assert plan.contains("Bitmap Index Scan on idx_element_${column}_trgm")
+        }
+
+        when: "the name query is planned without the index"
+        def seqScanPlan = txTemplate.execute {
+            entityManager.createNativeQuery("set local enable_bitmapscan = off").executeUpdate()
+            explain(queries.name)
+        }
+
+        then:
+        seqScanPlan.contains("Seq Scan on element")
+
+        when: "the query filters by name"
+        def result = txTemplate.execute {
+            processRepository.query(client).with {
+                filters.name(it)
+                execute(PagingConfiguration.UNPAGED)
+            }
+        }
+
+        then:
+        result.totalResults == 1
+        result.resultPage.first().name == "process 4711"
+    }
+
+    @Requires({ env.VEO_LARGE_PERFORMANCE_TESTS })
+    def "trigram indexes speed up text filters"() {
+        given:
+        saveSearchableProcesses()
+        txTemplate.execute {
+            entityManager.createNativeQuery("analyze element").executeUpdate()
+        }
+        def filterByName = { boolean useIndex ->
+            txTemplate.execute {
+                if (!useIndex) {
+                    entityManager.createNativeQuery("set local enable_bitmapscan = off").executeUpdate()
+                }
+                def start = System.nanoTime()
+                def result = processRepository.query(client).with {
+                    whereNameMatchesIgnoreCase(new QueryCondition<>(Set.of("PROCESS 4711")))
+                    execute(PagingConfiguration.UNPAGED)
+                }
+                [
+                    result,
+                    (System.nanoTime() - start).intdiv(1_000_000)
+                ]
+            }
+        }
+        filterByName(true)
+        filterByName(false)
+
+        when:
+        def (indexedResult, indexedMillis) = filterByName(true)
+        def (seqScanResult, seqScanMillis) = filterByName(false)
+
+        then:
+        indexedResult.totalResults == 1
+        seqScanResult.totalResults == 1
+        indexedMillis < 1_000
+        indexedMillis < seqScanMillis
+    }
+
+    private void saveSearchableProcesses() {
+        (1..10_000).collate(1000).each { batch ->
+            txTemplate.execute {
+                processDataRepository.saveAll(batch.collect { i ->
+                    newProcess(unit) {
+                        name = "process $i"
+                        description = "description of process $i"
+                    }
+                })
+            }
+        }
+    }
+
+    /** Runs a process query with given filter and returns the generated SQL that applies it. */
+    private QueryInfo captureFilterQuery(Closure filter) {
+        DataSourceProxyBeanPostProcessor.recordQueries {
+            txTemplate.execute {
+                processRepository.query(client).with {
+                    filter(it)
+                    execute(PagingConfiguration.UNPAGED)
+                }
+            }
+        }.find { it.query.contains(" like ") }
+    }
+
+    /** Explains given query with the parameters it has been executed with. */
+    private String explain(QueryInfo queryInfo) {
+        entityManager.unwrap(Session).doReturningWork { connection ->
+            connection.prepareStatement("explain analyze " + queryInfo.query).withCloseable { statement ->
+                queryInfo.parametersList.first().each {
+                    it.method.invoke(statement, it.args)
+                }
+                statement.executeQuery().withCloseable { resultSet ->
+                    def lines = []
+                    while (resultSet.next()) {
+                        lines << resultSet.getString(1)
+                    }
+                    lines.join("\n")
+                }
+            }
+        }
+    }
+
+    private void saveProcesses(int count) {
+        (1..count).collate(1000).each { batch ->
+            txTemplate.execute {
+                processDataRepository.saveAll(batch.collect { newProcess(unit) })
+            }
+        }
+    }
 }
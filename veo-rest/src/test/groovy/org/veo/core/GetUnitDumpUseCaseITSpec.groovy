@@ -20,10 +20,15 @@ package org.veo.core
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.security.test.context.support.WithUserDetails
 
+import org.veo.core.entity.AccountProvider
 import org.veo.core.entity.Client
 import org.veo.core.entity.Domain
 import org.veo.core.entity.Unit
+import org.veo.core.repository.DomainRepository
+import org.veo.core.repository.GenericElementRepository
+import org.veo.core.repository.UnitRepository
 import org.veo.core.usecase.unit.GetUnitDumpUseCase
+import org.veo.core.usecase.unit.StreamUnitDumpUseCase
 
 @WithUserDetails("user@domain.example")
 class GetUnitDumpUseCaseITSpec extends VeoSpringSpec {
@@ -35,6 +40,18 @@ class GetUnitDumpUseCaseITSpec extends VeoSpringSpec {
     @Autowired
     GetUnitDumpUseCase getUnitDumpUseCase
 
+    @Autowired
+    AccountProvider accountProvider
+
+    @Autowired
+    GenericElementRepository genericElementRepository
+
+    @Autowired
+    UnitRepository unitRepository
+
+    @Autowired
+    DomainRepository domainRepository
+
     def setup() {
         client = createTestClient()
         testDomain = createTestDomain(client, TEST_DOMAIN_TEMPLATE_ID)
@@ -81,4 +98,64 @@ class GetUnitDumpUseCaseITSpec extends VeoSpringSpec {
             it.links*.type == ["necessaryData"]
         }
     }
+
+    def "streams elements in chunks"() {
+        given: "a unit with elements in both domains"
+        def scenario = scenarioDataRepository.save(newScenario(unit) {
+            name = "scenario"
+            associateWithDomain(testDomain, "NormalScenario", "NEW")
+        })
+        def dsgvoControl = controlDataRepository.save(newControl(unit) {
+            name = "dsgvo control"
+            associateWithDomain(dsgvoDomain, "CTL_TOM", "NEW")
+        })
+        def parts = (1..4).collect { n ->
+            assetDataRepository.save(newAsset(unit) {
+                name = "part $n"
+                associateWithDomain(testDomain, "Information", "CURRENT")
+            })
+        }
+        executeInTransaction {
+            def composite = newAsset(unit) {
+                name = "composite"
+                associateWithDomain(testDomain, "Information", "CURRENT")
+                setParts(parts.toSet())
+            }
+            composite.obtainRisk(scenario, testDomain).tap {
+                designator = "RSK-1"
+                createdBy = "me"
+                updatedBy = "me"
+                mitigate(dsgvoControl)
+            }
+            assetDataRepository.save(composite)
+        }
+        def useCase = new StreamUnitDumpUseCase(accountProvider, genericElementRepository, unitRepository, domainRepository, 2)
+
+        when: "streaming the dump for the test domain"
+        def chunks = []
+        def risks = []
+        executeInTransaction {
+            useCase.execute(new StreamUnitDumpUseCase.InputData(unit.id, testDomain.id)).elements.forEach { chunk ->
+                chunks << chunk*.name
+                chunk.findAll { it.name == "composite" }.each { composite ->
+                    assert composite.parts*.name ==~ parts*.name
+                    risks.addAll(composite.risks.collect { [it.scenario.name, it.mitigation?.name] })
+                }
+            }
+        }
+
+        then: "all elements in the test domain have been provided in chunks"
+        chunks*.size() == [2, 2, 2]
+        chunks.flatten() ==~ [
+            "scenario",
+            "part 1",
+            "part 2",
+            "part 3",
+            "part 4",
+            "composite"
+        ]
+
+        and: "references to elements outside of the dump have been removed"
+        risks == [["scenario", null]]
+    }
 }
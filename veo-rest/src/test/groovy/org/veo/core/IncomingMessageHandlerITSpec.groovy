@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.test.context.support.WithUserDetails
+import org.springframework.test.context.DynamicPropertyRegistry
+import org.springframework.test.context.DynamicPropertySource
+
+import org.veo.core.entity.EntityType
+import org.veo.core.usecase.IncomingMessageHandler
+import org.veo.persistence.access.jpa.StoredEventDataRepository
+
+import groovy.json.JsonSlurper
+
+@WithUserDetails("user@domain.example")
+class IncomingMessageHandlerITSpec extends VeoSpringSpec {
+
+    @Autowired
+    IncomingMessageHandler incomingMessageHandler
+
+    @Autowired
+    StoredEventDataRepository storedEventRepository
+
+    @DynamicPropertySource
+    static void setChunkSize(DynamicPropertyRegistry registry) {
+        registry.add("veo.element-migration.chunk-size", { -> 3 })
+    }
+
+    def "elements are migrated in several chunks"() {
+        given: "scopes with members, risks and an obsolete custom aspect"
+        def client = createTestClient()
+        def domain = createTestDomain(client, DSGVO_TEST_DOMAIN_TEMPLATE_ID)
+        def scopes = executeInTransaction {
+            def unit = unitDataRepository.save(newUnit(client) {
+                addToDomains(domain)
+            })
+            def scenarios = scenarioDataRepository.saveAll((1..7).collect {
+                newScenario(unit)
+            })
+            scopeDataRepository.saveAll((0..6).collect { i ->
+                newScope(unit) {
+                    associateWithDomain(domain, "SCP_Scope", "NEW")
+                    applyCustomAspect(newCustomAspect("obsolete_aspect", domain))
+                    addMember(scenarios[i])
+                    obtainRisk(scenarios[i], domain).tap {
+                        assignDesignator(it)
+                    }
+                }
+            })
+        }
+        storedEventRepository.deleteAll()
+
+        when: "migrating the scopes in chunks of three"
+        executeInTransaction {
+            incomingMessageHandler.handleElementTypeDefinitionUpdate(domain, EntityType.SCOPE)
+        }
+        def messages = storedEventRepository.findAll()
+                .findAll { it.routingKey.endsWith("entity_revision") }
+                .collect { new JsonSlurper().parseText(it.content) }
+
+        then: "the obsolete custom aspect is gone"
+        executeInTransaction {
+            scopeDataRepository.findAllById(scopes*.idAsString).every { it.customAspects.empty }
+        }
+
+        and: "a modification message with the members has been created for each scope"
+        scopes.each { scope ->
+            def scopeMessages = messages.findAll { it.uri.endsWith("/scopes/$scope.idAsString") }
+            assert scopeMessages.size() == 1
+            with(scopeMessages.first()) {
+                assert type == "MODIFICATION"
+                assert content.members.size() == 1
+            }
+        }
+    }
+}
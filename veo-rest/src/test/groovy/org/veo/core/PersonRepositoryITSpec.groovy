@@ -21,9 +21,11 @@ import org.springframework.beans.factory.annotation.Autowired
 
 import org.veo.core.entity.Client
 import org.veo.core.entity.Domain
+import org.veo.core.entity.EntityType
 import org.veo.core.entity.Unit
 import org.veo.persistence.access.ClientRepositoryImpl
 import org.veo.persistence.access.PersonRepositoryImpl
+import org.veo.persistence.access.SubTypeStatusCountRepositoryImpl
 import org.veo.persistence.access.UnitRepositoryImpl
 
 import jakarta.transaction.Transactional
@@ -38,6 +40,8 @@ class PersonRepositoryITSpec extends VeoSpringSpec {
     private UnitRepositoryImpl unitRepository
     @Autowired
     private PersonRepositoryImpl personRepository
+    @Autowired
+    private SubTypeStatusCountRepositoryImpl subTypeStatusCountRepository
     private Client client
     private Unit unit
     private Domain domain
@@ -122,7 +126,7 @@ class PersonRepositoryITSpec extends VeoSpringSpec {
         }
 
         when:
-        def counts = personRepository.getCountsBySubType(unit, domain).toSorted{[it.subType, it.status]}
+        def counts = subTypeStatusCountRepository.findCounts(unit, domain)[EntityType.PERSON].toSorted{[it.subType, it.status]}
 
         then:
         counts.size() == 3
@@ -32,7 +32,7 @@ class StoredEventRepositorySpec extends VeoSpringSpec {
     @Autowired
     StoredEventRepository storedEventRepository
 
-    def "finds pending stored events"() {
+    def "locks pending stored events"() {
         given:
         storedEventRepository.save(new StoredEventData().tap {
             routingKey = "a"
@@ -50,9 +50,56 @@ class StoredEventRepositorySpec extends VeoSpringSpec {
         })
 
         when:
-        def pending = storedEventRepository.findPendingEvents(Instant.parse("2021-02-19T13:00:00.000Z"), 1000)
+        def pending = storedEventRepository.lockPendingEvents(Instant.parse("2021-02-19T13:00:00.000Z"), 1000)
 
         then:
         pending*.routingKey ==~ ["a", "b", "c"]
+
+        when: "locking again"
+        pending = storedEventRepository.lockPendingEvents(Instant.parse("2021-02-19T13:00:00.000Z"), 1000)
+
+        then: "the events that have just been locked are not claimed again"
+        pending.empty
+    }
+
+    def "deletes stored events by ID"() {
+        given:
+        def events = ["a", "b", "c"].collect { key ->
+            storedEventRepository.save(new StoredEventData().tap {
+                routingKey = key
+            })
+        }
+
+        when: "deleting two events and an event that does not exist"
+        def deletedCount = storedEventRepository.delete([events[0].id, events[2].id, -1L])
+
+        then:
+        deletedCount == 2
+        events.collect { storedEventRepository.findById(it.id).present } == [false, true, false]
+
+        and: "deleting no events is a no-op"
+        storedEventRepository.delete([]) == 0
+    }
+
+    def "finds the timestamp of the oldest pending event"() {
+        expect:
+        storedEventRepository.findOldestPendingTimestamp().empty
+
+        when:
+        def events = ["2021-02-19T12:00:00.000Z", "2021-02-19T13:00:00.000Z"].collect { time ->
+            storedEventRepository.save(new StoredEventData().tap {
+                routingKey = "a"
+                timestamp = Instant.parse(time)
+            })
+        }
+
+        then:
+        storedEventRepository.findOldestPendingTimestamp().get() == Instant.parse("2021-02-19T12:00:00.000Z")
+
+        when: "the oldest event has been confirmed"
+        storedEventRepository.delete([events[0].id])
+
+        then:
+        storedEventRepository.findOldestPendingTimestamp().get() == Instant.parse("2021-02-19T13:00:00.000Z")
     }
 }
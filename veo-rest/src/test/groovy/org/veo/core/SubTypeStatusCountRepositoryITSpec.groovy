@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.core
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import org.springframework.beans.factory.annotation.Autowired
+
+import org.veo.core.entity.Client
+import org.veo.core.entity.Domain
+import org.veo.core.entity.EntityType
+import org.veo.core.entity.Unit
+import org.veo.persistence.access.ClientRepositoryImpl
+import org.veo.persistence.access.PersonRepositoryImpl
+import org.veo.persistence.access.SubTypeStatusCountRepositoryImpl
+import org.veo.persistence.access.UnitRepositoryImpl
+
+class SubTypeStatusCountRepositoryITSpec extends VeoSpringSpec {
+
+    @Autowired
+    private ClientRepositoryImpl clientRepository
+    @Autowired
+    private UnitRepositoryImpl unitRepository
+    @Autowired
+    private PersonRepositoryImpl personRepository
+    @Autowired
+    private SubTypeStatusCountRepositoryImpl subTypeStatusCountRepository
+
+    private Client client
+    private Unit unit
+    private Domain domain
+
+    def setup() {
+        client = clientRepository.save(newClient())
+        domain = createTestDomain(client, DSGVO_DOMAINTEMPLATE_UUID)
+        unit = unitRepository.save(newUnit(client))
+    }
+
+    def "counters are maintained when elements change"() {
+        given:
+        def (person1, person2) = executeInTransaction {
+            (1..2).collect {
+                personRepository.save(newPerson(unit) {
+                    associateWithDomain(domain, 'PER_Person', 'NEW')
+                })
+            }
+        }
+
+        expect:
+        personCounts(unit) == ['PER_Person/NEW': 2]
+
+        when: "changing a status"
+        executeInTransaction {
+            personRepository.findById(person1.id).get().setStatus('IN_PROGRESS', domain)
+        }
+
+        then:
+        personCounts(unit) == ['PER_Person/NEW': 1, 'PER_Person/IN_PROGRESS': 1]
+
+        when: "changing a sub type"
+        executeInTransaction {
+            personRepository.findById(person1.id).get().with {
+                removeFromDomains(domain)
+                associateWithDomain(domain, 'PER_DataProtectionOfficer', 'NEW')
+            }
+        }
+
+        then:
+        personCounts(unit) == ['PER_Person/NEW': 1, 'PER_DataProtectionOfficer/NEW': 1]
+
+        when: "moving an element to another unit"
+        def otherUnit = unitRepository.save(newUnit(client))
+        executeInTransaction {
+            personRepository.findById(person2.id).get().owner = otherUnit
+        }
+
+        then:
+        personCounts(unit) == ['PER_DataProtectionOfficer/NEW': 1]
+        personCounts(otherUnit) == ['PER_Person/NEW': 1]
+
+        when: "deleting elements"
+        executeInTransaction {
+            personRepository.deleteById(person1.id)
+            personRepository.deleteById(person2.id)
+        }
+
+        then:
+        personCounts(unit) == [:]
+        personCounts(otherUnit) == [:]
+        subTypeStatusCountRepository.verify() == 0
+    }
+
+    def "incorrect counters are rebuilt"() {
+        given:
+        executeInTransaction {
+            3.times {
+                personRepository.save(newPerson(unit) {
+                    associateWithDomain(domain, 'PER_Person', 'NEW')
+                })
+            }
+            subTypeStatusCountRepository.em.createNativeQuery("""
+                    insert into subtype_status_count (unit_id, domain_id, element_type, sub_type, status, count)
+                    values (:unitId, :domainId, 'person', 'PER_Person', 'NEW', 39)""")
+                    .setParameter("unitId", unit.idAsString)
+                    .setParameter("domainId", domain.idAsString)
+                    .executeUpdate()
+        }
+
+        expect:
+        subTypeStatusCountRepository.verify() > 0
+        personCounts(unit) == ['PER_Person/NEW': 42]
+
+        when:
+        def incorrectCounters = executeInTransaction {
+            subTypeStatusCountRepository.rebuild()
+        }
+
+        then:
+        incorrectCounters > 0
+        subTypeStatusCountRepository.verify() == 0
+        personCounts(unit) == ['PER_Person/NEW': 3]
+    }
+
+    def "concurrent changes do not wait for each other"() {
+        given:
+        def persons = executeInTransaction {
+            (1..8).collect {
+                personRepository.save(newPerson(unit) {
+                    associateWithDomain(domain, 'PER_Person', 'NEW')
+                })
+            }
+        }
+        def numThreads = 4
+        def barrier = new CyclicBarrier(numThreads)
+        def pool = Executors.newFixedThreadPool(numThreads)
+        def tasks = persons.collate(2).collect { batch ->
+            {
+                ->
+                executeInTransaction {
+                    batch.each {
+                        personRepository.findById(it.id).get().setStatus('IN_PROGRESS', domain)
+                    }
+                    subTypeStatusCountRepository.em.flush()
+                    // all transactions must have updated their counters before any of them commits
+                    barrier.await(10, TimeUnit.SECONDS)
+                }
+            } as Callable<Integer>
+        }
+
+        when: "several transactions change elements with the same sub type & status"
+        pool.invokeAll(tasks)*.get()
+        pool.shutdown()
+
+        then:
+        personCounts(unit) == ['PER_Person/IN_PROGRESS': 8]
+        subTypeStatusCountRepository.verify() == 0
+    }
+
+    def "recorded changes are compacted"() {
+        given:
+        def persons = executeInTransaction {
+            (1..3).collect {
+                personRepository.save(newPerson(unit) {
+                    associateWithDomain(domain, 'PER_Person', 'NEW')
+                })
+            }
+        }
+        executeInTransaction {
+            personRepository.findById(persons[0].id).get().setStatus('IN_PROGRESS', domain)
+            personRepository.deleteById(persons[1].id)
+        }
+
+        expect:
+        counterRows(unit) == 6
+        personCounts(unit) == ['PER_Person/NEW': 1, 'PER_Person/IN_PROGRESS': 1]
+
+        when:
+        executeInTransaction {
+            subTypeStatusCountRepository.compact()
+        }
+
+        then:
+        counterRows(unit) == 2
+        personCounts(unit) == ['PER_Person/NEW': 1, 'PER_Person/IN_PROGRESS': 1]
+        subTypeStatusCountRepository.verify() == 0
+    }
+
+    private long counterRows(Unit unit) {
+        executeInTransaction {
+            subTypeStatusCountRepository.em.createNativeQuery("select count(*) from subtype_status_count where unit_id = :unitId")
+                    .setParameter("unitId", unit.idAsString)
+                    .singleResult as long
+        }
+    }
+
+    private Map<String, Long> personCounts(Unit unit) {
+        executeInTransaction {
+            subTypeStatusCountRepository.findCounts(unit, domain)[EntityType.PERSON]
+                    ?.collectEntries { [(it.subType + '/' + it.status): it.count] } ?: [:]
+        }
+    }
+}
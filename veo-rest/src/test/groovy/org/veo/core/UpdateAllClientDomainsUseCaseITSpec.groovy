@@ -17,11 +17,15 @@
  ******************************************************************************/
 package org.veo.core
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.security.test.context.support.WithUserDetails
 
 import org.veo.core.entity.Asset
 import org.veo.core.entity.Client
+import org.veo.core.entity.ClientDomainMigration
 import org.veo.core.entity.Control
 import org.veo.core.entity.Domain
 import org.veo.core.entity.Key
@@ -37,11 +41,14 @@ import org.veo.core.entity.risk.ImplementationStatusRef
 import org.veo.core.entity.risk.PotentialProbabilityImpl
 import org.veo.core.entity.risk.ProbabilityRef
 import org.veo.core.entity.risk.RiskDefinitionRef
+import org.veo.core.repository.ClientDomainMigrationRepository
 import org.veo.core.repository.ControlRepository
 import org.veo.core.repository.PagingConfiguration
 import org.veo.core.repository.PersonRepository
 import org.veo.core.repository.ScenarioRepository
 import org.veo.core.usecase.domain.ApplyProfileUseCase
+import org.veo.core.usecase.domain.MigrateClientDomainUseCase
+import org.veo.core.usecase.domain.PrepareClientDomainMigrationsUseCase
 import org.veo.core.usecase.domain.UpdateAllClientDomainsUseCase
 import org.veo.core.usecase.domain.UpdateAllClientDomainsUseCase.InputData
 import org.veo.persistence.access.AssetRepositoryImpl
@@ -70,6 +77,15 @@ class UpdateAllClientDomainsUseCaseITSpec extends VeoSpringSpec {
     @Autowired
     private ApplyProfileUseCase applyProfileUseCase
 
+    @Autowired
+    private PrepareClientDomainMigrationsUseCase prepareClientDomainMigrationsUseCase
+
+    @Autowired
+    private MigrateClientDomainUseCase migrateClientDomainUseCase
+
+    @Autowired
+    private ClientDomainMigrationRepository clientDomainMigrationRepository
+
     @Autowired
     ScopeRepositoryImpl scopeRepository
 
@@ -449,9 +465,160 @@ class UpdateAllClientDomainsUseCaseITSpec extends VeoSpringSpec {
         processRepository.findByDomain(dsgvoDomain).empty
     }
 
-    def runUseCase(String domainTemplateId) {
+    def "Migrate a client in multiple chunks"() {
+        given: 'a unit with more processes than fit in one chunk'
+        Unit unit = unitRepository.save(newUnit(client) {
+            addToDomains(dsgvoDomain)
+        })
+        def processes = (1..3).collect {
+            processRepository.save(newProcess(unit) {
+                associateWithDomain(dsgvoDomain, "PRO_DataProcessing", "NEW")
+            })
+        }
+        def chunkedUseCase = new UpdateAllClientDomainsUseCase(prepareClientDomainMigrationsUseCase,
+                migrateClientDomainUseCase, 2, 1, { it })
+
+        when: 'executing the use case with a chunk size of one'
+        chunkedUseCase.execute(new InputData(Key.uuidFrom(DSGVO_DOMAINTEMPLATE_V2_UUID)))
+
+        then: 'all processes have been transferred and migrated'
+        executeInTransaction {
+            processRepository.findByIds(processes*.id as Set).every {
+                it.domains == [dsgvoDomainV2] as Set
+            }
+        }
+        chunkedUseCase.processedElementCount.get() == 6
+        chunkedUseCase.migratedClientCount.get() == 1
+
+        and: 'the migration is completed'
+        with(clientDomainMigrationRepository.findByNewDomainId(dsgvoDomainV2.id).get()) {
+            status == ClientDomainMigration.Status.DONE
+            processedElementCount == 6
+            cursor == null
+        }
+        !executeInTransaction {
+            clientRepository.findById(client.id).get().getAllDomains().find{it.id == dsgvoDomain.id}.active
+        }
+
+        when: 'executing the use case again'
+        chunkedUseCase.execute(new InputData(Key.uuidFrom(DSGVO_DOMAINTEMPLATE_V2_UUID)))
+
+        then: 'the completed migration is not repeated'
+        chunkedUseCase.processedElementCount.get() == 6
+        chunkedUseCase.migratedClientCount.get() == 1
+    }
+
+    def "Migrate elements that are added to the old domain during the migration"() {
+        given: 'a unit with processes and a prepared migration'
+        Unit unit = unitRepository.save(newUnit(client) {
+            addToDomains(dsgvoDomain)
+        })
+        def processes = (1..2).collect {
+            processRepository.save(newProcess(unit) {
+                associateWithDomain(dsgvoDomain, "PRO_DataProcessing", "NEW")
+            })
+        }
+        prepareClientDomainMigrationsUseCase.executeAndTransformResult(
+                new PrepareClientDomainMigrationsUseCase.InputData(Key.uuidFrom(DSGVO_DOMAINTEMPLATE_V2_UUID)), { it })
+        def input = new MigrateClientDomainUseCase.InputData(dsgvoDomainV2.id, 1)
+
+        when: 'transferring the existing processes'
+        2.times {
+            migrateClientDomainUseCase.executeAndTransformResult(input, { it })
+        }
+
+        then:
+        clientDomainMigrationRepository.findByNewDomainId(dsgvoDomainV2.id).get().status == ClientDomainMigration.Status.MIGRATING
+
+        when: 'adding a process to the old domain and completing the migration'
+        processes.add(processRepository.save(newProcess(unit) {
+            associateWithDomain(dsgvoDomain, "PRO_DataProcessing", "NEW")
+        }))
+        def chunks = 0
+        while (!migrateClientDomainUseCase.executeAndTransformResult(input, { it }).done) {
+            assert ++chunks < 10
+        }
+
+        then: 'the added process has been transferred as well'
         executeInTransaction {
-            useCase.execute(new InputData(Key.uuidFrom(domainTemplateId)))
+            processRepository.findByIds(processes*.id as Set).every {
+                it.domains == [dsgvoDomainV2] as Set
+            }
         }
+        processRepository.findByDomain(dsgvoDomain).empty
+        !executeInTransaction {
+            clientRepository.findById(client.id).get().getAllDomains().find{it.id == dsgvoDomain.id}.active
+        }
+    }
+
+    def "Skip a migration that is locked by a concurrent execution"() {
+        given: 'a unit with processes and a prepared migration'
+        Unit unit = unitRepository.save(newUnit(client) {
+            addToDomains(dsgvoDomain)
+        })
+        def processes = (1..2).collect {
+            processRepository.save(newProcess(unit) {
+                associateWithDomain(dsgvoDomain, "PRO_DataProcessing", "NEW")
+            })
+        }
+        prepareClientDomainMigrationsUseCase.executeAndTransformResult(
+                new PrepareClientDomainMigrationsUseCase.InputData(Key.uuidFrom(DSGVO_DOMAINTEMPLATE_V2_UUID)), { it })
+        def input = new MigrateClientDomainUseCase.InputData(dsgvoDomainV2.id, 1)
+
+        and: 'a concurrent transaction that holds the lock on the migration'
+        def locked = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def concurrentExecution = Thread.start {
+            txTemplate.execute {
+                assert clientDomainMigrationRepository.findAndLockByNewDomainId(dsgvoDomainV2.id).present
+                locked.countDown()
+                release.await(30, TimeUnit.SECONDS)
+            }
+        }
+        locked.await(30, TimeUnit.SECONDS)
+
+        when: 'triggering the migration concurrently'
+        def output = migrateClientDomainUseCase.executeAndTransformResult(input, { it })
+        def chunkedUseCase = new UpdateAllClientDomainsUseCase(prepareClientDomainMigrationsUseCase,
+                migrateClientDomainUseCase, 1, 1, { it })
+        chunkedUseCase.execute(new InputData(Key.uuidFrom(DSGVO_DOMAINTEMPLATE_V2_UUID)))
+
+        then: 'nothing has been processed'
+        output.locked
+        output.processedElementCount == 0
+        !output.done
+        chunkedUseCase.processedElementCount.get() == 0
+        chunkedUseCase.migratedClientCount.get() == 0
+        chunkedUseCase.failedClientCount.get() == 0
+        with(clientDomainMigrationRepository.findByNewDomainId(dsgvoDomainV2.id).get()) {
+            status == ClientDomainMigration.Status.TRANSFERRING
+            processedElementCount == 0
+        }
+
+        when: 'the lock is released and the migration is triggered again'
+        release.countDown()
+        concurrentExecution.join()
+        chunkedUseCase.execute(new InputData(Key.uuidFrom(DSGVO_DOMAINTEMPLATE_V2_UUID)))
+
+        then: 'each process has been processed exactly once per phase'
+        chunkedUseCase.processedElementCount.get() == 4
+        chunkedUseCase.migratedClientCount.get() == 1
+        with(clientDomainMigrationRepository.findByNewDomainId(dsgvoDomainV2.id).get()) {
+            status == ClientDomainMigration.Status.DONE
+            processedElementCount == 4
+        }
+        executeInTransaction {
+            processRepository.findByIds(processes*.id as Set).every {
+                it.domains == [dsgvoDomainV2] as Set
+            }
+        }
+
+        cleanup:
+        release.countDown()
+        concurrentExecution?.join()
+    }
+
+    def runUseCase(String domainTemplateId) {
+        useCase.execute(new InputData(Key.uuidFrom(domainTemplateId)))
     }
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ import org.veo.core.entity.Process
 import org.veo.core.entity.ProcessRisk
 import org.veo.core.entity.Scenario
 import org.veo.core.entity.Unit
+import org.veo.core.entity.decision.Decision
 import org.veo.core.entity.decision.DecisionRef
 import org.veo.core.entity.risk.CategorizedRiskValueProvider
 import org.veo.core.entity.risk.CategoryRef
@@ -32,10 +33,14 @@ import org.veo.core.entity.risk.RiskRef
 import org.veo.core.repository.ClientRepository
 import org.veo.core.repository.RepositoryProvider
 import org.veo.core.usecase.decision.Decider
+import org.veo.core.usecase.inspection.Inspector
+
+import spock.lang.Requires
 
 class DeciderITSpec extends VeoSpringSpec {
     def piaMandatoryRef = new DecisionRef("piaMandatory")
     Decider decider = new Decider(Mock(ClientRepository), Mock(RepositoryProvider))
+    Inspector inspector = new Inspector()
 
     Unit unit
     Domain domain
@@ -406,6 +411,76 @@ class DeciderITSpec extends VeoSpringSpec {
         }
     }
 
+    def "decisions and inspections are evaluated on elements with many custom aspects"() {
+        given: "a process with many custom aspects"
+        def process = createProcessWithManyCustomAspects()
+
+        expect: "the results are the same"
+        decider.decide(process, domain) == decideDirectly(process)
+        decider.decide(process, domain)[piaMandatoryRef] != null
+
+        when: "the decision results are stored on the process"
+        process.setDecisionResults(decider.decide(process, domain), domain)
+
+        then: "the inspection results are the same"
+        inspector.inspect(process, domain) == inspectDirectly(process)
+    }
+
+    @Requires({ env.VEO_LARGE_PERFORMANCE_TESTS })
+    def "compiled decisions and inspections are faster than evaluating them directly"() {
+        given: "a process with many custom aspects and stored decision results"
+        def process = createProcessWithManyCustomAspects()
+        process.setDecisionResults(decider.decide(process, domain), domain)
+        def measure = { Closure evaluation ->
+            def start = System.nanoTime()
+            1000.times { evaluation() }
+            System.nanoTime() - start
+        }
+        measure { decider.decide(process, domain) }
+        measure { decideDirectly(process) }
+        measure { inspector.inspect(process, domain) }
+        measure { inspectDirectly(process) }
+
+        when:
+        def directNanos = measure { decideDirectly(process) }
+        def compiledNanos = measure { decider.decide(process, domain) }
+        def directInspectionNanos = measure { inspectDirectly(process) }
+        def compiledInspectionNanos = measure { inspector.inspect(process, domain) }
+
+        then:
+        compiledNanos < directNanos
+        compiledInspectionNanos < directInspectionNanos
+    }
+
+    def "compiled decisions are reused until the decisions change"() {
+        given:
+        def process = createProcess([:])
+        def decideInNewSession = {
+            executeInTransaction {
+                decider.decide(process, domainDataRepository.findById(domain.idAsString).get())
+            }
+            decider.@compiledDecisions[domain.id]
+        }
+
+        when: "decisions are made in different sessions"
+        def compiled = decideInNewSession()
+
+        then: "the compiled decisions are reused"
+        decideInNewSession().is(compiled)
+
+        when: "a decision is changed"
+        executeInTransaction {
+            domainDataRepository.findById(domain.idAsString).get().with {
+                def decision = decisions.piaMandatory
+                applyDecision("piaMandatory", new Decision(decision.name, decision.elementType,
+                        decision.elementSubType, decision.rules, !decision.defaultResultValue))
+            }
+        }
+
+        then: "the decisions are compiled again"
+        !decideInNewSession().is(compiled)
+    }
+
     Process createProcess(Map<String, Object> piaAttributes) {
         return newProcess(unit) {
             associateWithDomain(domain, "PRO_DataProcessing", "NEW")
@@ -430,4 +505,34 @@ class DeciderITSpec extends VeoSpringSpec {
             }
         }
     }
+
+    private Process createProcessWithManyCustomAspects() {
+        def process = createProcess([
+            process_privacyImpactAssessment_listed: "process_privacyImpactAssessment_listed_positive",
+        ])
+        (1..200).each { i ->
+            process.applyCustomAspect(newCustomAspect("process_unrelated_$i", domain) {
+                attributes = [value: i]
+            })
+        }
+        process
+    }
+
+    private Map decideDirectly(Process process) {
+        domain.decisions
+                .findAll { key, decision -> decision.isApplicableToElement(process, domain) }
+                .collectEntries { key, decision ->
+                    [
+                        new DecisionRef(key, domain),
+                        decision.evaluate(process, domain)
+                    ]
+                }
+    }
+
+    private Set inspectDirectly(Process process) {
+        domain.inspections.values()
+                .collect { it.run(process, domain) }
+                .findAll { it.present }
+                *.get() as Set
+    }
 }
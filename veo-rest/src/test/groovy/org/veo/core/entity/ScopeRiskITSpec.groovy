@@ -137,6 +137,36 @@ class ScopeRiskITSpec extends VeoSpringSpec {
         retrievedRisk2 == risk
     }
 
+    def "risks of different element types are found by scenario"() {
+        given: "a scope and a process at risk from the same scenario"
+        def scenario1 = insertScenario(newScenario(unit))
+        def scenario2 = insertScenario(newScenario(unit))
+        def domain1 = insertDomain(newDomain(client))
+        def scope1 = insertScope(newScope(unit) {
+            associateWithDomain(domain1, "NormalScope", "NEW")
+            obtainRisk(scenario1, domain1).designator = "RSK-1"
+            obtainRisk(scenario2, domain1).designator = "RSK-2"
+        })
+        def process1 = txTemplate.execute {
+            processDataRepository.save(newProcess(unit) {
+                associateWithDomain(domain1, "NormalProcess", "NEW")
+                obtainRisk(scenario1, domain1).designator = "RSK-3"
+            })
+        }
+
+        when: "the risks caused by the first scenario are loaded"
+        def risks = txTemplate.execute {
+            scenarioRepository.findRisksWithOwners([scenario1] as Set).tap {
+                it.each { Hibernate.initialize(it.domains) }
+            }
+        }
+
+        then: "only its risks are found together with their elements"
+        risks*.designator ==~ ["RSK-1", "RSK-3"]
+        risks*.entity*.id ==~ [scope1.id, process1.id]
+        risks.every { it.scenario == scenario1 }
+    }
+
     @Transactional
     void createClient() {
         client = clientRepository.save(newClient())
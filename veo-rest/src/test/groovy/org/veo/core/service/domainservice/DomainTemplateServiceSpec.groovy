@@ -28,9 +28,12 @@ import org.veo.core.entity.Control
 import org.veo.core.entity.Process
 import org.veo.core.entity.TailoringReferenceType
 import org.veo.core.entity.exception.ModelConsistencyException
+import org.veo.core.entity.profile.ProfileDefinition
+import org.veo.core.entity.profile.ProfileRef
 import org.veo.persistence.access.ClientRepositoryImpl
 
 import spock.lang.Ignore
+import spock.lang.Requires
 
 @ComponentScan("org.veo")
 @WithUserDetails("user@domain.example")
@@ -277,4 +280,81 @@ class DomainTemplateServiceSpec extends VeoSpringSpec {
             it[2].members.collect {it.name}.toSorted() == ['Asset 1', 'Asset 2']
         }
     }
+
+    def "repeated profile applications reuse the parsed profile"() {
+        given: "a domain with a profile"
+        def domainId = createDomainWithProfile()
+        def profileRef = new ProfileRef("exampleOrganization")
+
+        when: "applying the profile, then replacing it in memory and applying it again"
+        def (firstElements, secondElements, elementsForNewVersion) = inRolledBackTransaction {
+            def domain = domainDataRepository.findById(domainId).get()
+            def first = domainTemplateService.getProfileElements(domain, profileRef)
+            domain.profiles = [
+                (profileRef.keyRef): new ProfileDefinition("empty", "", "en", [] as Set, [] as Set)
+            ]
+            def second = domainTemplateService.getProfileElements(domain, profileRef)
+            domain.version++
+            [
+                first,
+                second,
+                domainTemplateService.getProfileElements(domain, profileRef)
+            ]
+        }
+
+        then: "the second application still uses the profile as parsed for this domain version"
+        !firstElements.empty
+        secondElements*.name.sort() == firstElements*.name.sort()
+
+        and: "each application creates new elements"
+        firstElements.every { e -> !secondElements.any { it.is(e) } }
+
+        and: "the profile is parsed again for a new domain version"
+        elementsForNewVersion.empty
+    }
+
+    @Requires({ env.VEO_LARGE_PERFORMANCE_TESTS })
+    def "reusing the parsed profile speeds up profile applications"() {
+        given: "a domain with a profile"
+        def domainId = createDomainWithProfile()
+        def profileRef = new ProfileRef("exampleOrganization")
+
+        when: "applying the profile 50 times to new domain versions and 50 times to the same version"
+        def (uncachedNanos, cachedNanos) = inRolledBackTransaction {
+            def domain = domainDataRepository.findById(domainId).get()
+            5.times { domainTemplateService.getProfileElements(domain, profileRef) }
+            def start = System.nanoTime()
+            50.times {
+                domain.version++
+                domainTemplateService.getProfileElements(domain, profileRef)
+            }
+            def uncached = System.nanoTime() - start
+            start = System.nanoTime()
+            50.times { domainTemplateService.getProfileElements(domain, profileRef) }
+            [
+                uncached,
+                System.nanoTime() - start
+            ]
+        }
+
+        then:
+        cachedNanos < uncachedNanos
+    }
+
+    private String createDomainWithProfile() {
+        createTestDomainTemplate(DSGVO_DOMAINTEMPLATE_UUID)
+        txTemplate.execute {
+            def client = repository.save(newClient {})
+            client.addToDomains(domainTemplateService.createDomain(client, DSGVO_DOMAINTEMPLATE_UUID))
+            repository.save(client).domains.first().idAsString
+        }
+    }
+
+    /** Runs given closure in a transaction that is rolled back, so in-memory changes are never saved. */
+    private <T> T inRolledBackTransaction(Closure<T> cl) {
+        txTemplate.execute { status ->
+            status.setRollbackOnly()
+            cl.call()
+        }
+    }
 }
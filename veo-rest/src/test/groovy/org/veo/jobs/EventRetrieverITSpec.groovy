@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.jobs
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import org.springframework.beans.factory.annotation.Autowired
+
+import org.veo.core.VeoSpringSpec
+import org.veo.persistence.access.jpa.StoredEventDataRepository
+import org.veo.persistence.entity.jpa.StoredEventData
+
+import groovy.util.logging.Slf4j
+
+@Slf4j
+class EventRetrieverITSpec extends VeoSpringSpec {
+
+    @Autowired
+    EventRetriever eventRetriever
+
+    @Autowired
+    StoredEventDataRepository storedEventRepository
+
+    def cleanup() {
+        storedEventRepository.deleteAll()
+    }
+
+    def "pending events are locked"() {
+        given:
+        def events = executeInTransaction {
+            (1..3).collect {
+                storedEventRepository.save(StoredEventData.newInstance("{}", "veo.testmessage", null, null))
+            }
+        }
+
+        when:
+        def retrieved = eventRetriever.retrievePendingEvents(Duration.ofMinutes(1), 2)
+
+        then: "the events with the lowest IDs are returned and locked"
+        retrieved*.id ==~ events*.id.take(2)
+        storedEventRepository.findAllById(events*.id).findAll { it.lockTime != null }*.id ==~ retrieved*.id
+
+        when: "retrieving again while the lock is valid"
+        retrieved = eventRetriever.retrievePendingEvents(Duration.ofMinutes(1), 2)
+
+        then: "only the remaining event is returned"
+        retrieved*.id == [events.last().id]
+        eventRetriever.retrievePendingEvents(Duration.ofMinutes(1), 2).empty
+
+        when: "retrieving with an expired lock"
+        retrieved = eventRetriever.retrievePendingEvents(Duration.ZERO, 5)
+
+        then: "all events are returned again"
+        retrieved*.id ==~ events*.id
+    }
+
+    def "concurrent retrievers claim every event exactly once"() {
+        given:
+        def numEvents = 20000
+        def numThreads = 8
+        executeInTransaction {
+            storedEventRepository.saveAll((1..numEvents).collect {
+                StoredEventData.newInstance("{}", "veo.testmessage", null, null)
+            })
+        }
+        def pool = Executors.newFixedThreadPool(numThreads)
+        def tasks = (1..numThreads).collect {
+            {
+                ->
+                def claimed = []
+                def chunk
+                while (!(chunk = eventRetriever.retrievePendingEvents(Duration.ofMinutes(1), 500)).empty) {
+                    claimed.addAll(chunk*.id)
+                }
+                claimed
+            } as Callable<List<Long>>
+        }
+
+        when:
+        def start = System.nanoTime()
+        def claimedIds = pool.invokeAll(tasks)*.get().flatten()
+        def elapsed = Duration.ofNanos(System.nanoTime() - start)
+        pool.shutdown()
+        log.info("Claimed {} events with {} threads in {} ms ({} events/s)", claimedIds.size(),
+                numThreads, elapsed.toMillis(), (long) (claimedIds.size() * 1000 / Math.max(1, elapsed.toMillis())))
+
+        then: "no event has been claimed twice"
+        pool.awaitTermination(10, TimeUnit.SECONDS)
+        claimedIds.size() == numEvents
+        claimedIds.toSet().size() == numEvents
+    }
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.listeners
+
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+import org.veo.core.entity.Client
+import org.veo.core.entity.Key
+import org.veo.core.entity.Scenario
+import org.veo.core.entity.event.RiskAffectingElementChangeEvent
+import org.veo.core.repository.ClientRepository
+import org.veo.core.repository.ElementRepository
+import org.veo.core.repository.RepositoryProvider
+import org.veo.core.usecase.decision.Decider
+import org.veo.service.risk.RiskService
+
+import spock.lang.Specification
+
+class RiskComponentChangeListenerSpec extends Specification {
+
+    def clientId = Key.newUuid()
+    Client client = Stub {
+        getId() >> clientId
+    }
+    RiskService riskService = Mock()
+    Decider decider = Mock()
+    PlatformTransactionManager transactionManager = Mock()
+    ElementRepository<Scenario> scenarioRepository = Mock()
+    RepositoryProvider repositoryProvider = Stub {
+        getElementRepositoryFor(Scenario) >> scenarioRepository
+    }
+    ClientRepository clientRepository = Stub {
+        findById(clientId) >> Optional.of(client)
+    }
+
+    def setup() {
+        TransactionSynchronizationManager.initSynchronization()
+    }
+
+    def cleanup() {
+        TransactionSynchronizationManager.clearSynchronization()
+    }
+
+    def "reevaluates an element that has been changed several times in a transaction once"() {
+        given:
+        def listener = createListener(200)
+        def scenario = newScenario()
+
+        when: "the scenario is changed several times"
+        3.times {
+            listener.handle(new RiskAffectingElementChangeEvent(scenario, this))
+        }
+
+        then: "nothing is reevaluated before the commit"
+        0 * riskService._
+        0 * decider._
+
+        when:
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED)
+
+        then: "the scenario is loaded and reevaluated once, taking all events into account"
+        1 * transactionManager.getTransaction(_)
+        1 * scenarioRepository.findByIds([scenario.id] as Set) >> ([scenario] as Set)
+        1 * riskService.evaluateChangedRiskComponents([scenario])
+        1 * decider.updateDecisions(scenario, client, { it.size() == 3 })
+    }
+
+    def "reevaluates changed elements in batches"() {
+        given:
+        def listener = createListener(2)
+        def scenarios = (1..5).collect { newScenario() }
+        def batches = []
+
+        when: "each scenario is changed, some of them twice"
+        scenarios.each {
+            listener.handle(new RiskAffectingElementChangeEvent(it, this))
+        }
+        listener.handle(new RiskAffectingElementChangeEvent(scenarios[0], this))
+        listener.handle(new RiskAffectingElementChangeEvent(scenarios[3], this))
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED)
+
+        then: "each batch is reevaluated in its own transaction"
+        3 * transactionManager.getTransaction(_)
+        3 * transactionManager.commit(_)
+        3 * scenarioRepository.findByIds(_) >> { Set ids -> scenarios.findAll { it.id in ids } as Set }
+        3 * riskService.evaluateChangedRiskComponents(_) >> { List elements -> batches << elements }
+        5 * decider.updateDecisions(_, client, _)
+
+        and: "the batches keep the order of the first change to each scenario"
+        batches*.size() == [2, 2, 1]
+        batches.flatten() == scenarios
+    }
+
+    def "only updates decisions after changes made by the risk service"() {
+        given:
+        def listener = createListener(200)
+        def scenario = newScenario()
+
+        when:
+        listener.handle(new RiskAffectingElementChangeEvent(scenario, riskService))
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED)
+
+        then:
+        1 * scenarioRepository.findByIds(_) >> ([scenario] as Set)
+        1 * riskService.evaluateChangedRiskComponents([])
+        1 * decider.updateDecisions(scenario, client, { it.size() == 1 })
+    }
+
+    def "does not reevaluate anything after a rollback"() {
+        given:
+        def listener = createListener(200)
+
+        when:
+        listener.handle(new RiskAffectingElementChangeEvent(newScenario(), this))
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK)
+
+        then:
+        0 * transactionManager._
+        0 * riskService._
+        0 * decider._
+    }
+
+    RiskComponentChangeListener createListener(int batchSize) {
+        new RiskComponentChangeListener(riskService, repositoryProvider, clientRepository, decider, transactionManager, batchSize)
+    }
+
+    Scenario newScenario() {
+        def id = Key.newUuid()
+        Stub(Scenario) {
+            getId() >> id
+            getModelInterface() >> Scenario
+            getOwningClient() >> Optional.of(client)
+        }
+    }
+
+    void completeTransaction(int status) {
+        TransactionSynchronizationManager.synchronizations.each {
+            it.afterCompletion(status)
+        }
+    }
+}
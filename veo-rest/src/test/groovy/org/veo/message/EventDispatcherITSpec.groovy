@@ -99,6 +99,7 @@ class EventDispatcherITSpec extends VeoSpringSpec {
         given:
         def confirmationLatch = new CountDownLatch(NUM_EVENTS)
         eventDispatcher.addAckCallback { confirmationLatch.countDown() }
+        def publishedCountBefore = eventDispatcher.publishedCount
 
         when: "storing outgoing messages"
         def events = (1..NUM_EVENTS)
@@ -122,6 +123,10 @@ class EventDispatcherITSpec extends VeoSpringSpec {
         and: "confirmations have been received"
         confirmationLatch.await(2, SECONDS)
 
+        and: "the publishing has been recorded"
+        eventDispatcher.publishedCount - publishedCountBefore == NUM_EVENTS
+        eventDispatcher.inFlightCount == 0
+
         and: "messages should have been received"
         eventSubscriber.receivedEvents.size() == NUM_EVENTS
         eventSubscriber.receivedEvents ==~ events.collect { EventMessage.from(it) }
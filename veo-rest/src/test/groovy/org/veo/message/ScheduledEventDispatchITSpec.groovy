@@ -132,7 +132,7 @@ class ScheduledEventDispatchITSpec extends VeoSpringSpec {
 
     /**
      * This test fails if the {@link EventDispatcher} and/or
-     * {@link org.veo.jobs.MessageDeletionJob.EventDeleter} get saturated with too many
+     * {@link org.veo.jobs.MessageDeletionJob} get saturated with too many
      * messages. If StoredEvents are not ACKed and removed within the lockTime (default: 20s)
      * they will be sent again, causing redundant messages to appear in the receiver.
      * <p>
@@ -143,9 +143,9 @@ class ScheduledEventDispatchITSpec extends VeoSpringSpec {
      *  <li> message broker too slow to handle message amount
      * </ul>
      *
-     * Also, if the isolation level is not high enough while selecting events to be sent,
-     * the {@link org.veo.jobs.EventRetriever} can suffer phantom reads which will also cause
-     * redundant messages to be sent for the same stored event.
+     * Also, if events are not claimed atomically while selecting events to be sent,
+     * the {@link org.veo.jobs.EventRetriever} can hand out the same events to concurrent jobs,
+     * which will also cause redundant messages to be sent for the same stored event.
      */
     def "scheduled task sends messages for all stored events"() {
         given:
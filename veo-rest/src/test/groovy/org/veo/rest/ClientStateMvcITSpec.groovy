@@ -19,6 +19,7 @@ package org.veo.rest
 
 import static org.veo.core.entity.Client.ClientState.ACTIVATED
 import static org.veo.core.entity.Client.ClientState.DEACTIVATED
+import static org.veo.core.entity.event.ClientEvent.ClientChangeType.ACTIVATION
 import static org.veo.core.entity.event.ClientEvent.ClientChangeType.DEACTIVATION
 import static org.veo.rest.configuration.WebMvcSecurityConfiguration.TESTCLIENT_UUID
 
@@ -28,8 +29,11 @@ import org.springframework.security.test.context.support.WithUserDetails
 import org.veo.core.VeoMvcSpec
 import org.veo.core.entity.Key
 import org.veo.core.repository.ClientRepository
+import org.veo.rest.common.ClientCache
 import org.veo.rest.common.ClientNotActiveException
 
+import jakarta.persistence.EntityManager
+
 /**
  * Tests the unit controller's responses wrt. different client states
  */
@@ -37,6 +41,12 @@ class ClientStateMvcITSpec extends VeoMvcSpec {
     @Autowired
     ClientRepository clientRepository
 
+    @Autowired
+    ClientCache clientCache
+
+    @Autowired
+    EntityManager entityManager
+
     @WithUserDetails("user@domain.example")
     def "fetch data for a new client"() {
         given:
@@ -107,4 +117,53 @@ class ClientStateMvcITSpec extends VeoMvcSpec {
         then:"an exception is thrown"
         thrown(ClientNotActiveException)
     }
+
+    @WithUserDetails("user@domain.example")
+    def "cached client is evicted when its state changes"() {
+        given:
+        createTestClient()
+        get("/units")
+        def hits = clientCache.hitCount
+
+        when: "requesting units again"
+        get("/units")
+
+        then: "the cached client is used"
+        clientCache.hitCount > hits
+
+        when: "we deactivate the client"
+        def client = clientRepository.findById(Key.uuidFrom(TESTCLIENT_UUID)).get()
+        client.updateState(DEACTIVATION)
+        clientRepository.save(client)
+        get("/units", 403)
+
+        then: "the change is visible right away"
+        thrown(ClientNotActiveException)
+
+        when: "we activate the client again"
+        client = clientRepository.findById(Key.uuidFrom(TESTCLIENT_UUID)).get()
+        client.updateState(ACTIVATION)
+        clientRepository.save(client)
+
+        then: "the client can be used again"
+        parseJson(get("/units")).empty
+    }
+
+    @WithUserDetails("user@domain.example")
+    def "cached client is replaced after a change on another node"() {
+        given:
+        createTestClient()
+        get("/units")
+
+        when: "the client is deactivated without notifying this node"
+        executeInTransaction {
+            entityManager.createNativeQuery("update client set state = 'DEACTIVATED', version = version + 1 where db_id = :id")
+                    .setParameter("id", TESTCLIENT_UUID)
+                    .executeUpdate()
+        }
+        get("/units", 403)
+
+        then: "the change is visible right away"
+        thrown(ClientNotActiveException)
+    }
 }
@@ -304,6 +304,38 @@ class ContentCreationControllerMockMvcITSpec extends ContentSpec {
         }
     }
 
+    @WithUserDetails("content-creator")
+    def "updating an element type definition updates the entity schema"() {
+        given: "a schema that has been requested before"
+        def schemaUrl = "/schemas/scope?domains=${testDomain.idAsString}"
+        def oldETag = getETag(get(schemaUrl))
+        def oldDomainVersion = domainDataRepository.findById(testDomain.idAsString).get().version
+
+        when: "updating the scope definition"
+        put("/content-creation/domains/${testDomain.idAsString}/element-type-definitions/scope", [
+            subTypes: [
+                SCP_Container: [
+                    statuses: ['Empty']
+                ]
+            ],
+            translations: [
+                en: [
+                    scope_SCP_Container_status_Empty: 'Empty'
+                ]
+            ],
+        ], 204)
+        def response = get(schemaUrl)
+
+        then: "the updated schema is returned"
+        getETag(response) != oldETag
+        with(parseJson(response).properties.domains.properties[testDomain.idAsString]) {
+            it.properties.subType.enum == ['SCP_Container']
+        }
+
+        and: "the domain version has been incremented, so other nodes don't serve the cached schema"
+        domainDataRepository.findById(testDomain.idAsString).get().version > oldDomainVersion
+    }
+
     @WithUserDetails("content-creator")
     def "invalid attribute names are rejected"() {
         when: "updating the scope definition with space in attribute name is rejected"
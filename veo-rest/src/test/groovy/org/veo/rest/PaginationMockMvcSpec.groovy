@@ -152,4 +152,54 @@ class PaginationMockMvcSpec extends VeoMvcSpec {
         where:
         type << EntityType.values().findAll { Element.isAssignableFrom(it.type) }*.pluralTerm
     }
+
+    def "pages through all #type with a cursor"() {
+        given:
+        for(i in 1..5) {
+            post("/$type", [
+                name: "a good entity",
+                abbreviation: "$i",
+                owner: [
+                    targetUri: "http://localhost/units/${unit.id.uuidValue()}"
+                ]
+            ])
+        }
+
+        when: "requesting the first page"
+        def firstPage = parseJson(get("/$type?size=2&sortBy=abbreviation&sortOrder=desc&cursor="))
+
+        then: "no total is counted"
+        firstPage.items*.abbreviation == ["5", "4"]
+        firstPage.totalItemCount == null
+        firstPage.pageCount == null
+        firstPage.nextCursor != null
+
+        when: "following the cursor"
+        def secondPage = parseJson(get("/$type?size=2&sortBy=abbreviation&sortOrder=desc&cursor=$firstPage.nextCursor&countTotal=true"))
+
+        then: "the next page is returned and counted"
+        secondPage.items*.abbreviation == ["3", "2"]
+        secondPage.totalItemCount == 5
+        secondPage.pageCount == 3
+
+        when: "following the cursor to the last page"
+        def lastPage = parseJson(get("/$type?size=2&sortBy=abbreviation&sortOrder=desc&cursor=$secondPage.nextCursor"))
+
+        then:
+        lastPage.items*.abbreviation == ["1"]
+        lastPage.nextCursor == null
+
+        when: "paging through a search"
+        def searchUri = parseJson(post("/$type/searches", [:])).searchUrl
+        def firstSearchPage = parseJson(get(new URI("$searchUri?size=3&sortBy=abbreviation&cursor=")))
+        def lastSearchPage = parseJson(get(new URI("$searchUri?size=3&sortBy=abbreviation&cursor=$firstSearchPage.nextCursor")))
+
+        then:
+        firstSearchPage.items*.abbreviation == ["1", "2", "3"]
+        lastSearchPage.items*.abbreviation == ["4", "5"]
+        lastSearchPage.nextCursor == null
+
+        where:
+        type << EntityType.values().findAll { Element.isAssignableFrom(it.type) }*.pluralTerm
+    }
 }
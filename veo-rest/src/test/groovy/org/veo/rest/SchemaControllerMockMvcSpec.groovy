@@ -17,7 +17,9 @@
  ******************************************************************************/
 package org.veo.rest
 
+import org.springframework.http.HttpHeaders
 import org.springframework.security.test.context.support.WithUserDetails
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
 import org.springframework.web.bind.MissingServletRequestParameterException
 
 import org.veo.core.VeoMvcSpec
@@ -68,6 +70,27 @@ class SchemaControllerMockMvcSpec extends VeoMvcSpec {
         schema.properties.customAspects.properties.asset_details != null
     }
 
+    @WithUserDetails("user@domain.example")
+    def "schema can be revalidated using its ETag"() {
+        given: "a schema that has been requested before"
+        def url = "/schemas/asset?domains=$domainId"
+        def eTag = getETag(get(url))
+
+        expect: "the same ETag to be returned again"
+        eTag != null
+        getETag(get(url)) == eTag
+
+        when: "requesting the schema with the ETag"
+        def asyncResult = mvc.perform(MockMvcRequestBuilders.get(url)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn()
+        def response = mvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andReturn().response
+
+        then: "the schema is not transferred again"
+        response.status == 304
+        response.contentAsString.empty
+    }
+
     @WithUserDetails("user@domain.example")
     def "get the schema for an unknown domain"() {
         given:
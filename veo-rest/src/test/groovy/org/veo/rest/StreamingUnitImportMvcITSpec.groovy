@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.test.context.support.WithUserDetails
+import org.springframework.test.context.DynamicPropertyRegistry
+import org.springframework.test.context.DynamicPropertySource
+
+import org.veo.core.VeoMvcSpec
+import org.veo.core.entity.Client
+import org.veo.core.entity.Domain
+import org.veo.persistence.access.ScopeRepositoryImpl
+import org.veo.persistence.access.UnitRepositoryImpl
+import org.veo.persistence.access.jpa.StoredEventDataRepository
+
+/**
+ * Test the revision messages of streaming unit imports that are processed in several chunks.
+ */
+@WithUserDetails("user@domain.example")
+class StreamingUnitImportMvcITSpec extends VeoMvcSpec {
+
+    @Autowired
+    private UnitRepositoryImpl unitRepository
+
+    @Autowired
+    private ScopeRepositoryImpl scopeRepository
+
+    @Autowired
+    private StoredEventDataRepository storedEventRepository
+
+    private Client client
+    private Domain domain
+
+    @DynamicPropertySource
+    static void setChunkSize(DynamicPropertyRegistry registry) {
+        registry.add("veo.units.import.chunk-size", { -> 3 })
+    }
+
+    def setup() {
+        executeInTransaction {
+            client = createTestClient()
+            domain = createTestDomain(client, DSGVO_TEST_DOMAIN_TEMPLATE_ID)
+        }
+    }
+
+    def "revision messages are created for the elements of all chunks"() {
+        given: "an exported unit with scopes whose members are imported in other chunks"
+        def unit = unitRepository.save(newUnit(client) {
+            addToDomains(domain)
+        })
+        def memberScopes = (1..5).collect { n ->
+            scopeRepository.save(newScope(unit) {
+                name = "member $n"
+            })
+        }
+        (1..5).each { n ->
+            scopeRepository.save(newScope(unit) {
+                name = "scope $n"
+                members = memberScopes.toSet()
+            })
+        }
+        def dump = parseJson(get("/units/${unit.idAsString}/export"))
+        storedEventRepository.deleteAll()
+
+        when:
+        def unitId = parseJson(post("/units/import?streaming=true", dump)).resourceId
+        def scopes = parseJson(get("/scopes?unit=$unitId&size=100")).items
+        def messages = storedEventRepository.findAll()
+                .findAll { it.routingKey.endsWith("entity_revision") }
+                .sort { it.id }
+                .collect { parseJson(it.content) }
+
+        then:
+        scopes.size() == 10
+        scopes.each { scope ->
+            def scopeMessages = messages.findAll { it.uri.endsWith("/scopes/$scope.id") }
+            assert scopeMessages.first().type == "CREATION"
+            assert scopeMessages.first().content.name == scope.name
+            assert scopeMessages.last().content.members.size() == (scope.name.startsWith("member") ? 0 : 5)
+        }
+    }
+}
@@ -589,6 +589,46 @@ class UnitControllerMockMvcITSpec extends VeoMvcSpec {
         }
     }
 
+    @WithUserDetails("user@domain.example")
+    def "streaming export matches the regular export"() {
+        given:
+        def unit = urepository.save(newUnit(client) {
+            name = "My unit"
+            addToDomains(domain)
+        })
+        def member = sRepository.save(newScope(unit) {
+            name = 'My member scope'
+        })
+        sRepository.save(newScope(unit) {
+            name = 'My scope'
+            members = [member]
+        })
+
+        when:
+        def regular = parseJson(get("/units/${unit.id.uuidValue()}/export"))
+        def streamed = parseJson(get("/units/${unit.id.uuidValue()}/export?streaming=true"))
+
+        then:
+        streamed.unit == regular.unit
+        streamed.domains == regular.domains
+        streamed.elements.size() == 2
+        streamed.elements ==~ regular.elements
+        streamed.risks ==~ regular.risks
+    }
+
+    @WithUserDetails("user@domain.example")
+    def "cannot stream the export of a unit from another client"() {
+        given:
+        def otherClient = repository.save(newClient())
+        def otherClientsUnit = urepository.save(newUnit(otherClient))
+
+        when:
+        get("/units/${otherClientsUnit.id.uuidValue()}/export?streaming=true", 404)
+
+        then: "an exception is thrown"
+        thrown(ClientBoundaryViolationException)
+    }
+
     @WithUserDetails("user@domain.example")
     def "cannot export a unit from another client"() {
         given:
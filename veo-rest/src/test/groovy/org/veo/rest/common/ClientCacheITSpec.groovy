@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.common
+
+import org.springframework.beans.factory.annotation.Autowired
+
+import org.veo.core.AbstractPerformanceITSpec
+import org.veo.core.entity.Client
+import org.veo.core.entity.Key
+import org.veo.core.repository.ClientRepository
+
+class ClientCacheITSpec extends AbstractPerformanceITSpec {
+    @Autowired
+    ClientCache clientCache
+
+    @Autowired
+    ClientRepository clientRepository
+
+    Key clientId
+
+    def setup() {
+        def client = createTestClient()
+        createTestDomainTemplate(DSGVO_DOMAINTEMPLATE_UUID)
+        createTestDomainTemplate(TEST_DOMAIN_TEMPLATE_ID)
+        createTestDomain(client, DSGVO_DOMAINTEMPLATE_UUID)
+        createTestDomain(client, TEST_DOMAIN_TEMPLATE_ID)
+        clientId = client.id
+    }
+
+    def "a cache hit issues fewer statements than loading the client"() {
+        given: "a cached client"
+        clientCache.findById(clientId)
+        def hits = clientCache.hitCount
+
+        when: "loading the active client and its definitions from the repository"
+        def loadCounts = trackQueryCounts {
+            readDefinitions(clientRepository.findActiveById(clientId).get())
+        }
+
+        and: "getting it from the cache"
+        def hitCounts = trackQueryCounts {
+            readDefinitions(clientCache.findActiveById(clientId).get())
+        }
+
+        then: "the hit only queries the client and domain versions"
+        clientCache.hitCount == hits + 1
+        hitCounts.select == 1
+        hitCounts.total == 1
+        hitCounts.select < loadCounts.select
+    }
+
+    private static void readDefinitions(Client client) {
+        client.domains.each {
+            it.elementTypeDefinitions*.subTypes
+            it.riskDefinitions.size()
+        }
+    }
+}
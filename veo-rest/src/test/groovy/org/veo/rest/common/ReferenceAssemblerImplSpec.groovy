@@ -19,6 +19,10 @@ package org.veo.rest.common
 
 import static java.util.UUID.randomUUID
 
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.web.context.request.RequestContextHolder
+import org.springframework.web.context.request.ServletRequestAttributes
+
 import org.veo.adapter.presenter.api.common.IdRef
 import org.veo.adapter.presenter.api.common.ReferenceAssembler
 import org.veo.adapter.presenter.api.dto.full.FullAssetDto
@@ -55,6 +59,10 @@ class ReferenceAssemblerImplSpec extends Specification {
 
     ReferenceAssembler referenceAssembler = new ReferenceAssemblerImpl(typeExtractor)
 
+    def cleanup() {
+        RequestContextHolder.resetRequestAttributes()
+    }
+
     def "parsed entity id for #url is #parsedId"() {
         expect:
         referenceAssembler.parseId(url) == parsedId
@@ -185,11 +193,11 @@ class ReferenceAssemblerImplSpec extends Specification {
 
         where:
         type           | reference
-        Asset          | '/assets{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,embedRisks}'
-        Control        | '/controls{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder}'
-        Scenario       | '/scenarios{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder}'
-        Incident       | '/incidents{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder}'
-        Scope          | '/scopes{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,embedRisks}'
+        Asset          | '/assets{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,cursor,countTotal,embedRisks}'
+        Control        | '/controls{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,cursor,countTotal}'
+        Scenario       | '/scenarios{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,cursor,countTotal}'
+        Incident       | '/incidents{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,cursor,countTotal}'
+        Scope          | '/scopes{?unit,displayName,subType,status,childElementIds,hasParentElements,hasChildElements,description,designator,name,updatedBy,size,page,sortBy,sortOrder,cursor,countTotal,embedRisks}'
         Domain         | '/domains'
         DomainTemplate | '/domaintemplates'
     }
@@ -268,4 +276,25 @@ class ReferenceAssemblerImplSpec extends Specification {
         expect:
         referenceAssembler.toKey(null) == null
     }
+
+    def "creates absolute references within a request to #contextPath"() {
+        given:
+        def request = new MockHttpServletRequest("GET", contextPath + "/assets")
+        request.contextPath = contextPath
+        RequestContextHolder.requestAttributes = new ServletRequestAttributes(request)
+        def assetId = randomUUID().toString()
+        def asset = Stub(Asset) {
+            getId() >> Key.uuidFrom(assetId)
+            getModelInterface() >> Asset
+        }
+
+        expect:
+        referenceAssembler.targetReferenceOf(asset) == "http://localhost$contextPath/assets/$assetId"
+        referenceAssembler.searchesReferenceOf(Asset) == "http://localhost$contextPath/assets/searches"
+        referenceAssembler.resourcesReferenceOf(Asset).startsWith("http://localhost$contextPath/assets{?")
+        referenceAssembler.parseId(referenceAssembler.targetReferenceOf(asset)) == assetId
+
+        where:
+        contextPath << ["", "/veo"]
+    }
 }
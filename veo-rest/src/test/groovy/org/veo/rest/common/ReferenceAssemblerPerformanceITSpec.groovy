@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.common
+
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.web.context.request.RequestContextHolder
+import org.springframework.web.context.request.ServletRequestAttributes
+
+import com.fasterxml.jackson.databind.ObjectMapper
+
+import org.veo.adapter.presenter.api.response.transformer.EntityToDtoTransformer
+import org.veo.core.AbstractPerformanceITSpec
+import org.veo.core.entity.Domain
+import org.veo.core.entity.Unit
+
+import spock.lang.Requires
+
+/**
+ * Measures how long it takes to serialize a page of full asset DTOs, which is dominated by creating
+ * their references. Only runs if the environment variable VEO_LARGE_PERFORMANCE_TESTS is set.
+ */
+@Requires({ env.VEO_LARGE_PERFORMANCE_TESTS })
+class ReferenceAssemblerPerformanceITSpec extends AbstractPerformanceITSpec {
+    @Autowired
+    EntityToDtoTransformer entityToDtoTransformer
+
+    @Autowired
+    ObjectMapper objectMapper
+
+    Domain domain
+    Unit unit
+
+    def setup() {
+        def client = createTestClient()
+        domain = domainDataRepository.save(newDomain(client) {
+            getElementTypeDefinition("asset").subTypes = [
+                "NormalAsset": newSubTypeDefinition {
+                    statuses = ["NEW"]
+                }
+            ]
+        })
+        unit = unitDataRepository.save(newUnit(client))
+        RequestContextHolder.requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest("GET", "/assets"))
+    }
+
+    def cleanup() {
+        RequestContextHolder.resetRequestAttributes()
+    }
+
+    def "serializes a page of full asset DTOs quickly"() {
+        given: "a page of assets that are parts of each other"
+        def assetIds = txTemplate.execute {
+            def previous = null
+            (1..100).collect { i ->
+                previous = assetDataRepository.save(newAsset(unit) {
+                    name = "asset $i"
+                    associateWithDomain(domain, "NormalAsset", "NEW")
+                    if (previous) {
+                        addPart(previous)
+                    }
+                })
+                previous.idAsString
+            }
+        }
+        def renderPage = {
+            txTemplate.execute {
+                objectMapper.writeValueAsString(assetDataRepository.findAllById(assetIds).collect {
+                    entityToDtoTransformer.transformAsset2Dto(it, false)
+                })
+            }
+        }
+
+        when: "warming up and then serializing the page repeatedly"
+        def json = renderPage()
+        10.times { renderPage() }
+        def start = System.nanoTime()
+        100.times { renderPage() }
+        def millisPerPage = (System.nanoTime() - start) / 1_000_000 / 100
+
+        then: "the references have been rendered"
+        (json =~ /http:\/\/localhost\/assets\//).size() >= 99
+        (json =~ /http:\/\/localhost\/units\//).size() == 100
+
+        and:
+        millisPerPage < 100
+    }
+}
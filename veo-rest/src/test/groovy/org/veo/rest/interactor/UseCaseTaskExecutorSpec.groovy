@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.interactor
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+
+import org.springframework.core.task.TaskRejectedException
+
+import spock.lang.Specification
+
+class UseCaseTaskExecutorSpec extends Specification {
+
+    def "runs tasks on the calling thread"() {
+        given:
+        def executor = UseCaseTaskExecutor.callerRuns(2, 100)
+
+        when:
+        def thread = CompletableFuture.supplyAsync({ Thread.currentThread() }, executor).get()
+
+        then:
+        thread == Thread.currentThread()
+        executor.startedCount == 1
+        executor.activeCount == 0
+        executor.rejectedCount == 0
+    }
+
+    def "rejects tasks when the concurrency limit has been reached"() {
+        given:
+        def executor = UseCaseTaskExecutor.callerRuns(1, 50)
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def blocker = Thread.start {
+            executor.execute {
+                started.countDown()
+                release.await()
+            }
+        }
+        started.await()
+
+        when:
+        executor.execute {}
+
+        then:
+        thrown(TaskRejectedException)
+        executor.activeCount == 1
+        executor.rejectedCount == 1
+
+        when: "the running task has finished"
+        release.countDown()
+        blocker.join()
+        executor.execute {}
+
+        then:
+        executor.activeCount == 0
+        executor.startedCount == 2
+    }
+
+    def "records waiting time and rejections of a pool"() {
+        given:
+        def queue = []
+        def rejecting = false
+        Executor pool = { Runnable task ->
+            if (rejecting) {
+                throw new TaskRejectedException("full")
+            }
+            queue << task
+        }
+        def executor = UseCaseTaskExecutor.pooled(pool)
+        def done = false
+
+        when:
+        executor.execute { done = true }
+        sleep(10)
+        queue.each { it.run() }
+
+        then:
+        done
+        executor.startedCount == 1
+        executor.waitNanos >= 10_000_000
+
+        when:
+        rejecting = true
+        executor.execute {}
+
+        then:
+        thrown(TaskRejectedException)
+        executor.rejectedCount == 1
+    }
+}
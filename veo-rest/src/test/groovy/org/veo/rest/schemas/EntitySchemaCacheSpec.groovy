@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * verinice.veo
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package org.veo.rest.schemas
+
+import java.util.function.Supplier
+
+import spock.lang.Specification
+
+class EntitySchemaCacheSpec extends Specification {
+
+    def cache = new EntitySchemaCache()
+    def domainVersions = new TreeMap(["d1": 1L])
+
+    def "schemas are cached per role set"() {
+        given:
+        def generator = Mock(Supplier)
+
+        when: "requesting the schema twice for the same roles"
+        def first = cache.get("asset", domainVersions, new TreeSet(["a", "b"]), generator)
+        def second = cache.get("asset", domainVersions, new TreeSet(["b", "a"]), generator)
+
+        then: "it is only generated once"
+        1 * generator.get() >> '{"title":"asset"}'
+        second == first
+
+        when: "requesting it for other roles"
+        def other = cache.get("asset", domainVersions, new TreeSet(["a"]), generator)
+
+        then: "it is generated for those roles"
+        1 * generator.get() >> '{"title":"asset","filtered":true}'
+        other.schema() == '{"title":"asset","filtered":true}'
+    }
+
+    def "ETag is derived from the filtered schema"() {
+        when:
+        def unfiltered = cache.get("asset", domainVersions, new TreeSet(["a", "b"]), { '{"a":1,"b":2}' })
+        def filtered = cache.get("asset", domainVersions, new TreeSet(["a"]), { '{"a":1}' })
+        def sameContent = cache.get("asset", domainVersions, new TreeSet(["c"]), { '{"a":1}' })
+
+        then:
+        filtered.eTag() != unfiltered.eTag()
+        sameContent.eTag() == filtered.eTag()
+    }
+
+    def "evicting a domain removes the schemas for all roles"() {
+        given:
+        cache.get("asset", domainVersions, new TreeSet(["a"]), { "{}" })
+        cache.get("asset", domainVersions, new TreeSet(["b"]), { "{}" })
+        def generator = Mock(Supplier)
+
+        when:
+        cache.evictDomain("d1")
+        cache.get("asset", domainVersions, new TreeSet(["a"]), generator)
+        cache.get("asset", domainVersions, new TreeSet(["b"]), generator)
+
+        then:
+        2 * generator.get() >> "{}"
+    }
+}
@@ -128,6 +128,75 @@ class UnitImportRestTest extends VeoRestTest {
         }
     }
 
+    def "import a unit with streaming"() {
+        given: "a unit with parts, members & a risk"
+        def unitId = postNewUnit().resourceId
+        def unitUri = "/units/$unitId"
+        def partId = post("/processes", [
+            name: "Part process",
+            owner: [targetUri: unitUri],
+        ]).body.resourceId
+        post("/processes", [
+            name: "Composite process",
+            owner: [targetUri: unitUri],
+            parts: [
+                [targetUri: "/processes/$partId"]
+            ],
+        ])
+        post("/scopes", [
+            name: "Scope",
+            owner: [targetUri: unitUri],
+            members: [
+                [targetUri: "/processes/$partId"]
+            ],
+        ])
+        def scenarioId = post("/domains/$testDomainId/scenarios", [
+            name: "Risky scenario",
+            owner: [targetUri: unitUri],
+            subType: "Attack",
+            status: "NEW",
+        ]).body.resourceId
+        def processId = post("/domains/$testDomainId/processes", [
+            name: "Risky process",
+            owner: [targetUri: unitUri],
+            subType: "BusinessProcess",
+            status: "NEW"
+        ]).body.resourceId
+        post("/processes/$processId/risks", [
+            scenario: [targetUri: "/scenarios/$scenarioId"],
+            domains: [
+                (testDomainId): [
+                    reference: [targetUri: "/domains/$testDomainId"],
+                ]
+            ]
+        ])
+
+        when: "exporting the unit and importing it with streaming"
+        def exportedUnit = get("$unitUri/export").body
+        def newUnitUri = post("/units/import?streaming=true", exportedUnit).location
+        def newUnitId = (newUnitUri =~ /\/units\/(.+)/)[0][1]
+        def newExport = get("/units/$newUnitId/export").body
+        def newElementIdsByName = newExport.elements.collectEntries { [it.name, it.id] }
+
+        then: "all elements are imported as new elements"
+        newExport.unit.name == exportedUnit.unit.name
+        newExport.elements*.name ==~ exportedUnit.elements*.name
+        newExport.elements*.id.intersect(exportedUnit.elements*.id).empty
+
+        and: "references point to the new elements"
+        with(newExport.elements.find { it.name == "Composite process" }) {
+            parts*.targetUri == ["$owner.baseUrl/processes/${newElementIdsByName["Part process"]}"]
+        }
+        with(newExport.elements.find { it.name == "Scope" }) {
+            members*.targetUri == ["$owner.baseUrl/processes/${newElementIdsByName["Part process"]}"]
+        }
+        newExport.risks.size() == 1
+        with(newExport.risks.first()) {
+            process.targetUri == "$owner.baseUrl/processes/${newElementIdsByName["Risky process"]}"
+            scenario.targetUri == "$owner.baseUrl/scenarios/${newElementIdsByName["Risky scenario"]}"
+        }
+    }
+
     def "existing resources are not modified"() {
         given: "a unit with a document"
         def oldUnitUri = post("/units", [
@@ -33,6 +33,7 @@ import org.veo.core.entity.risk.RiskDefinitionRef
 import org.veo.core.entity.risk.RiskRef
 import org.veo.core.repository.AssetRepository
 import org.veo.core.repository.ProcessRepository
+import org.veo.core.repository.ScenarioRepository
 import org.veo.core.repository.ScopeRepository
 import org.veo.core.service.EventPublisher
 import org.veo.persistence.entity.jpa.ClientData
@@ -51,6 +52,7 @@ class RiskServiceSpec extends VeoSpec {
     ProcessRepository repo = Mock()
     AssetRepository arepo = Mock()
     ScopeRepository srepo = Mock()
+    ScenarioRepository scenarioRepo = Mock()
     EventPublisher publisher = Mock()
     ProcessData process
     ProcessRisk risk
@@ -61,7 +63,7 @@ class RiskServiceSpec extends VeoSpec {
     ClientData client
 
     def setup() {
-        sut = new RiskService(repo,arepo, srepo, publisher)
+        sut = new RiskService(repo,arepo, srepo, scenarioRepo, publisher)
         this.client = newClient()
         this.unit = newUnit(client) {
             it.setClient(client)
@@ -363,4 +365,74 @@ class RiskServiceSpec extends VeoSpec {
             }
         })
     }
+
+    def "Risk-affected elements are evaluated once for multiple changed components"() {
+        given:
+        scenario.setPotentialProbability(domain, [
+            (riskDefRef): new PotentialProbabilityImpl(new ProbabilityRef(1))
+        ])
+
+        when: 'evaluating a process together with a scenario that it is at risk from'
+        sut.evaluateChangedRiskComponents([this.process, scenario])
+
+        then: 'the process is only loaded and evaluated once'
+        1 * scenarioRepo.findRisksWithOwners([scenario] as Set) >> [risk]
+        1 * repo.findWithRisksAndScenarios([process.id] as Set) >> [this.process]
+        0 * arepo.findWithRisksAndScenarios(_)
+        0 * srepo.findWithRisksAndScenarios(_)
+        1 * publisher.publish({ it instanceof RiskChangedEvent })
+        1 * publisher.publish({ it instanceof RiskAffectingElementChangeEvent })
+        risk.getProbabilityProvider(riskDefRef, domain).potentialProbability.idRef == 1
+    }
+
+    def "Only risks caused by a changed scenario are recalculated"() {
+        given: 'a process with a second risk'
+        def categoryRef = new CategoryRef("C")
+        def scenario2 = newScenario(unit) {
+            associateWithDomain(domain, "NormalScenario", "NEW")
+        }
+        def risk2 = process.obtainRisk(scenario2, domain).tap {
+            assignDesignator(it)
+            defineRiskValues([
+                newRiskValues(riskDefRef, domain)
+            ] as Set)
+            addToDomains(domain)
+        }
+        risk.getImpactProvider(riskDefRef, domain).setSpecificImpact(categoryRef, new ImpactRef(1))
+        risk2.getImpactProvider(riskDefRef, domain).setSpecificImpact(categoryRef, new ImpactRef(1))
+        scenario.setPotentialProbability(domain, [
+            (riskDefRef): new PotentialProbabilityImpl(new ProbabilityRef(1))
+        ])
+        scenario2.setPotentialProbability(domain, [
+            (riskDefRef): new PotentialProbabilityImpl(new ProbabilityRef(3))
+        ])
+        def evaluatedRisks = sut.evaluatedRiskCount
+
+        when: 'the first scenario changes'
+        sut.evaluateChangedRiskComponent(scenario)
+
+        then: 'only its risk is loaded and recalculated'
+        1 * scenarioRepo.findRisksWithOwners([scenario] as Set) >> [risk]
+        0 * repo.findWithRisksAndScenarios(_)
+        1 * publisher.publish({ it instanceof RiskChangedEvent })
+        1 * publisher.publish({
+            verifyAll(it, RiskAffectingElementChangeEvent) {
+                changedRisks.size() == 1
+            }
+        })
+        risk.getProbabilityProvider(riskDefRef, domain).potentialProbability.idRef == 1
+        risk.getRiskProvider(riskDefRef, domain).getInherentRisk(categoryRef).idRef == 0
+        risk2.getProbabilityProvider(riskDefRef, domain).potentialProbability == null
+        risk2.getRiskProvider(riskDefRef, domain).getInherentRisk(categoryRef) == null
+        sut.evaluatedRiskCount == evaluatedRisks + 1
+
+        when: 'the scenario is saved again without changing its probability'
+        def evaluatedCategories = sut.evaluatedCategoryCount
+        sut.evaluateChangedRiskComponent(scenario)
+
+        then: 'no risk values are determined again'
+        1 * scenarioRepo.findRisksWithOwners([scenario] as Set) >> [risk]
+        0 * publisher.publish(_)
+        sut.evaluatedCategoryCount == evaluatedCategories
+    }
 }